@@ -0,0 +1,203 @@
+package com.iflow.api.core.cache;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 表元数据缓存
+ *
+ * 按 (数据源ID, 表名) 缓存 TableMeta，支持 TTL 过期与显式失效。
+ * 失效采用版本号机制：每次失效都会推进全局版本，加载开始时记录版本，
+ * 加载期间发生的失效会阻止旧结果写回缓存，避免并发刷新后读到过期结构。
+ *
+ * 缓存中的 TableMeta 为共享实例，写入时冻结为只读紧凑形式（TableMeta.freeze）。
+ *
+ * 引用：REQ-F4-004（获取表字段信息、索引、外键）
+ */
+@Slf4j
+@Component
+public class TableMetaCache {
+
+    /**
+     * 缓存有效期（秒），小于等于 0 表示永不过期
+     */
+    @Value("${auto.api.metadata.cache-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    /**
+     * 缓存条目 (数据源ID:表名 -> Entry)
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 数据源级失效版本 (数据源ID -> 失效时的版本号)
+     */
+    private final Map<Long, Long> datasourceVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 全局版本时钟
+     */
+    private final AtomicLong versionClock = new AtomicLong(0);
+
+    private final AtomicLong hitCount = new AtomicLong(0);
+    private final AtomicLong missCount = new AtomicLong(0);
+    private final AtomicLong loadCount = new AtomicLong(0);
+    private final AtomicLong invalidationCount = new AtomicLong(0);
+
+    /**
+     * 获取表元数据，未命中或已过期时调用 loader 加载
+     *
+     * @param datasourceId 数据源 ID
+     * @param tableName 表名
+     * @param loader 加载函数
+     * @return 表元数据
+     */
+    public TableMeta get(Long datasourceId, String tableName, Supplier<TableMeta> loader) {
+        String key = key(datasourceId, tableName);
+        Entry entry = entries.get(key);
+        if (entry != null && isUsable(entry, datasourceId)) {
+            hitCount.incrementAndGet();
+            return entry.tableMeta;
+        }
+
+        missCount.incrementAndGet();
+        long startVersion = versionClock.get();
+        TableMeta loaded = loader.get();
+        loadCount.incrementAndGet();
+
+        if (loaded != null) {
+            put(datasourceId, tableName, loaded, startVersion);
+        }
+        return loaded;
+    }
+
+    /**
+     * 当前版本号，批量加载开始前记录，写回时传给 put
+     */
+    public long currentVersion() {
+        return versionClock.get();
+    }
+
+    /**
+     * 写入在 startVersion 时开始加载的表元数据（用于批量加载）
+     *
+     * 加载开始后数据源或该表发生过失效时不写入，与 get 的写回规则一致。
+     */
+    public void put(Long datasourceId, String tableName, TableMeta tableMeta, long startVersion) {
+        if (datasourceVersion(datasourceId) > startVersion) {
+            return;
+        }
+        Entry fresh = new Entry(tableMeta.freeze(), startVersion, expireAt());
+        // 加载期间若该表被失效或已被更新的结果覆盖，则保留现有条目
+        entries.compute(key(datasourceId, tableName), (k, current) ->
+            current != null && current.version > startVersion ? current : fresh);
+    }
+
+    /**
+     * 获取已缓存的表元数据（不触发加载）
+     */
+    public TableMeta getIfPresent(Long datasourceId, String tableName) {
+        Entry entry = entries.get(key(datasourceId, tableName));
+        return entry != null && isUsable(entry, datasourceId) ? entry.tableMeta : null;
+    }
+
+    /**
+     * 使单个表的元数据失效
+     */
+    public void invalidate(Long datasourceId, String tableName) {
+        long version = versionClock.incrementAndGet();
+        // 写入墓碑条目，阻止失效前开始的加载写回
+        entries.put(key(datasourceId, tableName), new Entry(null, version, 0));
+        invalidationCount.incrementAndGet();
+        log.debug("表元数据缓存已失效: datasourceId={}, table={}", datasourceId, tableName);
+    }
+
+    /**
+     * 使数据源下所有表的元数据失效
+     */
+    public void invalidateDatasource(Long datasourceId) {
+        long version = versionClock.incrementAndGet();
+        datasourceVersions.put(datasourceId, version);
+        String prefix = datasourceId + ":";
+        entries.keySet().removeIf(k -> k.startsWith(prefix));
+        invalidationCount.incrementAndGet();
+        log.info("数据源元数据缓存已失效: datasourceId={}", datasourceId);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        long version = versionClock.incrementAndGet();
+        datasourceVersions.replaceAll((id, v) -> version);
+        entries.clear();
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStats() {
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.values().stream().filter(e -> e.tableMeta != null).count());
+        stats.put("hitCount", hits);
+        stats.put("missCount", misses);
+        stats.put("loadCount", loadCount.get());
+        stats.put("invalidationCount", invalidationCount.get());
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("ttlSeconds", ttlSeconds);
+        return stats;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private boolean isUsable(Entry entry, Long datasourceId) {
+        return entry.tableMeta != null
+            && (entry.expireAt == 0 || entry.expireAt > System.currentTimeMillis())
+            && entry.version >= datasourceVersion(datasourceId);
+    }
+
+    private long datasourceVersion(Long datasourceId) {
+        Long version = datasourceVersions.get(datasourceId);
+        return version != null ? version : 0L;
+    }
+
+    private long expireAt() {
+        return ttlSeconds > 0 ? System.currentTimeMillis() + ttlSeconds * 1000 : 0;
+    }
+
+    private static String key(Long datasourceId, String tableName) {
+        return datasourceId + ":" + tableName;
+    }
+
+    /**
+     * 缓存条目，tableMeta 为 null 时表示墓碑
+     */
+    private static final class Entry {
+        private final TableMeta tableMeta;
+        private final long version;
+        private final long expireAt;
+
+        private Entry(TableMeta tableMeta, long version, long expireAt) {
+            this.tableMeta = tableMeta;
+            this.version = version;
+            this.expireAt = expireAt;
+        }
+    }
+}
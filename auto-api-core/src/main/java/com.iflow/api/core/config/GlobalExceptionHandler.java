@@ -1,5 +1,6 @@
 package com.iflow.api.core.config;
 
+import com.iflow.api.core.datasource.DataSourceUnavailableException;
 import com.iflow.api.core.dto.Result;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -139,6 +140,17 @@ public class GlobalExceptionHandler {
         return Result.error(400, e.getMessage());
     }
 
+    /**
+     * 数据源不可用（预热中或已降级）
+     * 引用：REQ-F4-005（连接池管理，保证连接稳定性）
+     */
+    @ExceptionHandler(DataSourceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<?> handleDataSourceUnavailableException(DataSourceUnavailableException e) {
+        log.warn("数据源不可用: {}", e.getMessage());
+        return Result.error(503, e.getMessage());
+    }
+
     /**
      * 安全异常（疑似 SQL 注入等）
      * 引用：REQ-NF2-003（SQL 注入防护）
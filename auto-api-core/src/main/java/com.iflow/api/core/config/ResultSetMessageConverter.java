@@ -0,0 +1,160 @@
+package com.iflow.api.core.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iflow.api.core.dto.Result;
+import com.iflow.api.core.sql.RowShape;
+import com.iflow.api.core.sql.RowsResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 结果集直写响应转换器
+ *
+ * 处理动态表接口返回的 RowsResult：写响应时执行查询，按 Result 的字段顺序
+ * （code、message、data、timestamp、traceId、success）输出信封，
+ * 行数据从打开的结果集逐列写入 JsonGenerator，字段名使用 RowShape 预先转义的 SerializedString，
+ * 不经过 Map 与 Jackson 反射序列化。
+ *
+ * 查询在写出第一个字节前执行，执行失败时仍可返回错误结果。
+ *
+ * 引用：REQ-F1-007（自动生成的接口应返回统一的响应格式）
+ *        REQ-F2-005（返回格式统一为 JSON）
+ */
+@Slf4j
+public class ResultSetMessageConverter extends AbstractHttpMessageConverter<RowsResult> {
+
+    private final ObjectMapper objectMapper;
+
+    public ResultSetMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RowsResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RowsResult readInternal(Class<? extends RowsResult> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RowsResult 仅用于响应", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RowsResult result, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        boolean[] started = new boolean[1];
+        try {
+            result.getHandler().query(result.getJdbcTemplate(), result.getStatement(), rs -> {
+                try {
+                    write(result, rs, out, started);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (DataAccessException e) {
+            log.error("查询失败: sql={}", result.getStatement().getSql(), e);
+            if (started[0]) {
+                throw new HttpMessageNotWritableException("响应输出中断: " + e.getMessage(), e);
+            }
+            writeResult(Result.error("查询失败: " + e.getMessage()), out);
+        }
+    }
+
+    private void write(RowsResult result, ResultSet rs, OutputStream out, boolean[] started)
+            throws SQLException, IOException {
+        boolean hasRow = rs.next();
+        if (result.isSingle() && !hasRow) {
+            writeResult(Result.error(result.getNotFoundMessage()), out);
+            return;
+        }
+
+        RowShape shape = result.getHandler().shapeOf(rs.getMetaData());
+        started[0] = true;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("code", result.getCode());
+            generator.writeStringField("message", result.getMessage());
+            generator.writeFieldName("data");
+            if (result.isSingle()) {
+                writeRow(generator, shape, rs);
+            } else {
+                generator.writeStartArray();
+                while (hasRow) {
+                    writeRow(generator, shape, rs);
+                    hasRow = rs.next();
+                }
+                generator.writeEndArray();
+            }
+            generator.writeNumberField("timestamp", result.getTimestamp());
+            if (result.getTraceId() != null) {
+                generator.writeStringField("traceId", result.getTraceId());
+            }
+            generator.writeBooleanField("success", result.getSuccess());
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeRow(JsonGenerator generator, RowShape shape, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < shape.size(); i++) {
+            if (!shape.isShadowed(i)) {
+                generator.writeFieldName(shape.jsonKey(i));
+                writeValue(generator, shape.read(rs, i));
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else {
+            // 时间等类型按 ObjectMapper 的配置序列化
+            generator.writeObject(value);
+        }
+    }
+
+    private void writeResult(Result<?> result, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeValue(generator, result);
+        }
+    }
+}
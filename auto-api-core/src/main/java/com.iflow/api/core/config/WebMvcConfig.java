@@ -52,6 +52,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
      */
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 动态表查询结果从结果集直接写出，需排在通用 Jackson 转换器之前
+        converters.add(new ResultSetMessageConverter(objectMapper()));
         converters.add(new MappingJackson2HttpMessageConverter(objectMapper()));
     }
 
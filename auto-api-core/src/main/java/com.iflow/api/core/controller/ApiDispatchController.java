@@ -0,0 +1,183 @@
+package com.iflow.api.core.controller;
+
+import com.iflow.api.core.dto.Result;
+import com.iflow.api.core.service.ApiRouteIndex;
+import com.iflow.api.core.service.DynamicController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 生成 API 的统一分发入口
+ * 
+ * 所有生成的表接口共用一条 /api/{apiPath} 映射，由 ApiRouteIndex 以一次哈希查找
+ * 解析到表，Spring 的映射表规模与表数量无关。固定路径（如 /api/table）优先于该模式匹配。
+ * DynamicController 的每个子资源（分页、流式、批量、导入导出、聚合、表结构）在此都有
+ * 对应映射，两种路由模式下可访问的接口一致。
+ * 
+ * 引用：REQ-F2-002（自动生成 RESTful API 接口）
+ *        REQ-F2-003（动态添加 API 接口路由）
+ */
+@Slf4j
+@RestController
+public class ApiDispatchController {
+
+    @Autowired
+    private ApiRouteIndex apiRouteIndex;
+
+    @Autowired
+    private DynamicController dynamicController;
+
+    /**
+     * 分发生成的表接口请求
+     */
+    @RequestMapping(value = "/api/{apiPath}", method = {
+        RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE
+    })
+    public Result<?> dispatch(
+            @PathVariable String apiPath,
+            @RequestParam(required = false) Object id,
+            @RequestParam(required = false) String fields,
+            @RequestBody(required = false) Map<String, Object> body,
+            HttpServletRequest request) {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.dispatch(route.getTableName(), request.getMethod(), id,
+            DynamicController.listConditions(request, id, body), fields);
+    }
+
+    /**
+     * 分发生成的表接口的流式查询
+     */
+    @GetMapping(value = "/api/{apiPath}", params = "stream")
+    public void stream(
+            @PathVariable String apiPath,
+            @RequestParam Map<String, String> params,
+            HttpServletResponse response) throws IOException {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            dynamicController.writeResult(response, notFound(apiPath));
+            return;
+        }
+        dynamicController.streamTable(route.getTableName(), params, response);
+    }
+
+    /**
+     * 分发生成的表接口的游标分页查询
+     */
+    @GetMapping("/api/{apiPath}/page")
+    public Result<?> page(
+            @PathVariable String apiPath,
+            @RequestParam Map<String, String> params) {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.pageTable(route.getTableName(), params);
+    }
+
+    /**
+     * 分发生成的表接口的表结构查询
+     */
+    @GetMapping("/api/{apiPath}/schema")
+    public Result<?> schema(@PathVariable String apiPath) {
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.schemaTable(route.getTableName());
+    }
+
+    /**
+     * 分发生成的表接口的批量操作
+     */
+    @PostMapping("/api/{apiPath}/batch")
+    public Result<?> batch(
+            @PathVariable String apiPath,
+            @RequestBody Map<String, Object> body) {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.batchTable(route.getTableName(), body);
+    }
+
+    /**
+     * 分发生成的表接口的批量导入
+     */
+    @PostMapping("/api/{apiPath}/ingest")
+    public Result<?> ingest(
+            @PathVariable String apiPath,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.ingestTable(route.getTableName(), format, request);
+    }
+
+    /**
+     * 分发生成的表接口的分区导出（合并输出）
+     */
+    @GetMapping("/api/{apiPath}/export")
+    public void exportStream(
+            @PathVariable String apiPath,
+            @RequestParam Map<String, String> params,
+            HttpServletResponse response) throws IOException {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            dynamicController.writeResult(response, notFound(apiPath));
+            return;
+        }
+        dynamicController.exportStream(route.getTableName(), params, response);
+    }
+
+    /**
+     * 分发生成的表接口的分区导出（分区文件）
+     */
+    @PostMapping("/api/{apiPath}/export")
+    public Result<?> export(
+            @PathVariable String apiPath,
+            @RequestParam Map<String, String> params) {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.exportTable(route.getTableName(), params);
+    }
+
+    /**
+     * 分发生成的表接口的聚合查询
+     */
+    @RequestMapping(value = "/api/{apiPath}/aggregate", method = {RequestMethod.GET, RequestMethod.POST})
+    public Result<?> aggregate(
+            @PathVariable String apiPath,
+            @RequestParam Map<String, String> params,
+            @RequestBody(required = false) Map<String, Object> body) {
+
+        ApiRouteIndex.Route route = apiRouteIndex.lookup(apiPath);
+        if (route == null) {
+            return notFound(apiPath);
+        }
+        return dynamicController.aggregateTable(route.getTableName(), params, body);
+    }
+
+    private static Result<?> notFound(String apiPath) {
+        return Result.error(Result.ResultCode.NOT_FOUND.getCode(), "API 不存在: /api/" + apiPath);
+    }
+}
@@ -4,6 +4,7 @@ import com.iflow.api.core.dto.Result;
 import com.iflow.api.core.datasource.DynamicDataSourceService;
 import com.iflow.api.core.entity.DatasourceConfig;
 import com.iflow.api.core.repository.DatasourceConfigRepository;
+import com.iflow.api.core.service.MetadataSnapshotService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +29,9 @@ public class DatasourceController {
     @Autowired
     private DynamicDataSourceService dynamicDataSourceService;
 
+    @Autowired
+    private MetadataSnapshotService metadataSnapshotService;
+
     /**
      * 获取所有数据源
      */
@@ -143,6 +147,7 @@ public class DatasourceController {
 
         datasourceConfigRepository.deleteById(id);
         dynamicDataSourceService.closeDataSource(id);
+        metadataSnapshotService.deleteSnapshots(id);
         log.info("数据源已硬删除: id={}", id);
         return Result.success();
     }
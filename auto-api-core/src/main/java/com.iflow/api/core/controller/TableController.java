@@ -1,10 +1,12 @@
 package com.iflow.api.core.controller;
 
+import com.iflow.api.core.cache.TableMetaCache;
 import com.iflow.api.core.dto.Result;
 import com.iflow.api.core.dto.view.TableInfo;
 import com.iflow.api.core.dto.view.TableScanResult;
 import com.iflow.api.core.entity.TableSelection;
 import com.iflow.api.core.service.ApiGenerationService;
+import com.iflow.api.core.service.ApiRouteIndex;
 import com.iflow.api.core.service.TableManagementService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +33,12 @@ public class TableController {
     @Autowired
     private ApiGenerationService apiGenerationService;
 
+    @Autowired
+    private ApiRouteIndex apiRouteIndex;
+
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
     /**
      * 扫描数据源获取所有表
      */
@@ -209,4 +217,30 @@ public class TableController {
         apiGenerationService.refreshAllApis();
         return Result.success();
     }
+
+    /**
+     * 获取表元数据缓存统计
+     */
+    @GetMapping("/metadata/cache/stats")
+    public Result<Map<String, Object>> getMetadataCacheStats() {
+        return Result.success(tableMetaCache.getStats());
+    }
+
+    /**
+     * 清空表元数据缓存
+     */
+    @PostMapping("/metadata/cache/clear")
+    public Result<Void> clearMetadataCache() {
+        tableMetaCache.clear();
+        return Result.success();
+    }
+
+    /**
+     * 从数据库重建 API 路由索引
+     */
+    @PostMapping("/routes/rebuild")
+    public Result<Integer> rebuildRouteIndex() {
+        apiRouteIndex.rebuild();
+        return Result.success(apiRouteIndex.size());
+    }
 }
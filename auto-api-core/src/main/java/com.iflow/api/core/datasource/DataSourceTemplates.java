@@ -0,0 +1,41 @@
+package com.iflow.api.core.datasource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 数据源对应的 JDBC 执行模板
+ *
+ * 每个数据源共享一组已按数据源配置调优（fetchSize / maxRows / queryTimeout）的
+ * JdbcTemplate 与 NamedParameterJdbcTemplate，以及绑定该数据源的 TransactionTemplate，
+ * 均为线程安全，可跨请求复用。
+ *
+ * 引用：REQ-F4-005（连接池管理，保证连接稳定性）
+ */
+public final class DataSourceTemplates {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DataSourceTemplates(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(
+            new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public NamedParameterJdbcTemplate getNamedParameterJdbcTemplate() {
+        return namedParameterJdbcTemplate;
+    }
+
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+}
@@ -0,0 +1,19 @@
+package com.iflow.api.core.datasource;
+
+/**
+ * 数据源不可用（预热失败、仍在预热或已降级），调用方应稍后重试
+ *
+ * 引用：REQ-F4-005（连接池管理，保证连接稳定性）
+ */
+public class DataSourceUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DataSourceUnavailableException(String message) {
+        super(message);
+    }
+
+    public DataSourceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
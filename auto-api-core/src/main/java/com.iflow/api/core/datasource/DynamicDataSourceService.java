@@ -1,22 +1,46 @@
 package com.iflow.api.core.datasource;
 
 import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.iflow.api.core.cache.TableMetaCache;
 import com.iflow.api.core.dto.metadata.TableMeta;
 import com.iflow.api.core.entity.DatasourceConfig;
 import com.iflow.api.core.repository.DatasourceConfigRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PreDestroy;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * 动态数据源管理服务
  * 
+ * 数据源的创建、刷新与关闭不使用服务级锁：每个数据源以 CompletableFuture 单飞创建，
+ * 并发请求等待同一个 future；连接池创建后在生命周期线程上异步预热（建立初始连接并借出一个连接），
+ * 调用方最多等待 warmUpTimeoutMs。预热或取连接失败的数据源转为 DEGRADED，重试间隔内直接抛出
+ * DataSourceUnavailableException，不再逐个请求等待 maxWait，间隔后由下一个请求触发重新预热。
+ * 刷新或关闭时旧连接池先从缓存移除，借出的连接归还后（最长 drainTimeoutMs）再关闭，
+ * 单个不可达的数据源不会阻塞其他数据源的请求。
+ * 
  * 引用：REQ-F4-002（动态添加/删除第三方数据源）
  *        REQ-F4-005（连接池管理，保证连接稳定性）
  */
@@ -24,19 +48,96 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class DynamicDataSourceService {
 
+    /**
+     * 排空旧连接池时检查借出连接数的间隔（毫秒）
+     */
+    private static final long DRAIN_CHECK_INTERVAL_MS = 500;
+
     @Autowired
     private DatasourceConfigRepository datasourceConfigRepository;
 
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
     /**
-     * 数据源缓存 (数据源ID -> DruidDataSource)
+     * 数据源缓存 (数据源ID -> 创建中或已创建的数据源)
      */
-    private final Map<Long, DruidDataSource> datasourceCache = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<ManagedDataSource>> datasourceCache = new ConcurrentHashMap<>();
 
     /**
      * 数据源连接缓存 (数据源ID -> Connection)
      */
     private final Map<Long, Connection> connectionCache = new ConcurrentHashMap<>();
 
+    /**
+     * 缓存连接上次通过有效性检查的时间 (数据源ID -> 毫秒时间戳)
+     */
+    private final Map<Long, Long> connectionValidatedAt = new ConcurrentHashMap<>();
+
+    /**
+     * 元数据读取专用连接池缓存 (数据源ID -> 创建中或已创建的连接池)
+     */
+    private final Map<Long, CompletableFuture<DruidDataSource>> introspectionCache = new ConcurrentHashMap<>();
+
+    /**
+     * 预热与排空旧连接池的生命周期线程，首次使用时创建
+     */
+    private volatile ScheduledThreadPoolExecutor lifecycleExecutor;
+
+    /**
+     * 每个数据源元数据读取连接池的最大连接数，即单个数据源并发读取元数据的上限
+     */
+    @Value("${auto.api.metadata.introspection.connections:4}")
+    private int introspectionConnections = 4;
+
+    /**
+     * 连接有效性检查间隔（毫秒），间隔内复用上次检查结果，不再逐次调用 isValid
+     */
+    @Value("${auto.api.metadata.introspection.validation-interval-ms:30000}")
+    private long validationIntervalMs = 30000;
+
+    /**
+     * 默认 fetchSize，可被数据源 poolConfig 中的 fetchSize 覆盖
+     */
+    @Value("${auto.api.datasource.fetch-size:200}")
+    private int defaultFetchSize = 200;
+
+    /**
+     * 默认最大返回行数（0 表示不限制），可被 poolConfig 中的 maxRows 覆盖
+     */
+    @Value("${auto.api.datasource.max-rows:0}")
+    private int defaultMaxRows = 0;
+
+    /**
+     * 默认查询超时秒数（0 表示不限制），可被 poolConfig 中的 queryTimeout 覆盖
+     */
+    @Value("${auto.api.datasource.query-timeout:0}")
+    private int defaultQueryTimeout = 0;
+
+    /**
+     * 预热等待上限（毫秒）：预热借出首个连接与调用方等待预热完成的最长时间，同时作为建立物理连接的超时
+     */
+    @Value("${auto.api.datasource.warm-up-timeout-ms:10000}")
+    private long warmUpTimeoutMs = 10000;
+
+    /**
+     * 降级数据源的重试间隔（毫秒），间隔内请求直接失败
+     */
+    @Value("${auto.api.datasource.retry-interval-ms:30000}")
+    private long retryIntervalMs = 30000;
+
+    /**
+     * 刷新或关闭时等待借出连接归还的最长时间（毫秒），超时后强制关闭旧连接池
+     */
+    @Value("${auto.api.datasource.drain-timeout-ms:30000}")
+    private long drainTimeoutMs = 30000;
+
+    /**
+     * 生命周期线程数
+     */
+    @Value("${auto.api.datasource.lifecycle-threads:2}")
+    private int lifecycleThreads = 2;
+
     /**
      * 获取所有启用的数据源
      */
@@ -77,51 +178,288 @@ public class DynamicDataSourceService {
     /**
      * 获取或创建数据源
      * 
+     * 已就绪的数据源直接返回；同一数据源的并发创建只执行一次，预热中时最多等待 warmUpTimeoutMs。
+     * 
      * @param datasourceId 数据源 ID
      * @return DruidDataSource
+     * @throws DataSourceUnavailableException 数据源预热失败、预热超时或处于降级重试间隔内
      */
-    public synchronized DruidDataSource getOrCreateDataSource(Long datasourceId) {
-        // 先从缓存获取
-        DruidDataSource cached = datasourceCache.get(datasourceId);
-        if (cached != null && !cached.isClosed()) {
-            return cached;
+    public DruidDataSource getOrCreateDataSource(Long datasourceId) {
+        return acquire(datasourceId).getDataSource();
+    }
+
+    /**
+     * 获取数据源的生命周期状态，未创建时返回 null
+     * 
+     * @param datasourceId 数据源 ID
+     * @return 状态
+     */
+    public ManagedDataSource.State getState(Long datasourceId) {
+        CompletableFuture<ManagedDataSource> future = datasourceCache.get(datasourceId);
+        if (future == null) {
+            return null;
+        }
+        ManagedDataSource managed = future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+        return managed != null ? managed.getState() : ManagedDataSource.State.CREATING;
+    }
+
+    /**
+     * 获取可用的数据源，按状态等待预热、触发重试或快速失败
+     */
+    private ManagedDataSource acquire(Long datasourceId) {
+        while (true) {
+            ManagedDataSource managed = singleFlight(datasourceCache, datasourceId, this::createManagedDataSource);
+            switch (managed.getState()) {
+                case READY:
+                    return managed;
+                case DEGRADED:
+                    if (System.currentTimeMillis() - managed.getDegradedAt() < retryIntervalMs) {
+                        throw new DataSourceUnavailableException(
+                            "数据源不可用: " + datasourceId + ", " + managed.getFailure());
+                    }
+                    // 重试间隔已过，只有一个请求触发重新预热，其余请求等待同一次预热
+                    CompletableFuture<Void> warmUp = managed.retry();
+                    if (warmUp != null) {
+                        startWarmUp(managed, warmUp);
+                    }
+                    awaitWarmUp(managed);
+                    break;
+                case CREATING:
+                    awaitWarmUp(managed);
+                    break;
+                default:
+                    // 已被刷新或关闭，缓存中为新实例或为空，重新获取
+                    break;
+            }
         }
+    }
 
-        // 获取配置
+    /**
+     * 创建数据源与执行模板（不建立连接），随后异步预热
+     */
+    private ManagedDataSource createManagedDataSource(Long datasourceId) {
         DatasourceConfig config = datasourceConfigRepository
             .findByIdWithoutDeleted(datasourceId)
             .orElseThrow(() -> new IllegalArgumentException("数据源配置不存在: " + datasourceId));
 
-        // 创建数据源
         DruidDataSource dataSource = createDataSource(config);
-        datasourceCache.put(datasourceId, dataSource);
+        ManagedDataSource managed = new ManagedDataSource(datasourceId, dataSource,
+            createTemplates(dataSource, config));
+        startWarmUp(managed, managed.getWarmUp());
 
         log.info("创建数据源: id={}, name={}, type={}", 
             datasourceId, config.getName(), config.getType());
+        return managed;
+    }
+
+    /**
+     * 在生命周期线程上初始化连接池并借出一个连接，转为 READY 或 DEGRADED 后完成 warmUp
+     *
+     * @param warmUp 已随 CREATING 状态发布的预热
+     */
+    private void startWarmUp(ManagedDataSource managed, CompletableFuture<Void> warmUp) {
+        DruidDataSource dataSource = managed.getDataSource();
+        CompletableFuture.runAsync(() -> {
+            try {
+                dataSource.init();
+                // 借出成功即可用
+                dataSource.getConnection(warmUpTimeoutMs).close();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, lifecycleExecutor()).whenComplete((result, error) -> {
+            if (error == null) {
+                if (managed.ready()) {
+                    log.info("数据源预热完成: id={}", managed.getId());
+                }
+                warmUp.complete(null);
+            } else {
+                if (managed.degrade(unwrap(error))) {
+                    log.warn("数据源预热失败，{}ms 后重试: id={}, error={}",
+                        retryIntervalMs, managed.getId(), unwrap(error).getMessage());
+                }
+                warmUp.completeExceptionally(unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * 等待预热完成；超时不取消预热，调用方失败后由后续请求继续等待
+     */
+    private void awaitWarmUp(ManagedDataSource managed) {
+        try {
+            managed.getWarmUp().get(warmUpTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DataSourceUnavailableException("数据源预热超时: " + managed.getId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataSourceUnavailableException("等待数据源预热被中断: " + managed.getId(), e);
+        } catch (ExecutionException | CancellationException e) {
+            // 预热失败时状态已转为 DEGRADED，由 acquire 按状态处理
+        }
+    }
+
+    /**
+     * 单飞创建：缓存中没有 future 时放入新的 future 并由当前线程创建，并发请求等待同一个 future；
+     * 创建失败时移除 future，下次请求重新创建
+     */
+    private static <T> T singleFlight(Map<Long, CompletableFuture<T>> cache, Long datasourceId,
+                                      Function<Long, T> creator) {
+        CompletableFuture<T> future = cache.get(datasourceId);
+        if (future == null) {
+            CompletableFuture<T> created = new CompletableFuture<>();
+            future = cache.putIfAbsent(datasourceId, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(creator.apply(datasourceId));
+                } catch (RuntimeException e) {
+                    cache.remove(datasourceId, created);
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 获取数据源共享的 JdbcTemplate
+     * 
+     * @param datasourceId 数据源 ID
+     * @return JdbcTemplate
+     */
+    public JdbcTemplate getJdbcTemplate(Long datasourceId) {
+        return getTemplates(datasourceId).getJdbcTemplate();
+    }
+
+    /**
+     * 获取数据源共享的 NamedParameterJdbcTemplate
+     * 
+     * @param datasourceId 数据源 ID
+     * @return NamedParameterJdbcTemplate
+     */
+    public NamedParameterJdbcTemplate getNamedParameterJdbcTemplate(Long datasourceId) {
+        return getTemplates(datasourceId).getNamedParameterJdbcTemplate();
+    }
+
+    /**
+     * 获取绑定数据源的事务模板
+     * 
+     * @param datasourceId 数据源 ID
+     * @return TransactionTemplate
+     */
+    public TransactionTemplate getTransactionTemplate(Long datasourceId) {
+        return getTemplates(datasourceId).getTransactionTemplate();
+    }
+
+    /**
+     * 获取数据源的 JDBC 执行模板
+     */
+    private DataSourceTemplates getTemplates(Long datasourceId) {
+        return acquire(datasourceId).getTemplates();
+    }
+
+    /**
+     * 创建按数据源配置调优的 JDBC 执行模板
+     */
+    private DataSourceTemplates createTemplates(DruidDataSource dataSource, DatasourceConfig config) {
+        int fetchSize = defaultFetchSize;
+        int maxRows = defaultMaxRows;
+        int queryTimeout = defaultQueryTimeout;
+
+        // poolConfig 为 JSON 格式，例如 {"fetchSize":500,"maxRows":10000,"queryTimeout":30}
+        if (config.getPoolConfig() != null && !config.getPoolConfig().trim().isEmpty()) {
+            try {
+                JSONObject poolConfig = JSON.parseObject(config.getPoolConfig());
+                fetchSize = intOption(poolConfig, "fetchSize", fetchSize);
+                maxRows = intOption(poolConfig, "maxRows", maxRows);
+                queryTimeout = intOption(poolConfig, "queryTimeout", queryTimeout);
+            } catch (Exception e) {
+                log.warn("解析连接池配置失败，使用默认值: datasourceId={}", config.getId(), e);
+            }
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        jdbcTemplate.setMaxRows(maxRows);
+        jdbcTemplate.setQueryTimeout(queryTimeout);
+        return new DataSourceTemplates(jdbcTemplate);
+    }
+
+    private int intOption(JSONObject options, String key, int defaultValue) {
+        Integer value = options.getInteger(key);
+        return value != null ? value : defaultValue;
+    }
 
+    /**
+     * 获取元数据读取专用的连接池
+     * 
+     * 与业务连接池分开，连接数较小（auto.api.metadata.introspection.connections），
+     * 并发读取元数据时各线程各自借用连接，不争用共享连接；空闲超过检查间隔的连接才在借出时校验。
+     * 调用方借出连接后需自行关闭（归还）。
+     * 
+     * @param datasourceId 数据源 ID
+     * @return DruidDataSource
+     */
+    public DruidDataSource getIntrospectionDataSource(Long datasourceId) {
+        CompletableFuture<DruidDataSource> cached = introspectionCache.get(datasourceId);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally() && cached.join().isClosed()) {
+            introspectionCache.remove(datasourceId, cached);
+        }
+        return singleFlight(introspectionCache, datasourceId, this::createIntrospectionDataSource);
+    }
+
+    private DruidDataSource createIntrospectionDataSource(Long datasourceId) {
+        DatasourceConfig config = datasourceConfigRepository
+            .findByIdWithoutDeleted(datasourceId)
+            .orElseThrow(() -> new IllegalArgumentException("数据源配置不存在: " + datasourceId));
+
+        DruidDataSource dataSource = createDataSource(config);
+        dataSource.setName("introspection-" + datasourceId);
+        dataSource.setInitialSize(0);
+        dataSource.setMinIdle(0);
+        dataSource.setMaxActive(Math.max(1, introspectionConnections));
+        // testWhileIdle：仅空闲超过该间隔的连接在借出时执行校验
+        dataSource.setTimeBetweenEvictionRunsMillis(Math.max(1000, validationIntervalMs));
+
+        log.info("创建元数据读取连接池: id={}, maxActive={}", datasourceId, dataSource.getMaxActive());
         return dataSource;
     }
 
     /**
      * 获取数据库连接
      * 
+     * 返回数据源的共享缓存连接，有效性检查按 validationIntervalMs 节流。
+     * 
      * @param datasourceId 数据源 ID
      * @return Connection
      */
     public Connection getConnection(Long datasourceId) {
         // 先检查缓存的连接
         Connection cached = connectionCache.get(datasourceId);
-        if (cached != null && isConnectionValid(cached)) {
+        if (cached != null && isConnectionValid(datasourceId, cached)) {
             return cached;
         }
 
         // 创建新连接
-        DruidDataSource dataSource = getOrCreateDataSource(datasourceId);
+        ManagedDataSource managed = acquire(datasourceId);
         try {
-            Connection conn = dataSource.getConnection();
+            Connection conn = managed.getDataSource().getConnection();
             connectionCache.put(datasourceId, conn);
+            connectionValidatedAt.put(datasourceId, System.currentTimeMillis());
             return conn;
         } catch (SQLException e) {
+            // 取连接已等待 maxWait，转为降级，重试间隔内的请求直接失败
+            managed.degrade(e);
             log.error("获取数据库连接失败: datasourceId={}", datasourceId, e);
             throw new RuntimeException("获取数据库连接失败", e);
         }
@@ -159,6 +497,8 @@ public class DynamicDataSourceService {
         dataSource.setMinIdle(5);
         dataSource.setMaxActive(20);
         dataSource.setMaxWait(60000);
+        // 不可达的数据库在超时后失败，不长时间占用预热线程
+        dataSource.setConnectTimeout((int) Math.min(Integer.MAX_VALUE, warmUpTimeoutMs));
         dataSource.setTimeBetweenEvictionRunsMillis(60000);
         dataSource.setMinEvictableIdleTimeMillis(300000);
         dataSource.setValidationQuery("SELECT 1");
@@ -174,11 +514,23 @@ public class DynamicDataSourceService {
     }
 
     /**
-     * 检查连接是否有效
+     * 检查连接是否有效，距上次通过检查不足 validationIntervalMs 时只检查是否已关闭
      */
-    private boolean isConnectionValid(Connection conn) {
+    private boolean isConnectionValid(Long datasourceId, Connection conn) {
         try {
-            return conn != null && !conn.isClosed() && conn.isValid(5);
+            if (conn == null || conn.isClosed()) {
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            Long validatedAt = connectionValidatedAt.get(datasourceId);
+            if (validatedAt != null && now - validatedAt < validationIntervalMs) {
+                return true;
+            }
+            if (conn.isValid(5)) {
+                connectionValidatedAt.put(datasourceId, now);
+                return true;
+            }
+            return false;
         } catch (SQLException e) {
             return false;
         }
@@ -187,25 +539,15 @@ public class DynamicDataSourceService {
     /**
      * 刷新数据源（重新创建）
      * 
+     * 旧连接池立即从缓存移除，后续请求创建新连接池；旧连接池在借出的连接归还后关闭。
+     * 
      * @param datasourceId 数据源 ID
      */
-    public synchronized void refreshDataSource(Long datasourceId) {
-        // 关闭旧数据源
-        DruidDataSource oldDataSource = datasourceCache.remove(datasourceId);
-        if (oldDataSource != null && !oldDataSource.isClosed()) {
-            oldDataSource.close();
-            log.info("关闭旧数据源: {}", datasourceId);
-        }
+    public void refreshDataSource(Long datasourceId) {
+        retire(datasourceId);
 
-        // 关闭旧连接
-        Connection oldConn = connectionCache.remove(datasourceId);
-        if (oldConn != null) {
-            try {
-                oldConn.close();
-            } catch (SQLException e) {
-                log.warn("关闭旧连接失败", e);
-            }
-        }
+        // 连接目标可能已变化，丢弃该数据源下缓存的表结构
+        tableMetaCache.invalidateDatasource(datasourceId);
 
         log.info("数据源已刷新: {}", datasourceId);
     }
@@ -213,37 +555,43 @@ public class DynamicDataSourceService {
     /**
      * 关闭数据源
      * 
+     * 借出的连接归还后（最长 drainTimeoutMs）关闭连接池。
+     * 
      * @param datasourceId 数据源 ID
      */
-    public synchronized void closeDataSource(Long datasourceId) {
-        DruidDataSource dataSource = datasourceCache.remove(datasourceId);
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-            log.info("数据源已关闭: {}", datasourceId);
-        }
-
-        Connection conn = connectionCache.remove(datasourceId);
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                log.warn("关闭连接失败", e);
-            }
-        }
+    public void closeDataSource(Long datasourceId) {
+        retire(datasourceId);
+        tableMetaCache.invalidateDatasource(datasourceId);
+        log.info("数据源已关闭: {}", datasourceId);
     }
 
     /**
-     * 关闭所有数据源
+     * 关闭所有数据源，不等待借出的连接
      */
-    public synchronized void closeAllDataSources() {
-        datasourceCache.forEach((id, ds) -> {
-            if (ds != null && !ds.isClosed()) {
-                ds.close();
-                log.info("数据源已关闭: {}", id);
+    @PreDestroy
+    public void closeAllDataSources() {
+        ScheduledThreadPoolExecutor executor = lifecycleExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (Long datasourceId : new ArrayList<>(datasourceCache.keySet())) {
+            CompletableFuture<ManagedDataSource> future = datasourceCache.remove(datasourceId);
+            if (future != null) {
+                future.thenAccept(managed -> {
+                    managed.close();
+                    managed.getDataSource().close();
+                    log.info("数据源已关闭: {}", datasourceId);
+                });
             }
-        });
-        datasourceCache.clear();
+        }
+        for (Long datasourceId : new ArrayList<>(introspectionCache.keySet())) {
+            CompletableFuture<DruidDataSource> future = introspectionCache.remove(datasourceId);
+            if (future != null) {
+                future.thenAccept(DruidDataSource::close);
+            }
+        }
         connectionCache.clear();
+        connectionValidatedAt.clear();
     }
 
     /**
@@ -257,7 +605,76 @@ public class DynamicDataSourceService {
      * 检查数据源是否已缓存
      */
     public boolean isDataSourceCached(Long datasourceId) {
-        DruidDataSource ds = datasourceCache.get(datasourceId);
-        return ds != null && !ds.isClosed();
+        ManagedDataSource.State state = getState(datasourceId);
+        return state != null && state != ManagedDataSource.State.CLOSED;
+    }
+
+    /**
+     * 从缓存移除数据源的业务连接池、元数据读取连接池与共享连接，连接池排空后关闭；
+     * 仍在创建中的连接池在创建完成后排空
+     */
+    private void retire(Long datasourceId) {
+        CompletableFuture<ManagedDataSource> managed = datasourceCache.remove(datasourceId);
+        if (managed != null) {
+            managed.thenAccept(dataSource -> {
+                if (dataSource.close()) {
+                    drain(dataSource.getDataSource(), System.currentTimeMillis() + drainTimeoutMs);
+                }
+            });
+        }
+        CompletableFuture<DruidDataSource> introspection = introspectionCache.remove(datasourceId);
+        if (introspection != null) {
+            introspection.thenAccept(dataSource ->
+                drain(dataSource, System.currentTimeMillis() + drainTimeoutMs));
+        }
+
+        connectionValidatedAt.remove(datasourceId);
+        Connection conn = connectionCache.remove(datasourceId);
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                log.warn("关闭连接失败", e);
+            }
+        }
+    }
+
+    /**
+     * 借出的连接全部归还或超过截止时间后关闭连接池，未归还时在生命周期线程上定期检查
+     */
+    private void drain(DruidDataSource dataSource, long deadline) {
+        if (dataSource.isClosed()) {
+            return;
+        }
+        ScheduledThreadPoolExecutor executor = lifecycleExecutor();
+        if (dataSource.getActiveCount() == 0 || System.currentTimeMillis() >= deadline || executor.isShutdown()) {
+            if (dataSource.getActiveCount() > 0) {
+                log.warn("连接池排空超时，强制关闭: name={}, active={}", dataSource.getName(),
+                    dataSource.getActiveCount());
+            }
+            dataSource.close();
+            return;
+        }
+        executor.schedule(() -> drain(dataSource, deadline), DRAIN_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private ScheduledThreadPoolExecutor lifecycleExecutor() {
+        ScheduledThreadPoolExecutor current = lifecycleExecutor;
+        if (current == null) {
+            synchronized (this) {
+                current = lifecycleExecutor;
+                if (current == null) {
+                    AtomicInteger sequence = new AtomicInteger();
+                    current = new ScheduledThreadPoolExecutor(Math.max(1, lifecycleThreads), runnable -> {
+                        Thread thread = new Thread(runnable, "auto-api-datasource-" + sequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    current.setRemoveOnCancelPolicy(true);
+                    lifecycleExecutor = current;
+                }
+            }
+        }
+        return current;
     }
-}
\ No newline at end of file
+}
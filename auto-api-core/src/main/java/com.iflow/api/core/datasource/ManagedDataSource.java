@@ -0,0 +1,141 @@
+package com.iflow.api.core.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 受管理的数据源
+ *
+ * 持有一个数据源的业务连接池、JDBC 执行模板与生命周期状态：
+ * CREATING（预热中）-> READY（可用）或 DEGRADED（预热或取连接失败，按重试间隔重新预热）；
+ * 关闭或刷新时转为 CLOSED，连接池在借出的连接归还后关闭。状态与当前预热、降级时间和原因
+ * 组成一个不可变快照，每次转换以 CAS 整体替换，读到 DEGRADED 时降级时间与原因必然已就绪，
+ * 读到 CREATING 时对应的预热也已发布。已关闭的实例不会再回到其他状态。
+ *
+ * 引用：REQ-F4-005（连接池管理，保证连接稳定性）
+ */
+public final class ManagedDataSource {
+
+    public enum State {
+        CREATING, READY, DEGRADED, CLOSED
+    }
+
+    private final Long id;
+    private final DruidDataSource dataSource;
+    private final DataSourceTemplates templates;
+    private final AtomicReference<Status> status =
+        new AtomicReference<>(new Status(State.CREATING, new CompletableFuture<>(), 0L, null));
+
+    public ManagedDataSource(Long id, DruidDataSource dataSource, DataSourceTemplates templates) {
+        this.id = id;
+        this.dataSource = dataSource;
+        this.templates = templates;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public DruidDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public DataSourceTemplates getTemplates() {
+        return templates;
+    }
+
+    public State getState() {
+        return status.get().state;
+    }
+
+    public long getDegradedAt() {
+        return status.get().degradedAt;
+    }
+
+    public String getFailure() {
+        return status.get().failure;
+    }
+
+    /**
+     * 最近一次预热，完成时状态已更新
+     */
+    CompletableFuture<Void> getWarmUp() {
+        return status.get().warmUp;
+    }
+
+    /**
+     * DEGRADED 转为 CREATING，同时发布新的预热；成功时返回该预热，由调用方执行并在状态更新后完成
+     */
+    CompletableFuture<Void> retry() {
+        Status current = status.get();
+        if (current.state != State.DEGRADED) {
+            return null;
+        }
+        Status next = new Status(State.CREATING, new CompletableFuture<>(), current.degradedAt, current.failure);
+        return status.compareAndSet(current, next) ? next.warmUp : null;
+    }
+
+    /**
+     * 预热中的数据源转为 READY
+     */
+    boolean ready() {
+        Status current = status.get();
+        while (current.state == State.CREATING) {
+            if (status.compareAndSet(current, new Status(State.READY, current.warmUp, 0L, null))) {
+                return true;
+            }
+            current = status.get();
+        }
+        return false;
+    }
+
+    /**
+     * 预热中或可用的数据源转为 DEGRADED
+     */
+    boolean degrade(Throwable cause) {
+        Status current = status.get();
+        while (current.state == State.CREATING || current.state == State.READY) {
+            Status next = new Status(State.DEGRADED, current.warmUp, System.currentTimeMillis(), cause.getMessage());
+            if (status.compareAndSet(current, next)) {
+                return true;
+            }
+            current = status.get();
+        }
+        return false;
+    }
+
+    /**
+     * 转为 CLOSED，已关闭时返回 false
+     */
+    boolean close() {
+        Status current = status.get();
+        while (current.state != State.CLOSED) {
+            Status next = new Status(State.CLOSED, current.warmUp, current.degradedAt, current.failure);
+            if (status.compareAndSet(current, next)) {
+                return true;
+            }
+            current = status.get();
+        }
+        return false;
+    }
+
+    /**
+     * 状态快照
+     */
+    private static final class Status {
+
+        final State state;
+        final CompletableFuture<Void> warmUp;
+        final long degradedAt;
+        final String failure;
+
+        Status(State state, CompletableFuture<Void> warmUp, long degradedAt, String failure) {
+            this.state = state;
+            this.warmUp = warmUp;
+            this.degradedAt = degradedAt;
+            this.failure = failure;
+        }
+    }
+}
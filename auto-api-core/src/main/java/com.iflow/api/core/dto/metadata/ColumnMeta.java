@@ -1,81 +1,309 @@
 package com.iflow.api.core.dto.metadata;
 
-import lombok.Data;
-import lombok.EqualsAndHashCode;
-import lombok.experimental.Accessors;
-
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * 字段元数据 DTO
  * 
+ * 大型 schema 下字段数量可达数十万，存储采用紧凑布局：六个三态（null / true / false）标志
+ * 压缩为一个位集，数值属性以 int 保存（null 以 NONE 表示），名称、类型名、默认值、字符集与
+ * 排序规则等高重复字符串在写入时驻留（String.intern）。对外的 getter / setter 与原 POJO 一致。
+ * 
+ * 进入元数据缓存或路由索引前由 TableMeta.freeze 冻结为只读，之后调用 setter 抛出
+ * IllegalStateException。
+ * 
  * 引用：REQ-F3-003（读取表结构信息）
  *        REQ-F3-004（识别主键、字段类型）
  */
-@Data
-@Accessors(chain = true)
-@EqualsAndHashCode(callSuper = false)
 public class ColumnMeta implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * int 属性的 null 值
+     */
+    private static final int NONE = Integer.MIN_VALUE;
+
+    /**
+     * 三态标志的序号，每个标志占两位（是否有值、值）
+     */
+    private static final int NULLABLE = 0;
+    private static final int PRIMARY_KEY = 1;
+    private static final int UNIQUE_KEY = 2;
+    private static final int FOREIGN_KEY = 3;
+    private static final int AUTO_INCREMENT = 4;
+    private static final int INDEXED = 5;
+
     private String name;
     private String type;
     private String typeName;
     private String javaType;
-    private Integer jdbcType;
-    private Integer ordinalPosition;
     private String defaultValue;
-    private Boolean isNullable;
-    private Boolean isPrimaryKey;
-    private Boolean isUniqueKey;
-    private Boolean isForeignKey;
-    private Boolean isAutoIncrement;
-    private Boolean isIndexed;
-    private Integer length;
-    private Integer scale;
-    private Integer precision;
     private String comment;
     private String charset;
     private String collation;
     private String[] enumValues;
+    private int jdbcType = NONE;
+    private int ordinalPosition = NONE;
+    private int length = NONE;
+    private int scale = NONE;
+    private int precision = NONE;
+    private short flags;
+    private transient boolean frozen;
+
+    public String getName() {
+        return name;
+    }
+
+    public ColumnMeta setName(String name) {
+        checkMutable();
+        this.name = intern(name);
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public ColumnMeta setType(String type) {
+        checkMutable();
+        this.type = intern(type);
+        return this;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public ColumnMeta setTypeName(String typeName) {
+        checkMutable();
+        this.typeName = intern(typeName);
+        return this;
+    }
+
+    public String getJavaType() {
+        return javaType;
+    }
+
+    public ColumnMeta setJavaType(String javaType) {
+        checkMutable();
+        this.javaType = intern(javaType);
+        return this;
+    }
+
+    public Integer getJdbcType() {
+        return boxed(jdbcType);
+    }
+
+    public ColumnMeta setJdbcType(Integer jdbcType) {
+        checkMutable();
+        this.jdbcType = unboxed(jdbcType);
+        return this;
+    }
+
+    public Integer getOrdinalPosition() {
+        return boxed(ordinalPosition);
+    }
+
+    public ColumnMeta setOrdinalPosition(Integer ordinalPosition) {
+        checkMutable();
+        this.ordinalPosition = unboxed(ordinalPosition);
+        return this;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public ColumnMeta setDefaultValue(String defaultValue) {
+        checkMutable();
+        this.defaultValue = intern(defaultValue);
+        return this;
+    }
+
+    public Boolean getIsNullable() {
+        return flag(NULLABLE);
+    }
+
+    public ColumnMeta setIsNullable(Boolean isNullable) {
+        return setFlag(NULLABLE, isNullable);
+    }
+
+    public Boolean getIsPrimaryKey() {
+        return flag(PRIMARY_KEY);
+    }
+
+    public ColumnMeta setIsPrimaryKey(Boolean isPrimaryKey) {
+        return setFlag(PRIMARY_KEY, isPrimaryKey);
+    }
+
+    public Boolean getIsUniqueKey() {
+        return flag(UNIQUE_KEY);
+    }
+
+    public ColumnMeta setIsUniqueKey(Boolean isUniqueKey) {
+        return setFlag(UNIQUE_KEY, isUniqueKey);
+    }
+
+    public Boolean getIsForeignKey() {
+        return flag(FOREIGN_KEY);
+    }
+
+    public ColumnMeta setIsForeignKey(Boolean isForeignKey) {
+        return setFlag(FOREIGN_KEY, isForeignKey);
+    }
+
+    public Boolean getIsAutoIncrement() {
+        return flag(AUTO_INCREMENT);
+    }
+
+    public ColumnMeta setIsAutoIncrement(Boolean isAutoIncrement) {
+        return setFlag(AUTO_INCREMENT, isAutoIncrement);
+    }
+
+    public Boolean getIsIndexed() {
+        return flag(INDEXED);
+    }
+
+    public ColumnMeta setIsIndexed(Boolean isIndexed) {
+        return setFlag(INDEXED, isIndexed);
+    }
+
+    public Integer getLength() {
+        return boxed(length);
+    }
+
+    public ColumnMeta setLength(Integer length) {
+        checkMutable();
+        this.length = unboxed(length);
+        return this;
+    }
+
+    public Integer getScale() {
+        return boxed(scale);
+    }
+
+    public ColumnMeta setScale(Integer scale) {
+        checkMutable();
+        this.scale = unboxed(scale);
+        return this;
+    }
+
+    public Integer getPrecision() {
+        return boxed(precision);
+    }
+
+    public ColumnMeta setPrecision(Integer precision) {
+        checkMutable();
+        this.precision = unboxed(precision);
+        return this;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public ColumnMeta setComment(String comment) {
+        checkMutable();
+        this.comment = comment;
+        return this;
+    }
+
+    public String getCharset() {
+        return charset;
+    }
+
+    public ColumnMeta setCharset(String charset) {
+        checkMutable();
+        this.charset = intern(charset);
+        return this;
+    }
+
+    public String getCollation() {
+        return collation;
+    }
+
+    public ColumnMeta setCollation(String collation) {
+        checkMutable();
+        this.collation = intern(collation);
+        return this;
+    }
+
+    /**
+     * 枚举值，冻结后返回副本
+     */
+    public String[] getEnumValues() {
+        return frozen && enumValues != null ? enumValues.clone() : enumValues;
+    }
+
+    public ColumnMeta setEnumValues(String[] enumValues) {
+        checkMutable();
+        this.enumValues = enumValues;
+        return this;
+    }
 
     // 添加兼容性 setter 方法（DatabaseMetaData 风格，接受原始类型）
     public void setColumnSize(int columnSize) {
-        this.length = columnSize;
+        setLength(columnSize);
     }
 
     public void setDecimalDigits(int decimalDigits) {
-        this.scale = decimalDigits;
+        setScale(decimalDigits);
     }
 
     public void setNullable(boolean nullable) {
-        this.isNullable = nullable;
+        setIsNullable(nullable);
     }
 
     public void setColumnDef(String columnDef) {
-        this.defaultValue = columnDef;
+        setDefaultValue(columnDef);
     }
 
     public void setRemarks(String remarks) {
-        this.comment = remarks;
+        setComment(remarks);
     }
 
     public void setAutoIncrement(boolean autoIncrement) {
-        this.isAutoIncrement = autoIncrement;
+        setIsAutoIncrement(autoIncrement);
     }
 
     // 添加兼容性 getter 方法
     public boolean isNullable() {
-        return Boolean.TRUE.equals(isNullable);
+        return Boolean.TRUE.equals(getIsNullable());
     }
 
     public boolean isPrimaryKey() {
-        return Boolean.TRUE.equals(isPrimaryKey);
+        return Boolean.TRUE.equals(getIsPrimaryKey());
     }
 
     public boolean isAutoIncrement() {
-        return Boolean.TRUE.equals(isAutoIncrement);
+        return Boolean.TRUE.equals(getIsAutoIncrement());
+    }
+
+    /**
+     * 冻结为只读（由 TableMeta.freeze 调用），枚举值同时驻留
+     */
+    void freeze() {
+        if (frozen) {
+            return;
+        }
+        if (enumValues != null) {
+            String[] values = new String[enumValues.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = intern(enumValues[i]);
+            }
+            enumValues = values;
+        }
+        frozen = true;
+    }
+
+    /**
+     * 是否已冻结为只读
+     */
+    boolean isFrozen() {
+        return frozen;
     }
 
     public String toGraphQLType() {
@@ -113,4 +341,69 @@ public class ColumnMeta implements Serializable {
             javaType.equals("LocalDateTime") || javaType.equals("LocalDate") || javaType.equals("LocalTime")
         );
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ColumnMeta)) {
+            return false;
+        }
+        ColumnMeta other = (ColumnMeta) o;
+        return flags == other.flags && jdbcType == other.jdbcType && ordinalPosition == other.ordinalPosition
+            && length == other.length && scale == other.scale && precision == other.precision
+            && Objects.equals(name, other.name) && Objects.equals(type, other.type)
+            && Objects.equals(typeName, other.typeName) && Objects.equals(javaType, other.javaType)
+            && Objects.equals(defaultValue, other.defaultValue) && Objects.equals(comment, other.comment)
+            && Objects.equals(charset, other.charset) && Objects.equals(collation, other.collation)
+            && Arrays.equals(enumValues, other.enumValues);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(name, type, typeName, javaType, defaultValue, comment, charset, collation,
+            jdbcType, ordinalPosition, length, scale, precision, flags);
+        return 31 * result + Arrays.hashCode(enumValues);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnMeta(name=" + name + ", typeName=" + typeName + ", javaType=" + javaType
+            + ", jdbcType=" + getJdbcType() + ", ordinalPosition=" + getOrdinalPosition()
+            + ", length=" + getLength() + ", scale=" + getScale() + ", defaultValue=" + defaultValue
+            + ", isNullable=" + getIsNullable() + ", isPrimaryKey=" + getIsPrimaryKey()
+            + ", isAutoIncrement=" + getIsAutoIncrement() + ", comment=" + comment + ")";
+    }
+
+    private Boolean flag(int index) {
+        int bits = flags >> (index * 2);
+        return (bits & 1) == 0 ? null : (bits & 2) != 0;
+    }
+
+    private ColumnMeta setFlag(int index, Boolean value) {
+        checkMutable();
+        int mask = 3 << (index * 2);
+        int bits = value == null ? 0 : (value ? 3 : 1) << (index * 2);
+        flags = (short) ((flags & ~mask) | bits);
+        return this;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("字段元数据为只读共享实例: " + name);
+        }
+    }
+
+    private static Integer boxed(int value) {
+        return value == NONE ? null : value;
+    }
+
+    private static int unboxed(Integer value) {
+        return value == null ? NONE : value;
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
 }
@@ -1,7 +1,11 @@
 package com.iflow.api.core.dto.metadata;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
 import java.io.Serializable;
@@ -9,6 +13,8 @@ import java.io.Serializable;
 /**
  * 外键元数据 DTO
  * 
+ * 随 TableMeta.freeze 冻结为只读，之后调用 setter 抛出 IllegalStateException。
+ * 
  * 引用：REQ-F3-003（读取表结构信息）
  */
 @Data
@@ -26,6 +32,54 @@ public class ForeignKeyMeta implements Serializable {
     private String onDeleteRule;
     private String fkTableName;  // 外键所在表名
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient boolean frozen;
+
+    public ForeignKeyMeta setFkName(String fkName) {
+        checkMutable();
+        this.fkName = fkName;
+        return this;
+    }
+
+    public ForeignKeyMeta setFkColumnName(String fkColumnName) {
+        checkMutable();
+        this.fkColumnName = fkColumnName;
+        return this;
+    }
+
+    public ForeignKeyMeta setPkTableName(String pkTableName) {
+        checkMutable();
+        this.pkTableName = pkTableName;
+        return this;
+    }
+
+    public ForeignKeyMeta setPkColumnName(String pkColumnName) {
+        checkMutable();
+        this.pkColumnName = pkColumnName;
+        return this;
+    }
+
+    public ForeignKeyMeta setOnUpdateRule(String onUpdateRule) {
+        checkMutable();
+        this.onUpdateRule = onUpdateRule;
+        return this;
+    }
+
+    public ForeignKeyMeta setOnDeleteRule(String onDeleteRule) {
+        checkMutable();
+        this.onDeleteRule = onDeleteRule;
+        return this;
+    }
+
+    public ForeignKeyMeta setFkTableName(String fkTableName) {
+        checkMutable();
+        this.fkTableName = fkTableName;
+        return this;
+    }
+
     public static class OnDeleteRule {
         public static final String CASCADE = "CASCADE";
         public static final String SET_NULL = "SET NULL";
@@ -44,13 +98,41 @@ public class ForeignKeyMeta implements Serializable {
 
     // 添加兼容性 setter 方法（DatabaseMetaData 风格）
     public void setDeleteRule(String rule) {
+        checkMutable();
         this.onDeleteRule = rule;
     }
 
     public void setUpdateRule(String rule) {
+        checkMutable();
         this.onUpdateRule = rule;
     }
 
+    /**
+     * 冻结为只读（由 TableMeta.freeze 调用），名称与规则驻留
+     */
+    void freeze() {
+        if (frozen) {
+            return;
+        }
+        fkTableName = intern(fkTableName);
+        fkColumnName = intern(fkColumnName);
+        pkTableName = intern(pkTableName);
+        pkColumnName = intern(pkColumnName);
+        onDeleteRule = intern(onDeleteRule);
+        onUpdateRule = intern(onUpdateRule);
+        frozen = true;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("外键元数据为只读共享实例: " + fkName);
+        }
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+
     public String getDescription() {
         return String.format("%s(%s) -> %s(%s)", 
             fkTableName, fkColumnName, pkTableName, pkColumnName);
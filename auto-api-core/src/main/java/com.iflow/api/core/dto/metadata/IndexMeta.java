@@ -1,11 +1,16 @@
 package com.iflow.api.core.dto.metadata;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,6 +18,8 @@ import java.util.stream.Collectors;
 /**
  * 索引元数据 DTO
  * 
+ * 随 TableMeta.freeze 冻结为只读，之后调用 setter 抛出 IllegalStateException。
+ * 
  * 引用：REQ-F3-003（读取表结构信息）
  */
 @Data
@@ -29,6 +36,42 @@ public class IndexMeta implements Serializable {
     private String comment;
     private List<IndexColumn> columns = new ArrayList<>();
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient boolean frozen;
+
+    public IndexMeta setIndexName(String indexName) {
+        checkMutable();
+        this.indexName = indexName;
+        return this;
+    }
+
+    public IndexMeta setTableName(String tableName) {
+        checkMutable();
+        this.tableName = tableName;
+        return this;
+    }
+
+    public IndexMeta setNonUnique(Boolean nonUnique) {
+        checkMutable();
+        this.nonUnique = nonUnique;
+        return this;
+    }
+
+    public IndexMeta setIndexType(String indexType) {
+        checkMutable();
+        this.indexType = indexType;
+        return this;
+    }
+
+    public IndexMeta setComment(String comment) {
+        checkMutable();
+        this.comment = comment;
+        return this;
+    }
+
     public static class IndexType {
         public static final String BTREE = "BTREE";
         public static final String HASH = "HASH";
@@ -43,17 +86,83 @@ public class IndexMeta implements Serializable {
         private Integer ordinalPosition;
         private String sortOrder;
         private Long cardinality;
+
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private transient boolean frozen;
+
+        public void setColumnName(String columnName) {
+            checkMutable();
+            this.columnName = columnName;
+        }
+
+        public void setOrdinalPosition(Integer ordinalPosition) {
+            checkMutable();
+            this.ordinalPosition = ordinalPosition;
+        }
+
+        public void setSortOrder(String sortOrder) {
+            checkMutable();
+            this.sortOrder = sortOrder;
+        }
+
+        public void setCardinality(Long cardinality) {
+            checkMutable();
+            this.cardinality = cardinality;
+        }
+
+        private void checkMutable() {
+            if (frozen) {
+                throw new IllegalStateException("索引字段元数据为只读共享实例: " + columnName);
+            }
+        }
     }
 
     // 添加兼容性 setter 方法（DatabaseMetaData 风格）
     public void setName(String name) {
+        checkMutable();
         this.indexName = name;
     }
 
     public void setColumns(List<IndexColumn> columns) {
+        checkMutable();
         this.columns = columns;
     }
 
+    /**
+     * 冻结为只读（由 TableMeta.freeze 调用），名称驻留，字段列表替换为只读视图
+     */
+    void freeze() {
+        if (frozen) {
+            return;
+        }
+        indexName = intern(indexName);
+        tableName = intern(tableName);
+        if (columns != null) {
+            IndexColumn[] items = columns.toArray(new IndexColumn[0]);
+            for (IndexColumn column : items) {
+                column.columnName = intern(column.columnName);
+                column.sortOrder = intern(column.sortOrder);
+                column.frozen = true;
+            }
+            columns = items.length == 0 ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(items));
+        }
+        frozen = true;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("索引元数据为只读共享实例: " + indexName);
+        }
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+
     public boolean isUnique() {
         return !Boolean.TRUE.equals(nonUnique);
     }
@@ -1,11 +1,16 @@
 package com.iflow.api.core.dto.metadata;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,6 +18,11 @@ import java.util.stream.Collectors;
 /**
  * 表元数据 DTO
  * 
+ * 读取阶段为可变 POJO；写入元数据缓存或路由索引前经 freeze 转为只读共享实例：
+ * 集合替换为按实际大小分配的只读数组视图，字段、索引与外键元数据一并冻结（见 ColumnMeta 的紧凑布局），
+ * 名称类字符串驻留，同名字段、类型在大量表之间共享同一字符串实例。冻结后调用 setter 抛出
+ * IllegalStateException。
+ * 
  * 引用：REQ-F3-003（读取表结构信息）
  *        REQ-F3-004（识别主键、字段类型）
  */
@@ -35,27 +45,201 @@ public class TableMeta implements Serializable {
     private List<IndexMeta> indexes = new ArrayList<>();
     private List<ForeignKeyMeta> foreignKeys = new ArrayList<>();
     private Integer columnCount;
+    /**
+     * 估算行数（来自索引统计信息），未知时为 null
+     */
+    private Long estimatedRows;
     private Boolean apiGenerated;
     private String apiPath;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient boolean frozen;
+
+    public TableMeta setDatasourceId(Long datasourceId) {
+        checkMutable();
+        this.datasourceId = datasourceId;
+        return this;
+    }
+
+    public TableMeta setDatasourceType(String datasourceType) {
+        checkMutable();
+        this.datasourceType = datasourceType;
+        return this;
+    }
+
+    public TableMeta setDatabaseName(String databaseName) {
+        checkMutable();
+        this.databaseName = databaseName;
+        return this;
+    }
+
+    public TableMeta setSchemaName(String schemaName) {
+        checkMutable();
+        this.schemaName = schemaName;
+        return this;
+    }
+
+    public TableMeta setTableName(String tableName) {
+        checkMutable();
+        this.tableName = tableName;
+        return this;
+    }
+
+    public TableMeta setTableType(String tableType) {
+        checkMutable();
+        this.tableType = tableType;
+        return this;
+    }
+
+    public TableMeta setTableComment(String tableComment) {
+        checkMutable();
+        this.tableComment = tableComment;
+        return this;
+    }
+
+    public TableMeta setColumns(List<ColumnMeta> columns) {
+        checkMutable();
+        this.columns = columns;
+        return this;
+    }
+
+    public TableMeta setPrimaryKeys(List<String> primaryKeys) {
+        checkMutable();
+        this.primaryKeys = primaryKeys;
+        return this;
+    }
+
+    public TableMeta setIndexes(List<IndexMeta> indexes) {
+        checkMutable();
+        this.indexes = indexes;
+        return this;
+    }
+
+    public TableMeta setForeignKeys(List<ForeignKeyMeta> foreignKeys) {
+        checkMutable();
+        this.foreignKeys = foreignKeys;
+        return this;
+    }
+
+    public TableMeta setColumnCount(Integer columnCount) {
+        checkMutable();
+        this.columnCount = columnCount;
+        return this;
+    }
+
+    public TableMeta setEstimatedRows(Long estimatedRows) {
+        checkMutable();
+        this.estimatedRows = estimatedRows;
+        return this;
+    }
+
+    public TableMeta setApiGenerated(Boolean apiGenerated) {
+        checkMutable();
+        this.apiGenerated = apiGenerated;
+        return this;
+    }
+
+    public TableMeta setApiPath(String apiPath) {
+        checkMutable();
+        this.apiPath = apiPath;
+        return this;
+    }
+
+    /**
+     * 冻结为只读共享实例，重复调用无副作用
+     *
+     * @return this
+     */
+    public TableMeta freeze() {
+        if (frozen) {
+            return this;
+        }
+        datasourceType = intern(datasourceType);
+        databaseName = intern(databaseName);
+        schemaName = intern(schemaName);
+        tableName = intern(tableName);
+        tableType = intern(tableType);
+
+        if (columns != null) {
+            for (ColumnMeta column : columns) {
+                column.freeze();
+            }
+            columns = readOnly(columns);
+        }
+        if (primaryKeys != null) {
+            // 调用方传入的列表可能不支持修改，驻留后复制
+            String[] names = primaryKeys.toArray(new String[0]);
+            for (int i = 0; i < names.length; i++) {
+                names[i] = intern(names[i]);
+            }
+            primaryKeys = names.length == 0 ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(names));
+        }
+        if (indexes != null) {
+            for (IndexMeta index : indexes) {
+                index.freeze();
+            }
+            indexes = readOnly(indexes);
+        }
+        if (foreignKeys != null) {
+            for (ForeignKeyMeta fk : foreignKeys) {
+                fk.freeze();
+            }
+            foreignKeys = readOnly(foreignKeys);
+        }
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * 是否已冻结为只读共享实例
+     */
+    public boolean frozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("表元数据为只读共享实例: " + tableName);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> readOnly(List<T> list) {
+        return list.isEmpty() ? Collections.emptyList()
+            : Collections.unmodifiableList(Arrays.asList((T[]) list.toArray()));
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+
     // 添加兼容性 setter 方法（DatabaseMetaData 风格）
     public void setName(String name) {
+        checkMutable();
         this.tableName = name;
     }
 
     public void setType(String type) {
+        checkMutable();
         this.tableType = type;
     }
 
     public void setRemarks(String remarks) {
+        checkMutable();
         this.tableComment = remarks;
     }
 
     public void setCatalog(String catalog) {
+        checkMutable();
         this.databaseName = catalog;
     }
 
     public void setSchema(String schema) {
+        checkMutable();
         this.schemaName = schema;
     }
 
@@ -0,0 +1,73 @@
+package com.iflow.api.core.dto.view;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作结果 DTO
+ * 
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = false)
+public class BatchResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 操作类型（create / update / delete）
+     */
+    private String operation;
+
+    /**
+     * 提交条数
+     */
+    private Integer total;
+
+    /**
+     * 成功条数
+     */
+    private Integer succeeded;
+
+    /**
+     * 失败条数（含因整体回滚而未生效的条目）
+     */
+    private Integer failed;
+
+    /**
+     * 事务是否已提交
+     */
+    private Boolean committed;
+
+    /**
+     * 逐条结果
+     */
+    private List<Item> items = new ArrayList<>();
+
+    /**
+     * 单条结果
+     */
+    @Data
+    @Accessors(chain = true)
+    public static class Item implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private Integer index;
+        private String status;
+        private Integer affected;
+        private String message;
+    }
+
+    public static class Status {
+        public static final String SUCCESS = "success";
+        public static final String NOT_FOUND = "not_found";
+        public static final String INVALID = "invalid";
+        public static final String FAILED = "failed";
+        public static final String ROLLED_BACK = "rolled_back";
+    }
+}
@@ -0,0 +1,56 @@
+package com.iflow.api.core.dto.view;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 分区导出结果 DTO
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = false)
+public class ExportResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 表名
+     */
+    private String table;
+
+    /**
+     * 输出格式（csv / ndjson）
+     */
+    private String format;
+
+    /**
+     * 主键区间分区数（并行扫描数）
+     */
+    private Integer partitions;
+
+    /**
+     * 导出行数
+     */
+    private Long rows;
+
+    /**
+     * 分区文件路径（按主键区间顺序），合并输出时为空
+     */
+    private List<String> files;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMs;
+
+    /**
+     * 吞吐量（行/秒）
+     */
+    private Long rowsPerSecond;
+}
@@ -0,0 +1,65 @@
+package com.iflow.api.core.dto.view;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * 批量导入结果 DTO
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = false)
+public class IngestResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 输入格式（csv / ndjson）
+     */
+    private String format;
+
+    /**
+     * 写入方式（copy / load-data / batch），原生方式不可用时为 batch
+     */
+    private String method;
+
+    /**
+     * 已提交的行数
+     */
+    private Long rows;
+
+    /**
+     * 已提交的分块数（每块一个事务）
+     */
+    private Integer chunks;
+
+    /**
+     * 是否全部导入完成
+     */
+    private Boolean completed;
+
+    /**
+     * 失败的行号（从 1 开始，不含 CSV 表头），全部完成时为空
+     */
+    private Long failedRow;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMs;
+
+    /**
+     * 吞吐量（行/秒）
+     */
+    private Long rowsPerSecond;
+}
@@ -0,0 +1,58 @@
+package com.iflow.api.core.dto.view;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 游标分页结果 DTO
+ * 
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = false)
+public class KeysetPage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页数据
+     */
+    private List<Map<String, Object>> items = new ArrayList<>();
+
+    /**
+     * 每页行数
+     */
+    private Integer size;
+
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore;
+
+    /**
+     * 下一页游标，最后一页为空
+     */
+    private String nextCursor;
+
+    /**
+     * 排序键列名
+     */
+    private List<String> orderBy;
+
+    /**
+     * 总行数，仅在请求参数 count 指定计数模式时返回
+     */
+    private Long total;
+
+    /**
+     * 总行数是否为精确值
+     */
+    private Boolean totalExact;
+}
@@ -1,6 +1,7 @@
 package com.iflow.api.core.entity;
 
 import com.baomidou.mybatisplus.annotation.*;
+import com.iflow.api.core.sql.dialect.SqlDialects;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.Accessors;
@@ -127,6 +128,7 @@ public class DatasourceConfig implements Serializable {
         public static final String POSTGRESQL = "postgresql";
         public static final String ORACLE = "oracle";
         public static final String SQLSERVER = "sqlserver";
+        public static final String H2 = "h2";
     }
 
     public static class Status {
@@ -140,7 +142,7 @@ public class DatasourceConfig implements Serializable {
             case DataSourceType.MYSQL:
                 url.append("jdbc:mysql://").append(host).append(":").append(port).append("/").append(database);
                 if (connectionParams == null || !connectionParams.contains("useUnicode")) {
-                    url.append("?useUnicode=true&characterEncoding=utf8&useSSL=false&serverTimezone=Asia/Shanghai&allowPublicKeyRetrieval=true");
+                    url.append("?useUnicode=true&characterEncoding=utf8&useSSL=false&serverTimezone=Asia/Shanghai&allowPublicKeyRetrieval=true&useCursorFetch=true");
                 }
                 break;
             case DataSourceType.POSTGRESQL:
@@ -155,12 +157,21 @@ public class DatasourceConfig implements Serializable {
             case DataSourceType.SQLSERVER:
                 url.append("jdbc:sqlserver://").append(host).append(":").append(port).append(";databaseName=").append(database);
                 break;
+            case DataSourceType.H2:
+                // database 为 mem:名称 或文件路径
+                url.append("jdbc:h2:").append(database);
+                break;
             default:
                 throw new IllegalArgumentException("不支持的数据源类型: " + type);
         }
         if (connectionParams != null && !connectionParams.isEmpty()) {
             url.append(url.toString().contains("?") ? "&" : "?").append(connectionParams);
         }
+        // 驱动批量改写参数由方言提供，连接参数中已显式设置时不覆盖
+        String batchRewrite = SqlDialects.of(type).batchRewriteParameter();
+        if (batchRewrite != null && !url.toString().contains(batchRewrite.substring(0, batchRewrite.indexOf('=') + 1))) {
+            url.append(url.toString().contains("?") ? "&" : "?").append(batchRewrite);
+        }
         return url.toString();
     }
 
@@ -170,6 +181,7 @@ public class DatasourceConfig implements Serializable {
             case DataSourceType.POSTGRESQL: return "org.postgresql.Driver";
             case DataSourceType.ORACLE: return "oracle.jdbc.OracleDriver";
             case DataSourceType.SQLSERVER: return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+            case DataSourceType.H2: return "org.h2.Driver";
             default: throw new IllegalArgumentException("不支持的数据源类型: " + type);
         }
     }
@@ -0,0 +1,64 @@
+package com.iflow.api.core.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 表元数据快照实体
+ *
+ * 按 (数据源, 表) 持久化 TableMeta 及其结构指纹，重启后重新扫描时指纹未变的表直接使用快照。
+ *
+ * 引用：REQ-F4-003（扫描数据源获取所有表信息）
+ *        REQ-F4-004（获取表字段信息、索引、外键）
+ */
+@Data
+@TableName("api_metadata_snapshot")
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = false)
+public class MetadataSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 数据源配置 ID
+     */
+    private Long datasourceId;
+
+    /**
+     * 表名
+     */
+    private String tableName;
+
+    /**
+     * 表结构指纹 (MetadataService.loadTableFingerprints)
+     */
+    private String fingerprint;
+
+    /**
+     * 表元数据快照 (TableMeta 的 JSON)
+     */
+    private String snapshot;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
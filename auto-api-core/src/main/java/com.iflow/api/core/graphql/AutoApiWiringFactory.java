@@ -14,6 +14,7 @@ public class AutoApiWiringFactory {
         // 排除标准查询和变更字段
         if (fieldName.endsWith("List") || 
             fieldName.endsWith("ById") ||
+            fieldName.endsWith("Aggregate") ||
             fieldName.startsWith("create") ||
             fieldName.startsWith("update") ||
             fieldName.startsWith("delete")) {
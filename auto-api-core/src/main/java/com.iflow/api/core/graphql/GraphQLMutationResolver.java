@@ -2,10 +2,16 @@ package com.iflow.api.core.graphql;
 
 import com.iflow.api.core.datasource.DynamicDataSourceService;
 import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.service.CountService;
 import com.iflow.api.core.service.MetadataService;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.StatementTemplateCache;
+import com.iflow.api.core.sql.TableHandler;
+import com.iflow.api.core.sql.dialect.SqlDialect;
 import com.iflow.api.core.util.NamingConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
@@ -29,6 +35,12 @@ public class GraphQLMutationResolver {
     @Autowired
     private MetadataService metadataService;
 
+    @Autowired
+    private StatementTemplateCache statementTemplateCache;
+
+    @Autowired
+    private CountService countService;
+
     /**
      * 创建记录
      * 
@@ -45,25 +57,17 @@ public class GraphQLMutationResolver {
         }
 
         try {
-            // 转换输入为下划线命名
-            Map<String, Object> snakeCaseInput = convertToSnakeCase(input);
-
-            // 构建 SQL
-            String columns = String.join(", ", snakeCaseInput.keySet());
-            String placeholders = snakeCaseInput.keySet().stream()
-                .map(k -> "?")
-                .collect(Collectors.joining(", "));
-
-            String sql = "INSERT INTO " + tableName + " (" + columns + ") VALUES (" + placeholders + ")";
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            jdbcTemplate.update(sql, snakeCaseInput.values().toArray());
+            // 主键由方言在插入语句上回读，不依赖会话级函数
+            Object id = handler.insertReturningKey(jdbcTemplate, input);
+            countService.invalidate(datasourceId, tableName);
 
             // 返回刚创建的记录
-            return getById(typeName, getGeneratedId(datasourceId, tableName), datasourceId);
+            return id == null ? null : getById(typeName, String.valueOf(id), datasourceId);
 
         } catch (Exception e) {
             log.error("GraphQL 创建失败: table={}", tableName, e);
@@ -89,28 +93,12 @@ public class GraphQLMutationResolver {
 
         try {
             TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("表没有主键"));
-
-            // 转换输入为下划线命名
-            Map<String, Object> snakeCaseInput = convertToSnakeCase(input);
-
-            // 构建 SET 子句
-            String setClause = snakeCaseInput.keySet().stream()
-                .map(k -> k + " = ?")
-                .collect(Collectors.joining(", "));
+            SqlStatement statement = statementTemplateCache.forTable(tableMeta).update(id, input);
 
-            String sql = "UPDATE " + tableName + " SET " + setClause + " WHERE " + primaryKey + " = ?";
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            List<Object> params = new ArrayList<>(snakeCaseInput.values());
-            params.add(id);
-
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
-
-            int affected = jdbcTemplate.update(sql, params.toArray());
+            int affected = jdbcTemplate.update(statement.getSql(), statement);
+            countService.invalidate(datasourceId, tableName);
 
             if (affected > 0) {
                 return getById(typeName, id, datasourceId);
@@ -141,17 +129,12 @@ public class GraphQLMutationResolver {
 
         try {
             TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("表没有主键"));
-
-            String sql = "DELETE FROM " + tableName + " WHERE " + primaryKey + " = ?";
+            SqlStatement statement = statementTemplateCache.forTable(tableMeta).deleteById(id);
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            int affected = jdbcTemplate.update(sql, id);
+            int affected = jdbcTemplate.update(statement.getSql(), statement);
+            countService.invalidate(datasourceId, tableName);
 
             return affected > 0;
 
@@ -231,13 +214,15 @@ public class GraphQLMutationResolver {
                 .orElseThrow(() -> new RuntimeException("表没有主键"));
 
             String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
-            String sql = "DELETE FROM " + tableName + " WHERE " + primaryKey + " IN (" + placeholders + ")";
+            SqlDialect dialect = statementTemplateCache.forTable(tableMeta).getDialect();
+            String sql = "DELETE FROM " + dialect.quoteIfNeeded(tableMeta.getName())
+                + " WHERE " + dialect.quoteIfNeeded(primaryKey) + " IN (" + placeholders + ")";
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            return jdbcTemplate.update(sql, ids.toArray());
+            int affected = jdbcTemplate.update(sql, ids.toArray());
+            countService.invalidate(datasourceId, tableName);
+            return affected;
 
         } catch (Exception e) {
             log.error("GraphQL 批量删除失败: table={}", tableName, e);
@@ -262,6 +247,15 @@ public class GraphQLMutationResolver {
         }
 
         try {
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
+            if (handler.getStatements().supportsUpsert()) {
+                // 方言支持时以单条语句完成
+                handler.upsert(dynamicDataSourceService.getJdbcTemplate(datasourceId), id, input);
+                countService.invalidate(datasourceId, tableName);
+                return getById(typeName, id, datasourceId);
+            }
+
             // 先尝试更新
             try {
                 return update(typeName, id, input, datasourceId);
@@ -276,25 +270,6 @@ public class GraphQLMutationResolver {
         }
     }
 
-    /**
-     * 获取刚创建的记录 ID
-     */
-    private String getGeneratedId(Long datasourceId, String tableName) {
-        try {
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
-
-            // MySQL
-            String sql = "SELECT LAST_INSERT_ID()";
-            return jdbcTemplate.queryForObject(sql, String.class);
-
-        } catch (Exception e) {
-            log.warn("获取生成 ID 失败", e);
-            return null;
-        }
-    }
-
     /**
      * 根据 ID 获取记录
      */
@@ -307,46 +282,16 @@ public class GraphQLMutationResolver {
 
         try {
             TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("表没有主键"));
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            String sql = "SELECT * FROM " + tableName + " WHERE " + primaryKey + " = ?";
-            Map<String, Object> row = jdbcTemplate.queryForMap(sql, id);
-
-            return convertToCamelCase(row);
+            return DataAccessUtils.requiredSingleResult(
+                handler.query(jdbcTemplate, handler.getStatements().selectById(id)));
 
         } catch (Exception e) {
             log.error("获取记录失败: table={}, id={}", tableName, id, e);
             throw new RuntimeException("获取记录失败: " + e.getMessage());
         }
     }
-
-    /**
-     * 将 Map 的键从下划线命名转换为驼峰命名
-     */
-    private Map<String, Object> convertToCamelCase(Map<String, Object> map) {
-        java.util.Map<String, Object> result = new java.util.LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String camelKey = NamingConverter.toCamelCase(entry.getKey());
-            result.put(camelKey, entry.getValue());
-        }
-        return result;
-    }
-
-    /**
-     * 将 Map 的键从驼峰命名转换为下划线命名
-     */
-    private Map<String, Object> convertToSnakeCase(Map<String, Object> map) {
-        java.util.Map<String, Object> result = new java.util.LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String snakeKey = NamingConverter.toSnakeCase(entry.getKey());
-            result.put(snakeKey, entry.getValue());
-        }
-        return result;
-    }
 }
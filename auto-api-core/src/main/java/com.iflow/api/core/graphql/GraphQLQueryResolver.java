@@ -2,18 +2,26 @@ package com.iflow.api.core.graphql;
 
 import com.iflow.api.core.datasource.DynamicDataSourceService;
 import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.service.ApiRouteIndex;
+import com.iflow.api.core.service.CountService;
 import com.iflow.api.core.service.MetadataService;
+import com.iflow.api.core.sql.RowShape;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.StatementTemplateCache;
+import com.iflow.api.core.sql.TableHandler;
+import com.iflow.api.core.sql.TableStatements;
 import com.iflow.api.core.util.NamingConverter;
 import graphql.GraphQL;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.SelectedField;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * GraphQL Query Resolver
@@ -33,9 +41,20 @@ public class GraphQLQueryResolver {
     @Autowired
     private GraphQLSchemaGenerator schemaGenerator;
 
+    @Autowired
+    private StatementTemplateCache statementTemplateCache;
+
+    @Autowired
+    private ApiRouteIndex apiRouteIndex;
+
+    @Autowired
+    private CountService countService;
+
     /**
      * 获取列表查询
      * 
+     * 条件来自 filter 参数（支持 field[op] 过滤表达式），未传时返回前 100 条。
+     * 
      * @param env GraphQL 环境
      * @return 数据列表
      */
@@ -49,17 +68,13 @@ public class GraphQLQueryResolver {
         }
 
         try {
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
 
-            String sql = "SELECT * FROM " + tableName + " LIMIT 100";
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            // 转换字段名
-            return rows.stream()
-                .map(this::convertToCamelCase)
-                .collect(Collectors.toList());
+            return handler.list(jdbcTemplate, filterConditions(env.getArgument("filter")),
+                projectionOf(env, handler, tableName), 100);
 
         } catch (Exception e) {
             log.error("GraphQL 查询列表失败: table={}", tableName, e);
@@ -85,18 +100,12 @@ public class GraphQLQueryResolver {
 
         try {
             TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("表没有主键"));
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            String sql = "SELECT * FROM " + tableName + " WHERE " + primaryKey + " = ?";
-            Map<String, Object> row = jdbcTemplate.queryForMap(sql, id);
-
-            return convertToCamelCase(row);
+            return DataAccessUtils.requiredSingleResult(handler.query(jdbcTemplate,
+                handler.getStatements().selectById(id, projectionOf(env, handler, tableName))));
 
         } catch (Exception e) {
             log.error("GraphQL 查询详情失败: table={}, id={}", tableName, id, e);
@@ -106,6 +115,8 @@ public class GraphQLQueryResolver {
 
     /**
      * 条件查询
+     *
+     * 条件来自 filter 参数（支持 field[op] 过滤表达式）与其余字段参数（等值比较）。
      * 
      * @param env GraphQL 环境
      * @return 符合条件的数据列表
@@ -119,40 +130,62 @@ public class GraphQLQueryResolver {
             throw new RuntimeException("无法确定数据源");
         }
 
-        Map<String, Object> args = env.getArguments();
+        Map<String, Object> args = new LinkedHashMap<>(env.getArguments());
         args.remove("id"); // 移除 id 参数
+        args.putAll(filterConditions(args.remove("filter")));
 
         if (args.isEmpty()) {
             return queryList(env);
         }
 
         try {
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
 
-            StringBuilder sql = new StringBuilder("SELECT * FROM " + tableName + " WHERE ");
-            List<Object> params = new ArrayList<>();
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            for (Map.Entry<String, Object> entry : args.entrySet()) {
-                String column = NamingConverter.toSnakeCase(entry.getKey());
-                if (sql.length() > 30) {
-                    sql.append(" AND ");
-                }
-                sql.append(column).append(" = ?");
-                params.add(entry.getValue());
-            }
+            return handler.list(jdbcTemplate, args, projectionOf(env, handler, tableName), 100);
 
-            sql.append(" LIMIT 100");
+        } catch (Exception e) {
+            log.error("GraphQL 条件查询失败: table={}", tableName, e);
+            throw new RuntimeException("查询失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 分组聚合查询
+     *
+     * 字段名为 {类型}Aggregate，参数 groupBy、aggregates（如 count(*)、sum(amount)）、filter，
+     * 在数据库中以一条 GROUP BY 语句完成聚合。
+     *
+     * @param env GraphQL 环境
+     * @return 分组结果
+     */
+    public List<Map<String, Object>> queryAggregate(DataFetchingEnvironment env) {
+        String fieldName = env.getField().getName();
+        String tableName = NamingConverter.toSnakeCase(
+            fieldName.endsWith("Aggregate") ? fieldName.substring(0, fieldName.length() - "Aggregate".length())
+                : getTypeName(env));
+        Long datasourceId = getDatasourceId(env);
 
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql.toString(), params.toArray());
+        if (datasourceId == null) {
+            throw new RuntimeException("无法确定数据源");
+        }
+
+        List<String> groupBy = env.getArgument("groupBy");
+        List<String> aggregates = env.getArgument("aggregates");
+        Object filter = env.getArgument("filter");
+
+        try {
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
 
-            return rows.stream()
-                .map(this::convertToCamelCase)
-                .collect(Collectors.toList());
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
+
+            return handler.aggregate(jdbcTemplate, groupBy, aggregates, filterConditions(filter), 1000);
 
         } catch (Exception e) {
-            log.error("GraphQL 条件查询失败: table={}", tableName, e);
+            log.error("GraphQL 聚合查询失败: table={}", tableName, e);
             throw new RuntimeException("查询失败: " + e.getMessage());
         }
     }
@@ -176,28 +209,23 @@ public class GraphQLQueryResolver {
             TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
 
             // 获取关联数据（外键关联）
-            List<Map<String, Object>> result = new ArrayList<>();
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            String sql = "SELECT * FROM " + tableName + " LIMIT 100";
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
+            SqlStatement statement = statementTemplateCache.forTable(tableMeta)
+                .select(Collections.emptyMap(), 100);
+            List<Map<String, Object>> rows = jdbcTemplate.query(statement.getSql(), statement,
+                RowShape.extractor());
 
             for (Map<String, Object> row : rows) {
-                Map<String, Object> enrichedRow = new LinkedHashMap<>(convertToCamelCase(row));
-
                 // 添加关联数据
                 for (com.iflow.api.core.dto.metadata.ForeignKeyMeta fk : tableMeta.getForeignKeys()) {
                     String relationFieldName = NamingConverter.toCamelCase(fk.getFkName());
                     Object relatedData = fetchRelatedData(datasourceId, fk, row);
-                    enrichedRow.put(relationFieldName, relatedData);
+                    row.put(relationFieldName, relatedData);
                 }
-
-                result.add(enrichedRow);
             }
 
-            return result;
+            return rows;
 
         } catch (Exception e) {
             log.error("GraphQL 关联查询失败: table={}", tableName, e);
@@ -212,24 +240,19 @@ public class GraphQLQueryResolver {
             com.iflow.api.core.dto.metadata.ForeignKeyMeta fk, 
             Map<String, Object> row) {
         try {
-            String fkColumn = NamingConverter.toSnakeCase(fk.getFkColumnName());
-            Object fkValue = row.get(fkColumn);
+            Object fkValue = row.get(NamingConverter.toCamelCase(fk.getFkColumnName()));
 
             if (fkValue == null) {
                 return null;
             }
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
             String pkTable = fk.getPkTableName();
             String pkColumn = NamingConverter.toSnakeCase(fk.getPkColumnName());
 
             String sql = "SELECT * FROM " + pkTable + " WHERE " + pkColumn + " = ?";
-            Map<String, Object> relatedRow = jdbcTemplate.queryForMap(sql, fkValue);
-
-            return convertToCamelCase(relatedRow);
+            return DataAccessUtils.requiredSingleResult(jdbcTemplate.query(sql, RowShape.extractor(), fkValue));
 
         } catch (Exception e) {
             log.warn("获取关联数据失败: fk={}", fk.getFkName(), e);
@@ -239,6 +262,8 @@ public class GraphQLQueryResolver {
 
     /**
      * 统计查询
+     *
+     * 参数 count 指定计数模式（exact/cached/estimated），默认按 auto.api.count.mode。
      * 
      * @param env GraphQL 环境
      * @return 统计数据
@@ -253,15 +278,17 @@ public class GraphQLQueryResolver {
         }
 
         try {
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableHandler handler = statementTemplateCache.handlerFor(tableMeta);
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            String sql = "SELECT COUNT(*) as total FROM " + tableName;
-            Map<String, Object> result = jdbcTemplate.queryForMap(sql);
+            CountService.Mode mode = CountService.Mode.of(env.getArgument("count"));
+            CountService.Total total = countService.count(jdbcTemplate, handler.getStatements(),
+                Collections.emptyMap(), mode == CountService.Mode.NONE ? null : mode);
 
             Map<String, Object> countResult = new HashMap<>();
-            countResult.put("total", result.get("total"));
+            countResult.put("total", total.getValue());
+            countResult.put("exact", total.isExact());
             countResult.put("type", typeName);
 
             return countResult;
@@ -274,6 +301,8 @@ public class GraphQLQueryResolver {
 
     /**
      * 分页查询
+     *
+     * 仅当选择集包含 total 或 totalPages 时计算总数，计数模式由参数 count 指定。
      * 
      * @param env GraphQL 环境
      * @return 分页数据
@@ -299,36 +328,40 @@ public class GraphQLQueryResolver {
         if (size == null || size < 1 || size > 100) {
             size = 10;
         }
-        if (orderBy == null) {
-            orderBy = "id";
-        }
         if (orderDir == null) {
             orderDir = "DESC";
         }
 
         try {
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            JdbcTemplate jdbcTemplate = dynamicDataSourceService.getJdbcTemplate(datasourceId);
 
-            // 查询总数
-            String countSql = "SELECT COUNT(*) FROM " + tableName;
-            int total = jdbcTemplate.queryForObject(countSql, Integer.class);
+            // 客户端未请求总数时不计数
+            CountService.Mode mode = CountService.Mode.of(env.getArgument("count"));
+            if (env.getSelectionSet() != null && !env.getSelectionSet().contains("total")
+                    && !env.getSelectionSet().contains("totalPages")) {
+                mode = CountService.Mode.NONE;
+            }
+            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+            TableStatements statements = statementTemplateCache.forTable(tableMeta);
+            CountService.Total total = countService.count(jdbcTemplate,
+                statements, Collections.emptyMap(), mode);
 
-            // 查询数据
-            String orderColumn = NamingConverter.toSnakeCase(orderBy);
-            String dataSql = "SELECT * FROM " + tableName 
-                + " ORDER BY " + orderColumn + " " + orderDir
-                + " LIMIT " + size + " OFFSET " + ((page - 1) * size);
+            // 查询数据（排序字段按表结构校验，分页语法由方言生成）
+            SqlStatement dataStatement = statements.page(orderBy, "DESC".equalsIgnoreCase(orderDir),
+                size, (long) (page - 1) * size);
 
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(dataSql);
+            List<Map<String, Object>> rows = jdbcTemplate.query(dataStatement.getSql(), dataStatement,
+                RowShape.extractor());
 
             Map<String, Object> result = new HashMap<>();
-            result.put("items", rows.stream().map(this::convertToCamelCase).collect(Collectors.toList()));
-            result.put("total", total);
+            result.put("items", rows);
             result.put("page", page);
             result.put("size", size);
-            result.put("totalPages", (total + size - 1) / size);
+            if (total != null) {
+                result.put("total", total.getValue());
+                result.put("totalExact", total.isExact());
+                result.put("totalPages", (total.getValue() + size - 1) / size);
+            }
 
             return result;
 
@@ -338,6 +371,39 @@ public class GraphQLQueryResolver {
         }
     }
 
+    /**
+     * 按 GraphQL 选择集计算查询投影，并与表配置的包含/排除字段取交集
+     *
+     * 选择集中不对应列的字段（关联字段、__typename 等）不参与投影。
+     */
+    private BitSet projectionOf(DataFetchingEnvironment env, TableHandler handler, String tableName) {
+        TableStatements statements = handler.getStatements();
+        List<String> fields = new ArrayList<>();
+        if (env.getSelectionSet() != null) {
+            for (SelectedField field : env.getSelectionSet().getImmediateFields()) {
+                if (statements.hasField(field.getName())) {
+                    fields.add(field.getName());
+                }
+            }
+        }
+        ApiRouteIndex.Route route = apiRouteIndex.lookupTable(tableName);
+        return statements.projection(
+            route != null ? route.getIncludeColumns() : null,
+            route != null ? route.getExcludeColumns() : null,
+            fields);
+    }
+
+    /**
+     * 将 filter 参数转换为查询条件，键为字段名或 field[op] 过滤表达式，由 TableStatements 编译
+     */
+    private static Map<String, Object> filterConditions(Object filter) {
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        if (filter instanceof Map) {
+            ((Map<?, ?>) filter).forEach((key, value) -> conditions.put(String.valueOf(key), value));
+        }
+        return conditions;
+    }
+
     /**
      * 获取类型名称
      */
@@ -360,16 +426,4 @@ public class GraphQLQueryResolver {
         }
         return 1L; // 默认数据源
     }
-
-    /**
-     * 将 Map 的键从下划线命名转换为驼峰命名
-     */
-    private Map<String, Object> convertToCamelCase(Map<String, Object> map) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String camelKey = NamingConverter.toCamelCase(entry.getKey());
-            result.put(camelKey, entry.getValue());
-        }
-        return result;
-    }
 }
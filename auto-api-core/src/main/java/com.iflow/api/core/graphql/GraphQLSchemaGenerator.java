@@ -6,6 +6,7 @@ import com.iflow.api.core.util.NamingConverter;
 import com.iflow.api.core.util.TypeConverter;
 import graphql.GraphQL;
 import graphql.Scalars;
+import graphql.scalars.ExtendedScalars;
 import graphql.schema.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -245,11 +246,33 @@ public class GraphQLSchemaGenerator {
             String typeName = entry.getKey();
             GraphQLObjectType type = entry.getValue();
 
-            // 获取列表
+            // 获取列表，filter 为过滤条件对象，如 {"age[gt]": 18, "status[in]": [1, 2]}
             String listFieldName = NamingConverter.toCamelCase(typeName) + "List";
             queryBuilder.field(GraphQLFieldDefinition.newFieldDefinition()
                 .name(listFieldName)
                 .type(GraphQLList.list(GraphQLTypeReference.typeRef(typeName)))
+                .argument(GraphQLArgument.newArgument()
+                    .name("filter")
+                    .type(ExtendedScalars.Json)
+                    .build())
+                .build());
+
+            // 分组聚合，如 userAggregate(groupBy: ["status"], aggregates: ["count(*)", "sum(amount)"])
+            queryBuilder.field(GraphQLFieldDefinition.newFieldDefinition()
+                .name(NamingConverter.toCamelCase(typeName) + "Aggregate")
+                .type(GraphQLList.list(ExtendedScalars.Json))
+                .argument(GraphQLArgument.newArgument()
+                    .name("groupBy")
+                    .type(GraphQLList.list(GraphQLNonNull.nonNull(Scalars.GraphQLString)))
+                    .build())
+                .argument(GraphQLArgument.newArgument()
+                    .name("aggregates")
+                    .type(GraphQLNonNull.nonNull(GraphQLList.list(GraphQLNonNull.nonNull(Scalars.GraphQLString))))
+                    .build())
+                .argument(GraphQLArgument.newArgument()
+                    .name("filter")
+                    .type(ExtendedScalars.Json)
+                    .build())
                 .build());
 
             // 获取单条
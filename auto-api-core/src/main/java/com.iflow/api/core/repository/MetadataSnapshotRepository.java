@@ -0,0 +1,31 @@
+package com.iflow.api.core.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.iflow.api.core.entity.MetadataSnapshot;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 表元数据快照 Repository
+ *
+ * 引用：REQ-F4-003（扫描数据源获取所有表信息）
+ */
+@Mapper
+public interface MetadataSnapshotRepository extends BaseMapper<MetadataSnapshot> {
+
+    /**
+     * 根据数据源 ID 查询所有快照
+     */
+    @Select("SELECT * FROM api_metadata_snapshot WHERE datasource_id = #{datasourceId} ORDER BY table_name ASC")
+    List<MetadataSnapshot> findByDatasourceId(@Param("datasourceId") Long datasourceId);
+
+    /**
+     * 根据数据源 ID 删除所有快照
+     */
+    @Delete("DELETE FROM api_metadata_snapshot WHERE datasource_id = #{datasourceId}")
+    int deleteByDatasourceId(@Param("datasourceId") Long datasourceId);
+}
@@ -74,18 +74,16 @@ public class ApiGenerationService {
         // 扫描所有表
         List<TableMeta> allTables = metadataService.getAllTables(datasourceId);
 
-        // 过滤需要生成的表
-        List<TableMeta> targetTables;
-        if (tableNames == null || tableNames.isEmpty()) {
-            targetTables = allTables;
-        } else {
-            Set<String> nameSet = new HashSet<>(tableNames);
-            targetTables = allTables.stream()
-                .filter(t -> nameSet.contains(t.getTableName()))
-                .collect(Collectors.toList());
-        }
-
-        int generatedCount = 0;
+        // 过滤需要生成的表，表结构按批量或并发方式读取
+        Set<String> nameSet = tableNames == null || tableNames.isEmpty() ? null : new HashSet<>(tableNames);
+        List<String> targetNames = allTables.stream()
+            .map(TableMeta::getTableName)
+            .filter(name -> nameSet == null || nameSet.contains(name))
+            .collect(Collectors.toList());
+        List<TableMeta> targetTables = metadataService.getTableDetails(datasourceId, targetNames);
+
+        List<TableMeta> generated = new ArrayList<>(targetTables.size());
+        Map<String, TableSelection> selections = new HashMap<>(targetTables.size() * 2);
         for (TableMeta table : targetTables) {
             try {
                 // 创建表选择记录
@@ -96,16 +94,18 @@ public class ApiGenerationService {
                 selection.setGenerateMode(autoSelect ? "auto" : "manual");
                 tableSelectionRepository.insert(selection);
 
-                // 生成 API
-                generateApiForTable(selection, table);
-                generatedCount++;
+                // 生成 GraphQL 类型与状态记录，REST 路由在循环结束后一次性注册
+                recordGeneratedApi(selection, table);
+                generated.add(table);
+                selections.put(table.getTableName(), selection);
             } catch (Exception e) {
                 log.error("生成 API 失败: table={}", table.getTableName(), e);
             }
         }
+        dynamicRouteRegistry.registerRestApis(datasourceId, generated, selections);
 
-        log.info("API 生成完成: success={}", generatedCount);
-        return generatedCount;
+        log.info("API 生成完成: success={}", generated.size());
+        return generated.size();
     }
 
     /**
@@ -113,13 +113,20 @@ public class ApiGenerationService {
      */
     @Transactional
     public void generateApiForTable(TableSelection selection, TableMeta tableMeta) {
-        Long datasourceId = selection.getDatasourceId();
-        String tableName = selection.getTableName();
-
-        log.info("开始生成 API: table={}", tableName);
+        log.info("开始生成 API: table={}", selection.getTableName());
 
         // 生成 REST API 路由
-        dynamicRouteRegistry.registerRestApi(tableMeta, datasourceId);
+        dynamicRouteRegistry.registerRestApi(tableMeta, selection.getDatasourceId());
+
+        recordGeneratedApi(selection, tableMeta);
+    }
+
+    /**
+     * 生成 GraphQL 类型并记录 API 生成状态
+     */
+    private void recordGeneratedApi(TableSelection selection, TableMeta tableMeta) {
+        Long datasourceId = selection.getDatasourceId();
+        String tableName = selection.getTableName();
 
         // 生成 GraphQL 类型
         graphQLSchemaGenerator.generateType(tableMeta);
@@ -0,0 +1,436 @@
+package com.iflow.api.core.service;
+
+import com.alibaba.fastjson.JSON;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.ApiGenerationStatus;
+import com.iflow.api.core.entity.TableSelection;
+import com.iflow.api.core.repository.ApiGenerationStatusRepository;
+import com.iflow.api.core.repository.TableSelectionRepository;
+import com.iflow.api.core.sql.StatementTemplateCache;
+import com.iflow.api.core.sql.TableHandler;
+import com.iflow.api.core.sql.TableStatements;
+import com.iflow.api.core.util.NamingConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * API 路由索引
+ *
+ * 内存中的不可变索引（API 路径 -> 数据源、表元数据、表处理器），整体通过 AtomicReference
+ * 原子替换。请求路由只做一次哈希查找，不访问数据库；DynamicRouteRegistry 注册或注销表时
+ * 以写时复制的方式增量更新。
+ *
+ * 首次访问时由 api_table_selection 与 api_generation_status 全量构建。
+ *
+ * 引用：REQ-F2-003（动态添加 API 接口路由）
+ *        REQ-F0-010（刷新 API 配置接口）
+ */
+@Slf4j
+@Service
+public class ApiRouteIndex {
+
+    @Autowired
+    private TableSelectionRepository tableSelectionRepository;
+
+    @Autowired
+    private ApiGenerationStatusRepository apiGenerationStatusRepository;
+
+    @Autowired
+    private StatementTemplateCache statementTemplateCache;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 按 API 路径查找路由
+     *
+     * @param apiPath API 路径（kebab-case，不含 /api/ 前缀）
+     * @return 路由，不存在时返回 null
+     */
+    public Route lookup(String apiPath) {
+        return current().routes.get(apiPath);
+    }
+
+    /**
+     * 按表名查找路由
+     *
+     * @param tableName 表名
+     * @return 路由，不存在时返回 null
+     */
+    public Route lookupTable(String tableName) {
+        return lookup(NamingConverter.toApiPath(tableName));
+    }
+
+    /**
+     * 获取全部路由
+     */
+    public Collection<Route> getRoutes() {
+        return current().routes.values();
+    }
+
+    /**
+     * 获取路由数量
+     */
+    public int size() {
+        return current().routes.size();
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public synchronized void rebuild() {
+        snapshot.set(load());
+    }
+
+    /**
+     * 按表选择记录查找路由
+     *
+     * @param tableSelectionId 表选择记录 ID
+     * @return 路由，不存在时返回 null
+     */
+    public Route lookupSelection(Long tableSelectionId) {
+        Snapshot current = current();
+        String apiPath = current.pathsBySelection.get(tableSelectionId);
+        return apiPath == null ? null : current.routes.get(apiPath);
+    }
+
+    /**
+     * 注册表路由（已存在同路径路由时覆盖）
+     *
+     * @param tableSelectionId 表选择记录 ID，可为 null
+     * @param datasourceId 数据源 ID
+     * @param tableMeta 表元数据
+     */
+    public void register(Long tableSelectionId, Long datasourceId, TableMeta tableMeta) {
+        register(tableSelectionId, datasourceId, tableMeta, null);
+    }
+
+    /**
+     * 注册表路由，并应用表选择记录中的包含/排除字段配置
+     *
+     * @param selection 表选择记录，可为 null
+     * @param datasourceId 数据源 ID
+     * @param tableMeta 表元数据
+     */
+    public void register(TableSelection selection, Long datasourceId, TableMeta tableMeta) {
+        register(selection != null ? selection.getId() : null, datasourceId, tableMeta, selection);
+    }
+
+    private synchronized void register(Long tableSelectionId, Long datasourceId, TableMeta tableMeta,
+                                       TableSelection selection) {
+        Map<String, Route> routes = new HashMap<>(current().routes);
+        put(routes, newRoute(tableSelectionId, datasourceId, tableMeta, selection));
+        snapshot.set(new Snapshot(routes));
+    }
+
+    /**
+     * 以新的表元数据替换表选择记录对应的路由，沿用旧路由的包含/排除字段配置
+     *
+     * @param tableSelectionId 表选择记录 ID
+     * @param datasourceId 数据源 ID
+     * @param tableMeta 新的表元数据
+     */
+    public void replace(Long tableSelectionId, Long datasourceId, TableMeta tableMeta) {
+        replace(tableSelectionId, datasourceId, tableMeta, null);
+    }
+
+    /**
+     * 以新的表元数据替换表选择记录对应的路由，并应用表选择记录中的包含/排除字段配置
+     *
+     * @param selection 表选择记录
+     * @param datasourceId 数据源 ID
+     * @param tableMeta 新的表元数据
+     */
+    public void replace(TableSelection selection, Long datasourceId, TableMeta tableMeta) {
+        replace(selection.getId(), datasourceId, tableMeta, selection);
+    }
+
+    /**
+     * 移除旧路由与放入新路由在同一次写时复制中完成，请求在替换前后分别命中旧路由或新路由，
+     * 不会出现路由缺失的窗口
+     */
+    private synchronized void replace(Long tableSelectionId, Long datasourceId, TableMeta tableMeta,
+                                      TableSelection selection) {
+        Snapshot old = current();
+        String oldPath = old.pathsBySelection.get(tableSelectionId);
+        Route previous = oldPath != null ? old.routes.get(oldPath) : null;
+        Route route = selection == null && previous != null
+            ? newRoute(tableSelectionId, datasourceId, tableMeta,
+                previous.getIncludeColumns(), previous.getExcludeColumns())
+            : newRoute(tableSelectionId, datasourceId, tableMeta, selection);
+
+        Map<String, Route> routes = new HashMap<>(old.routes);
+        if (oldPath != null && !oldPath.equals(route.getApiPath())) {
+            routes.remove(oldPath);
+        }
+        put(routes, route);
+        snapshot.set(new Snapshot(routes));
+    }
+
+    /**
+     * 批量注册表路由，全部路由构建完成后一次性发布
+     *
+     * 逐表注册时每次都要复制整个路由表，注册 N 张表的代价为 O(N²)；
+     * 扫描数据源等批量场景应使用本方法，只复制一次。
+     *
+     * @param datasourceId 数据源 ID
+     * @param tables 表元数据
+     * @param selections 表名 -> 表选择记录，可为 null 或缺少部分表
+     */
+    public synchronized void registerAll(Long datasourceId, Collection<TableMeta> tables,
+                                         Map<String, TableSelection> selections) {
+        if (tables.isEmpty()) {
+            return;
+        }
+        Map<String, Route> routes = new HashMap<>(current().routes);
+        for (TableMeta tableMeta : tables) {
+            TableSelection selection = selections != null ? selections.get(tableMeta.getName()) : null;
+            put(routes, newRoute(selection != null ? selection.getId() : null, datasourceId, tableMeta, selection));
+        }
+        snapshot.set(new Snapshot(routes));
+    }
+
+    private Route newRoute(Long tableSelectionId, Long datasourceId, TableMeta tableMeta,
+                           TableSelection selection) {
+        return newRoute(tableSelectionId, datasourceId, tableMeta,
+            selection != null ? parseColumns(selection.getIncludeColumns()) : null,
+            selection != null ? parseColumns(selection.getExcludeColumns()) : null);
+    }
+
+    private Route newRoute(Long tableSelectionId, Long datasourceId, TableMeta tableMeta,
+                           List<String> includeColumns, List<String> excludeColumns) {
+        // 路由持有的元数据与缓存一致地冻结为只读共享实例
+        tableMeta.freeze();
+        return new Route(tableSelectionId, datasourceId, tableMeta.getName(),
+            NamingConverter.toApiPath(tableMeta.getName()), tableMeta,
+            statementTemplateCache.handlerFor(tableMeta), includeColumns, excludeColumns);
+    }
+
+    private static void put(Map<String, Route> routes, Route route) {
+        Route previous = routes.put(route.getApiPath(), route);
+        if (previous != null && !previous.getDatasourceId().equals(route.getDatasourceId())) {
+            log.warn("API 路径冲突，覆盖旧路由: path={}, oldDatasourceId={}, newDatasourceId={}",
+                route.getApiPath(), previous.getDatasourceId(), route.getDatasourceId());
+        }
+    }
+
+    /**
+     * 按表选择记录注销路由
+     *
+     * @param tableSelectionId 表选择记录 ID
+     * @return 是否存在并已注销
+     */
+    public synchronized boolean unregister(Long tableSelectionId) {
+        Snapshot old = current();
+        String apiPath = old.pathsBySelection.get(tableSelectionId);
+        if (apiPath == null) {
+            return false;
+        }
+        Map<String, Route> routes = new HashMap<>(old.routes);
+        routes.remove(apiPath);
+        snapshot.set(new Snapshot(routes));
+        return true;
+    }
+
+    /**
+     * 按数据源和表名注销路由
+     *
+     * @return 是否存在并已注销
+     */
+    public synchronized boolean unregisterTable(Long datasourceId, String tableName) {
+        Snapshot old = current();
+        String apiPath = NamingConverter.toApiPath(tableName);
+        Route route = old.routes.get(apiPath);
+        if (route == null || !route.getDatasourceId().equals(datasourceId)) {
+            return false;
+        }
+        Map<String, Route> routes = new HashMap<>(old.routes);
+        routes.remove(apiPath);
+        snapshot.set(new Snapshot(routes));
+        return true;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            if (current == null) {
+                current = load();
+                snapshot.set(current);
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 加载已选择且未被移除的表
+     */
+    private Snapshot load() {
+        List<TableSelection> selections = tableSelectionRepository.findAllSelected();
+
+        // 已注销或已移除的表不再提供路由
+        Set<String> removed = new HashSet<>();
+        for (ApiGenerationStatus status : apiGenerationStatusRepository.selectList(null)) {
+            if (ApiGenerationStatus.Status.REMOVED.equals(status.getStatus())
+                    || "UNREGISTERED".equals(status.getStatus())) {
+                removed.add(status.getDatasourceId() + ":" + status.getTableName());
+            }
+        }
+
+        Map<String, Route> routes = new HashMap<>(selections.size() * 2);
+        for (TableSelection selection : selections) {
+            if (!selection.shouldGenerate()
+                    || removed.contains(selection.getDatasourceId() + ":" + selection.getTableName())) {
+                continue;
+            }
+            String apiPath = NamingConverter.toApiPath(selection.getTableName());
+            // 查询结果按数据源、优先级排序，同路径保留先出现的表
+            routes.putIfAbsent(apiPath, new Route(selection.getId(), selection.getDatasourceId(),
+                selection.getTableName(), apiPath, null, null,
+                parseColumns(selection.getIncludeColumns()), parseColumns(selection.getExcludeColumns())));
+        }
+
+        log.info("API 路由索引已构建: routes={}", routes.size());
+        return new Snapshot(routes);
+    }
+
+    /**
+     * 解析字段列表配置（JSON 数组，兼容逗号分隔）
+     */
+    static List<String> parseColumns(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        String text = value.trim();
+        if (text.startsWith("[")) {
+            try {
+                return Collections.unmodifiableList(JSON.parseArray(text, String.class));
+            } catch (RuntimeException e) {
+                log.warn("字段列表配置格式错误，已忽略: {}", value);
+                return Collections.emptyList();
+            }
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : text.split(",")) {
+            if (!column.trim().isEmpty()) {
+                columns.add(column.trim());
+            }
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * 索引快照
+     */
+    private static final class Snapshot {
+        private final Map<String, Route> routes;
+        private final Map<Long, String> pathsBySelection;
+
+        private Snapshot(Map<String, Route> routes) {
+            Map<Long, String> paths = new HashMap<>(routes.size() * 2);
+            for (Route route : routes.values()) {
+                if (route.getTableSelectionId() != null) {
+                    paths.put(route.getTableSelectionId(), route.getApiPath());
+                }
+            }
+            this.routes = Collections.unmodifiableMap(routes);
+            this.pathsBySelection = Collections.unmodifiableMap(paths);
+        }
+    }
+
+    /**
+     * 单表路由
+     */
+    public static final class Route {
+        private final Long tableSelectionId;
+        private final Long datasourceId;
+        private final String tableName;
+        private final String apiPath;
+        private final TableMeta tableMeta;
+        private final TableHandler handler;
+        private final List<String> includeColumns;
+        private final List<String> excludeColumns;
+
+        public Route(Long tableSelectionId, Long datasourceId, String tableName, String apiPath,
+                     TableMeta tableMeta, TableHandler handler) {
+            this(tableSelectionId, datasourceId, tableName, apiPath, tableMeta, handler, null, null);
+        }
+
+        public Route(Long tableSelectionId, Long datasourceId, String tableName, String apiPath,
+                     TableMeta tableMeta, TableHandler handler,
+                     List<String> includeColumns, List<String> excludeColumns) {
+            this.tableSelectionId = tableSelectionId;
+            this.datasourceId = datasourceId;
+            this.tableName = tableName;
+            this.apiPath = apiPath;
+            this.tableMeta = tableMeta;
+            this.handler = handler;
+            this.includeColumns = includeColumns != null ? includeColumns : Collections.emptyList();
+            this.excludeColumns = excludeColumns != null ? excludeColumns : Collections.emptyList();
+        }
+
+        public Long getTableSelectionId() {
+            return tableSelectionId;
+        }
+
+        public Long getDatasourceId() {
+            return datasourceId;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getApiPath() {
+            return apiPath;
+        }
+
+        /**
+         * 注册时的表元数据，由数据库全量构建的路由为 null（首次请求时经元数据缓存加载）
+         */
+        public TableMeta getTableMeta() {
+            return tableMeta;
+        }
+
+        /**
+         * 注册时生成的表处理器，可能为 null
+         */
+        public TableHandler getHandler() {
+            return handler;
+        }
+
+        /**
+         * 表配置的包含字段，为空表示全部
+         */
+        public List<String> getIncludeColumns() {
+            return includeColumns;
+        }
+
+        /**
+         * 表配置的排除字段
+         */
+        public List<String> getExcludeColumns() {
+            return excludeColumns;
+        }
+
+        /**
+         * 注册时预生成的语句模板，可能为 null
+         */
+        public TableStatements getStatements() {
+            return handler != null ? handler.getStatements() : null;
+        }
+    }
+}
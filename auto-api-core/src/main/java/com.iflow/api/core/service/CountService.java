@@ -0,0 +1,242 @@
+package com.iflow.api.core.service;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.TableStatements;
+import com.iflow.api.core.sql.dialect.SqlDialects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 行数统计服务
+ *
+ * 分页与统计接口的总数按模式获取：
+ * exact 每次执行 COUNT(*)；cached 缓存 COUNT(*) 结果，TTL 过期或表有写入时失效；
+ * estimated 读取数据库统计信息（MySQL information_schema.TABLES.TABLE_ROWS、
+ * PostgreSQL pg_class.reltuples、Oracle ALL_TABLES.NUM_ROWS），仅适用于无条件的全表计数，
+ * 带条件或统计信息不可用时退化为 cached；none 不计算总数。
+ *
+ * 失效采用版本号机制：写入推进表版本，计数开始时记录版本，期间有写入则不写回缓存。
+ *
+ * 引用：REQ-F1-004（自动生成 Query API）
+ *        REQ-F2-001（通用的 CRUD API）
+ */
+@Slf4j
+@Service
+public class CountService {
+
+    /**
+     * 计数模式
+     */
+    public enum Mode {
+        EXACT, CACHED, ESTIMATED, NONE;
+
+        /**
+         * 按名称解析（忽略大小写），为空时返回 null
+         */
+        public static Mode of(String name) {
+            if (name == null || name.trim().isEmpty()) {
+                return null;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支持的计数模式: " + name);
+            }
+        }
+    }
+
+    /**
+     * 默认计数模式
+     */
+    @Value("${auto.api.count.mode:cached}")
+    private String defaultMode = "cached";
+
+    /**
+     * 缓存有效期（秒）
+     */
+    @Value("${auto.api.count.cache-ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    /**
+     * 最大缓存条目数，超出时清空
+     */
+    @Value("${auto.api.count.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    /**
+     * 计数缓存 (数据源ID:表名|SQL|参数 -> Entry)
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 表写入版本 (数据源ID:表名 -> 版本号)
+     */
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    private final AtomicLong queryCount = new AtomicLong(0);
+    private final AtomicLong hitCount = new AtomicLong(0);
+
+    /**
+     * 统计行数
+     *
+     * @param jdbcTemplate 数据源的 JdbcTemplate
+     * @param statements 表的语句模板
+     * @param conditions 条件键 -> 值
+     * @param mode 计数模式，null 表示使用默认模式
+     * @return 总数，模式为 none 时返回 null
+     */
+    public Total count(JdbcTemplate jdbcTemplate, TableStatements statements,
+                       Map<String, ?> conditions, Mode mode) {
+        if (mode == null) {
+            mode = Mode.of(defaultMode);
+        }
+        switch (mode) {
+            case NONE:
+                return null;
+            case EXACT:
+                return new Total(exactCount(jdbcTemplate, statements.count(conditions)), true);
+            case ESTIMATED:
+                if (conditions == null || conditions.isEmpty()) {
+                    Long estimated = estimate(jdbcTemplate, statements.getTableMeta());
+                    if (estimated != null) {
+                        return new Total(estimated, false);
+                    }
+                }
+                return cachedCount(jdbcTemplate, statements, conditions);
+            default:
+                return cachedCount(jdbcTemplate, statements, conditions);
+        }
+    }
+
+    /**
+     * 表数据发生写入，使其缓存的计数失效
+     */
+    public void invalidate(Long datasourceId, String tableName) {
+        String table = tableKey(datasourceId, tableName);
+        tableVersions.computeIfAbsent(table, k -> new AtomicLong()).incrementAndGet();
+        String prefix = table + "|";
+        entries.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("queryCount", queryCount.get());
+        stats.put("hitCount", hitCount.get());
+        stats.put("mode", defaultMode);
+        stats.put("ttlSeconds", ttlSeconds);
+        return stats;
+    }
+
+    private Total cachedCount(JdbcTemplate jdbcTemplate, TableStatements statements, Map<String, ?> conditions) {
+        TableMeta tableMeta = statements.getTableMeta();
+        String table = tableKey(tableMeta.getDatasourceId(), tableMeta.getName());
+        SqlStatement statement = statements.count(conditions);
+        String key = table + "|" + statement.getSql() + "|" + Arrays.toString(statement.getArgs());
+
+        long version = tableVersion(table);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version && entry.expireAt > System.currentTimeMillis()) {
+            hitCount.incrementAndGet();
+            // 缓存值可能已过时（TTL 内其他实例或 API 之外的写入不会使其失效）
+            return new Total(entry.value, false);
+        }
+
+        long value = exactCount(jdbcTemplate, statement);
+        if (tableVersion(table) == version) {
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entries.put(key, new Entry(value, version, System.currentTimeMillis() + ttlSeconds * 1000));
+        }
+        return new Total(value, true);
+    }
+
+    private long exactCount(JdbcTemplate jdbcTemplate, SqlStatement statement) {
+        queryCount.incrementAndGet();
+        Long value = jdbcTemplate.query(statement.getSql(), statement,
+            rs -> rs.next() ? rs.getLong(1) : 0L);
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * 读取数据库统计信息中的估算行数，不可用时返回 null
+     */
+    private Long estimate(JdbcTemplate jdbcTemplate, TableMeta tableMeta) {
+        SqlStatement statement = SqlDialects.of(tableMeta.getDatasourceType()).estimatedRows(tableMeta);
+        if (statement == null) {
+            return tableMeta.getEstimatedRows();
+        }
+
+        try {
+            List<Number> rows = jdbcTemplate.query(statement.getSql(), statement,
+                (rs, i) -> (Number) rs.getObject(1));
+            Number value = rows.isEmpty() ? null : rows.get(0);
+            // PostgreSQL 未 ANALYZE 的表 reltuples 为 -1
+            return value == null || value.longValue() < 0 ? null : value.longValue();
+        } catch (DataAccessException e) {
+            log.warn("读取估算行数失败，改用精确计数: table={}, error={}", tableMeta.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private long tableVersion(String table) {
+        AtomicLong version = tableVersions.get(table);
+        return version != null ? version.get() : 0L;
+    }
+
+    private static String tableKey(Long datasourceId, String tableName) {
+        return datasourceId + ":" + tableName;
+    }
+
+    /**
+     * 统计结果
+     */
+    public static final class Total {
+        private final long value;
+        private final boolean exact;
+
+        public Total(long value, boolean exact) {
+            this.value = value;
+            this.exact = exact;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        /**
+         * 是否为精确值（本次执行 COUNT(*) 时为 true；命中缓存或读取统计信息时为 false）
+         */
+        public boolean isExact() {
+            return exact;
+        }
+    }
+
+    private static final class Entry {
+        private final long value;
+        private final long version;
+        private final long expireAt;
+
+        private Entry(long value, long version, long expireAt) {
+            this.value = value;
+            this.version = version;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -4,19 +4,34 @@ import com.iflow.api.core.dto.Result;
 import com.iflow.api.core.dto.metadata.ColumnMeta;
 import com.iflow.api.core.dto.metadata.TableMeta;
 import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.view.BatchResult;
+import com.iflow.api.core.dto.view.ExportResult;
+import com.iflow.api.core.dto.view.IngestResult;
+import com.iflow.api.core.dto.view.KeysetPage;
+import com.iflow.api.core.sql.BatchExecutor;
+import com.iflow.api.core.sql.BulkIngestor;
+import com.iflow.api.core.sql.KeysetCursor;
+import com.iflow.api.core.sql.ParallelExporter;
+import com.iflow.api.core.sql.RowStreamWriter;
+import com.iflow.api.core.sql.RowsResult;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.StatementTemplateCache;
+import com.iflow.api.core.sql.TableHandler;
+import com.iflow.api.core.sql.TableStatements;
 import com.iflow.api.core.util.NamingConverter;
 import com.iflow.api.core.util.TypeConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.sql.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 动态 API 控制器
@@ -29,12 +44,51 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/dynamic")
 public class DynamicController {
 
+    /**
+     * 列表查询默认最大返回行数
+     */
+    private static final int DEFAULT_LIST_LIMIT = 100;
+
+    /**
+     * 聚合查询最大返回分组数
+     */
+    private static final int MAX_AGGREGATE_GROUPS = 1000;
+
+    /**
+     * 游标分页默认每页行数
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     @Autowired
     private DynamicDataSourceService dynamicDataSourceService;
 
     @Autowired
     private MetadataService metadataService;
 
+    @Autowired
+    private StatementTemplateCache statementTemplateCache;
+
+    @Autowired
+    private RowStreamWriter rowStreamWriter;
+
+    @Autowired
+    private BatchExecutor batchExecutor;
+
+    @Autowired
+    private BulkIngestor bulkIngestor;
+
+    @Autowired
+    private ParallelExporter parallelExporter;
+
+    @Autowired
+    private ApiRouteIndex apiRouteIndex;
+
+    @Autowired
+    private CountService countService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * 通用的请求处理入口
      */
@@ -44,18 +98,65 @@ public class DynamicController {
     public Result<?> handleRequest(
             @PathVariable String tablePath,
             @RequestParam(required = false) Object id,
+            @RequestParam(required = false) String fields,
             @RequestBody(required = false) Map<String, Object> body,
             HttpServletRequest request) {
 
-        String method = request.getMethod();
         String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return dispatch(tableName, request.getMethod(), id, listConditions(request, id, body), fields);
+    }
+
+    /**
+     * 合并列表查询条件
+     *
+     * GET 列表请求的查询参数（如 age[gt]=18、status[in]=1,2）与请求体合并为过滤条件，
+     * id、fields 等保留参数除外；其他请求原样返回请求体。
+     */
+    public static Map<String, Object> listConditions(HttpServletRequest request, Object id,
+                                                     Map<String, Object> body) {
+        if (id != null || !"GET".equals(request.getMethod())) {
+            return body;
+        }
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        for (Map.Entry<String, String[]> entry : request.getParameterMap().entrySet()) {
+            String name = entry.getKey();
+            if ("id".equals(name) || "fields".equals(name) || entry.getValue().length == 0) {
+                continue;
+            }
+            conditions.put(name, entry.getValue().length == 1
+                ? entry.getValue()[0] : Arrays.asList(entry.getValue()));
+        }
+        if (body != null) {
+            conditions.putAll(body);
+        }
+        return conditions;
+    }
+
+    /**
+     * 按请求方法分发到对应的 CRUD 操作
+     * 
+     * @param tableName 表名
+     * @param method HTTP 方法
+     * @param id 主键值
+     * @param body 请求体
+     */
+    public Result<?> dispatch(String tableName, String method, Object id, Map<String, Object> body) {
+        return dispatch(tableName, method, id, body, null);
+    }
 
+    /**
+     * 按请求方法分发到对应的 CRUD 操作
+     *
+     * @param fields 查询返回的字段（逗号分隔），为空表示全部
+     */
+    public Result<?> dispatch(String tableName, String method, Object id, Map<String, Object> body,
+                              String fields) {
         switch (method) {
             case "GET":
                 if (id != null) {
-                    return getById(tableName, id);
+                    return getById(tableName, id, fields);
                 } else {
-                    return list(tableName, body);
+                    return list(tableName, body, fields);
                 }
             case "POST":
                 return create(tableName, body);
@@ -72,61 +173,305 @@ public class DynamicController {
      * 查询列表
      */
     public Result<?> list(String tableName, Map<String, Object> params) {
+        return list(tableName, params, null);
+    }
+
+    /**
+     * 查询列表（指定返回字段）
+     */
+    public Result<?> list(String tableName, Map<String, Object> params, String fields) {
         Long datasourceId = getDatasourceIdByTable(tableName);
         if (datasourceId == null) {
             return Result.error("表不存在: " + tableName);
         }
 
         try {
-            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String sql = buildSelectSql(tableMeta, params);
-            
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+            // 查询在写响应时执行，行数据由 ResultSetMessageConverter 直接写出
+            TableHandler handler = getHandler(datasourceId, tableName);
+            return RowsResult.list(handler, dynamicDataSourceService.getJdbcTemplate(datasourceId),
+                handler.getStatements().select(params, projectionOf(handler, tableName, fields), DEFAULT_LIST_LIMIT));
+
+        } catch (Exception e) {
+            log.error("查询列表失败: table={}", tableName, e);
+            return Result.error("查询失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 游标分页查询
+     * 
+     * GET /api/dynamic/{table}/page?size=20&cursor=...，其余查询参数作为等值条件。
+     * 按主键（或非空唯一索引）升序翻页，返回的 nextCursor 用于获取下一页；
+     * 不使用 OFFSET，任意页的查询代价与首页相同；默认不计算总数，
+     * 指定 count=exact|cached|estimated 时返回 total。
+     */
+    @GetMapping("/{tablePath}/page")
+    public Result<?> page(
+            @PathVariable String tablePath,
+            @RequestParam Map<String, String> params) {
 
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
+        String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return pageTable(tableName, params);
+    }
 
-            // 转换字段名为驼峰命名
-            List<Map<String, Object>> convertedRows = rows.stream()
-                .map(this::convertToCamelCase)
-                .collect(Collectors.toList());
+    /**
+     * 游标分页查询
+     *
+     * @param params 查询参数：cursor、size、fields、count，其余为等值条件
+     */
+    public Result<?> pageTable(String tableName, Map<String, String> params) {
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            return Result.error("表不存在: " + tableName);
+        }
 
-            return Result.success(convertedRows);
+        Map<String, String> conditions = new LinkedHashMap<>(params);
+        String cursor = conditions.remove("cursor");
+        String sizeParam = conditions.remove("size");
+        String fields = conditions.remove("fields");
+        String count = conditions.remove("count");
 
+        try {
+            CountService.Mode countMode = CountService.Mode.of(count);
+            int size = sizeParam == null ? DEFAULT_PAGE_SIZE : Integer.parseInt(sizeParam);
+            if (size < 1 || size > DEFAULT_LIST_LIMIT) {
+                return Result.error("分页大小必须在 1 到 " + DEFAULT_LIST_LIMIT + " 之间");
+            }
+
+            TableHandler handler = getHandler(datasourceId, tableName);
+            TableStatements statements = handler.getStatements();
+            String[] seekColumns = statements.getSeekColumns();
+            Object[] after = cursor == null || cursor.isEmpty()
+                ? null : KeysetCursor.decode(cursor, seekColumns);
+
+            // 多取一行用于判断是否还有下一页
+            SqlStatement statement = statements.seek(conditions, after, size + 1,
+                projectionOf(handler, tableName, fields));
+            List<Map<String, Object>> rows = handler.query(
+                dynamicDataSourceService.getJdbcTemplate(datasourceId), statement);
+
+            boolean hasMore = rows.size() > size;
+            if (hasMore) {
+                rows = rows.subList(0, size);
+            }
+
+            String nextCursor = null;
+            if (hasMore) {
+                Map<String, Object> last = rows.get(rows.size() - 1);
+                Object[] lastKey = new Object[seekColumns.length];
+                for (int i = 0; i < seekColumns.length; i++) {
+                    lastKey[i] = last.get(NamingConverter.toCamelCase(seekColumns[i]));
+                }
+                nextCursor = KeysetCursor.encode(seekColumns, lastKey);
+            }
+
+            KeysetPage page = new KeysetPage()
+                .setItems(rows)
+                .setSize(size)
+                .setHasMore(hasMore)
+                .setNextCursor(nextCursor)
+                .setOrderBy(Arrays.asList(seekColumns));
+            if (countMode != null) {
+                CountService.Total total = countService.count(
+                    dynamicDataSourceService.getJdbcTemplate(datasourceId), statements, conditions, countMode);
+                if (total != null) {
+                    page.setTotal(total.getValue()).setTotalExact(total.isExact());
+                }
+            }
+
+            return Result.success(page);
+
+        } catch (NumberFormatException e) {
+            return Result.error("无效的分页大小: " + sizeParam);
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
         } catch (Exception e) {
-            log.error("查询列表失败: table={}", tableName, e);
+            log.error("分页查询失败: table={}", tableName, e);
             return Result.error("查询失败: " + e.getMessage());
         }
     }
 
     /**
-     * 查询详情
+     * 分组聚合查询
+     *
+     * GET /api/dynamic/{table}/aggregate?groupBy=status&agg=count(*),sum(amount)，其余查询参数作为过滤条件；
+     * POST 时请求体为 {"groupBy": [...], "aggregates": [...], "filter": {...}}。
+     * 聚合在数据库中以一条 GROUP BY 语句完成，只返回分组结果。
      */
-    public Result<?> getById(String tableName, Object id) {
+    @RequestMapping(value = "/{tablePath}/aggregate", method = {RequestMethod.GET, RequestMethod.POST})
+    public Result<?> aggregate(
+            @PathVariable String tablePath,
+            @RequestParam Map<String, String> params,
+            @RequestBody(required = false) Map<String, Object> body) {
+
+        String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return aggregateTable(tableName, params, body);
+    }
+
+    /**
+     * 分组聚合查询
+     *
+     * @param params 查询参数：groupBy、agg（逗号分隔）、limit，其余为过滤条件
+     * @param body 请求体：groupBy、aggregates（列表）、filter（过滤条件）、limit
+     */
+    public Result<?> aggregateTable(String tableName, Map<String, String> params, Map<String, Object> body) {
         Long datasourceId = getDatasourceIdByTable(tableName);
         if (datasourceId == null) {
             return Result.error("表不存在: " + tableName);
         }
 
+        Map<String, Object> conditions = new LinkedHashMap<>(params);
+        List<String> groupBy = splitList(conditions.remove("groupBy"));
+        List<String> aggregates = splitList(conditions.remove("agg"));
+        Object limitParam = conditions.remove("limit");
+        if (body != null) {
+            groupBy.addAll(toList(body.get("groupBy")));
+            aggregates.addAll(toList(body.get("aggregates")));
+            Object filter = body.get("filter");
+            if (filter instanceof Map) {
+                ((Map<?, ?>) filter).forEach((k, v) -> conditions.put(String.valueOf(k), v));
+            }
+            if (body.get("limit") != null) {
+                limitParam = body.get("limit");
+            }
+        }
+
         try {
-            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("表没有主键: " + tableName));
+            int limit = limitParam == null ? MAX_AGGREGATE_GROUPS : Integer.parseInt(limitParam.toString());
+            if (limit < 1 || limit > MAX_AGGREGATE_GROUPS) {
+                return Result.error("返回分组数必须在 1 到 " + MAX_AGGREGATE_GROUPS + " 之间");
+            }
+            TableHandler handler = getHandler(datasourceId, tableName);
+            return RowsResult.list(handler, dynamicDataSourceService.getJdbcTemplate(datasourceId),
+                handler.getStatements().aggregate(groupBy, aggregates, conditions, limit));
+
+        } catch (NumberFormatException e) {
+            return Result.error("无效的返回分组数: " + limitParam);
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("聚合查询失败: table={}", tableName, e);
+            return Result.error("查询失败: " + e.getMessage());
+        }
+    }
 
-            String sql = "SELECT * FROM " + tableName + " WHERE " + primaryKey + " = ?";
+    private static List<String> splitList(Object value) {
+        List<String> items = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.toString().split(",")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
+    private static List<String> toList(Object value) {
+        if (value instanceof Collection) {
+            List<String> items = new ArrayList<>();
+            for (Object item : (Collection<?>) value) {
+                items.add(String.valueOf(item));
+            }
+            return items;
+        }
+        return splitList(value);
+    }
 
-            Map<String, Object> row = jdbcTemplate.queryForMap(sql, id);
+    /**
+     * 流式查询列表
+     * 
+     * GET /api/dynamic/{table}?stream=ndjson|json，其余查询参数作为等值条件。
+     * 不限制行数，结果以只进游标逐行写入响应，内存占用与结果集大小无关。
+     */
+    @GetMapping(value = "/{tablePath}", params = "stream")
+    public void streamList(
+            @PathVariable String tablePath,
+            @RequestParam Map<String, String> params,
+            HttpServletResponse response) throws IOException {
 
-            // 转换字段名为驼峰命名
-            Map<String, Object> convertedRow = convertToCamelCase(row);
+        String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        streamTable(tableName, params, response);
+    }
 
-            return Result.success(convertedRow);
+    /**
+     * 流式查询列表，结果直接写入响应
+     *
+     * @param params 查询参数：stream（输出格式）、fields，其余为等值条件
+     */
+    public void streamTable(String tableName, Map<String, String> params,
+                            HttpServletResponse response) throws IOException {
+        Map<String, String> conditions = new LinkedHashMap<>(params);
+        String stream = conditions.remove("stream");
+        String fields = conditions.remove("fields");
+
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            writeError(response, "表不存在: " + tableName);
+            return;
+        }
+
+        try {
+            RowStreamWriter.Format format = RowStreamWriter.Format.of(stream);
+            TableHandler handler = getHandler(datasourceId, tableName);
+            TableMeta tableMeta = handler.getTableMeta();
+            SqlStatement statement = handler.getStatements().select(conditions,
+                projectionOf(handler, tableName, fields));
+
+            response.setContentType(format.getContentType());
+            response.setCharacterEncoding("UTF-8");
+            long rows = rowStreamWriter.stream(datasourceId, tableMeta.getDatasourceType(),
+                statement, format, response.getOutputStream());
+
+            log.debug("流式查询完成: table={}, rows={}", tableName, rows);
+
+        } catch (Exception e) {
+            log.error("流式查询失败: table={}", tableName, e);
+            if (response.isCommitted()) {
+                // 已开始输出，无法再返回错误体，中断连接让客户端感知不完整响应
+                throw new IOException("流式查询中断: " + e.getMessage(), e);
+            }
+            response.reset();
+            writeError(response, "查询失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 在流式接口中输出错误结果
+     */
+    private void writeError(HttpServletResponse response, String message) throws IOException {
+        writeResult(response, Result.error(message));
+    }
+
+    /**
+     * 在流式接口中输出 JSON 结果（用于尚未开始输出时返回错误）
+     */
+    public void writeResult(HttpServletResponse response, Result<?> result) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), result);
+    }
+
+    /**
+     * 查询详情
+     */
+    public Result<?> getById(String tableName, Object id) {
+        return getById(tableName, id, null);
+    }
+
+    /**
+     * 查询详情（指定返回字段）
+     */
+    public Result<?> getById(String tableName, Object id, String fields) {
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            return Result.error("表不存在: " + tableName);
+        }
+
+        try {
+            TableHandler handler = getHandler(datasourceId, tableName);
+            return RowsResult.single(handler, dynamicDataSourceService.getJdbcTemplate(datasourceId),
+                handler.getStatements().selectById(id, projectionOf(handler, tableName, fields)), "记录不存在");
 
         } catch (Exception e) {
             log.error("查询详情失败: table={}, id={}", tableName, id, e);
@@ -144,21 +489,9 @@ public class DynamicController {
         }
 
         try {
-            // 转换字段名为下划线命名
-            Map<String, Object> snakeCaseData = convertToSnakeCase(data);
-
-            String columns = String.join(", ", snakeCaseData.keySet());
-            String placeholders = snakeCaseData.keySet().stream()
-                .map(k -> "?")
-                .collect(Collectors.joining(", "));
-
-            String sql = "INSERT INTO " + tableName + " (" + columns + ") VALUES (" + placeholders + ")";
-
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
-
-            jdbcTemplate.update(sql, snakeCaseData.values().toArray());
+            getHandler(datasourceId, tableName).insert(
+                dynamicDataSourceService.getJdbcTemplate(datasourceId), data);
+            countService.invalidate(datasourceId, tableName);
 
             return Result.success("创建成功");
 
@@ -178,28 +511,9 @@ public class DynamicController {
         }
 
         try {
-            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("表没有主键: " + tableName));
-
-            // 转换字段名为下划线命名
-            Map<String, Object> snakeCaseData = convertToSnakeCase(data);
-
-            String setClause = snakeCaseData.keySet().stream()
-                .map(k -> k + " = ?")
-                .collect(Collectors.joining(", "));
-
-            String sql = "UPDATE " + tableName + " SET " + setClause + " WHERE " + primaryKey + " = ?";
-
-            List<Object> params = new ArrayList<>(snakeCaseData.values());
-            params.add(id);
-
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
-
-            int affected = jdbcTemplate.update(sql, params.toArray());
+            int affected = getHandler(datasourceId, tableName).update(
+                dynamicDataSourceService.getJdbcTemplate(datasourceId), id, data);
+            countService.invalidate(datasourceId, tableName);
 
             if (affected > 0) {
                 return Result.success("更新成功");
@@ -223,18 +537,9 @@ public class DynamicController {
         }
 
         try {
-            TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
-            String primaryKey = tableMeta.getPrimaryKeys().stream()
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("表没有主键: " + tableName));
-
-            String sql = "DELETE FROM " + tableName + " WHERE " + primaryKey + " = ?";
-
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(
-                dynamicDataSourceService.getOrCreateDataSource(datasourceId)
-            );
-
-            int affected = jdbcTemplate.update(sql, id);
+            int affected = getHandler(datasourceId, tableName).delete(
+                dynamicDataSourceService.getJdbcTemplate(datasourceId), id);
+            countService.invalidate(datasourceId, tableName);
 
             if (affected > 0) {
                 return Result.success("删除成功");
@@ -249,63 +554,53 @@ public class DynamicController {
     }
 
     /**
-     * 构建查询 SQL
+     * 计算查询投影：请求字段与表配置的包含/排除字段取交集
+     *
+     * @return 列集合，返回全部列时为 null
      */
-    private String buildSelectSql(TableMeta tableMeta, Map<String, Object> params) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM ");
-        sql.append(tableMeta.getName());
-
-        // WHERE 条件
-        if (params != null && !params.isEmpty()) {
-            List<String> conditions = new ArrayList<>();
-            for (Map.Entry<String, Object> entry : params.entrySet()) {
-                String column = NamingConverter.toSnakeCase(entry.getKey());
-                if (entry.getValue() == null) {
-                    conditions.add(column + " IS NULL");
-                } else {
-                    conditions.add(column + " = ?");
+    private BitSet projectionOf(TableHandler handler, String tableName, String fields) {
+        ApiRouteIndex.Route route = apiRouteIndex.lookupTable(tableName);
+        List<String> requested = null;
+        if (fields != null && !fields.trim().isEmpty()) {
+            requested = new ArrayList<>();
+            for (String field : fields.split(",")) {
+                if (!field.trim().isEmpty()) {
+                    requested.add(field.trim());
                 }
             }
-            sql.append(" WHERE ").append(String.join(" AND ", conditions));
         }
-
-        // LIMIT
-        sql.append(" LIMIT 100");
-
-        return sql.toString();
+        return handler.getStatements().projection(
+            route != null ? route.getIncludeColumns() : null,
+            route != null ? route.getExcludeColumns() : null,
+            requested);
     }
 
     /**
-     * 将 Map 的键从下划线命名转换为驼峰命名
+     * 获取表的请求处理器
      */
-    private Map<String, Object> convertToCamelCase(Map<String, Object> map) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String camelKey = NamingConverter.toCamelCase(entry.getKey());
-            result.put(camelKey, entry.getValue());
+    private TableHandler getHandler(Long datasourceId, String tableName) {
+        // 注册时已生成处理器的路由直接使用
+        ApiRouteIndex.Route route = apiRouteIndex.lookupTable(tableName);
+        if (route != null && route.getHandler() != null && datasourceId.equals(route.getDatasourceId())) {
+            return route.getHandler();
         }
-        return result;
+        TableMeta tableMeta = metadataService.getTableDetail(datasourceId, tableName);
+        return statementTemplateCache.handlerFor(tableMeta);
     }
 
     /**
-     * 将 Map 的键从驼峰命名转换为下划线命名
+     * 获取表的 SQL 语句模板
      */
-    private Map<String, Object> convertToSnakeCase(Map<String, Object> map) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String snakeKey = NamingConverter.toSnakeCase(entry.getKey());
-            result.put(snakeKey, entry.getValue());
-        }
-        return result;
+    private TableStatements getStatements(Long datasourceId, String tableName) {
+        return getHandler(datasourceId, tableName).getStatements();
     }
 
     /**
-     * 根据表名获取数据源 ID（简化版本，实际应查询表选择记录）
+     * 根据表名获取数据源 ID（查询内存路由索引，不访问数据库）
      */
     private Long getDatasourceIdByTable(String tableName) {
-        // TODO: 从 TableSelection 或 ApiGenerationStatus 中查找
-        // 临时返回默认数据源 ID
-        return 1L;
+        ApiRouteIndex.Route route = apiRouteIndex.lookupTable(tableName);
+        return route != null ? route.getDatasourceId() : null;
     }
 
     /**
@@ -314,6 +609,13 @@ public class DynamicController {
     @GetMapping("/{tablePath}/schema")
     public Result<?> getSchema(@PathVariable String tablePath) {
         String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return schemaTable(tableName);
+    }
+
+    /**
+     * 获取表结构信息
+     */
+    public Result<?> schemaTable(String tableName) {
         Long datasourceId = getDatasourceIdByTable(tableName);
         
         if (datasourceId == null) {
@@ -329,8 +631,163 @@ public class DynamicController {
         }
     }
 
+    /**
+     * 批量导入
+     *
+     * POST /api/dynamic/{table}/ingest?format=csv|ndjson，请求体为 CSV（首行为表头）或 NDJSON，
+     * 未指定 format 时按 Content-Type 判断。请求体边读边写入，内存占用只与分块大小有关；
+     * 每个分块单独提交，失败时返回已提交行数与失败行号。
+     */
+    @PostMapping("/{tablePath}/ingest")
+    public Result<?> ingest(
+            @PathVariable String tablePath,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+
+        String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return ingestTable(tableName, format, request);
+    }
+
+    /**
+     * 批量导入（请求体为导入数据）
+     *
+     * @param format 输入格式，为空时按 Content-Type 判断
+     */
+    public Result<?> ingestTable(String tableName, String format, HttpServletRequest request) {
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            return Result.error("表不存在: " + tableName);
+        }
+        BulkIngestor.Format ingestFormat = BulkIngestor.Format.of(format != null ? format : request.getContentType());
+        if (ingestFormat == null) {
+            return Result.error("不支持的导入格式: " + (format != null ? format : request.getContentType()));
+        }
+
+        try {
+            TableHandler handler = getHandler(datasourceId, tableName);
+            IngestResult result = bulkIngestor.ingest(
+                dynamicDataSourceService.getJdbcTemplate(datasourceId),
+                dynamicDataSourceService.getTransactionTemplate(datasourceId),
+                handler.getStatements(),
+                handler.getTableMeta().getDatasourceType(),
+                ingestFormat,
+                request.getInputStream());
+            countService.invalidate(datasourceId, tableName);
+
+            if (Boolean.TRUE.equals(result.getCompleted())) {
+                return Result.success("导入完成", result);
+            }
+            return new Result<>(Result.ResultCode.ERROR.getCode(), "导入中断: " + result.getMessage(), result);
+
+        } catch (Exception e) {
+            log.error("批量导入失败: table={}", tableName, e);
+            return Result.error("导入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 分区并行导出（合并输出）
+     *
+     * GET /api/dynamic/{table}/export?format=csv|ndjson，其余查询参数作为过滤条件，fields 指定导出列。
+     * 按主键区间并行扫描，按主键顺序写入响应。
+     */
+    @GetMapping("/{tablePath}/export")
+    public void export(
+            @PathVariable String tablePath,
+            @RequestParam Map<String, String> params,
+            HttpServletResponse response) throws IOException {
+
+        String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        exportStream(tableName, params, response);
+    }
+
+    /**
+     * 分区并行导出，按主键顺序合并写入响应
+     *
+     * @param params 查询参数：format、fields，其余作为过滤条件
+     */
+    public void exportStream(String tableName, Map<String, String> params,
+                             HttpServletResponse response) throws IOException {
+        Map<String, String> conditions = new LinkedHashMap<>(params);
+        String format = conditions.remove("format");
+        String fields = conditions.remove("fields");
+
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            writeError(response, "表不存在: " + tableName);
+            return;
+        }
+
+        try {
+            RowStreamWriter.Format exportFormat = RowStreamWriter.Format.of(format != null ? format : "csv");
+            TableHandler handler = getHandler(datasourceId, tableName);
+            BitSet projection = projectionOf(handler, tableName, fields);
+
+            response.setContentType(exportFormat.getContentType());
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + tableName + "."
+                + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+            parallelExporter.export(datasourceId, handler, conditions, projection, exportFormat,
+                response.getOutputStream());
+
+        } catch (Exception e) {
+            log.error("导出失败: table={}", tableName, e);
+            if (response.isCommitted()) {
+                throw new IOException("导出中断: " + e.getMessage(), e);
+            }
+            response.reset();
+            writeError(response, "导出失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 分区并行导出（分区文件）
+     *
+     * POST /api/dynamic/{table}/export?format=csv|ndjson，其余查询参数作为过滤条件，
+     * 每个主键区间写入服务端导出目录下的一个分区文件，返回文件路径。
+     */
+    @PostMapping("/{tablePath}/export")
+    public Result<?> exportFiles(
+            @PathVariable String tablePath,
+            @RequestParam Map<String, String> params) {
+
+        String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return exportTable(tableName, params);
+    }
+
+    /**
+     * 分区并行导出为分区文件
+     *
+     * @param params 查询参数：format、fields，其余作为过滤条件
+     */
+    public Result<?> exportTable(String tableName, Map<String, String> params) {
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            return Result.error("表不存在: " + tableName);
+        }
+        Map<String, String> conditions = new LinkedHashMap<>(params);
+        String format = conditions.remove("format");
+        String fields = conditions.remove("fields");
+
+        try {
+            RowStreamWriter.Format exportFormat = RowStreamWriter.Format.of(format != null ? format : "csv");
+            TableHandler handler = getHandler(datasourceId, tableName);
+            ExportResult result = parallelExporter.exportFiles(datasourceId, handler, conditions,
+                projectionOf(handler, tableName, fields), exportFormat);
+            return Result.success("导出完成", result);
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
+        } catch (Exception e) {
+            log.error("导出失败: table={}", tableName, e);
+            return Result.error("导出失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 批量操作
+     * 
+     * 同一请求内的全部条目在一个事务中按 JDBC 批量执行，返回逐条结果；
+     * 任一条目校验或执行失败时整体回滚。
      */
     @PostMapping("/{tablePath}/batch")
     public Result<?> batchOperation(
@@ -338,36 +795,48 @@ public class DynamicController {
             @RequestBody Map<String, Object> body) {
         
         String tableName = NamingConverter.toSnakeCase(tablePath.replace("-", "_"));
+        return batchTable(tableName, body);
+    }
+
+    /**
+     * 批量操作
+     *
+     * @param body 请求体：operation（create / update / delete）、data（条目列表）
+     */
+    public Result<?> batchTable(String tableName, Map<String, Object> body) {
         String operation = (String) body.get("operation");
         List<Map<String, Object>> data = (List<Map<String, Object>>) body.get("data");
 
         if (data == null || data.isEmpty()) {
             return Result.error("数据不能为空");
         }
+        if (!BatchExecutor.CREATE.equals(operation) && !BatchExecutor.UPDATE.equals(operation)
+                && !BatchExecutor.DELETE.equals(operation)) {
+            return Result.error("不支持的操作: " + operation);
+        }
 
-        switch (operation) {
-            case "create":
-                for (Map<String, Object> item : data) {
-                    create(tableName, item);
-                }
-                return Result.success("批量创建成功");
-                
-            case "update":
-                for (Map<String, Object> item : data) {
-                    Object id = item.remove("id");
-                    update(tableName, id, item);
-                }
-                return Result.success("批量更新成功");
-                
-            case "delete":
-                for (Map<String, Object> item : data) {
-                    Object id = item.get("id");
-                    delete(tableName, id);
-                }
-                return Result.success("批量删除成功");
-                
-            default:
-                return Result.error("不支持的操作: " + operation);
+        Long datasourceId = getDatasourceIdByTable(tableName);
+        if (datasourceId == null) {
+            return Result.error("表不存在: " + tableName);
+        }
+
+        try {
+            BatchResult result = batchExecutor.execute(
+                dynamicDataSourceService.getJdbcTemplate(datasourceId),
+                dynamicDataSourceService.getTransactionTemplate(datasourceId),
+                getStatements(datasourceId, tableName),
+                operation,
+                data);
+            countService.invalidate(datasourceId, tableName);
+
+            if (Boolean.TRUE.equals(result.getCommitted())) {
+                return Result.success("批量操作完成", result);
+            }
+            return new Result<>(Result.ResultCode.ERROR.getCode(), "批量操作失败，已回滚", result);
+
+        } catch (Exception e) {
+            log.error("批量操作失败: table={}, operation={}", tableName, operation, e);
+            return Result.error("批量操作失败: " + e.getMessage());
         }
     }
 }
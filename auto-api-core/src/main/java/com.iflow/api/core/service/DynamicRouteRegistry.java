@@ -1,5 +1,6 @@
 package com.iflow.api.core.service;
 
+import com.iflow.api.core.cache.TableMetaCache;
 import com.iflow.api.core.dto.metadata.TableMeta;
 import com.iflow.api.core.entity.ApiGenerationStatus;
 import com.iflow.api.core.entity.TableSelection;
@@ -9,17 +10,10 @@ import com.iflow.api.core.util.NamingConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
-import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
-import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
-import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 动态路由注册器
@@ -40,89 +34,38 @@ public class DynamicRouteRegistry {
     @Autowired
     private ApiGenerationStatusRepository apiGenerationStatusRepository;
 
-    /**
-     * 已注册的 API 路由缓存 (tableSelectionId -> RequestMappingInfo)
-     */
-    private final Map<Long, RequestMappingInfo> registeredRoutes = new ConcurrentHashMap<>();
-
-    /**
-     * 生成的 Controller 实例缓存
-     */
-    private final Map<Long, Object> controllerInstances = new ConcurrentHashMap<>();
+    @Autowired
+    private TableMetaCache tableMetaCache;
 
-    /**
-     * 路由计数器
-     */
-    private final AtomicLong routeCounter = new AtomicLong(0);
+    @Autowired
+    private ApiRouteIndex apiRouteIndex;
 
     /**
      * 注册 REST API 路由
      * 
+     * 请求由 ApiDispatchController 统一接收，注册只需原子更新路由索引。
+     * 
      * @param tableMeta 表元数据
      * @param datasourceId 数据源 ID
-     * @return 路由信息
      */
-    public RequestMappingInfo registerRestApi(TableMeta tableMeta, Long datasourceId) {
-        String apiPath = NamingConverter.toApiPath(tableMeta.getTableName());
-        String className = NamingConverter.toPascalCase(tableMeta.getTableName()) + "Controller";
-        String controllerBeanName = NamingConverter.toCamelCase(className) + "Controller";
-
-        // 生成 Controller 类
-        Class<?> controllerClass = generateControllerClass(
-            className,
-            tableMeta,
-            datasourceId,
-            apiPath
-        );
-
-        // 创建 Controller 实例
-        Object controllerInstance;
-        try {
-            controllerInstance = controllerClass.newInstance();
-        } catch (Exception e) {
-            log.error("创建 Controller 实例失败: {}", className, e);
-            throw new RuntimeException("创建 Controller 实例失败", e);
-        }
+    public void registerRestApi(TableMeta tableMeta, Long datasourceId) {
+        apiRouteIndex.register(findTableSelection(datasourceId, tableMeta), datasourceId, tableMeta);
+        log.info("REST API 路由已注册: path=/api/{}, table={}",
+            NamingConverter.toApiPath(tableMeta.getTableName()), tableMeta.getName());
+    }
 
-        // 生成 API 方法
-        List<Method> apiMethods = generateApiMethods(controllerClass, tableMeta, apiPath);
-
-        // 构建 RequestMappingInfo
-        PatternsRequestCondition patternsCondition = new PatternsRequestCondition("/api/" + apiPath);
-        RequestMethodsRequestCondition methodsCondition = new RequestMethodsRequestCondition(
-            RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE
-        );
-
-        RequestMappingInfo mappingInfo = new RequestMappingInfo(
-            patternsCondition,
-            methodsCondition,
-            null,
-            null,
-            null,
-            null,
-            null
-        );
-
-        // 注册路由
-        try {
-            requestMappingHandlerMapping.registerMapping(
-                mappingInfo,
-                controllerInstance,
-                controllerClass.getDeclaredMethod("handleRequest")
-            );
-
-            // 缓存注册信息
-            registeredRoutes.put(routeCounter.incrementAndGet(), mappingInfo);
-            controllerInstances.put(routeCounter.get(), controllerInstance);
-
-            log.info("REST API 路由已注册: path=/api/{}, table={}", apiPath, tableMeta.getName());
-
-            return mappingInfo;
-
-        } catch (Exception e) {
-            log.error("注册 REST API 路由失败: path=/api/{}", apiPath, e);
-            throw new RuntimeException("注册路由失败", e);
-        }
+    /**
+     * 批量注册同一数据源下多张表的 REST API 路由
+     *
+     * 整批路由一次性发布到路由索引。
+     *
+     * @param datasourceId 数据源 ID
+     * @param tables 表元数据
+     * @param selections 表名 -> 表选择记录，可为 null 或缺少部分表
+     */
+    public void registerRestApis(Long datasourceId, List<TableMeta> tables, Map<String, TableSelection> selections) {
+        apiRouteIndex.registerAll(datasourceId, tables, selections);
+        log.info("REST API 路由已批量注册: datasourceId={}, tables={}", datasourceId, tables.size());
     }
 
     /**
@@ -151,17 +94,9 @@ public class DynamicRouteRegistry {
      * @param tableSelectionId 表选择记录 ID
      */
     public void unregisterApi(Long tableSelectionId) {
-        RequestMappingInfo mappingInfo = registeredRoutes.remove(tableSelectionId);
-        Object controllerInstance = controllerInstances.remove(tableSelectionId);
-
-        if (mappingInfo != null) {
-            try {
-                requestMappingHandlerMapping.unregisterMapping(mappingInfo);
-                log.info("API 路由已注销: tableSelectionId={}", tableSelectionId);
-            } catch (Exception e) {
-                log.error("注销 API 路由失败: tableSelectionId={}", tableSelectionId, e);
-            }
-        }
+        // 从路由索引移除
+        apiRouteIndex.unregister(tableSelectionId);
+        log.info("API 路由已注销: tableSelectionId={}", tableSelectionId);
 
         // 更新 API 生成状态
         apiGenerationStatusRepository.findByTableSelectionId(tableSelectionId)
@@ -179,11 +114,18 @@ public class DynamicRouteRegistry {
      * @param datasourceId 数据源 ID
      */
     public void reregisterApi(Long tableSelectionId, TableMeta tableMeta, Long datasourceId) {
-        // 先注销旧路由
-        unregisterApi(tableSelectionId);
+        // 新路由在一次写时复制中替换旧路由，重新注册期间请求不会落空
+        TableSelection selection = findTableSelection(datasourceId, tableMeta);
+        if (selection != null && tableSelectionId.equals(selection.getId())) {
+            apiRouteIndex.replace(selection, datasourceId, tableMeta);
+        } else {
+            apiRouteIndex.replace(tableSelectionId, datasourceId, tableMeta);
+        }
+        log.info("REST API 路由已重新注册: path=/api/{}, table={}",
+            NamingConverter.toApiPath(tableMeta.getName()), tableMeta.getName());
 
-        // 重新注册新路由
-        registerRestApi(tableMeta, datasourceId);
+        // 新路由可见后再丢弃缓存的旧元数据
+        tableMetaCache.invalidate(datasourceId, tableMeta.getName());
 
         // 更新状态
         apiGenerationStatusRepository.findByTableSelectionId(tableSelectionId)
@@ -194,86 +136,34 @@ public class DynamicRouteRegistry {
             });
     }
 
-    /**
-     * 生成 Controller 类
-     */
-    private Class<?> generateControllerClass(String className, TableMeta tableMeta,
-            Long datasourceId, String apiPath) {
-        // 动态生成 Controller 字节码
-        // 这里使用 Javaassist 或 CGLIB 生成类
-        // 简化版本：返回 DynamicController.class，在运行时动态分发
-
-        return DynamicController.class;
-    }
-
-    /**
-     * 生成 API 方法
-     */
-    private List<Method> generateApiMethods(Class<?> controllerClass, TableMeta tableMeta, String apiPath) {
-        List<Method> methods = new ArrayList<>();
-
-        try {
-            // 查询列表
-            Method listMethod = controllerClass.getDeclaredMethod("list", TableMeta.class, Long.class, Map.class);
-            methods.add(listMethod);
-
-            // 查询详情
-            Method getMethod = controllerClass.getDeclaredMethod("get", TableMeta.class, Long.class, Object.class);
-            methods.add(getMethod);
-
-            // 新增
-            Method createMethod = controllerClass.getDeclaredMethod("create", TableMeta.class, Long.class, Map.class);
-            methods.add(createMethod);
-
-            // 更新
-            Method updateMethod = controllerClass.getDeclaredMethod("update", TableMeta.class, Long.class, Object.class, Map.class);
-            methods.add(updateMethod);
-
-            // 删除
-            Method deleteMethod = controllerClass.getDeclaredMethod("delete", TableMeta.class, Long.class, Object.class);
-            methods.add(deleteMethod);
-
-        } catch (NoSuchMethodException e) {
-            log.error("生成 API 方法失败", e);
-        }
-
-        return methods;
-    }
-
-    /**
-     * 获取所有已注册的路由
-     */
-    public Map<Long, RequestMappingInfo> getRegisteredRoutes() {
-        return Collections.unmodifiableMap(registeredRoutes);
-    }
-
     /**
      * 获取已注册的路由数量
      */
     public int getRegisteredRouteCount() {
-        return registeredRoutes.size();
+        return apiRouteIndex.size();
     }
 
     /**
      * 检查路由是否已注册
      */
     public boolean isRouteRegistered(Long tableSelectionId) {
-        return registeredRoutes.containsKey(tableSelectionId);
+        return apiRouteIndex.lookupSelection(tableSelectionId) != null;
     }
 
     /**
      * 根据表名查找已注册路由
+     * 
+     * @return 表选择记录 ID
      */
     public Optional<Long> findByTableName(String tableName) {
-        return registeredRoutes.entrySet().stream()
-            .filter(entry -> {
-                RequestMappingInfo info = entry.getValue();
-                Set<String> patterns = info.getPatternsCondition().getPatterns();
-                String apiPath = NamingConverter.toApiPath(tableName);
-                return patterns.stream().anyMatch(p -> p.contains("/" + apiPath));
-            })
-            .map(Map.Entry::getKey)
-            .findFirst();
+        ApiRouteIndex.Route route = apiRouteIndex.lookupTable(tableName);
+        return route == null ? Optional.empty() : Optional.ofNullable(route.getTableSelectionId());
+    }
+
+    private TableSelection findTableSelection(Long datasourceId, TableMeta tableMeta) {
+        return tableSelectionRepository
+            .findByDatasourceIdAndTableName(datasourceId, tableMeta.getName())
+            .orElse(null);
     }
 
     /**
@@ -0,0 +1,136 @@
+package com.iflow.api.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 元数据读取线程池
+ *
+ * 并发执行逐表、逐项的元数据读取任务。线程数为全局上限，单个数据源的并发度另受其
+ * 元数据读取连接池（DynamicDataSourceService.getIntrospectionDataSource）的连接数限制，
+ * 超出的任务在借用连接时等待。
+ *
+ * 引用：REQ-F4-003（扫描数据源获取所有表信息）
+ */
+@Slf4j
+@Component
+public class IntrospectionExecutor {
+
+    /**
+     * 线程数，0 表示 CPU 核数
+     */
+    @Value("${auto.api.metadata.introspection.threads:8}")
+    private int threads = 8;
+
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * 并发执行任务，按任务顺序返回结果
+     *
+     * 单个任务在调用线程中直接执行。任一任务失败时取消其余任务并抛出该异常
+     * （非运行时异常包装为 RuntimeException）。
+     *
+     * @param tasks 任务列表
+     * @return 结果列表，与 tasks 顺序一致
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            results.add(call(tasks.get(0)));
+            return results;
+        }
+
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        boolean completed = false;
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(executor().submit(task));
+            }
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                for (Future<T> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return results;
+    }
+
+    private int poolSize() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private ThreadPoolExecutor executor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    int size = poolSize();
+                    AtomicInteger sequence = new AtomicInteger();
+                    current = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "auto-api-introspect-" + sequence.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                    current.allowCoreThreadTimeOut(true);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ThreadPoolExecutor current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("元数据读取失败: " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("元数据读取被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("元数据读取失败: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.iflow.api.core.service;
 
+import com.iflow.api.core.cache.TableMetaCache;
 import com.iflow.api.core.dto.metadata.ColumnMeta;
 import com.iflow.api.core.dto.metadata.ForeignKeyMeta;
 import com.iflow.api.core.dto.metadata.IndexMeta;
 import com.iflow.api.core.dto.metadata.TableMeta;
 import com.iflow.api.core.datasource.DynamicDataSourceService;
 import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.dialect.SqlDialect;
+import com.iflow.api.core.sql.dialect.SqlDialects;
+import com.iflow.api.core.util.TypeConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 /**
  * 元数据读取服务
  * 
+ * 单表详情逐项调用 DatabaseMetaData；批量读取时按 schema 整体查询字段、主键、索引与外键，
+ * 查询次数与表数量无关。元数据读取使用数据源专用的小连接池，多表或多项读取在
+ * IntrospectionExecutor 中并发执行，并发度受该连接池的连接数限制。
+ * 
  * 引用：REQ-F4-003（扫描数据源获取所有表信息）
  *        REQ-F4-004（获取表字段信息、索引、外键）
  */
@@ -26,6 +40,25 @@ public class MetadataService {
     @Autowired
     private DynamicDataSourceService dynamicDataSourceService;
 
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
+    @Autowired
+    private IntrospectionExecutor introspectionExecutor;
+
+    /**
+     * 批量获取表详情时，未缓存的表达到该数量才考虑按 schema 整体读取，否则逐表读取
+     */
+    @Value("${auto.api.metadata.bulk-threshold:20}")
+    private int bulkThreshold = 20;
+
+    /**
+     * 未缓存的表占 schema 表总数的比例达到该值才按 schema 整体读取，
+     * 避免在大 schema 中为少量表读取并缓存全部表
+     */
+    @Value("${auto.api.metadata.bulk-ratio:0.5}")
+    private double bulkRatio = 0.5;
+
     /**
      * 获取数据源中的所有表信息
      * 
@@ -33,36 +66,24 @@ public class MetadataService {
      * @return 表元数据列表
      */
     public List<TableMeta> getAllTables(Long datasourceId) {
-        DatabaseMetaData metaData = dynamicDataSourceService.getDatabaseMetaData(datasourceId);
-        List<TableMeta> tables = new ArrayList<>();
-
         try {
-            String catalog = null;
-            String schema = null;
-
             // 根据数据库类型获取 catalog 和 schema
             DatasourceConfig config = dynamicDataSourceService.getById(datasourceId)
                 .orElseThrow(() -> new IllegalArgumentException("数据源不存在: " + datasourceId));
-
-            switch (config.getType()) {
-                case "mysql":
-                    catalog = config.getDatabase();
-                    break;
-                case "postgresql":
-                    schema = "public";
-                    break;
-                case "oracle":
-                    schema = config.getUsername().toUpperCase();
-                    break;
-            }
+            SqlDialect dialect = SqlDialects.of(config.getType());
+            String catalog = dialect.metadataCatalog(config);
+            String schema = dialect.metadataSchema(config);
 
             // 获取表信息
-            try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    TableMeta table = extractTableInfo(rs, config.getType());
-                    tables.add(table);
+            List<TableMeta> tables = withMetaData(datasourceId, metaData -> {
+                List<TableMeta> result = new ArrayList<>();
+                try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        result.add(extractTableInfo(rs));
+                    }
                 }
-            }
+                return result;
+            });
 
             log.info("获取到 {} 个表信息: datasourceId={}", tables.size(), datasourceId);
             return tables;
@@ -74,58 +95,378 @@ public class MetadataService {
     }
 
     /**
-     * 获取指定表的详细信息
+     * 获取指定表的详细信息（优先读取缓存）
      * 
      * @param datasourceId 数据源 ID
      * @param tableName 表名
-     * @return 表元数据
+     * @return 表元数据（共享实例，调用方不应修改）
      */
     public TableMeta getTableDetail(Long datasourceId, String tableName) {
-        DatabaseMetaData metaData = dynamicDataSourceService.getDatabaseMetaData(datasourceId);
+        return tableMetaCache.get(datasourceId, tableName,
+            () -> loadTableDetail(datasourceId, tableName));
+    }
+
+    /**
+     * 批量获取表的详细信息（优先读取缓存），按 tableNames 的顺序返回
+     *
+     * 未缓存的表达到 bulkThreshold 且占 schema 表总数的比例达到 bulkRatio 时按 schema 整体读取，
+     * 否则在元数据读取线程池中并发逐表读取。
+     *
+     * @param datasourceId 数据源 ID
+     * @param tableNames 表名列表
+     * @return 表元数据列表（共享实例，调用方不应修改）
+     */
+    public List<TableMeta> getTableDetails(Long datasourceId, List<String> tableNames) {
+        Map<String, TableMeta> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String tableName : tableNames) {
+            TableMeta cached = tableMetaCache.getIfPresent(datasourceId, tableName);
+            if (cached != null) {
+                found.put(tableName, cached);
+            } else {
+                missing.add(tableName);
+            }
+        }
+        if (!missing.isEmpty() && missing.size() >= bulkThreshold
+                && missing.size() >= bulkRatio * countTables(datasourceId)) {
+            for (TableMeta table : loadAllTableDetails(datasourceId)) {
+                found.putIfAbsent(table.getName(), table);
+            }
+            missing.removeAll(found.keySet());
+        }
+        if (!missing.isEmpty()) {
+            List<Callable<TableMeta>> tasks = new ArrayList<>(missing.size());
+            for (String tableName : missing) {
+                tasks.add(() -> getTableDetail(datasourceId, tableName));
+            }
+            Iterator<String> names = missing.iterator();
+            for (TableMeta table : introspectionExecutor.invokeAll(tasks)) {
+                found.put(names.next(), table);
+            }
+        }
+
+        List<TableMeta> tables = new ArrayList<>(tableNames.size());
+        for (String tableName : tableNames) {
+            tables.add(found.get(tableName));
+        }
+        return tables;
+    }
+
+    /**
+     * 统计数据源 schema 中的表数量（只读取表清单）
+     */
+    private int countTables(Long datasourceId) {
         DatasourceConfig config = dynamicDataSourceService.getById(datasourceId)
             .orElseThrow(() -> new IllegalArgumentException("数据源不存在: " + datasourceId));
+        try {
+            SqlDialect dialect = SqlDialects.of(config.getType());
+            String catalog = dialect.metadataCatalog(config);
+            String schema = dialect.metadataSchema(config);
+            return withMetaData(datasourceId, metaData -> {
+                int count = 0;
+                try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+        } catch (SQLException e) {
+            log.error("统计表数量失败: datasourceId={}", datasourceId, e);
+            throw new RuntimeException("统计表数量失败", e);
+        }
+    }
+
+    /**
+     * 从数据库批量读取数据源中全部表的详细信息（绕过缓存），结果写入缓存
+     *
+     * 表与字段各一次 DatabaseMetaData 调用（表名模式为 %），主键、索引、外键各一条方言提供的
+     * information_schema / pg_catalog 查询，在内存中按表名组装；方言未提供的部分退回逐表读取。
+     * 读取表清单后，字段、主键、索引、外键四部分各借一个连接并发读取。
+     *
+     * @param datasourceId 数据源 ID
+     * @return 表元数据列表
+     */
+    public List<TableMeta> loadAllTableDetails(Long datasourceId) {
+        DatasourceConfig config = dynamicDataSourceService.getById(datasourceId)
+            .orElseThrow(() -> new IllegalArgumentException("数据源不存在: " + datasourceId));
+        long startVersion = tableMetaCache.currentVersion();
+        long startTime = System.currentTimeMillis();
 
         try {
-            String catalog = null;
-            String schema = null;
-
-            switch (config.getType()) {
-                case "mysql":
-                    catalog = config.getDatabase();
-                    break;
-                case "postgresql":
-                    schema = "public";
-                    break;
-                case "oracle":
-                    schema = config.getUsername().toUpperCase();
-                    break;
+            SqlDialect dialect = SqlDialects.of(config.getType());
+            String catalog = dialect.metadataCatalog(config);
+            String schema = dialect.metadataSchema(config);
+
+            Map<String, TableMeta> tables = withMetaData(datasourceId, metaData -> {
+                Map<String, TableMeta> result = new LinkedHashMap<>();
+                try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        TableMeta table = extractTableInfo(rs);
+                        table.setDatasourceId(datasourceId);
+                        table.setDatasourceType(config.getType());
+                        result.putIfAbsent(table.getName(), table);
+                    }
+                }
+                return result;
+            });
+
+            // 各部分写入 TableMeta 的不同字段，互不干扰
+            List<Callable<Void>> parts = Arrays.asList(
+                () -> withMetaData(datasourceId, metaData -> {
+                    loadAllColumns(metaData, tables, catalog, schema, config.getType());
+                    return null;
+                }),
+                () -> withMetaData(datasourceId, metaData -> {
+                    loadAllPrimaryKeys(metaData, dialect, tables, catalog, schema);
+                    return null;
+                }),
+                () -> withMetaData(datasourceId, metaData -> {
+                    loadAllIndexes(metaData, dialect, tables, catalog, schema);
+                    return null;
+                }),
+                () -> withMetaData(datasourceId, metaData -> {
+                    loadAllForeignKeys(metaData, dialect, tables, catalog, schema);
+                    return null;
+                }));
+            introspectionExecutor.invokeAll(parts);
+
+            for (TableMeta table : tables.values()) {
+                for (ColumnMeta column : table.getColumns()) {
+                    column.setIsPrimaryKey(table.getPrimaryKeys().contains(column.getName()));
+                }
+                tableMetaCache.put(datasourceId, table.getName(), table, startVersion);
             }
+            log.info("批量读取表详情完成: datasourceId={}, tables={}, elapsed={}ms",
+                datasourceId, tables.size(), System.currentTimeMillis() - startTime);
+            return new ArrayList<>(tables.values());
+
+        } catch (SQLException e) {
+            log.error("批量读取表详情失败: datasourceId={}", datasourceId, e);
+            throw new RuntimeException("批量读取表详情失败", e);
+        }
+    }
 
-            // 获取表基本信息
-            TableMeta table = null;
-            try (ResultSet rs = metaData.getTables(catalog, schema, tableName, new String[]{"TABLE"})) {
-                if (rs.next()) {
-                    table = extractTableInfo(rs, config.getType());
+    /**
+     * 计算数据源中全部表的结构指纹（表名 -> 指纹），按 getTables 的顺序返回
+     *
+     * 指纹为表定义、字段定义（schema 级 getColumns 一次读取）与方言提供的目录版本
+     * （catalogTableVersions，含索引 / 约束定义或 DDL 时间）的 MD5，不读取逐表详情；
+     * 方言未提供目录版本时仅包含表与字段定义。
+     *
+     * @param datasourceId 数据源 ID
+     * @return 表指纹
+     */
+    public Map<String, String> loadTableFingerprints(Long datasourceId) {
+        DatasourceConfig config = dynamicDataSourceService.getById(datasourceId)
+            .orElseThrow(() -> new IllegalArgumentException("数据源不存在: " + datasourceId));
+
+        try {
+            SqlDialect dialect = SqlDialects.of(config.getType());
+            String catalog = dialect.metadataCatalog(config);
+            String schema = dialect.metadataSchema(config);
+
+            Map<String, StringBuilder> signatures = withMetaData(datasourceId, metaData -> {
+                Map<String, StringBuilder> result = new LinkedHashMap<>();
+                try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        result.putIfAbsent(rs.getString("TABLE_NAME"), new StringBuilder(config.getType())
+                            .append('|').append(rs.getString("TABLE_CAT")).append('|').append(rs.getString("TABLE_SCHEM"))
+                            .append('|').append(rs.getString("REMARKS")));
+                    }
                 }
+                return result;
+            });
+
+            // 字段与目录版本分别写入各自的映射，结束后按表合并
+            Map<String, StringBuilder> columns = new HashMap<>();
+            Map<String, String> versions = new HashMap<>();
+            List<Callable<Void>> parts = new ArrayList<>();
+            parts.add(() -> withMetaData(datasourceId, metaData -> {
+                try (ResultSet rs = metaData.getColumns(catalog, schema, "%", "%")) {
+                    while (rs.next()) {
+                        String tableName = rs.getString("TABLE_NAME");
+                        if (signatures.containsKey(tableName)) {
+                            columns.computeIfAbsent(tableName, k -> new StringBuilder())
+                                .append('|').append(rs.getString("COLUMN_NAME"))
+                                .append(',').append(rs.getString("TYPE_NAME"))
+                                .append(',').append(rs.getInt("DATA_TYPE"))
+                                .append(',').append(rs.getInt("COLUMN_SIZE"))
+                                .append(',').append(rs.getInt("DECIMAL_DIGITS"))
+                                .append(',').append(rs.getInt("NULLABLE"))
+                                .append(',').append(rs.getString("COLUMN_DEF"))
+                                .append(',').append(rs.getInt("ORDINAL_POSITION"))
+                                .append(',').append(rs.getString("IS_AUTOINCREMENT"))
+                                .append(',').append(rs.getString("REMARKS"));
+                        }
+                    }
+                }
+                return null;
+            }));
+            SqlStatement tableVersions = dialect.catalogTableVersions(catalog, schema);
+            if (tableVersions != null) {
+                parts.add(() -> withMetaData(datasourceId, metaData -> {
+                    query(metaData.getConnection(), tableVersions,
+                        rs -> versions.put(rs.getString("TABLE_NAME"), rs.getString("VERSION")));
+                    return null;
+                }));
+            }
+            introspectionExecutor.invokeAll(parts);
+
+            Map<String, String> fingerprints = new LinkedHashMap<>();
+            for (Map.Entry<String, StringBuilder> entry : signatures.entrySet()) {
+                StringBuilder signature = entry.getValue()
+                    .append('#').append(columns.get(entry.getKey()))
+                    .append('#').append(versions.get(entry.getKey()));
+                fingerprints.put(entry.getKey(),
+                    DigestUtils.md5DigestAsHex(signature.toString().getBytes(StandardCharsets.UTF_8)));
             }
+            return fingerprints;
+
+        } catch (SQLException e) {
+            log.error("计算表指纹失败: datasourceId={}", datasourceId, e);
+            throw new RuntimeException("计算表指纹失败", e);
+        }
+    }
 
+    /**
+     * 全部字段一次读取，驱动按表名与字段顺序返回
+     */
+    private void loadAllColumns(DatabaseMetaData metaData, Map<String, TableMeta> tables, String catalog,
+            String schema, String databaseType) throws SQLException {
+        try (ResultSet rs = metaData.getColumns(catalog, schema, "%", "%")) {
+            while (rs.next()) {
+                TableMeta table = tables.get(rs.getString("TABLE_NAME"));
+                if (table != null && Objects.equals(table.getCatalog(), rs.getString("TABLE_CAT"))
+                        && Objects.equals(table.getSchema(), rs.getString("TABLE_SCHEM"))) {
+                    table.getColumns().add(extractColumn(rs, databaseType));
+                }
+            }
+        }
+    }
+
+    private void loadAllPrimaryKeys(DatabaseMetaData metaData, SqlDialect dialect, Map<String, TableMeta> tables,
+            String catalog, String schema) throws SQLException {
+        SqlStatement primaryKeys = dialect.catalogPrimaryKeys(catalog, schema);
+        if (primaryKeys == null) {
+            for (TableMeta table : tables.values()) {
+                table.setPrimaryKeys(getPrimaryKeys(metaData, catalog, schema, table.getName()));
+            }
+            return;
+        }
+        query(metaData.getConnection(), primaryKeys, rs -> {
+            TableMeta table = tables.get(rs.getString("TABLE_NAME"));
+            if (table != null) {
+                table.getPrimaryKeys().add(rs.getString("COLUMN_NAME"));
+            }
+        });
+    }
+
+    private void loadAllIndexes(DatabaseMetaData metaData, SqlDialect dialect, Map<String, TableMeta> tables,
+            String catalog, String schema) throws SQLException {
+        SqlStatement indexes = dialect.catalogIndexes(catalog, schema);
+        if (indexes == null) {
+            for (TableMeta table : tables.values()) {
+                table.setIndexes(getIndexes(metaData, catalog, schema, table));
+            }
+            return;
+        }
+        Map<String, RowEstimate> estimates = new HashMap<>();
+        query(metaData.getConnection(), indexes, rs -> {
+            TableMeta table = tables.get(rs.getString("TABLE_NAME"));
             if (table == null) {
-                throw new IllegalArgumentException("表不存在: " + tableName);
+                return;
+            }
+            String indexName = rs.getString("INDEX_NAME");
+            boolean nonUnique = rs.getBoolean("NON_UNIQUE");
+            Long cardinality = cardinality(rs);
+            RowEstimate estimate = estimates.computeIfAbsent(table.getName(), k -> new RowEstimate());
+            // 与 getIndexInfo 一致，索引名为空的行为表统计信息
+            if (indexName == null) {
+                estimate.statistic(cardinality);
+                return;
             }
+            estimate.index(nonUnique, cardinality);
+            addIndexColumn(table.getIndexes(), indexName, nonUnique, rs.getString("COLUMN_NAME"), cardinality);
+        });
+        for (TableMeta table : tables.values()) {
+            RowEstimate estimate = estimates.get(table.getName());
+            table.setEstimatedRows(estimate != null ? estimate.value() : null);
+        }
+    }
 
-            // 获取字段信息
-            table.setColumns(getColumns(datasourceId, tableName, catalog, schema));
+    private void loadAllForeignKeys(DatabaseMetaData metaData, SqlDialect dialect, Map<String, TableMeta> tables,
+            String catalog, String schema) throws SQLException {
+        SqlStatement foreignKeys = dialect.catalogForeignKeys(catalog, schema);
+        if (foreignKeys == null) {
+            for (TableMeta table : tables.values()) {
+                table.setForeignKeys(getForeignKeys(metaData, catalog, schema, table.getName()));
+            }
+            return;
+        }
+        query(metaData.getConnection(), foreignKeys, rs -> {
+            TableMeta table = tables.get(rs.getString("TABLE_NAME"));
+            if (table != null) {
+                ForeignKeyMeta fk = new ForeignKeyMeta();
+                fk.setFkName(rs.getString("FK_NAME"));
+                fk.setFkColumnName(rs.getString("FKCOLUMN_NAME"));
+                fk.setPkTableName(rs.getString("PKTABLE_NAME"));
+                fk.setPkColumnName(rs.getString("PKCOLUMN_NAME"));
+                fk.setDeleteRule(normalizeRule(rs.getString("DELETE_RULE")));
+                fk.setUpdateRule(normalizeRule(rs.getString("UPDATE_RULE")));
+                table.getForeignKeys().add(fk);
+            }
+        });
+    }
 
-            // 获取主键信息
-            table.setPrimaryKeys(getPrimaryKeys(metaData, catalog, schema, tableName));
+    /**
+     * 从数据库读取指定表的详细信息（绕过缓存）
+     * 
+     * @param datasourceId 数据源 ID
+     * @param tableName 表名
+     * @return 表元数据
+     */
+    public TableMeta loadTableDetail(Long datasourceId, String tableName) {
+        DatasourceConfig config = dynamicDataSourceService.getById(datasourceId)
+            .orElseThrow(() -> new IllegalArgumentException("数据源不存在: " + datasourceId));
 
-            // 获取索引信息
-            table.setIndexes(getIndexes(metaData, catalog, schema, tableName));
+        try {
+            SqlDialect dialect = SqlDialects.of(config.getType());
+            String catalog = dialect.metadataCatalog(config);
+            String schema = dialect.metadataSchema(config);
+
+            return withMetaData(datasourceId, metaData -> {
+                // 获取表基本信息
+                TableMeta table = null;
+                try (ResultSet rs = metaData.getTables(catalog, schema, tableName, new String[]{"TABLE"})) {
+                    if (rs.next()) {
+                        table = extractTableInfo(rs);
+                    }
+                }
 
-            // 获取外键信息
-            table.setForeignKeys(getForeignKeys(metaData, catalog, schema, tableName));
+                if (table == null) {
+                    throw new IllegalArgumentException("表不存在: " + tableName);
+                }
+                table.setDatasourceId(datasourceId);
+                table.setDatasourceType(config.getType());
 
-            return table;
+                // 获取字段信息
+                table.setColumns(getColumns(metaData, config.getType(), tableName, catalog, schema));
+
+                // 获取主键信息
+                table.setPrimaryKeys(getPrimaryKeys(metaData, catalog, schema, tableName));
+                for (ColumnMeta column : table.getColumns()) {
+                    column.setIsPrimaryKey(table.getPrimaryKeys().contains(column.getName()));
+                }
+
+                // 获取索引信息与估算行数
+                table.setIndexes(getIndexes(metaData, catalog, schema, table));
+
+                // 获取外键信息
+                table.setForeignKeys(getForeignKeys(metaData, catalog, schema, tableName));
+
+                return table;
+            });
 
         } catch (SQLException e) {
             log.error("获取表详情失败: datasourceId={}, tableName={}", datasourceId, tableName, e);
@@ -133,36 +474,61 @@ public class MetadataService {
         }
     }
 
+    /**
+     * 借用元数据读取连接池的连接执行回调，完成后归还
+     */
+    private <T> T withMetaData(Long datasourceId, MetaDataCallback<T> callback) throws SQLException {
+        try (Connection conn = dynamicDataSourceService.getIntrospectionDataSource(datasourceId).getConnection()) {
+            return callback.doWith(conn.getMetaData());
+        }
+    }
+
+    /**
+     * 使用 DatabaseMetaData 的回调
+     */
+    @FunctionalInterface
+    private interface MetaDataCallback<T> {
+        T doWith(DatabaseMetaData metaData) throws SQLException;
+    }
+
     /**
      * 获取表的字段信息
      */
-    private List<ColumnMeta> getColumns(Long datasourceId, String tableName, 
+    private List<ColumnMeta> getColumns(DatabaseMetaData metaData, String databaseType, String tableName,
             String catalog, String schema) throws SQLException {
-        DatabaseMetaData metaData = dynamicDataSourceService.getDatabaseMetaData(datasourceId);
         List<ColumnMeta> columns = new ArrayList<>();
 
         try (ResultSet rs = metaData.getColumns(catalog, schema, tableName, "%")) {
             while (rs.next()) {
-                ColumnMeta column = new ColumnMeta();
-                column.setName(rs.getString("COLUMN_NAME"));
-                column.setTypeName(rs.getString("TYPE_NAME"));
-                column.setColumnSize(rs.getInt("COLUMN_SIZE"));
-                column.setDecimalDigits(rs.getInt("DECIMAL_DIGITS"));
-                column.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable);
-                column.setColumnDef(rs.getString("COLUMN_DEF"));
-                column.setOrdinalPosition(rs.getInt("ORDINAL_POSITION"));
-                column.setRemarks(rs.getString("REMARKS"));
-                
-                // 判断是否为自增字段
-                column.setAutoIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT")));
-                
-                columns.add(column);
+                columns.add(extractColumn(rs, databaseType));
             }
         }
 
         return columns;
     }
 
+    /**
+     * 提取字段信息（DatabaseMetaData.getColumns 的一行）
+     */
+    private ColumnMeta extractColumn(ResultSet rs, String databaseType) throws SQLException {
+        ColumnMeta column = new ColumnMeta();
+        column.setName(rs.getString("COLUMN_NAME"));
+        column.setTypeName(rs.getString("TYPE_NAME"));
+        // java.sql.Types 与 Java 类型，供参数绑定器选择转换方式
+        column.setJdbcType(rs.getInt("DATA_TYPE"));
+        column.setJavaType(TypeConverter.toJavaType(databaseType, column.getTypeName()));
+        column.setColumnSize(rs.getInt("COLUMN_SIZE"));
+        column.setDecimalDigits(rs.getInt("DECIMAL_DIGITS"));
+        column.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable);
+        column.setColumnDef(rs.getString("COLUMN_DEF"));
+        column.setOrdinalPosition(rs.getInt("ORDINAL_POSITION"));
+        column.setRemarks(rs.getString("REMARKS"));
+
+        // 判断是否为自增字段
+        column.setAutoIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT")));
+        return column;
+    }
+
     /**
      * 获取主键信息
      */
@@ -181,51 +547,92 @@ public class MetadataService {
 
     /**
      * 获取索引信息
+     *
+     * 同时根据统计信息设置表的估算行数：优先取表统计行（tableIndexStatistic），
+     * 否则取唯一索引的最大基数；驱动未提供时保持为 null。
      */
-    private List<IndexMeta> getIndexes(DatabaseMetaData metaData, String catalog, 
-            String schema, String tableName) throws SQLException {
+    private List<IndexMeta> getIndexes(DatabaseMetaData metaData, String catalog,
+            String schema, TableMeta table) throws SQLException {
         List<IndexMeta> indexes = new ArrayList<>();
+        RowEstimate estimate = new RowEstimate();
 
-        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, tableName, false, true)) {
-            IndexMeta currentIndex = null;
-            String lastIndexName = null;
-
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, table.getName(), false, true)) {
             while (rs.next()) {
                 String indexName = rs.getString("INDEX_NAME");
                 boolean nonUnique = rs.getBoolean("NON_UNIQUE");
                 String columnName = rs.getString("COLUMN_NAME");
+                Long cardinality = cardinality(rs);
 
+                if (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    estimate.statistic(cardinality);
+                    continue;
+                }
                 if (indexName == null) {
                     continue;
                 }
+                estimate.index(nonUnique, cardinality);
+                addIndexColumn(indexes, indexName, nonUnique, columnName, cardinality);
+            }
+        }
 
-                // 新索引
-                if (!indexName.equals(lastIndexName)) {
-                    if (currentIndex != null) {
-                        indexes.add(currentIndex);
-                    }
-                    currentIndex = new IndexMeta();
-                    currentIndex.setName(indexName);
-                    currentIndex.setNonUnique(nonUnique);
-                    currentIndex.setColumns(new ArrayList<>());
-                    lastIndexName = indexName;
-                }
+        table.setEstimatedRows(estimate.value());
+        return indexes;
+    }
 
-                if (currentIndex != null && columnName != null) {
-                    // 创建 IndexColumn 对象
-                    IndexMeta.IndexColumn indexColumn = new IndexMeta.IndexColumn();
-                    indexColumn.setColumnName(columnName);
-                    currentIndex.getColumns().add(indexColumn);
-                }
+    /**
+     * 读取 CARDINALITY 列，缺失或为负（未收集统计信息）时返回 null
+     */
+    private static Long cardinality(ResultSet rs) throws SQLException {
+        long cardinality = rs.getLong("CARDINALITY");
+        return rs.wasNull() || cardinality < 0 ? null : cardinality;
+    }
+
+    /**
+     * 估算行数：优先取表统计行数，否则取唯一索引的最大基数，均未提供时为 null。
+     * 逐表读取（getIndexInfo）与批量读取（catalogIndexes）共用，两条路径结果一致
+     */
+    private static final class RowEstimate {
+        private long tableRows = -1;
+        private long uniqueCardinality = -1;
+
+        void statistic(Long rows) {
+            if (rows != null) {
+                tableRows = Math.max(tableRows, rows);
             }
+        }
 
-            // 添加最后一个索引
-            if (currentIndex != null) {
-                indexes.add(currentIndex);
+        void index(boolean nonUnique, Long cardinality) {
+            if (cardinality != null && !nonUnique) {
+                uniqueCardinality = Math.max(uniqueCardinality, cardinality);
             }
         }
 
-        return indexes;
+        Long value() {
+            long rows = tableRows >= 0 ? tableRows : uniqueCardinality;
+            return rows >= 0 ? rows : null;
+        }
+    }
+
+    /**
+     * 追加索引列，索引名与上一行不同时开始新索引（结果集按索引名与列序排列）
+     */
+    private static void addIndexColumn(List<IndexMeta> indexes, String indexName, boolean nonUnique,
+            String columnName, Long cardinality) {
+        IndexMeta currentIndex = indexes.isEmpty() ? null : indexes.get(indexes.size() - 1);
+        if (currentIndex == null || !indexName.equals(currentIndex.getIndexName())) {
+            currentIndex = new IndexMeta();
+            currentIndex.setName(indexName);
+            currentIndex.setNonUnique(nonUnique);
+            currentIndex.setColumns(new ArrayList<>());
+            indexes.add(currentIndex);
+        }
+
+        if (columnName != null) {
+            IndexMeta.IndexColumn indexColumn = new IndexMeta.IndexColumn();
+            indexColumn.setColumnName(columnName);
+            indexColumn.setCardinality(cardinality);
+            currentIndex.getColumns().add(indexColumn);
+        }
     }
 
     /**
@@ -254,28 +661,41 @@ public class MetadataService {
     /**
      * 提取表基本信息
      */
-    private TableMeta extractTableInfo(ResultSet rs, String dbType) throws SQLException {
+    private TableMeta extractTableInfo(ResultSet rs) throws SQLException {
         TableMeta table = new TableMeta();
         table.setName(rs.getString("TABLE_NAME"));
         table.setType(rs.getString("TABLE_TYPE"));
         table.setRemarks(rs.getString("REMARKS"));
         
-        // 根据数据库类型设置 catalog 和 schema
-        switch (dbType) {
-            case "mysql":
-                table.setCatalog(rs.getString("TABLE_CAT"));
-                break;
-            case "postgresql":
-                table.setSchema(rs.getString("TABLE_SCHEM"));
-                break;
-            case "oracle":
-                table.setSchema(rs.getString("TABLE_SCHEM"));
-                break;
-        }
+        // MySQL 以 catalog 区分库，PostgreSQL / Oracle / H2 以 schema 区分，驱动未使用的一项为 null
+        table.setCatalog(rs.getString("TABLE_CAT"));
+        table.setSchema(rs.getString("TABLE_SCHEM"));
         
         return table;
     }
 
+    /**
+     * 执行批量元数据查询，逐行回调
+     */
+    private static void query(Connection conn, SqlStatement statement, RowCallbackHandler handler)
+            throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(statement.getSql())) {
+            statement.setValues(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.processRow(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * 规范化批量查询返回的外键规则文本，与 convertDeleteRule / convertUpdateRule 的取值一致
+     */
+    private static String normalizeRule(String rule) {
+        return rule == null || rule.trim().isEmpty() ? "NO ACTION" : rule.trim().toUpperCase(Locale.ROOT);
+    }
+
     /**
      * 转换删除规则
      */
@@ -0,0 +1,207 @@
+package com.iflow.api.core.service;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.PropertyFilter;
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.ForeignKeyMeta;
+import com.iflow.api.core.dto.metadata.IndexMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.MetadataSnapshot;
+import com.iflow.api.core.repository.MetadataSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 表元数据快照服务
+ *
+ * 每个数据源的 TableMeta 连同结构指纹持久化到控制库（api_metadata_snapshot）。
+ * 重新扫描时先以 schema 级查询计算全部表的指纹（MetadataService.loadTableFingerprints），
+ * 指纹与快照一致的表直接使用快照（或已缓存的实例），只有新增或变化的表完整读取元数据，
+ * 已删除的表移除快照。快照读写失败不影响扫描结果，仅退化为完整读取。
+ *
+ * 引用：REQ-F4-003（扫描数据源获取所有表信息）
+ *        REQ-F4-004（获取表字段信息、索引、外键）
+ */
+@Slf4j
+@Service
+public class MetadataSnapshotService {
+
+    /**
+     * 快照不保存的派生属性（兼容性 getter 与计算属性），反序列化时经对应 setter 回写会覆盖原值
+     */
+    private static final Map<Class<?>, Set<String>> DERIVED_PROPERTIES = new HashMap<>();
+
+    static {
+        DERIVED_PROPERTIES.put(TableMeta.class, new HashSet<>(Arrays.asList("name", "type", "remarks", "catalog",
+            "schema", "primaryKeyType", "primaryKeyColumn", "nonPrimaryKeyColumns", "insertableColumns")));
+        DERIVED_PROPERTIES.put(ColumnMeta.class, new HashSet<>(Arrays.asList("nullable", "primaryKey",
+            "autoIncrement", "numericType", "stringType", "dateTimeType")));
+        DERIVED_PROPERTIES.put(IndexMeta.class, new HashSet<>(Arrays.asList("unique", "fullText", "spatial",
+            "columnNames")));
+        DERIVED_PROPERTIES.put(ForeignKeyMeta.class, new HashSet<>(Arrays.asList("description", "cascadeDelete",
+            "cascadeUpdate")));
+    }
+
+    private static final PropertyFilter SNAPSHOT_FILTER = (object, name, value) -> {
+        Set<String> derived = DERIVED_PROPERTIES.get(object.getClass());
+        return derived == null || !derived.contains(name);
+    };
+
+    @Autowired
+    private MetadataService metadataService;
+
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
+    @Autowired
+    private MetadataSnapshotRepository metadataSnapshotRepository;
+
+    /**
+     * 是否启用快照，关闭时每次扫描完整读取全部表
+     */
+    @Value("${auto.api.metadata.snapshot.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * 重新扫描数据源的全部表，按指纹增量读取，结果写入缓存
+     *
+     * @param datasourceId 数据源 ID
+     * @return 表元数据列表（共享实例，调用方不应修改）
+     */
+    public List<TableMeta> rescan(Long datasourceId) {
+        if (!enabled) {
+            return metadataService.loadAllTableDetails(datasourceId);
+        }
+        long startTime = System.currentTimeMillis();
+        long startVersion = tableMetaCache.currentVersion();
+
+        // 指纹在读取详情之前计算：读取期间发生的变化会使下次扫描的指纹不一致，从而再次读取
+        Map<String, String> fingerprints = metadataService.loadTableFingerprints(datasourceId);
+        Map<String, MetadataSnapshot> snapshots = loadSnapshots(datasourceId);
+
+        Map<String, TableMeta> tables = new HashMap<>();
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            String tableName = entry.getKey();
+            MetadataSnapshot snapshot = snapshots.get(tableName);
+            TableMeta table = snapshot != null && entry.getValue().equals(snapshot.getFingerprint())
+                ? restore(datasourceId, snapshot, startVersion) : null;
+            if (table != null) {
+                tables.put(tableName, table);
+            } else {
+                changed.add(tableName);
+                // 丢弃变化前缓存的结构，getTableDetails 将重新读取
+                tableMetaCache.invalidate(datasourceId, tableName);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            Iterator<String> names = changed.iterator();
+            for (TableMeta table : metadataService.getTableDetails(datasourceId, changed)) {
+                tables.put(names.next(), table);
+            }
+        }
+        saveSnapshots(datasourceId, changed, fingerprints, tables, snapshots);
+
+        // 计算指纹后被删除的表在批量读取结果中不存在，跳过
+        List<TableMeta> result = new ArrayList<>(fingerprints.size());
+        for (String tableName : fingerprints.keySet()) {
+            TableMeta table = tables.get(tableName);
+            if (table != null) {
+                result.add(table);
+            }
+        }
+        log.info("增量扫描完成: datasourceId={}, tables={}, changed={}, elapsed={}ms",
+            datasourceId, result.size(), changed.size(), System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * 删除数据源的全部快照
+     *
+     * @param datasourceId 数据源 ID
+     */
+    public void deleteSnapshots(Long datasourceId) {
+        int deleted = metadataSnapshotRepository.deleteByDatasourceId(datasourceId);
+        log.info("表元数据快照已删除: datasourceId={}, count={}", datasourceId, deleted);
+    }
+
+    private Map<String, MetadataSnapshot> loadSnapshots(Long datasourceId) {
+        Map<String, MetadataSnapshot> snapshots = new HashMap<>();
+        try {
+            for (MetadataSnapshot snapshot : metadataSnapshotRepository.findByDatasourceId(datasourceId)) {
+                snapshots.put(snapshot.getTableName(), snapshot);
+            }
+        } catch (Exception e) {
+            log.warn("读取表元数据快照失败，完整读取全部表: datasourceId={}", datasourceId, e);
+        }
+        return snapshots;
+    }
+
+    /**
+     * 指纹一致的表优先使用已缓存实例，否则解析快照并写入缓存；快照无法解析时返回 null
+     */
+    private TableMeta restore(Long datasourceId, MetadataSnapshot snapshot, long startVersion) {
+        TableMeta cached = tableMetaCache.getIfPresent(datasourceId, snapshot.getTableName());
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            TableMeta table = JSON.parseObject(snapshot.getSnapshot(), TableMeta.class);
+            tableMetaCache.put(datasourceId, snapshot.getTableName(), table, startVersion);
+            return table;
+        } catch (Exception e) {
+            log.warn("表元数据快照解析失败: datasourceId={}, table={}", datasourceId, snapshot.getTableName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入变化表的快照，删除已不存在的表的快照
+     */
+    private void saveSnapshots(Long datasourceId, List<String> changed, Map<String, String> fingerprints,
+            Map<String, TableMeta> tables, Map<String, MetadataSnapshot> snapshots) {
+        try {
+            for (String tableName : changed) {
+                TableMeta table = tables.get(tableName);
+                if (table == null) {
+                    continue;
+                }
+                MetadataSnapshot snapshot = snapshots.get(tableName);
+                if (snapshot == null) {
+                    snapshot = new MetadataSnapshot().setDatasourceId(datasourceId).setTableName(tableName);
+                }
+                snapshot.setFingerprint(fingerprints.get(tableName))
+                    .setSnapshot(JSON.toJSONString(table, SNAPSHOT_FILTER));
+                if (snapshot.getId() == null) {
+                    metadataSnapshotRepository.insert(snapshot);
+                } else {
+                    metadataSnapshotRepository.updateById(snapshot);
+                }
+            }
+            List<Long> dropped = new ArrayList<>();
+            for (MetadataSnapshot snapshot : snapshots.values()) {
+                if (!fingerprints.containsKey(snapshot.getTableName())) {
+                    dropped.add(snapshot.getId());
+                }
+            }
+            if (!dropped.isEmpty()) {
+                metadataSnapshotRepository.deleteBatchIds(dropped);
+            }
+        } catch (Exception e) {
+            log.warn("保存表元数据快照失败: datasourceId={}", datasourceId, e);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.iflow.api.core.service;
+
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.metadata.IndexMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 表结构漂移检测
+ *
+ * 为每个启用的数据源定期计算全部表的结构指纹（MetadataService.loadTableFingerprints，
+ * schema 级查询，不读取逐表详情），与上次检查的指纹比较；只有指纹变化且已注册路由的表才读取详情，
+ * 与路由注册时的 TableMeta 比较，结构确有变化时通过 DynamicRouteRegistry.reregisterApi 单表重新注册。
+ *
+ * 各数据源独立调度，间隔附加随机抖动以错开对数据库的查询；单次检查最多重新注册
+ * maxReregistrations 张表，其余保留旧指纹，在下次检查时处理。数据源首次检查没有上次的指纹，
+ * 已持有注册时元数据（路由自带或已缓存）的表直接与数据库当前结构比较，
+ * 以发现路由注册后、首次检查前发生的变化。
+ *
+ * 引用：REQ-F2-003（动态添加 API 接口路由）
+ *        REQ-F4-004（获取表字段信息、索引、外键）
+ */
+@Slf4j
+@Component
+public class SchemaDriftWatcher {
+
+    @Autowired
+    private DynamicDataSourceService dynamicDataSourceService;
+
+    @Autowired
+    private MetadataService metadataService;
+
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
+    @Autowired
+    private ApiRouteIndex apiRouteIndex;
+
+    @Autowired
+    private DynamicRouteRegistry dynamicRouteRegistry;
+
+    /**
+     * 是否启用漂移检测
+     */
+    @Value("${auto.api.metadata.drift.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * 单个数据源的检查间隔（秒）
+     */
+    @Value("${auto.api.metadata.drift.interval-seconds:60}")
+    private long intervalSeconds = 60;
+
+    /**
+     * 间隔的随机抖动比例（0.2 表示 ±20%）
+     */
+    @Value("${auto.api.metadata.drift.jitter:0.2}")
+    private double jitter = 0.2;
+
+    /**
+     * 单个数据源单次检查最多重新注册的表数
+     */
+    @Value("${auto.api.metadata.drift.max-reregistrations:20}")
+    private int maxReregistrations = 20;
+
+    /**
+     * 检查线程数
+     */
+    @Value("${auto.api.metadata.drift.threads:2}")
+    private int threads = 2;
+
+    /**
+     * 上次检查时的表指纹 (数据源ID -> 表名 -> 指纹)
+     */
+    private final Map<Long, Map<String, String>> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * 已安排检查的数据源
+     */
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || intervalSeconds <= 0) {
+            log.info("表结构漂移检测未启用");
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "auto-api-drift-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 定期发现新启用的数据源，停用或删除的数据源在其下次检查时退出调度
+        scheduler.scheduleWithFixedDelay(this::discover, nextDelayMillis(), intervalSeconds * 1000,
+            TimeUnit.MILLISECONDS);
+        log.info("表结构漂移检测已启动: intervalSeconds={}, jitter={}, maxReregistrations={}",
+            intervalSeconds, jitter, maxReregistrations);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    /**
+     * 检查数据源的表结构漂移，重新注册结构已变化的表
+     *
+     * @param datasourceId 数据源 ID
+     * @return 已重新注册的表名
+     */
+    public List<String> check(Long datasourceId) {
+        Map<String, String> fingerprints = metadataService.loadTableFingerprints(datasourceId);
+        Map<String, String> baseline = baselines.get(datasourceId);
+        boolean first = baseline == null;
+        if (first) {
+            baseline = Collections.emptyMap();
+        }
+
+        Map<String, String> next = new HashMap<>(fingerprints);
+        List<String> reregistered = new ArrayList<>();
+        int deferred = 0;
+        for (ApiRouteIndex.Route route : apiRouteIndex.getRoutes()) {
+            String tableName = route.getTableName();
+            String fingerprint = fingerprints.get(tableName);
+            if (!datasourceId.equals(route.getDatasourceId()) || fingerprint == null
+                    || fingerprint.equals(baseline.get(tableName))) {
+                continue;
+            }
+            if (first && registeredMeta(route) == null) {
+                // 未持有元数据的路由请求时经元数据缓存读取当前结构，无需比较
+                continue;
+            }
+            if (reregistered.size() >= maxReregistrations) {
+                // 超出单次上限，保留旧指纹，下次检查继续处理
+                keepPrevious(next, baseline, tableName);
+                deferred++;
+                continue;
+            }
+            try {
+                if (reregisterIfChanged(route)) {
+                    reregistered.add(tableName);
+                }
+            } catch (Exception e) {
+                keepPrevious(next, baseline, tableName);
+                log.warn("表结构变化后重新注册失败: datasourceId={}, table={}", datasourceId, tableName, e);
+            }
+        }
+        baselines.put(datasourceId, next);
+
+        if (!reregistered.isEmpty() || deferred > 0) {
+            log.info("表结构漂移已处理: datasourceId={}, reregistered={}, deferred={}",
+                datasourceId, reregistered, deferred);
+        }
+        return reregistered;
+    }
+
+    /**
+     * 读取表的最新结构，与路由注册时的结构不同时重新注册
+     */
+    private boolean reregisterIfChanged(ApiRouteIndex.Route route) {
+        Long datasourceId = route.getDatasourceId();
+        TableMeta fresh = metadataService.loadTableDetail(datasourceId, route.getTableName());
+        TableMeta registered = registeredMeta(route);
+        if (registered != null && sameStructure(registered, fresh)) {
+            return false;
+        }
+
+        if (route.getTableSelectionId() != null) {
+            dynamicRouteRegistry.reregisterApi(route.getTableSelectionId(), fresh, datasourceId);
+        } else {
+            // 同路径注册即原子覆盖旧路由，新路由可见后再丢弃缓存的旧元数据
+            dynamicRouteRegistry.registerRestApi(fresh, datasourceId);
+            tableMetaCache.invalidate(datasourceId, route.getTableName());
+        }
+        return true;
+    }
+
+    /**
+     * 路由注册时的元数据；由数据库全量构建的路由不携带元数据，请求时经元数据缓存读取
+     */
+    private TableMeta registeredMeta(ApiRouteIndex.Route route) {
+        return route.getTableMeta() != null
+            ? route.getTableMeta() : tableMetaCache.getIfPresent(route.getDatasourceId(), route.getTableName());
+    }
+
+    /**
+     * 比较字段、主键、索引定义与外键，忽略随数据变化的统计信息（估算行数、索引基数）
+     */
+    static boolean sameStructure(TableMeta a, TableMeta b) {
+        return Objects.equals(a.getColumns(), b.getColumns())
+            && Objects.equals(a.getPrimaryKeys(), b.getPrimaryKeys())
+            && Objects.equals(a.getForeignKeys(), b.getForeignKeys())
+            && indexDefinitions(a).equals(indexDefinitions(b));
+    }
+
+    private static List<String> indexDefinitions(TableMeta table) {
+        List<String> definitions = new ArrayList<>();
+        for (IndexMeta index : table.getIndexes()) {
+            StringBuilder definition = new StringBuilder(index.getIndexName())
+                .append(Boolean.TRUE.equals(index.getNonUnique()) ? ":N" : ":U");
+            for (IndexMeta.IndexColumn column : index.getColumns()) {
+                definition.append(':').append(column.getColumnName());
+            }
+            definitions.add(definition.toString());
+        }
+        return definitions;
+    }
+
+    private static void keepPrevious(Map<String, String> next, Map<String, String> baseline, String tableName) {
+        String previous = baseline.get(tableName);
+        if (previous != null) {
+            next.put(tableName, previous);
+        } else {
+            next.remove(tableName);
+        }
+    }
+
+    private void discover() {
+        try {
+            for (DatasourceConfig config : dynamicDataSourceService.getActiveDataSources()) {
+                if (scheduled.add(config.getId())) {
+                    schedule(config.getId());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取启用的数据源失败", e);
+        }
+    }
+
+    private void schedule(Long datasourceId) {
+        ScheduledExecutorService current = scheduler;
+        if (current == null || current.isShutdown()) {
+            scheduled.remove(datasourceId);
+            return;
+        }
+        current.schedule(() -> run(datasourceId), nextDelayMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 执行一次检查并安排下一次；数据源停用或删除后停止调度并丢弃其指纹
+     */
+    private void run(Long datasourceId) {
+        try {
+            boolean active = dynamicDataSourceService.getById(datasourceId)
+                .map(config -> Integer.valueOf(1).equals(config.getStatus()))
+                .orElse(false);
+            if (!active) {
+                scheduled.remove(datasourceId);
+                baselines.remove(datasourceId);
+                log.info("数据源已停用，停止表结构漂移检测: datasourceId={}", datasourceId);
+                return;
+            }
+            check(datasourceId);
+        } catch (Exception e) {
+            log.warn("表结构漂移检测失败: datasourceId={}", datasourceId, e);
+        }
+        schedule(datasourceId);
+    }
+
+    private long nextDelayMillis() {
+        double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Math.max(1000, (long) (intervalSeconds * 1000 * factor));
+    }
+}
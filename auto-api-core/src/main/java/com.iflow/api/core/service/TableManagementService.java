@@ -35,6 +35,9 @@ public class TableManagementService {
     @Autowired
     private MetadataService metadataService;
 
+    @Autowired
+    private MetadataSnapshotService metadataSnapshotService;
+
     @Autowired
     private DynamicDataSourceService dynamicDataSourceService;
 
@@ -50,6 +53,9 @@ public class TableManagementService {
     /**
      * 扫描数据源获取所有表
      * 
+     * 按 schema 批量读取表结构（查询次数与表数量无关），结果同时写入元数据缓存，
+     * 后续生成 API 时无需逐表再读。
+     * 
      * @param datasourceId 数据源 ID
      * @return 扫描结果
      */
@@ -61,8 +67,8 @@ public class TableManagementService {
             .findByIdWithoutDeleted(datasourceId)
             .orElseThrow(() -> new IllegalArgumentException("数据源不存在: " + datasourceId));
 
-        // 获取所有表
-        List<TableMeta> allTables = metadataService.getAllTables(datasourceId);
+        // 获取所有表及字段（按结构指纹增量读取）
+        List<TableMeta> allTables = metadataSnapshotService.rescan(datasourceId);
 
         // 获取已选择的表
         List<TableSelection> selectedTables = tableSelectionRepository
@@ -129,13 +135,13 @@ public class TableManagementService {
 
         List<TableMeta> allTables = metadataService.getAllTables(datasourceId);
         Set<String> tableNameSet = new HashSet<>(tableNames);
+        Map<String, TableSelection> existingSelections = selectionsByTable(datasourceId);
 
         int count = 0;
         for (TableMeta table : allTables) {
             if (tableNameSet.contains(table.getName())) {
                 // 检查是否已存在选择记录
-                Optional<TableSelection> existing = tableSelectionRepository
-                    .findByDatasourceIdAndTableName(datasourceId, table.getName());
+                Optional<TableSelection> existing = Optional.ofNullable(existingSelections.get(table.getName()));
 
                 if (existing.isPresent()) {
                     // 更新现有记录
@@ -183,14 +189,14 @@ public class TableManagementService {
                 .collect(Collectors.toSet());
         }
 
+        Map<String, TableSelection> existingSelections = selectionsByTable(datasourceId);
         int count = 0;
         for (TableMeta table : allTables) {
             if (skipGenerated && generatedTableNames.contains(table.getName())) {
                 continue;
             }
 
-            Optional<TableSelection> existing = tableSelectionRepository
-                .findByDatasourceIdAndTableName(datasourceId, table.getName());
+            Optional<TableSelection> existing = Optional.ofNullable(existingSelections.get(table.getName()));
 
             if (existing.isPresent()) {
                 TableSelection selection = existing.get();
@@ -211,6 +217,17 @@ public class TableManagementService {
         return count;
     }
 
+    /**
+     * 一次读取数据源的全部选择记录，按表名索引，替代逐表查询
+     */
+    private Map<String, TableSelection> selectionsByTable(Long datasourceId) {
+        Map<String, TableSelection> selections = new HashMap<>();
+        for (TableSelection selection : tableSelectionRepository.findByDatasourceId(datasourceId)) {
+            selections.putIfAbsent(selection.getTableName(), selection);
+        }
+        return selections;
+    }
+
     /**
      * 获取已选择的表
      * 
@@ -305,8 +322,8 @@ public class TableManagementService {
      * @return 表信息列表
      */
     public List<TableInfo> getTablesInfo(Long datasourceId, List<String> tableNames) {
-        return tableNames.stream()
-            .map(name -> getTableInfo(datasourceId, name))
+        return metadataService.getTableDetails(datasourceId, tableNames).stream()
+            .map(this::convertToTableInfo)
             .collect(Collectors.toList());
     }
 
@@ -0,0 +1,128 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 聚合表达式
+ *
+ * 形如 count、count(*)、count(id)、sum(amount)、avg(price)、min(created_at)、max(status)，
+ * 结果列别名为 函数_列名（count(*) 为 count_all），返回字段名转换为驼峰（如 sumAmount）。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class Aggregate {
+
+    /**
+     * 聚合函数
+     */
+    public enum Function {
+        COUNT, SUM, AVG, MIN, MAX
+    }
+
+    private static final Set<Integer> NUMERIC_TYPES = new HashSet<>(Arrays.asList(
+        Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT,
+        Types.DECIMAL, Types.NUMERIC, Types.DOUBLE, Types.FLOAT, Types.REAL));
+
+    private static final Set<String> NUMERIC_JAVA_TYPES = new HashSet<>(Arrays.asList(
+        "Long", "Integer", "Short", "Byte", "BigDecimal", "BigInteger", "Double", "Float"));
+
+    private static final Set<Integer> UNORDERED_TYPES = new HashSet<>(Arrays.asList(
+        Types.BLOB, Types.CLOB, Types.NCLOB, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY,
+        Types.ARRAY, Types.STRUCT, Types.JAVA_OBJECT, Types.SQLXML));
+
+    private final Function function;
+    private final String field;
+
+    private Aggregate(Function function, String field) {
+        this.function = function;
+        this.field = field;
+    }
+
+    /**
+     * 解析聚合表达式
+     *
+     * @param expression 如 sum(amount)，count 与 count(*) 表示统计行数
+     */
+    public static Aggregate parse(String expression) {
+        String text = expression == null ? "" : expression.trim();
+        int open = text.indexOf('(');
+        String name = open < 0 ? text : text.substring(0, open).trim();
+        String field = null;
+        if (open >= 0) {
+            if (!text.endsWith(")")) {
+                throw new IllegalArgumentException("无效的聚合表达式: " + expression);
+            }
+            field = text.substring(open + 1, text.length() - 1).trim();
+            if (field.isEmpty() || "*".equals(field)) {
+                field = null;
+            }
+        }
+        Function function;
+        try {
+            function = Function.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的聚合函数: " + expression);
+        }
+        if (field == null && function != Function.COUNT) {
+            throw new IllegalArgumentException("聚合函数缺少字段: " + expression);
+        }
+        return new Aggregate(function, field);
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    /**
+     * 聚合字段，count(*) 时为 null
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * 校验列类型是否支持该聚合函数：sum/avg 要求数值列，min/max 要求可比较的列
+     *
+     * @throws IllegalArgumentException 类型不支持时
+     */
+    void validate(ColumnMeta column) {
+        switch (function) {
+            case SUM:
+            case AVG:
+                if (!isNumeric(column)) {
+                    throw new IllegalArgumentException(function.name().toLowerCase(Locale.ROOT)
+                        + " 仅支持数值字段: " + column.getName());
+                }
+                break;
+            case MIN:
+            case MAX:
+                if (!isOrderable(column)) {
+                    throw new IllegalArgumentException(function.name().toLowerCase(Locale.ROOT)
+                        + " 不支持该字段类型: " + column.getName());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isNumeric(ColumnMeta column) {
+        if (column.getJdbcType() != null) {
+            return NUMERIC_TYPES.contains(column.getJdbcType());
+        }
+        return column.getJavaType() != null && NUMERIC_JAVA_TYPES.contains(column.getJavaType());
+    }
+
+    static boolean isOrderable(ColumnMeta column) {
+        if (column.getJdbcType() != null) {
+            return !UNORDERED_TYPES.contains(column.getJdbcType());
+        }
+        return !"byte[]".equals(column.getJavaType());
+    }
+}
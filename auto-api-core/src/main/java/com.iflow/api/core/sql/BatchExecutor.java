@@ -0,0 +1,213 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.view.BatchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量写入执行器
+ *
+ * 按列集合对请求分组（同一列集合对应同一条 SQL 模板），每组按 chunkSize 分块调用
+ * JdbcTemplate.batchUpdate，全部分块在同一事务中执行，任一分块失败整体回滚。
+ * MySQL 连接串开启 rewriteBatchedStatements、PostgreSQL 开启 reWriteBatchedInserts 后，
+ * 驱动会把同组 INSERT 合并为多行 VALUES。参数按列类型绑定，类型错误的条目在执行前即标记为无效。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Slf4j
+@Component
+public class BatchExecutor {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String DELETE = "delete";
+
+    /**
+     * 每次 batchUpdate 提交的最大行数
+     */
+    @Value("${auto.api.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * 执行批量操作
+     *
+     * @param jdbcTemplate 数据源 JdbcTemplate
+     * @param transactionTemplate 数据源事务模板
+     * @param statements 表语句模板
+     * @param operation 操作类型（create / update / delete）
+     * @param data 请求数据，update / delete 通过 id 字段指定主键
+     * @return 逐条结果
+     */
+    public BatchResult execute(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               TableStatements statements, String operation, List<Map<String, Object>> data) {
+        int total = data.size();
+        BatchResult.Item[] items = new BatchResult.Item[total];
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        List<SqlStatement> prepared = new ArrayList<>(total);
+        boolean valid = true;
+
+        // 构建语句并按 SQL 文本分组，校验失败的条目不进入执行阶段
+        for (int i = 0; i < total; i++) {
+            items[i] = new BatchResult.Item().setIndex(i);
+            try {
+                SqlStatement statement = toStatement(statements, operation, data.get(i));
+                groups.computeIfAbsent(statement.getSql(), k -> new ArrayList<>()).add(i);
+                prepared.add(statement);
+            } catch (IllegalArgumentException e) {
+                items[i].setStatus(BatchResult.Status.INVALID).setMessage(e.getMessage());
+                prepared.add(null);
+                valid = false;
+            }
+        }
+
+        boolean committed = false;
+        if (valid) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+                        executeGroup(jdbcTemplate, operation, group.getKey(), group.getValue(), prepared, items);
+                    }
+                });
+                committed = true;
+            } catch (DataAccessException e) {
+                log.warn("批量操作失败，已回滚: table={}, operation={}",
+                    statements.getTableName(), operation, e);
+            }
+        }
+
+        int succeeded = 0;
+        for (BatchResult.Item item : items) {
+            if (!committed && !BatchResult.Status.INVALID.equals(item.getStatus())
+                    && !BatchResult.Status.FAILED.equals(item.getStatus())) {
+                item.setStatus(BatchResult.Status.ROLLED_BACK).setAffected(null)
+                    .setMessage(valid ? "批次已回滚" : "批次未执行");
+            }
+            if (BatchResult.Status.SUCCESS.equals(item.getStatus())) {
+                succeeded++;
+            }
+        }
+
+        BatchResult result = new BatchResult()
+            .setOperation(operation)
+            .setTotal(total)
+            .setSucceeded(succeeded)
+            .setFailed(total - succeeded)
+            .setCommitted(committed);
+        for (BatchResult.Item item : items) {
+            result.getItems().add(item);
+        }
+        return result;
+    }
+
+    /**
+     * 分块执行同一 SQL 模板下的条目
+     */
+    private void executeGroup(JdbcTemplate jdbcTemplate, String operation, String sql,
+                              List<Integer> indexes, List<SqlStatement> prepared, BatchResult.Item[] items) {
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+            BatchPreparedStatementSetter setter = new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    prepared.get(chunk.get(i)).setValues(ps);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            };
+
+            int[] counts;
+            try {
+                counts = jdbcTemplate.batchUpdate(sql, setter);
+            } catch (DataAccessException e) {
+                markFailure(e, chunk, items);
+                throw e;
+            }
+
+            for (int i = 0; i < chunk.size(); i++) {
+                BatchResult.Item item = items[chunk.get(i)];
+                int count = i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO;
+                if (count == 0 && !CREATE.equals(operation)) {
+                    item.setStatus(BatchResult.Status.NOT_FOUND).setAffected(0).setMessage("记录不存在");
+                } else {
+                    item.setStatus(BatchResult.Status.SUCCESS)
+                        .setAffected(count >= 0 ? count : null);
+                }
+            }
+        }
+    }
+
+    /**
+     * 根据驱动返回的更新计数定位失败条目，无法定位时整块标记为失败
+     */
+    private void markFailure(DataAccessException e, List<Integer> chunk, BatchResult.Item[] items) {
+        String message = e.getMostSpecificCause().getMessage();
+        Throwable cause = e.getCause();
+        if (cause instanceof BatchUpdateException) {
+            int[] counts = ((BatchUpdateException) cause).getUpdateCounts();
+            if (counts != null) {
+                boolean located = false;
+                for (int i = 0; i < counts.length && i < chunk.size(); i++) {
+                    if (counts[i] == Statement.EXECUTE_FAILED) {
+                        items[chunk.get(i)].setStatus(BatchResult.Status.FAILED).setMessage(message);
+                        located = true;
+                    }
+                }
+                // 驱动在首个失败处停止时，计数数组长度即失败条目位置
+                if (!located && counts.length < chunk.size()) {
+                    items[chunk.get(counts.length)].setStatus(BatchResult.Status.FAILED).setMessage(message);
+                    located = true;
+                }
+                if (located) {
+                    return;
+                }
+            }
+        }
+        for (Integer index : chunk) {
+            items[index].setStatus(BatchResult.Status.FAILED).setMessage(message);
+        }
+    }
+
+    private SqlStatement toStatement(TableStatements statements, String operation, Map<String, Object> item) {
+        if (item == null || item.isEmpty()) {
+            throw new IllegalArgumentException("数据不能为空");
+        }
+        switch (operation) {
+            case CREATE:
+                return statements.insert(item);
+            case UPDATE: {
+                Map<String, Object> values = new LinkedHashMap<>(item);
+                Object id = values.remove("id");
+                if (id == null) {
+                    throw new IllegalArgumentException("缺少主键 id");
+                }
+                return statements.update(id, values);
+            }
+            case DELETE: {
+                Object id = item.get("id");
+                if (id == null) {
+                    throw new IllegalArgumentException("缺少主键 id");
+                }
+                return statements.deleteById(id);
+            }
+            default:
+                throw new IllegalArgumentException("不支持的操作: " + operation);
+        }
+    }
+}
@@ -0,0 +1,677 @@
+package com.iflow.api.core.sql;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.view.IngestResult;
+import com.iflow.api.core.sql.dialect.SqlDialects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 批量导入执行器
+ *
+ * 逐行解析 CSV（首行为表头）或 NDJSON（每行一个 JSON 对象）请求体，按列绑定器校验并转换，
+ * 每 chunkSize 行作为一个事务写入：PostgreSQL 使用 CopyManager 执行 COPY FROM STDIN，
+ * MySQL 使用 LOAD DATA LOCAL INFILE 读取内存流（需连接串开启 allowLoadLocalInfile），
+ * 其他数据库或原生方式不可用时使用 JDBC 批量 INSERT。驱动为运行时依赖，原生接口通过反射调用。
+ * 首个分块原生写入失败时自动改用批量 INSERT 重试；之后的失败终止导入，已提交的分块保留。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Slf4j
+@Component
+public class BulkIngestor {
+
+    public static final String METHOD_COPY = "copy";
+    public static final String METHOD_LOAD_DATA = "load-data";
+    public static final String METHOD_BATCH = "batch";
+
+    /**
+     * 输入格式
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * 按名称或 Content-Type 解析，无法识别时返回 null
+         */
+        public static Format of(String value) {
+            if (value == null) {
+                return null;
+            }
+            String normalized = value.toLowerCase(Locale.ROOT);
+            if (normalized.contains("csv")) {
+                return CSV;
+            }
+            if (normalized.contains("ndjson") || normalized.contains("jsonl") || normalized.contains("json-seq")) {
+                return NDJSON;
+            }
+            return null;
+        }
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 每个事务写入的行数
+     */
+    @Value("${auto.api.ingest.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    /**
+     * 是否使用 COPY / LOAD DATA 等原生导入方式
+     */
+    @Value("${auto.api.ingest.native-enabled:true}")
+    private boolean nativeEnabled = true;
+
+    /**
+     * 每导入多少行记录一次进度日志
+     */
+    @Value("${auto.api.ingest.progress-rows:100000}")
+    private long progressRows = 100000;
+
+    /**
+     * 导入数据
+     *
+     * @param jdbcTemplate 数据源 JdbcTemplate
+     * @param transactionTemplate 数据源事务模板
+     * @param statements 表语句模板
+     * @param databaseType 数据库类型（mysql / postgresql / ...）
+     * @param format 输入格式
+     * @param input 请求体
+     * @return 导入结果
+     */
+    public IngestResult ingest(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               TableStatements statements, String databaseType, Format format, InputStream input) {
+        long started = System.nanoTime();
+        IngestResult result = new IngestResult()
+            .setFormat(format.name().toLowerCase(Locale.ROOT))
+            .setRows(0L)
+            .setChunks(0)
+            .setCompleted(false);
+
+        long rowNumber = 0;
+        long chunkStart = 1;
+        try (RowReader reader = format == Format.CSV ? new CsvReader(input) : new NdjsonReader(input)) {
+            List<String> fields = reader.fields();
+            if (fields.isEmpty()) {
+                throw new IllegalArgumentException("导入数据为空");
+            }
+            int[] columns = resolveColumns(statements, fields);
+            ChunkLoader loader = loaderFor(statements, databaseType, columns);
+            result.setMethod(loader.method());
+
+            List<Object[]> chunk = new ArrayList<>(chunkSize);
+            Object[] raw;
+            while ((raw = reader.next()) != null) {
+                rowNumber++;
+                chunk.add(convert(statements, columns, raw, rowNumber));
+                if (chunk.size() >= chunkSize) {
+                    loader = flush(jdbcTemplate, transactionTemplate, statements, columns, loader, chunk, result);
+                    chunkStart = rowNumber + 1;
+                    chunk.clear();
+                    logProgress(statements, result, started);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flush(jdbcTemplate, transactionTemplate, statements, columns, loader, chunk, result);
+            }
+            result.setCompleted(true);
+
+        } catch (IllegalArgumentException e) {
+            result.setFailedRow(rowNumber == 0 ? null : rowNumber).setMessage(e.getMessage());
+        } catch (DataAccessException e) {
+            log.warn("导入分块失败: table={}, fromRow={}", statements.getTableName(), chunkStart, e);
+            result.setFailedRow(chunkStart).setMessage("写入失败: " + e.getMostSpecificCause().getMessage());
+        } catch (IOException e) {
+            result.setFailedRow(rowNumber + 1).setMessage("读取数据失败: " + e.getMessage());
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        result.setElapsedMs(elapsedMs)
+            .setRowsPerSecond(elapsedMs == 0 ? result.getRows() : result.getRows() * 1000 / elapsedMs);
+        log.info("导入结束: table={}, method={}, rows={}, completed={}, elapsed={}ms, rows/s={}",
+            statements.getTableName(), result.getMethod(), result.getRows(), result.getCompleted(),
+            elapsedMs, result.getRowsPerSecond());
+        return result;
+    }
+
+    /**
+     * 在一个事务中写入分块；原生方式写入首个分块失败时改用批量 INSERT 重试
+     *
+     * @return 后续分块使用的写入方式
+     */
+    private ChunkLoader flush(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              TableStatements statements, int[] columns, ChunkLoader loader,
+                              List<Object[]> chunk, IngestResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> loader.load(jdbcTemplate, chunk));
+        } catch (DataAccessException | IllegalStateException e) {
+            if (METHOD_BATCH.equals(loader.method()) || result.getChunks() > 0) {
+                throw e;
+            }
+            log.warn("原生导入不可用，改用批量 INSERT: table={}, method={}, error={}",
+                statements.getTableName(), loader.method(), e.getMessage());
+            ChunkLoader fallback = new BatchLoader(statements, columns);
+            result.setMethod(fallback.method());
+            transactionTemplate.executeWithoutResult(status -> fallback.load(jdbcTemplate, chunk));
+            result.setRows(result.getRows() + chunk.size()).setChunks(result.getChunks() + 1);
+            return fallback;
+        }
+        result.setRows(result.getRows() + chunk.size()).setChunks(result.getChunks() + 1);
+        return loader;
+    }
+
+    private void logProgress(TableStatements statements, IngestResult result, long started) {
+        if (progressRows > 0 && result.getRows() % progressRows < chunkSize) {
+            long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            log.info("导入进度: table={}, rows={}, rows/s={}",
+                statements.getTableName(), result.getRows(), result.getRows() * 1000 / elapsedMs);
+        }
+    }
+
+    private static int[] resolveColumns(TableStatements statements, List<String> fields) {
+        int[] columns = new int[fields.size()];
+        BitSet seen = new BitSet();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = statements.columnIndex(fields.get(i).trim());
+            if (seen.get(columns[i])) {
+                throw new IllegalArgumentException("重复的字段: " + fields.get(i));
+            }
+            seen.set(columns[i]);
+        }
+        return columns;
+    }
+
+    private static Object[] convert(TableStatements statements, int[] columns, Object[] raw, long rowNumber) {
+        if (raw.length != columns.length) {
+            throw new IllegalArgumentException("第 " + rowNumber + " 行字段数为 " + raw.length
+                + "，应为 " + columns.length);
+        }
+        Object[] values = new Object[columns.length];
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = statements.binder(columns[i]).convert(raw[i]);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("第 " + rowNumber + " 行: " + e.getMessage());
+        }
+        return values;
+    }
+
+    private ChunkLoader loaderFor(TableStatements statements, String databaseType, int[] columns) {
+        if (nativeEnabled && !hasBinaryColumn(statements, columns)) {
+            String method = SqlDialects.of(databaseType).nativeBulkLoad();
+            if (METHOD_COPY.equals(method)) {
+                return new CopyLoader(statements, columns);
+            }
+            if (METHOD_LOAD_DATA.equals(method)) {
+                return new LoadDataLoader(statements, columns);
+            }
+        }
+        return new BatchLoader(statements, columns);
+    }
+
+    /**
+     * 二进制列无法以文本形式写入，只能使用批量 INSERT
+     */
+    private static boolean hasBinaryColumn(TableStatements statements, int[] columns) {
+        for (int column : columns) {
+            ColumnMeta meta = statements.getTableMeta().getColumns().get(column);
+            Integer jdbcType = meta.getJdbcType();
+            if ("byte[]".equals(meta.getJavaType()) || jdbcType != null && (jdbcType == Types.BINARY
+                    || jdbcType == Types.VARBINARY || jdbcType == Types.LONGVARBINARY || jdbcType == Types.BLOB)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String columnList(TableStatements statements, int[] columns) {
+        StringBuilder list = new StringBuilder();
+        for (int column : columns) {
+            if (list.length() > 0) {
+                list.append(", ");
+            }
+            list.append(statements.columnName(column));
+        }
+        return list.toString();
+    }
+
+    /**
+     * 分块写入方式
+     */
+    private interface ChunkLoader {
+
+        String method();
+
+        void load(JdbcTemplate jdbcTemplate, List<Object[]> rows);
+    }
+
+    /**
+     * JDBC 批量 INSERT
+     */
+    private static final class BatchLoader implements ChunkLoader {
+        private final String sql;
+        private final int[] order;
+        private final ColumnBinder[] binders;
+
+        private BatchLoader(TableStatements statements, int[] columns) {
+            BitSet shape = new BitSet();
+            for (int column : columns) {
+                shape.set(column);
+            }
+            this.sql = statements.insertSql(shape);
+            // INSERT 列按表定义顺序排列，记录每个占位符对应的输入位置
+            this.order = new int[columns.length];
+            this.binders = new ColumnBinder[columns.length];
+            int position = 0;
+            for (int column = shape.nextSetBit(0); column >= 0; column = shape.nextSetBit(column + 1)) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (columns[i] == column) {
+                        order[position] = i;
+                    }
+                }
+                binders[position++] = statements.binder(column);
+            }
+        }
+
+        @Override
+        public String method() {
+            return METHOD_BATCH;
+        }
+
+        @Override
+        public void load(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Object[] row = rows.get(i);
+                    for (int j = 0; j < order.length; j++) {
+                        binders[j].bind(ps, j + 1, row[order[j]]);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+        }
+    }
+
+    /**
+     * PostgreSQL COPY FROM STDIN（CSV 格式，未加引号的空字段为 NULL）
+     */
+    private static final class CopyLoader implements ChunkLoader {
+        private final String sql;
+
+        private CopyLoader(TableStatements statements, int[] columns) {
+            this.sql = "COPY " + statements.sqlTableName() + " (" + columnList(statements, columns)
+                + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        @Override
+        public String method() {
+            return METHOD_COPY;
+        }
+
+        @Override
+        public void load(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+            StringBuilder csv = new StringBuilder(rows.size() * 64);
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        csv.append(',');
+                    }
+                    if (row[i] != null) {
+                        csv.append('"').append(row[i].toString().replace("\"", "\"\"")).append('"');
+                    }
+                }
+                csv.append('\n');
+            }
+            jdbcTemplate.execute((ConnectionCallback<Object>) connection -> {
+                try {
+                    Class<?> baseConnection = Class.forName("org.postgresql.core.BaseConnection");
+                    Class<?> copyManager = Class.forName("org.postgresql.copy.CopyManager");
+                    Object manager = copyManager.getConstructor(baseConnection)
+                        .newInstance(connection.unwrap(baseConnection));
+                    return copyManager.getMethod("copyIn", String.class, Reader.class)
+                        .invoke(manager, sql, new StringReader(csv.toString()));
+                } catch (InvocationTargetException e) {
+                    throw sqlException(e);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("PostgreSQL CopyManager 不可用: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * MySQL LOAD DATA LOCAL INFILE（从内存流读取，\N 表示 NULL）
+     */
+    private static final class LoadDataLoader implements ChunkLoader {
+        private final String sql;
+
+        private LoadDataLoader(TableStatements statements, int[] columns) {
+            this.sql = "LOAD DATA LOCAL INFILE 'ingest.csv' INTO TABLE " + statements.sqlTableName()
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\'"
+                + " LINES TERMINATED BY '\\n' (" + columnList(statements, columns) + ")";
+        }
+
+        @Override
+        public String method() {
+            return METHOD_LOAD_DATA;
+        }
+
+        @Override
+        public void load(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+            StringBuilder text = new StringBuilder(rows.size() * 64);
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        text.append(',');
+                    }
+                    appendMysqlValue(text, row[i]);
+                }
+                text.append('\n');
+            }
+            byte[] data = text.toString().getBytes(StandardCharsets.UTF_8);
+            jdbcTemplate.execute((ConnectionCallback<Object>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    Class<?> mysqlStatement = Class.forName("com.mysql.cj.jdbc.JdbcStatement");
+                    mysqlStatement.getMethod("setLocalInfileInputStream", InputStream.class)
+                        .invoke(statement.unwrap(mysqlStatement), new ByteArrayInputStream(data));
+                    return statement.executeUpdate(sql);
+                } catch (InvocationTargetException e) {
+                    throw sqlException(e);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("MySQL LOAD DATA 不可用: " + e.getMessage());
+                }
+            });
+        }
+
+        private static void appendMysqlValue(StringBuilder text, Object value) {
+            if (value == null) {
+                text.append("\\N");
+                return;
+            }
+            if (value instanceof Boolean) {
+                text.append((Boolean) value ? '1' : '0');
+                return;
+            }
+            String string = value.toString();
+            text.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                switch (c) {
+                    case '\\':
+                        text.append("\\\\");
+                        break;
+                    case '"':
+                        text.append("\\\"");
+                        break;
+                    case '\n':
+                        text.append("\\n");
+                        break;
+                    case '\r':
+                        text.append("\\r");
+                        break;
+                    case '\0':
+                        text.append("\\0");
+                        break;
+                    default:
+                        text.append(c);
+                }
+            }
+            text.append('"');
+        }
+    }
+
+    private static SQLException sqlException(InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof SQLException ? (SQLException) cause : new SQLException(cause);
+    }
+
+    /**
+     * 逐行读取原始值
+     */
+    interface RowReader extends Closeable {
+
+        /**
+         * 字段名（CSV 表头或首个 JSON 对象的键）
+         */
+        List<String> fields() throws IOException;
+
+        /**
+         * 读取下一行，结束时返回 null
+         */
+        Object[] next() throws IOException;
+    }
+
+    /**
+     * CSV 读取（RFC 4180：逗号分隔，双引号包围，"" 转义引号，引号内允许换行）
+     *
+     * 未加引号的空字段为 NULL，"" 为空字符串。
+     */
+    static final class CsvReader implements RowReader {
+        private final Reader reader;
+        private List<String> header;
+        private boolean eof;
+
+        CsvReader(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 65536);
+        }
+
+        @Override
+        public List<String> fields() throws IOException {
+            if (header == null) {
+                List<Object> record = readRecord();
+                header = new ArrayList<>();
+                if (record != null) {
+                    for (Object name : record) {
+                        String text = name == null ? "" : name.toString();
+                        // 去除 UTF-8 BOM
+                        header.add(header.isEmpty() && text.startsWith("\uFEFF") ? text.substring(1) : text);
+                    }
+                }
+            }
+            return header;
+        }
+
+        @Override
+        public Object[] next() throws IOException {
+            fields();
+            List<Object> record;
+            do {
+                record = readRecord();
+            } while (record != null && record.size() == 1 && record.get(0) == null);
+            return record == null ? null : record.toArray();
+        }
+
+        private List<Object> readRecord() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<Object> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean inQuotes = false;
+            int c = reader.read();
+            if (c < 0) {
+                eof = true;
+                return null;
+            }
+            while (true) {
+                if (inQuotes) {
+                    if (c < 0) {
+                        throw new IOException("CSV 引号未闭合");
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            if (next >= 0) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0 && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(quoted || field.length() > 0 ? field.toString() : null);
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\n' || c < 0) {
+                    record.add(quoted || field.length() > 0 ? field.toString() : null);
+                    if (c < 0) {
+                        eof = true;
+                    }
+                    return record;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * NDJSON 读取（每行一个 JSON 对象，值为标量）
+     *
+     * 字段集合以首个对象为准，之后的对象缺少的字段按 NULL 处理，多出的字段视为错误。
+     */
+    static final class NdjsonReader implements RowReader {
+        private final JsonParser parser;
+        private List<String> fields;
+        private Map<String, Integer> positions;
+        private Object[] first;
+        private long row;
+
+        NdjsonReader(InputStream input) throws IOException {
+            this.parser = JSON_FACTORY.createParser(input);
+        }
+
+        @Override
+        public List<String> fields() throws IOException {
+            if (fields == null) {
+                fields = new ArrayList<>();
+                positions = new HashMap<>();
+                List<Object> values = new ArrayList<>();
+                if (nextObject()) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        parser.nextToken();
+                        if (positions.putIfAbsent(name, fields.size()) != null) {
+                            throw new IllegalArgumentException("第 1 行字段重复: " + name);
+                        }
+                        fields.add(name);
+                        values.add(scalar(name));
+                    }
+                    first = values.toArray();
+                }
+            }
+            return fields;
+        }
+
+        @Override
+        public Object[] next() throws IOException {
+            fields();
+            if (first != null) {
+                Object[] values = first;
+                first = null;
+                return values;
+            }
+            if (!nextObject()) {
+                return null;
+            }
+            Object[] values = new Object[fields.size()];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                Integer position = positions.get(name);
+                if (position == null) {
+                    throw new IllegalArgumentException("第 " + row + " 行包含首行没有的字段: " + name);
+                }
+                parser.nextToken();
+                values[position] = scalar(name);
+            }
+            return values;
+        }
+
+        private boolean nextObject() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return false;
+            }
+            row++;
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("第 " + row + " 行不是 JSON 对象");
+            }
+            return true;
+        }
+
+        private Object scalar(String name) throws IOException {
+            switch (parser.currentToken()) {
+                case VALUE_STRING:
+                    return parser.getText();
+                case VALUE_NUMBER_INT:
+                    return parser.getNumberValue();
+                case VALUE_NUMBER_FLOAT:
+                    return parser.getDecimalValue();
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_NULL:
+                    return null;
+                default:
+                    throw new IllegalArgumentException("第 " + row + " 行字段 " + name + " 不是标量值");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * 列参数绑定器
+ *
+ * 按 ColumnMeta 的 jdbcType（缺失时按 javaType）为每一列预先选定转换与绑定方式：
+ * 请求值在构建语句时即转换为列对应的 Java 类型（格式错误直接拒绝，不访问数据库），
+ * 执行时使用 setLong / setTimestamp / setBigDecimal 等类型化方法绑定，
+ * 避免驱动按字符串推断类型造成的隐式转换（PostgreSQL 下会导致索引失效）。
+ *
+ * 引用：REQ-F3-004（识别主键、字段类型）
+ *        REQ-F2-001（通用的 CRUD API）
+ */
+public abstract class ColumnBinder {
+
+    /**
+     * 类型未知时的透传绑定器（交由驱动推断）
+     */
+    public static final ColumnBinder PASS_THROUGH = new ObjectBinder(null);
+
+    protected final String columnName;
+    private final int sqlType;
+
+    protected ColumnBinder(String columnName, int sqlType) {
+        this.columnName = columnName;
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * 根据字段元数据选择绑定器
+     */
+    public static ColumnBinder of(ColumnMeta column) {
+        String name = column.getName();
+        Integer jdbcType = column.getJdbcType();
+        if (jdbcType != null) {
+            switch (jdbcType) {
+                case Types.BIGINT:
+                    return new LongBinder(name, Types.BIGINT);
+                case Types.INTEGER:
+                case Types.SMALLINT:
+                case Types.TINYINT:
+                    return new IntBinder(name, jdbcType);
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    return new DecimalBinder(name, jdbcType);
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case Types.REAL:
+                    return new DoubleBinder(name, jdbcType);
+                case Types.BOOLEAN:
+                    return new BooleanBinder(name, Types.BOOLEAN);
+                case Types.BIT:
+                    // BIT(n>1) 为位串，不按布尔处理
+                    return column.getLength() == null || column.getLength() <= 1
+                        ? new BooleanBinder(name, Types.BIT) : new ObjectBinder(name);
+                case Types.TIMESTAMP:
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    return new TimestampBinder(name, Types.TIMESTAMP);
+                case Types.DATE:
+                    return new DateBinder(name);
+                case Types.TIME:
+                    return new TimeBinder(name);
+                case Types.CHAR:
+                case Types.VARCHAR:
+                case Types.LONGVARCHAR:
+                case Types.NCHAR:
+                case Types.NVARCHAR:
+                case Types.LONGNVARCHAR:
+                case Types.CLOB:
+                    return new StringBinder(name, jdbcType);
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return new BytesBinder(name, jdbcType);
+                default:
+                    return new ObjectBinder(name);
+            }
+        }
+        String javaType = column.getJavaType();
+        if (javaType == null) {
+            return PASS_THROUGH;
+        }
+        switch (javaType) {
+            case "Long":
+                return new LongBinder(name, Types.BIGINT);
+            case "Integer":
+                return new IntBinder(name, Types.INTEGER);
+            case "BigDecimal":
+                return new DecimalBinder(name, Types.DECIMAL);
+            case "Double":
+            case "Float":
+                return new DoubleBinder(name, Types.DOUBLE);
+            case "Boolean":
+                return new BooleanBinder(name, Types.BOOLEAN);
+            case "LocalDateTime":
+                return new TimestampBinder(name, Types.TIMESTAMP);
+            case "LocalDate":
+                return new DateBinder(name);
+            case "LocalTime":
+                return new TimeBinder(name);
+            case "String":
+                return new StringBinder(name, Types.VARCHAR);
+            case "byte[]":
+                return new BytesBinder(name, Types.VARBINARY);
+            default:
+                return new ObjectBinder(name);
+        }
+    }
+
+    /**
+     * 将请求值转换为列对应的 Java 类型
+     *
+     * @throws IllegalArgumentException 值无法转换时
+     */
+    public final Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return doConvert(value);
+        } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+            throw new IllegalArgumentException("字段 " + columnName + " 的值无效: " + value);
+        }
+    }
+
+    /**
+     * 绑定已转换的值
+     */
+    public final void bind(PreparedStatement ps, int index, Object value) throws SQLException {
+        if (value == null) {
+            StatementCreatorUtils.setParameterValue(ps, index, sqlType, null);
+        } else {
+            doBind(ps, index, value);
+        }
+    }
+
+    protected abstract Object doConvert(Object value);
+
+    protected abstract void doBind(PreparedStatement ps, int index, Object value) throws SQLException;
+
+    private static String text(Object value) {
+        return value.toString().trim();
+    }
+
+    static final class LongBinder extends ColumnBinder {
+        LongBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Long) {
+                return value;
+            }
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).longValue();
+            }
+            if (value instanceof BigInteger) {
+                return ((BigInteger) value).longValueExact();
+            }
+            if (value instanceof Number) {
+                return new BigDecimal(value.toString()).longValueExact();
+            }
+            return Long.parseLong(text(value));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setLong(index, (Long) value);
+        }
+    }
+
+    static final class IntBinder extends ColumnBinder {
+        IntBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Integer) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return new BigDecimal(value.toString()).intValueExact();
+            }
+            if (value instanceof Boolean) {
+                return (Boolean) value ? 1 : 0;
+            }
+            return Integer.parseInt(text(value));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setInt(index, (Integer) value);
+        }
+    }
+
+    static final class DecimalBinder extends ColumnBinder {
+        DecimalBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof BigDecimal) {
+                return value;
+            }
+            return new BigDecimal(text(value));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setBigDecimal(index, (BigDecimal) value);
+        }
+    }
+
+    static final class DoubleBinder extends ColumnBinder {
+        DoubleBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Double) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+            return Double.parseDouble(text(value));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setDouble(index, (Double) value);
+        }
+    }
+
+    static final class BooleanBinder extends ColumnBinder {
+        BooleanBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Boolean) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return ((Number) value).intValue() != 0;
+            }
+            switch (text(value).toLowerCase(Locale.ROOT)) {
+                case "true":
+                case "1":
+                    return Boolean.TRUE;
+                case "false":
+                case "0":
+                    return Boolean.FALSE;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setBoolean(index, (Boolean) value);
+        }
+    }
+
+    static final class TimestampBinder extends ColumnBinder {
+        TimestampBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Timestamp) {
+                return value;
+            }
+            if (value instanceof java.util.Date) {
+                return new Timestamp(((java.util.Date) value).getTime());
+            }
+            if (value instanceof LocalDateTime) {
+                return Timestamp.valueOf((LocalDateTime) value);
+            }
+            if (value instanceof LocalDate) {
+                return Timestamp.valueOf(((LocalDate) value).atStartOfDay());
+            }
+            if (value instanceof OffsetDateTime) {
+                return Timestamp.from(((OffsetDateTime) value).toInstant());
+            }
+            if (value instanceof Instant) {
+                return Timestamp.from((Instant) value);
+            }
+            if (value instanceof Number) {
+                return new Timestamp(((Number) value).longValue());
+            }
+            String text = text(value);
+            if (text.length() == 10) {
+                return Timestamp.valueOf(LocalDate.parse(text).atStartOfDay());
+            }
+            if (text.endsWith("Z") || text.lastIndexOf('+') > 10 || text.lastIndexOf('-') > 10) {
+                return Timestamp.from(OffsetDateTime.parse(text).toInstant());
+            }
+            return Timestamp.valueOf(LocalDateTime.parse(text.replace(' ', 'T')));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setTimestamp(index, (Timestamp) value);
+        }
+    }
+
+    static final class DateBinder extends ColumnBinder {
+        DateBinder(String columnName) {
+            super(columnName, Types.DATE);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Date) {
+                return value;
+            }
+            if (value instanceof java.util.Date) {
+                return new Date(((java.util.Date) value).getTime());
+            }
+            if (value instanceof LocalDate) {
+                return Date.valueOf((LocalDate) value);
+            }
+            if (value instanceof LocalDateTime) {
+                return Date.valueOf(((LocalDateTime) value).toLocalDate());
+            }
+            String text = text(value);
+            return Date.valueOf(LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setDate(index, (Date) value);
+        }
+    }
+
+    static final class TimeBinder extends ColumnBinder {
+        TimeBinder(String columnName) {
+            super(columnName, Types.TIME);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof Time) {
+                return value;
+            }
+            if (value instanceof LocalTime) {
+                return Time.valueOf((LocalTime) value);
+            }
+            return Time.valueOf(LocalTime.parse(text(value)));
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setTime(index, (Time) value);
+        }
+    }
+
+    static final class StringBinder extends ColumnBinder {
+        StringBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof String) {
+                return value;
+            }
+            if (value instanceof java.util.Map || value instanceof java.util.Collection) {
+                // 嵌套对象不能隐式写入文本列
+                throw new IllegalArgumentException();
+            }
+            return value.toString();
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setString(index, (String) value);
+        }
+    }
+
+    static final class BytesBinder extends ColumnBinder {
+        BytesBinder(String columnName, int sqlType) {
+            super(columnName, sqlType);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            if (value instanceof byte[]) {
+                return value;
+            }
+            // JSON 中的二进制按 Base64 传输
+            String text = text(value);
+            try {
+                return Base64.getDecoder().decode(text);
+            } catch (IllegalArgumentException e) {
+                return text.getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            ps.setBytes(index, (byte[]) value);
+        }
+    }
+
+    static final class ObjectBinder extends ColumnBinder {
+        ObjectBinder(String columnName) {
+            super(columnName, SqlTypeValue.TYPE_UNKNOWN);
+        }
+
+        @Override
+        protected Object doConvert(Object value) {
+            return value;
+        }
+
+        @Override
+        protected void doBind(PreparedStatement ps, int index, Object value) throws SQLException {
+            StatementCreatorUtils.setParameterValue(ps, index, SqlTypeValue.TYPE_UNKNOWN, value);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.iflow.api.core.sql;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 紧凑行
+ *
+ * 同一结果集的所有行共享一个 RowShape（字段名与位置索引），每行只持有一个值数组，
+ * 按字段名读取为一次哈希查找加数组下标。可写入已有字段；写入新字段时放入附加表，
+ * 供调用方补充关联数据等场景使用。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class CompactRow extends AbstractMap<String, Object> {
+
+    private final RowShape shape;
+    private final Object[] values;
+    private Map<String, Object> extra;
+
+    CompactRow(RowShape shape, Object[] values) {
+        this.shape = shape;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return shape.fieldCount() + (extra == null ? 0 : extra.size());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return shape.indexOf(key) >= 0 || (extra != null && extra.containsKey(key));
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = shape.indexOf(key);
+        if (index >= 0) {
+            return values[index];
+        }
+        return extra == null ? null : extra.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int index = shape.indexOf(key);
+        if (index >= 0) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (extra == null) {
+            extra = new LinkedHashMap<>();
+        }
+        return extra.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (shape.indexOf(key) >= 0) {
+            throw new UnsupportedOperationException("结果集字段不可移除: " + key);
+        }
+        return extra == null ? null : extra.remove(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int index;
+        private final Iterator<Entry<String, Object>> extraIterator =
+            extra == null ? null : extra.entrySet().iterator();
+
+        @Override
+        public boolean hasNext() {
+            while (index < values.length && shape.isShadowed(index)) {
+                index++;
+            }
+            return index < values.length || (extraIterator != null && extraIterator.hasNext());
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (index < values.length) {
+                int current = index++;
+                return new SimpleImmutableEntry<>(shape.key(current), values[current]);
+            }
+            return extraIterator.next();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.iflow.api.core.sql;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * 过滤条件
+ *
+ * 请求中的条件键形如 field 或 field[op]，如 age[gt]=18、status[in]=1,2、
+ * created_at[between]=2024-01-01,2024-02-01、name[prefix]=ab。
+ * 值在编译时经列绑定器转换，SQL 只包含占位符。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class Filter {
+
+    /**
+     * 过滤运算符
+     */
+    public enum Operator {
+        EQ("eq", " = ?", 0),
+        NE("ne", " <> ?", 2),
+        GT("gt", " > ?", 1),
+        GE("ge", " >= ?", 1),
+        LT("lt", " < ?", 1),
+        LE("le", " <= ?", 1),
+        BETWEEN("between", " BETWEEN ? AND ?", 1),
+        IN("in", null, 0),
+        LIKE("like", " LIKE ?", 2),
+        PREFIX("prefix", " LIKE ? ESCAPE '!'", 1),
+        IS_NULL("null", " IS NULL", 0),
+        NOT_NULL("notnull", " IS NOT NULL", 2);
+
+        private final String code;
+        private final String sql;
+        private final int rank;
+
+        Operator(String code, String sql, int rank) {
+            this.code = code;
+            this.sql = sql;
+            this.rank = rank;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * 谓词排序等级：等值 0，范围/前缀 1，无法利用索引的 2
+         */
+        int rank() {
+            return rank;
+        }
+
+        /**
+         * 是否可以利用以该列开头的索引
+         */
+        boolean indexable() {
+            return rank < 2;
+        }
+
+        String sql(int arity) {
+            if (this != IN) {
+                return sql;
+            }
+            StringBuilder in = new StringBuilder(" IN (");
+            for (int i = 0; i < arity; i++) {
+                in.append(i == 0 ? "?" : ", ?");
+            }
+            return in.append(')').toString();
+        }
+
+        /**
+         * 按运算符代码查找
+         */
+        public static Operator of(String code) {
+            String normalized = code.toLowerCase(Locale.ROOT);
+            for (Operator operator : values()) {
+                if (operator.code.equals(normalized)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("不支持的过滤运算符: " + code);
+        }
+    }
+
+    private final String field;
+    private final Operator operator;
+    private final Object value;
+
+    private Filter(String field, Operator operator, Object value) {
+        this.field = field;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    /**
+     * 解析条件键与值
+     *
+     * @param key field 或 field[op]
+     * @param value 条件值；null 等值条件视为 IS NULL，集合值的等值条件视为 IN
+     */
+    public static Filter parse(String key, Object value) {
+        int open = key.indexOf('[');
+        if (open < 0) {
+            if (value == null) {
+                return new Filter(key, Operator.IS_NULL, null);
+            }
+            return new Filter(key, value instanceof Collection ? Operator.IN : Operator.EQ, value);
+        }
+        if (open == 0 || !key.endsWith("]")) {
+            throw new IllegalArgumentException("无效的过滤条件: " + key);
+        }
+        Operator operator = Operator.of(key.substring(open + 1, key.length() - 1));
+        if (value == null && operator != Operator.IS_NULL && operator != Operator.NOT_NULL) {
+            throw new IllegalArgumentException("过滤条件缺少值: " + key);
+        }
+        return new Filter(key.substring(0, open), operator, value);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+}
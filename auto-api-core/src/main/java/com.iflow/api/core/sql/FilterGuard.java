@@ -0,0 +1,57 @@
+package com.iflow.api.core.sql;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 全表扫描防护
+ *
+ * 过滤条件均无法利用索引（没有以索引首列为对象的等值、范围或前缀谓词）且
+ * 表的估算行数超过阈值时，按策略记录警告（同一表与字段组合只记录一次）或拒绝请求。
+ * 估算行数未知时不做限制。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Slf4j
+public final class FilterGuard {
+
+    public static final String WARN = "warn";
+    public static final String REJECT = "reject";
+
+    /**
+     * 不做限制
+     */
+    public static final FilterGuard NONE = new FilterGuard(Long.MAX_VALUE, WARN);
+
+    private final long guardRows;
+    private final boolean reject;
+    private final Set<String> warned = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public FilterGuard(long guardRows, String policy) {
+        this.guardRows = guardRows <= 0 ? Long.MAX_VALUE : guardRows;
+        this.reject = REJECT.equalsIgnoreCase(policy);
+    }
+
+    /**
+     * 检查未命中索引的过滤条件
+     *
+     * @param tableName 表名
+     * @param estimatedRows 表的估算行数，可为 null
+     * @param fields 过滤字段
+     */
+    void checkUnindexed(String tableName, Long estimatedRows, String fields) {
+        if (estimatedRows == null || estimatedRows < guardRows) {
+            return;
+        }
+        if (reject) {
+            throw new IllegalArgumentException("过滤条件未命中索引，表数据量过大（约 " + estimatedRows
+                + " 行），请增加索引字段条件: " + tableName + " [" + fields + "]");
+        }
+        if (warned.add(tableName + ":" + fields)) {
+            log.warn("过滤条件未命中索引，可能全表扫描: table={}, rows~{}, fields={}", tableName, estimatedRows, fields);
+        }
+    }
+}
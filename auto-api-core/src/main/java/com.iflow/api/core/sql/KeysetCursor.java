@@ -0,0 +1,132 @@
+package com.iflow.api.core.sql;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游标分页的不透明游标
+ *
+ * 游标内容为排序键列名与上一页最后一行的键值（带类型标记，解码后还原为原始 JDBC 类型），
+ * 以 Base64URL 编码。列名用于校验游标与当前排序键一致，表结构变更后旧游标会被拒绝。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param columns 排序键列名
+     * @param values 最后一行的排序键值
+     * @return 游标字符串
+     */
+    public static String encode(String[] columns, Object[] values) {
+        JSONArray typed = new JSONArray(values.length);
+        for (Object value : values) {
+            if (value instanceof java.util.Date
+                    && !(value instanceof Timestamp) && !(value instanceof java.sql.Date)) {
+                value = new Timestamp(((java.util.Date) value).getTime());
+            }
+            typed.add(typeOf(value));
+            typed.add(value instanceof java.util.Date || value instanceof LocalDateTime
+                || value instanceof LocalDate || value instanceof BigDecimal || value instanceof BigInteger
+                ? String.valueOf(value) : value);
+        }
+        JSONObject json = new JSONObject();
+        json.put("k", String.join(",", columns));
+        json.put("v", typed);
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(json.toJSONString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标字符串
+     * @param columns 当前排序键列名
+     * @return 排序键值
+     */
+    public static Object[] decode(String cursor, String[] columns) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            JSONObject json = JSON.parseObject(text);
+            if (!String.join(",", columns).equals(json.getString("k"))) {
+                throw new IllegalArgumentException("分页游标与当前排序键不匹配");
+            }
+            JSONArray typed = json.getJSONArray("v");
+            if (typed == null || typed.size() != columns.length * 2) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = valueOf(typed.getString(i * 2), typed.get(i * 2 + 1));
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "n";
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "l";
+        }
+        if (value instanceof BigDecimal) {
+            return "d";
+        }
+        if (value instanceof BigInteger) {
+            return "b";
+        }
+        if (value instanceof Timestamp || value instanceof LocalDateTime) {
+            return "t";
+        }
+        if (value instanceof java.sql.Date || value instanceof LocalDate) {
+            return "a";
+        }
+        if (value instanceof Boolean) {
+            return "z";
+        }
+        return "s";
+    }
+
+    private static Object valueOf(String type, Object raw) {
+        if (raw == null) {
+            return null;
+        }
+        String text = String.valueOf(raw);
+        switch (type) {
+            case "l":
+                return Long.valueOf(text);
+            case "d":
+                return new BigDecimal(text);
+            case "b":
+                return new BigInteger(text);
+            case "t":
+                return text.indexOf('T') > 0
+                    ? Timestamp.valueOf(LocalDateTime.parse(text)) : Timestamp.valueOf(text);
+            case "a":
+                return java.sql.Date.valueOf(text);
+            case "z":
+                return Boolean.valueOf(text);
+            default:
+                return text;
+        }
+    }
+}
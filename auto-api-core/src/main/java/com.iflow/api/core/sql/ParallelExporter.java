@@ -0,0 +1,348 @@
+package com.iflow.api.core.sql;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.dto.view.ExportResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分区并行导出
+ *
+ * 按主键区间将表切分为多个分区并行扫描，每个分区以只进游标（见 RowStreamWriter）写入一个分区文件：
+ * - 分区数取 导出线程数、连接池 maxActive 的一半（其余连接留给在线请求）、
+ *   估算行数（MetadataService 读取的索引统计）/ 每分区最小行数 三者的最小值
+ * - 区间边界按 MIN(主键)、MAX(主键) 等宽切分，左闭右开，首尾区间不设边界，导出期间新增的行不会遗漏
+ * - 主键不是整数或表没有主键时退化为单分区顺序扫描
+ * 可直接返回分区文件，或按区间顺序拼接为一个输出流（CSV 只保留首个表头），
+ * 拼接时前面的分区写完即开始输出，后面的分区继续并行扫描。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Slf4j
+@Component
+public class ParallelExporter {
+
+    private static final Set<Integer> INTEGRAL_TYPES = new HashSet<>(Arrays.asList(
+        Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT));
+
+    private static final Set<String> INTEGRAL_JAVA_TYPES = new HashSet<>(Arrays.asList(
+        "Long", "Integer", "Short", "Byte", "BigInteger"));
+
+    @Autowired
+    private DynamicDataSourceService dynamicDataSourceService;
+
+    @Autowired
+    private RowStreamWriter rowStreamWriter;
+
+    /**
+     * 导出线程数（所有导出任务共享），0 表示 CPU 核数
+     */
+    @Value("${auto.api.export.threads:0}")
+    private int threads = 0;
+
+    /**
+     * 每个分区的最小估算行数，行数较少的表不切分
+     */
+    @Value("${auto.api.export.min-partition-rows:50000}")
+    private long minPartitionRows = 50000;
+
+    /**
+     * 分区文件目录
+     */
+    @Value("${auto.api.export.directory:${java.io.tmpdir}/auto-api-export}")
+    private String directory = System.getProperty("java.io.tmpdir") + "/auto-api-export";
+
+    private volatile ThreadPoolExecutor executor;
+
+    /**
+     * 导出为分区文件
+     *
+     * @param datasourceId 数据源 ID
+     * @param handler 表处理器
+     * @param conditions 条件键 -> 值
+     * @param projection 列集合，null 表示全部列
+     * @param format 输出格式（csv / ndjson）
+     * @return 导出结果，包含按主键区间顺序排列的分区文件路径
+     */
+    public ExportResult exportFiles(Long datasourceId, TableHandler handler, Map<String, ?> conditions,
+                                    BitSet projection, RowStreamWriter.Format format) throws IOException, SQLException {
+        return export(datasourceId, handler, conditions, projection, format, null);
+    }
+
+    /**
+     * 导出并按主键区间顺序合并写入输出流
+     *
+     * @param out 输出流（调用方负责关闭）
+     */
+    public ExportResult export(Long datasourceId, TableHandler handler, Map<String, ?> conditions,
+                               BitSet projection, RowStreamWriter.Format format,
+                               OutputStream out) throws IOException, SQLException {
+        if (format == RowStreamWriter.Format.JSON) {
+            throw new IllegalArgumentException("导出仅支持 csv / ndjson 格式");
+        }
+        long started = System.nanoTime();
+        TableStatements statements = handler.getStatements();
+        String datasourceType = handler.getTableMeta().getDatasourceType();
+        List<Object[]> ranges = plan(datasourceId, handler, conditions);
+
+        String extension = format.name().toLowerCase(Locale.ROOT);
+        Path dir = Files.createDirectories(Paths.get(directory))
+            .resolve(statements.getTableName() + "-" + UUID.randomUUID().toString().substring(0, 8));
+        Files.createDirectory(dir);
+
+        List<Path> files = new ArrayList<>(ranges.size());
+        List<Future<Long>> futures = new ArrayList<>(ranges.size());
+        long rows = 0;
+        boolean completed = false;
+        try {
+            for (int i = 0; i < ranges.size(); i++) {
+                Object[] range = ranges.get(i);
+                SqlStatement statement = range == null ? statements.select(conditions, projection)
+                    : statements.range(conditions, projection, range[0], range[1]);
+                Path file = dir.resolve(String.format("part-%05d.%s", i, extension));
+                files.add(file);
+                futures.add(executor().submit(() -> {
+                    try (OutputStream part = new BufferedOutputStream(Files.newOutputStream(file), 65536)) {
+                        return rowStreamWriter.stream(datasourceId, datasourceType, statement, format, part);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                rows += await(futures.get(i));
+                if (out != null) {
+                    copyPart(files.get(i), out, format == RowStreamWriter.Format.CSV && i > 0);
+                }
+            }
+            if (out != null) {
+                out.flush();
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                for (Future<Long> future : futures) {
+                    future.cancel(true);
+                }
+            }
+            if (!completed || out != null) {
+                deleteQuietly(files, dir);
+            }
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        List<String> paths = null;
+        if (out == null) {
+            paths = new ArrayList<>(files.size());
+            for (Path file : files) {
+                paths.add(file.toAbsolutePath().toString());
+            }
+        }
+        log.info("分区导出完成: table={}, partitions={}, rows={}, elapsed={}ms",
+            statements.getTableName(), ranges.size(), rows, elapsedMs);
+        return new ExportResult()
+            .setTable(statements.getTableName())
+            .setFormat(extension)
+            .setPartitions(ranges.size())
+            .setRows(rows)
+            .setFiles(paths)
+            .setElapsedMs(elapsedMs)
+            .setRowsPerSecond(elapsedMs > 0 ? rows * 1000 / elapsedMs : rows);
+    }
+
+    /**
+     * 计算主键区间，每项为 [下界, 上界)，null 表示不限；返回单个 null 表示不切分
+     */
+    List<Object[]> plan(Long datasourceId, TableHandler handler, Map<String, ?> conditions) {
+        TableStatements statements = handler.getStatements();
+        TableMeta tableMeta = handler.getTableMeta();
+        String primaryKey = statements.getPrimaryKey();
+        int partitions = maxPartitions(datasourceId, tableMeta);
+        if (primaryKey == null || partitions <= 1
+                || !isIntegral(tableMeta.getColumns().get(statements.columnIndex(primaryKey)))) {
+            return Collections.singletonList(null);
+        }
+
+        SqlStatement bounds = statements.aggregate(null,
+            Arrays.asList("min(" + primaryKey + ")", "max(" + primaryKey + ")"), conditions, 1);
+        Object[] minMax = handler.query(dynamicDataSourceService.getJdbcTemplate(datasourceId), bounds,
+            rs -> rs.next() ? new Object[]{rs.getObject(1), rs.getObject(2)} : null);
+        if (minMax == null || minMax[0] == null || minMax[1] == null) {
+            return Collections.singletonList(null);
+        }
+
+        BigInteger min = toBigInteger(minMax[0]);
+        BigInteger span = toBigInteger(minMax[1]).subtract(min).add(BigInteger.ONE);
+        if (span.compareTo(BigInteger.valueOf(partitions)) < 0) {
+            partitions = span.intValue();
+        }
+        List<Object[]> ranges = new ArrayList<>(partitions);
+        Object lower = null;
+        for (int i = 1; i < partitions; i++) {
+            Long upper = min.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(partitions)))
+                .longValue();
+            ranges.add(new Object[]{lower, upper});
+            lower = upper;
+        }
+        ranges.add(new Object[]{lower, null});
+        return ranges;
+    }
+
+    /**
+     * 分区数上限：线程数、连接池可用连接数、估算行数 / 每分区最小行数
+     */
+    private int maxPartitions(Long datasourceId, TableMeta tableMeta) {
+        int limit = poolSize();
+        DruidDataSource dataSource = dynamicDataSourceService.getOrCreateDataSource(datasourceId);
+        limit = Math.min(limit, Math.max(1, dataSource.getMaxActive() / 2));
+        Long estimatedRows = tableMeta.getEstimatedRows();
+        if (estimatedRows != null && minPartitionRows > 0) {
+            limit = (int) Math.min(limit, Math.max(1, estimatedRows / minPartitionRows));
+        }
+        return limit;
+    }
+
+    private int poolSize() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private ThreadPoolExecutor executor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    int size = poolSize();
+                    AtomicInteger sequence = new AtomicInteger();
+                    current = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "auto-api-export-" + sequence.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                    current.allowCoreThreadTimeOut(true);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ThreadPoolExecutor current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    private static long await(Future<Long> future) throws IOException, SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("导出被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("分区导出失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 将分区文件追加到输出流
+     *
+     * @param skipHeader 是否跳过首行（CSV 表头）
+     */
+    private static void copyPart(Path file, OutputStream out, boolean skipHeader) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[65536];
+            int read;
+            if (skipHeader) {
+                int b;
+                while ((b = in.read()) >= 0 && b != '\n') {
+                    // 表头只含字段名，不含换行
+                }
+            }
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void deleteQuietly(List<Path> files, Path dir) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除分区文件失败: {}", file, e);
+            }
+        }
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("删除导出目录失败: {}", dir, e);
+        }
+    }
+
+    private static boolean isIntegral(ColumnMeta column) {
+        if (column.getJdbcType() != null) {
+            if (column.getJdbcType() == Types.NUMERIC || column.getJdbcType() == Types.DECIMAL) {
+                // Oracle NUMBER(n) 等无小数位的数值主键
+                return column.getScale() != null && column.getScale() == 0;
+            }
+            return INTEGRAL_TYPES.contains(column.getJdbcType());
+        }
+        return column.getJavaType() != null && INTEGRAL_JAVA_TYPES.contains(column.getJavaType());
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toBigInteger();
+        }
+        return new BigDecimal(value.toString()).toBigInteger();
+    }
+}
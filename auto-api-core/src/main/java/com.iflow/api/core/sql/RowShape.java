@@ -0,0 +1,252 @@
+package com.iflow.api.core.sql;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.iflow.api.core.util.NamingConverter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 结果集形态
+ *
+ * 每个结果集只解析一次元数据：列标签转换为驼峰字段名、按列类型选定取值方式，
+ * 之后逐行按位置读取，行数据以 CompactRow（共享字段名、值数组）承载，
+ * 不再逐格调用 getColumnLabel，也不再为每行复制 Map 与重复转换字段名。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class RowShape {
+
+    private static final ResultSetExtractor<List<Map<String, Object>>> EXTRACTOR =
+        rs -> of(rs.getMetaData()).readAll(rs);
+
+    private final String[] labels;
+    private final int[] types;
+    private final String[] keys;
+    private final SerializedString[] jsonKeys;
+    private final Map<String, Integer> positions;
+    private final boolean[] shadowed;
+    private final Reader[] readers;
+
+    private RowShape(String[] labels, int[] types, String[] keys, Reader[] readers) {
+        this.labels = labels;
+        this.types = types;
+        this.keys = keys;
+        this.readers = readers;
+        this.jsonKeys = new SerializedString[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            jsonKeys[i] = new SerializedString(keys[i]);
+        }
+        this.positions = new HashMap<>(keys.length * 2);
+        this.shadowed = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            // 字段名重复时（如多表连接）后出现的列生效，与 LinkedHashMap 的覆盖语义一致
+            Integer previous = positions.put(keys[i], i);
+            if (previous != null) {
+                shadowed[previous] = true;
+            }
+        }
+    }
+
+    /**
+     * 按结果集元数据构建形态
+     */
+    public static RowShape of(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        String[] keys = new String[columnCount];
+        Reader[] readers = new Reader[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = JdbcUtils.lookupColumnName(metaData, i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+            keys[i] = toPropertyName(labels[i]);
+            readers[i] = readerFor(metaData, i + 1);
+        }
+        return new RowShape(labels, types, keys, readers);
+    }
+
+    /**
+     * 将结果集读取为驼峰字段名的行列表
+     */
+    public static ResultSetExtractor<List<Map<String, Object>>> extractor() {
+        return EXTRACTOR;
+    }
+
+    /**
+     * 列标签转换为字段名：全大写的列名（如 Oracle/H2）先转小写，再转驼峰
+     */
+    public static String toPropertyName(String label) {
+        if (label.equals(label.toUpperCase(Locale.ROOT))) {
+            label = label.toLowerCase(Locale.ROOT);
+        }
+        return NamingConverter.toCamelCase(label);
+    }
+
+    /**
+     * 判断结果集是否与本形态一致（列名与类型相同），一致时可复用
+     */
+    public boolean matches(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        if (columnCount != labels.length) {
+            return false;
+        }
+        for (int i = 0; i < columnCount; i++) {
+            if (types[i] != metaData.getColumnType(i + 1)
+                    || !labels[i].equals(JdbcUtils.lookupColumnName(metaData, i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 列数
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 不重复的字段数
+     */
+    public int fieldCount() {
+        return positions.size();
+    }
+
+    /**
+     * 第 index 列是否被同名的后续列覆盖
+     */
+    public boolean isShadowed(int index) {
+        return shadowed[index];
+    }
+
+    /**
+     * 第 index 列（从 0 开始）的字段名
+     */
+    public String key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * 第 index 列的 JSON 字段名（已预先转义，直接写入 JsonGenerator）
+     */
+    public SerializableString jsonKey(int index) {
+        return jsonKeys[index];
+    }
+
+    /**
+     * 字段名对应的列位置，不存在时返回 -1
+     */
+    public int indexOf(Object key) {
+        Integer index = positions.get(key);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 读取当前行第 index 列（从 0 开始）的值
+     */
+    public Object read(ResultSet rs, int index) throws SQLException {
+        return readers[index].read(rs, index + 1);
+    }
+
+    /**
+     * 读取当前行
+     */
+    public CompactRow readRow(ResultSet rs) throws SQLException {
+        Object[] values = new Object[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            values[i] = readers[i].read(rs, i + 1);
+        }
+        return new CompactRow(this, values);
+    }
+
+    /**
+     * 读取剩余全部行
+     */
+    public List<Map<String, Object>> readAll(ResultSet rs) throws SQLException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(readRow(rs));
+        }
+        return rows;
+    }
+
+    private static Reader readerFor(ResultSetMetaData metaData, int column) throws SQLException {
+        switch (metaData.getColumnType(column)) {
+            case Types.BIGINT:
+                // 无符号 BIGINT 超出 long 范围，交由驱动返回 BigInteger
+                return metaData.isSigned(column) ? RowShape::readLong : RowShape::readObject;
+            case Types.INTEGER:
+                return metaData.isSigned(column) ? RowShape::readInt : RowShape::readLong;
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return RowShape::readInt;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return ResultSet::getBigDecimal;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+                return RowShape::readDouble;
+            case Types.BOOLEAN:
+                return RowShape::readBoolean;
+            case Types.BIT:
+                return metaData.getPrecision(column) <= 1 ? RowShape::readBoolean : RowShape::readObject;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return ResultSet::getString;
+            case Types.BLOB:
+                return ResultSet::getBytes;
+            default:
+                return RowShape::readObject;
+        }
+    }
+
+    private static Object readLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return value == 0 && rs.wasNull() ? null : value;
+    }
+
+    private static Object readInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return value == 0 && rs.wasNull() ? null : value;
+    }
+
+    private static Object readDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return value == 0 && rs.wasNull() ? null : value;
+    }
+
+    private static Object readBoolean(ResultSet rs, int column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return !value && rs.wasNull() ? null : value;
+    }
+
+    private static Object readObject(ResultSet rs, int column) throws SQLException {
+        return JdbcUtils.getResultSetValue(rs, column);
+    }
+
+    /**
+     * 按位置读取列值
+     */
+    @FunctionalInterface
+    private interface Reader {
+        Object read(ResultSet rs, int column) throws SQLException;
+    }
+}
@@ -0,0 +1,236 @@
+package com.iflow.api.core.sql;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.sql.dialect.SqlDialect;
+import com.iflow.api.core.sql.dialect.SqlDialects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Base64;
+
+/**
+ * 结果集流式输出
+ *
+ * 以只进游标读取查询结果，逐行写入响应输出流，不在内存中物化结果集，拉取方式由 SqlDialect 决定：
+ * - MySQL：连接串开启 useCursorFetch 时按 fetchSize 分批拉取，否则退化为逐行流式读取
+ * - PostgreSQL：关闭自动提交后 fetchSize 才生效（服务端游标）
+ * 每行写出后才读取下一行，客户端消费变慢时输出流阻塞，游标随之暂停，形成背压。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ *        REQ-F2-005（返回格式统一为 JSON）
+ */
+@Slf4j
+@Component
+public class RowStreamWriter {
+
+    /**
+     * 流式输出格式
+     */
+    public enum Format {
+        /**
+         * 每行一个 JSON 对象，换行分隔（application/x-ndjson）
+         */
+        NDJSON("application/x-ndjson"),
+        /**
+         * 分块输出的 JSON 数组（application/json）
+         */
+        JSON("application/json"),
+        /**
+         * 首行为字段名的 CSV（text/csv），NULL 输出为空字段
+         */
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("不支持的流式格式: " + value);
+        }
+    }
+
+    @Autowired
+    private DynamicDataSourceService dynamicDataSourceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 游标每次拉取的行数
+     */
+    @Value("${auto.api.stream.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    /**
+     * 每写出多少行刷新一次输出流
+     */
+    @Value("${auto.api.stream.flush-rows:500}")
+    private int flushRows = 500;
+
+    /**
+     * 执行查询并将结果流式写入输出流
+     *
+     * @param datasourceId 数据源 ID
+     * @param datasourceType 数据源类型
+     * @param statement 查询语句
+     * @param format 输出格式
+     * @param out 输出流（调用方负责关闭）
+     * @return 写出的行数
+     */
+    public long stream(Long datasourceId, String datasourceType, SqlStatement statement,
+                       Format format, OutputStream out) throws SQLException, IOException {
+        DruidDataSource dataSource = dynamicDataSourceService.getOrCreateDataSource(datasourceId);
+        SqlDialect dialect = SqlDialects.of(datasourceType);
+        boolean transactional = dialect.cursorRequiresTransaction();
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            if (transactional && autoCommit) {
+                conn.setAutoCommit(false);
+            }
+            try (PreparedStatement ps = conn.prepareStatement(statement.getSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(dialect.streamFetchSize(dataSource.getUrl(), fetchSize));
+                statement.setValues(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return writeRows(rs, format, out);
+                }
+            } finally {
+                if (transactional && autoCommit) {
+                    // 只读查询，结束事务并归还自动提交状态
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * 将结果集逐行写入输出流，列名在首行前一次性转换为驼峰命名
+     *
+     * @return 写出的行数
+     */
+    public long writeRows(ResultSet rs, Format format, OutputStream out) throws SQLException, IOException {
+        RowShape shape = RowShape.of(rs.getMetaData());
+        int columnCount = shape.size();
+        if (format == Format.CSV) {
+            return writeCsv(rs, shape, out);
+        }
+
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            }
+
+            while (rs.next()) {
+                generator.writeStartObject();
+                for (int i = 0; i < columnCount; i++) {
+                    if (!shape.isShadowed(i)) {
+                        generator.writeFieldName(shape.key(i));
+                        generator.writeObject(shape.read(rs, i));
+                    }
+                }
+                generator.writeEndObject();
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                if (++count % flushRows == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+        return count;
+    }
+
+    private long writeCsv(ResultSet rs, RowShape shape, OutputStream out) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 65536);
+        int columnCount = shape.size();
+        boolean first = true;
+        for (int i = 0; i < columnCount; i++) {
+            if (!shape.isShadowed(i)) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, shape.key(i));
+                first = false;
+            }
+        }
+        writer.write('\n');
+
+        long count = 0;
+        while (rs.next()) {
+            first = true;
+            for (int i = 0; i < columnCount; i++) {
+                if (!shape.isShadowed(i)) {
+                    if (!first) {
+                        writer.write(',');
+                    }
+                    Object value = shape.read(rs, i);
+                    if (value != null) {
+                        writeCsvValue(writer, value instanceof byte[]
+                            ? Base64.getEncoder().encodeToString((byte[]) value) : value.toString());
+                    }
+                    first = false;
+                }
+            }
+            writer.write('\n');
+            if (++count % flushRows == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * 写出 CSV 字段，包含分隔符、引号、换行或为空字符串时加引号（与 NULL 区分）
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
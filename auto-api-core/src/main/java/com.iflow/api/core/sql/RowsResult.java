@@ -0,0 +1,120 @@
+package com.iflow.api.core.sql;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.iflow.api.core.dto.Result;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 延迟查询的响应结果
+ *
+ * 控制器只准备好语句，查询在写响应时由 ResultSetMessageConverter 执行，
+ * 行数据从结果集直接写入 JsonGenerator，不构建中间 Map。
+ * 被其他转换器序列化或调用 getData() 时按普通结果物化。
+ *
+ * 引用：REQ-F1-007（自动生成的接口应返回统一的响应格式）
+ *        REQ-F2-001（通用的 CRUD API）
+ */
+public class RowsResult extends Result<Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient TableHandler handler;
+    private final transient JdbcTemplate jdbcTemplate;
+    private final transient SqlStatement statement;
+
+    /**
+     * 单行模式下无数据时的错误消息，列表模式为 null
+     */
+    private final String notFoundMessage;
+
+    private transient Result<Object> materialized;
+
+    private RowsResult(TableHandler handler, JdbcTemplate jdbcTemplate, SqlStatement statement,
+                       String notFoundMessage) {
+        super(ResultCode.SUCCESS.getCode(), ResultCode.SUCCESS.getMessage());
+        this.handler = handler;
+        this.jdbcTemplate = jdbcTemplate;
+        this.statement = statement;
+        this.notFoundMessage = notFoundMessage;
+    }
+
+    /**
+     * 行列表结果，data 为数组
+     */
+    public static RowsResult list(TableHandler handler, JdbcTemplate jdbcTemplate, SqlStatement statement) {
+        return new RowsResult(handler, jdbcTemplate, statement, null);
+    }
+
+    /**
+     * 单行结果，data 为对象；无数据时返回错误结果
+     */
+    public static RowsResult single(TableHandler handler, JdbcTemplate jdbcTemplate, SqlStatement statement,
+                                    String notFoundMessage) {
+        return new RowsResult(handler, jdbcTemplate, statement, notFoundMessage);
+    }
+
+    public TableHandler getHandler() {
+        return handler;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public SqlStatement getStatement() {
+        return statement;
+    }
+
+    public boolean isSingle() {
+        return notFoundMessage != null;
+    }
+
+    public String getNotFoundMessage() {
+        return notFoundMessage;
+    }
+
+    /**
+     * 执行查询并物化为普通结果（供未走流式转换器的序列化与调用方使用）
+     */
+    @JsonValue
+    public Result<Object> materialize() {
+        if (materialized == null) {
+            List<Map<String, Object>> rows = handler.query(jdbcTemplate, statement);
+            Result<Object> result;
+            if (!isSingle()) {
+                result = Result.success(rows);
+            } else if (rows.isEmpty()) {
+                result = Result.error(notFoundMessage);
+            } else {
+                result = Result.success(rows.get(0));
+            }
+            result.setTimestamp(getTimestamp());
+            result.setTraceId(getTraceId());
+            materialized = result;
+        }
+        return materialized;
+    }
+
+    @Override
+    public Object getData() {
+        return materialize().getData();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RowsResult(" + statement + ")";
+    }
+}
@@ -0,0 +1,73 @@
+package com.iflow.api.core.sql;
+
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * 已绑定参数的 SQL 语句
+ *
+ * 由 TableStatements 构建时携带与参数一一对应的列绑定器，执行时按列类型直接绑定；
+ * 未携带绑定器的参数交由驱动推断类型。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class SqlStatement implements PreparedStatementSetter {
+
+    private final String sql;
+    private final Object[] args;
+    private final ColumnBinder[] binders;
+
+    public SqlStatement(String sql, Object[] args) {
+        this(sql, args, null);
+    }
+
+    public SqlStatement(String sql, Object[] args, ColumnBinder[] binders) {
+        this.sql = sql;
+        this.args = args;
+        this.binders = binders;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    /**
+     * 与参数一一对应的列绑定器，可能为 null
+     */
+    public ColumnBinder[] getBinders() {
+        return binders;
+    }
+
+    /**
+     * 追加 SQL 后缀（如 LIMIT），参数不变
+     */
+    public SqlStatement withSuffix(String suffix) {
+        return new SqlStatement(sql + suffix, args, binders);
+    }
+
+    @Override
+    public void setValues(PreparedStatement ps) throws SQLException {
+        for (int i = 0; i < args.length; i++) {
+            ColumnBinder binder = binders != null ? binders[i] : null;
+            if (binder != null) {
+                binder.bind(ps, i + 1, args[i]);
+            } else {
+                StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN, args[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sql + " " + Arrays.toString(args);
+    }
+}
@@ -0,0 +1,73 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL 语句模板缓存
+ *
+ * 按 (数据源ID, 表名) 缓存 TableHandler 及其 TableStatements。当传入的 TableMeta
+ * 与构建模板时的实例不同（元数据缓存已刷新）时自动重建，无需单独失效。
+ * 未命中索引的过滤条件按 auto.api.filter 配置告警或拒绝。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Component
+public class StatementTemplateCache {
+
+    /**
+     * 处理器缓存 (数据源ID:表名 -> TableHandler)
+     */
+    private final Map<String, TableHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * 表估算行数达到该值时检查过滤条件是否命中索引，0 表示不检查
+     */
+    @Value("${auto.api.filter.guard-rows:1000000}")
+    private long guardRows;
+
+    /**
+     * 未命中索引时的策略：warn 记录警告，reject 拒绝请求
+     */
+    @Value("${auto.api.filter.unindexed-policy:warn}")
+    private String unindexedPolicy;
+
+    private FilterGuard filterGuard = FilterGuard.NONE;
+
+    @PostConstruct
+    public void init() {
+        filterGuard = new FilterGuard(guardRows, unindexedPolicy);
+    }
+
+    /**
+     * 获取表的语句模板
+     *
+     * @param tableMeta 表元数据
+     * @return 语句模板
+     */
+    public TableStatements forTable(TableMeta tableMeta) {
+        return handlerFor(tableMeta).getStatements();
+    }
+
+    /**
+     * 获取表的请求处理器
+     *
+     * @param tableMeta 表元数据
+     * @return 请求处理器
+     */
+    public TableHandler handlerFor(TableMeta tableMeta) {
+        String key = tableMeta.getDatasourceId() + ":" + tableMeta.getName();
+        TableHandler handler = handlers.get(key);
+        if (handler == null || handler.getTableMeta() != tableMeta) {
+            handler = new TableHandler(tableMeta, filterGuard);
+            handlers.put(key, handler);
+        }
+        return handler;
+    }
+}
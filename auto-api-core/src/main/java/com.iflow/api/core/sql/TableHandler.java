@@ -0,0 +1,206 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单表请求处理器
+ *
+ * 注册表时为每张表生成一个实例：SQL 模板与参数绑定器在构建时确定，
+ * 结果集形态（字段名、取值方式）首次查询时解析并复用，
+ * 请求期只做按列类型的参数绑定、执行与按位置取值。调用点始终是同一个 final 类，便于 JIT 内联。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ *        REQ-F2-002（自动生成 RESTful API 接口）
+ */
+public final class TableHandler {
+
+    private final TableStatements statements;
+
+    /**
+     * 最近一次结果集的形态（SELECT * 时即表结构），形态变化时重新解析
+     */
+    private volatile RowShape lastShape;
+
+    private final ResultSetExtractor<List<Map<String, Object>>> rowsExtractor = this::extractRows;
+
+    public TableHandler(TableMeta tableMeta) {
+        this(tableMeta, FilterGuard.NONE);
+    }
+
+    public TableHandler(TableMeta tableMeta, FilterGuard filterGuard) {
+        this.statements = new TableStatements(tableMeta, filterGuard);
+    }
+
+    public TableStatements getStatements() {
+        return statements;
+    }
+
+    public TableMeta getTableMeta() {
+        return statements.getTableMeta();
+    }
+
+    /**
+     * 条件查询
+     */
+    public List<Map<String, Object>> list(JdbcTemplate jdbcTemplate, Map<String, ?> conditions, int limit) {
+        return query(jdbcTemplate, statements.select(conditions, limit));
+    }
+
+    /**
+     * 条件查询指定列
+     *
+     * @param projection 列集合，null 表示全部列
+     */
+    public List<Map<String, Object>> list(JdbcTemplate jdbcTemplate, Map<String, ?> conditions,
+                                          BitSet projection, int limit) {
+        return query(jdbcTemplate, statements.select(conditions, projection, limit));
+    }
+
+    /**
+     * 分组聚合查询
+     *
+     * @param groupBy 分组字段
+     * @param aggregates 聚合表达式，如 count(*)、sum(amount)
+     */
+    public List<Map<String, Object>> aggregate(JdbcTemplate jdbcTemplate, Collection<String> groupBy,
+                                               Collection<String> aggregates, Map<String, ?> conditions, int limit) {
+        return query(jdbcTemplate, statements.aggregate(groupBy, aggregates, conditions, limit));
+    }
+
+    /**
+     * 按主键查询
+     *
+     * @return 行数据，不存在时返回 null
+     */
+    public Map<String, Object> get(JdbcTemplate jdbcTemplate, Object id) {
+        List<Map<String, Object>> rows = query(jdbcTemplate, statements.selectById(id));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * 新增
+     *
+     * @return 影响行数
+     */
+    public int insert(JdbcTemplate jdbcTemplate, Map<String, Object> data) {
+        return execute(jdbcTemplate, statements.insert(data));
+    }
+
+    /**
+     * 新增并返回主键
+     *
+     * 请求中已给出主键时直接返回；否则按方言回读数据库生成的主键
+     * （RETURN_GENERATED_KEYS 或按主键列名），与插入在同一连接、同一语句中完成。
+     *
+     * @return 主键值，表没有主键或数据库未生成时为 null
+     */
+    public Object insertReturningKey(JdbcTemplate jdbcTemplate, Map<String, Object> data) {
+        SqlStatement statement = statements.insert(data);
+        String primaryKey = statements.getPrimaryKey();
+        if (primaryKey == null) {
+            execute(jdbcTemplate, statement);
+            return null;
+        }
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            if (entry.getValue() != null && primaryKey.equalsIgnoreCase(statements.resolveColumn(entry.getKey()))) {
+                execute(jdbcTemplate, statement);
+                return entry.getValue();
+            }
+        }
+
+        String[] keyColumns = statements.getDialect().generatedKeyColumns(primaryKey);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = keyColumns != null ? con.prepareStatement(statement.getSql(), keyColumns)
+                : con.prepareStatement(statement.getSql(), Statement.RETURN_GENERATED_KEYS);
+            statement.setValues(ps);
+            return ps;
+        }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.isEmpty() || keys.get(0).isEmpty()) {
+            return null;
+        }
+        Map<String, Object> row = keys.get(0);
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (primaryKey.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return row.values().iterator().next();
+    }
+
+    /**
+     * 按主键存在则更新、不存在则新增
+     *
+     * @return 影响行数（MySQL 更新时为 2）
+     */
+    public int upsert(JdbcTemplate jdbcTemplate, Object id, Map<String, Object> data) {
+        return execute(jdbcTemplate, statements.upsert(id, data));
+    }
+
+    /**
+     * 按主键更新
+     *
+     * @return 影响行数
+     */
+    public int update(JdbcTemplate jdbcTemplate, Object id, Map<String, Object> data) {
+        return execute(jdbcTemplate, statements.update(id, data));
+    }
+
+    /**
+     * 按主键删除
+     *
+     * @return 影响行数
+     */
+    public int delete(JdbcTemplate jdbcTemplate, Object id) {
+        return execute(jdbcTemplate, statements.deleteById(id));
+    }
+
+    /**
+     * 执行查询语句，结果字段名转换为驼峰命名
+     */
+    public List<Map<String, Object>> query(JdbcTemplate jdbcTemplate, SqlStatement statement) {
+        return jdbcTemplate.query(statement.getSql(), statement, rowsExtractor);
+    }
+
+    /**
+     * 执行查询语句，由调用方直接消费结果集
+     */
+    public <T> T query(JdbcTemplate jdbcTemplate, SqlStatement statement, ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.query(statement.getSql(), statement, extractor);
+    }
+
+    /**
+     * 获取结果集形态：与上次结果形态一致时复用已解析的字段名与取值方式
+     */
+    public RowShape shapeOf(ResultSetMetaData metaData) throws SQLException {
+        RowShape shape = lastShape;
+        if (shape == null || !shape.matches(metaData)) {
+            shape = RowShape.of(metaData);
+            lastShape = shape;
+        }
+        return shape;
+    }
+
+    private int execute(JdbcTemplate jdbcTemplate, SqlStatement statement) {
+        return jdbcTemplate.update(statement.getSql(), statement);
+    }
+
+    private List<Map<String, Object>> extractRows(ResultSet rs) throws SQLException {
+        return shapeOf(rs.getMetaData()).readAll(rs);
+    }
+}
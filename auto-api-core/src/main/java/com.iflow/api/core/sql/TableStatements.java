@@ -0,0 +1,1018 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.IndexMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.sql.dialect.SqlDialect;
+import com.iflow.api.core.sql.dialect.SqlDialects;
+import com.iflow.api.core.util.NamingConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单表 SQL 语句模板
+ *
+ * 针对一个 TableMeta 预先生成 SELECT/INSERT/UPDATE/DELETE 的规范形态。
+ * 请求字段按列序号归一为列集合（BitSet），同一列集合复用同一条 SQL 文本，
+ * 热路径上只做字段解析与参数装配，不再拼接字符串，也便于连接池 PSCache 命中。
+ * 参数在装配时经列绑定器（ColumnBinder）转换为列类型，格式错误在访问数据库前即被拒绝。
+ * 查询可指定投影（列集合），生成显式列清单代替 SELECT *，同一投影复用同一条 SELECT 子句。
+ * 查询条件支持 field[op] 形式的过滤表达式（见 Filter），编译为参数化 WHERE 子句；
+ * 谓词按索引可用性排序（主键/唯一索引首列、普通索引首列、其余列），同类再按选择性
+ * （等值、范围/前缀、其他）排序，IN 列表按 2 的幂补齐参数个数以限制模板数量。
+ * 聚合查询（GROUP BY + count/sum/avg/min/max）按分组列、聚合表达式与条件形态复用模板。
+ * 分页、upsert 与标识符引用按数据源类型交给 SqlDialect，表名、列名仅在需要时引用。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public final class TableStatements {
+
+    /**
+     * IN 条件的最大值个数
+     */
+    static final int MAX_IN_VALUES = 1024;
+
+    private final TableMeta tableMeta;
+    private final SqlDialect dialect;
+    private final String tableName;
+    private final String[] columnNames;
+    private final String primaryKey;
+
+    /**
+     * SQL 中使用的表名、列名、主键与排序键（按方言引用）
+     */
+    private final String sqlTable;
+    private final String[] sqlColumns;
+    private final String sqlPrimaryKey;
+    private final String[] sqlSeekColumns;
+
+    /**
+     * 与列一一对应的参数绑定器
+     */
+    private final ColumnBinder[] binders;
+    private final ColumnBinder primaryKeyBinder;
+
+    /**
+     * 游标分页的排序键（主键或非空唯一索引列），无可用键时为空数组
+     */
+    private final String[] seekColumns;
+    private final ColumnBinder[] seekBinders;
+
+    /**
+     * 请求字段名 -> 列序号（同时接受下划线、驼峰与小写形式）
+     */
+    private final Map<String, Integer> propertyIndex;
+
+    /**
+     * 列的索引等级：0 主键或唯一索引首列，1 普通索引首列，2 索引非首列，3 无索引
+     */
+    private final int[] indexRank;
+
+    private final FilterGuard filterGuard;
+
+    private final boolean upsertSupported;
+    private final String selectAllSql;
+    private final String countAllSql;
+    private final String selectByIdSql;
+    private final String deleteByIdSql;
+
+    /**
+     * 列集合 -> SQL 模板
+     */
+    private final Map<BitSet, String> insertTemplates = new ConcurrentHashMap<>();
+    private final Map<BitSet, String> updateTemplates = new ConcurrentHashMap<>();
+    private final Map<String, WhereTemplate> whereTemplates = new ConcurrentHashMap<>();
+    private final Map<String, String> seekTemplates = new ConcurrentHashMap<>();
+    private final Map<BitSet, String> projectionTemplates = new ConcurrentHashMap<>();
+    private final Map<String, String> aggregateTemplates = new ConcurrentHashMap<>();
+    private final Map<String, String> rangeTemplates = new ConcurrentHashMap<>();
+    private final Map<BitSet, String> upsertTemplates = new ConcurrentHashMap<>();
+
+    public TableStatements(TableMeta tableMeta) {
+        this(tableMeta, FilterGuard.NONE);
+    }
+
+    /**
+     * @param filterGuard 未命中索引的过滤条件的处理策略
+     */
+    public TableStatements(TableMeta tableMeta, FilterGuard filterGuard) {
+        this.tableMeta = tableMeta;
+        this.filterGuard = filterGuard;
+        this.dialect = SqlDialects.of(tableMeta.getDatasourceType());
+        this.tableName = tableMeta.getName();
+        this.sqlTable = dialect.quoteIfNeeded(tableName);
+
+        List<ColumnMeta> columns = tableMeta.getColumns();
+        this.columnNames = new String[columns.size()];
+        this.sqlColumns = new String[columns.size()];
+        this.binders = new ColumnBinder[columns.size()];
+        this.propertyIndex = new HashMap<>(columns.size() * 4);
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).getName();
+            columnNames[i] = column;
+            sqlColumns[i] = dialect.quoteIfNeeded(column);
+            binders[i] = ColumnBinder.of(columns.get(i));
+            propertyIndex.putIfAbsent(column, i);
+            propertyIndex.putIfAbsent(NamingConverter.toCamelCase(column), i);
+            propertyIndex.putIfAbsent(column.toLowerCase(Locale.ROOT), i);
+        }
+
+        List<String> primaryKeys = tableMeta.getPrimaryKeys();
+        this.primaryKey = primaryKeys == null || primaryKeys.isEmpty() ? null : primaryKeys.get(0);
+        this.primaryKeyBinder = binderOf(primaryKey);
+        this.sqlPrimaryKey = dialect.quoteIfNeeded(primaryKey);
+
+        this.indexRank = resolveIndexRank(tableMeta);
+        this.seekColumns = resolveSeekColumns(tableMeta);
+        this.seekBinders = new ColumnBinder[seekColumns.length];
+        this.sqlSeekColumns = new String[seekColumns.length];
+        for (int i = 0; i < seekColumns.length; i++) {
+            seekBinders[i] = binderOf(seekColumns[i]);
+            sqlSeekColumns[i] = dialect.quoteIfNeeded(seekColumns[i]);
+        }
+
+        this.selectAllSql = "SELECT * FROM " + sqlTable;
+        this.countAllSql = "SELECT COUNT(*) FROM " + sqlTable;
+        this.selectByIdSql = primaryKey == null ? null
+            : "SELECT * FROM " + sqlTable + " WHERE " + sqlPrimaryKey + " = ?";
+        this.deleteByIdSql = primaryKey == null ? null
+            : "DELETE FROM " + sqlTable + " WHERE " + sqlPrimaryKey + " = ?";
+        this.upsertSupported = primaryKey != null && dialect.upsert(tableName,
+            Collections.singletonList(primaryKey), Collections.singletonList(primaryKey)) != null;
+    }
+
+    /**
+     * 数据源对应的 SQL 方言
+     */
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * 构建模板所依据的表元数据
+     */
+    public TableMeta getTableMeta() {
+        return tableMeta;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getPrimaryKey() {
+        return primaryKey;
+    }
+
+    /**
+     * 游标分页排序键列名
+     */
+    public String[] getSeekColumns() {
+        return seekColumns.clone();
+    }
+
+    /**
+     * 根据请求字段名解析列名
+     *
+     * @param property 请求字段名（驼峰或下划线）
+     * @return 列名
+     */
+    public String resolveColumn(String property) {
+        return columnNames[indexOf(property)];
+    }
+
+    /**
+     * 请求字段对应的列序号
+     *
+     * @throws IllegalArgumentException 未知字段时
+     */
+    int columnIndex(String property) {
+        return indexOf(property);
+    }
+
+    /**
+     * 列在 SQL 中的名称（按方言引用）
+     */
+    String columnName(int index) {
+        return sqlColumns[index];
+    }
+
+    /**
+     * 表在 SQL 中的名称（按方言引用）
+     */
+    String sqlTableName() {
+        return sqlTable;
+    }
+
+    ColumnBinder binder(int index) {
+        return binders[index];
+    }
+
+    /**
+     * 指定列集合的 INSERT 语句（列按表定义顺序排列）
+     */
+    String insertSql(BitSet shape) {
+        return insertTemplates.computeIfAbsent(shape, this::buildInsertSql);
+    }
+
+    /**
+     * 判断请求字段是否对应表中的列
+     */
+    public boolean hasField(String property) {
+        return findIndex(property) != null;
+    }
+
+    /**
+     * 计算查询投影
+     *
+     * 表配置的包含/排除字段与请求字段取交集；配置中已不存在的列忽略，请求中的未知字段拒绝。
+     *
+     * @param include 表配置的包含字段，为空表示全部
+     * @param exclude 表配置的排除字段
+     * @param fields 请求字段（驼峰或下划线），为空表示全部
+     * @return 列集合，返回全部列时为 null（即 SELECT *）
+     */
+    public BitSet projection(Collection<String> include, Collection<String> exclude, Collection<String> fields) {
+        BitSet columns = new BitSet(columnNames.length);
+        if (include == null || include.isEmpty()) {
+            columns.set(0, columnNames.length);
+        } else {
+            for (String column : include) {
+                Integer index = findIndex(column);
+                if (index != null) {
+                    columns.set(index);
+                }
+            }
+        }
+        if (exclude != null) {
+            for (String column : exclude) {
+                Integer index = findIndex(column);
+                if (index != null) {
+                    columns.clear(index);
+                }
+            }
+        }
+        if (fields != null && !fields.isEmpty()) {
+            BitSet requested = new BitSet(columnNames.length);
+            for (String field : fields) {
+                requested.set(indexOf(field));
+            }
+            columns.and(requested);
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("没有可返回的字段: " + tableName);
+        }
+        return columns.cardinality() == columnNames.length ? null : columns;
+    }
+
+    /**
+     * 按主键查询
+     */
+    public SqlStatement selectById(Object id) {
+        return selectById(id, null);
+    }
+
+    /**
+     * 按主键查询指定列
+     *
+     * @param projection 列集合，null 表示全部列
+     */
+    public SqlStatement selectById(Object id, BitSet projection) {
+        String sql = projection == null ? requirePrimaryKey(selectByIdSql)
+            : selectClause(projection) + " WHERE " + requirePrimaryKey(sqlPrimaryKey) + " = ?";
+        return new SqlStatement(sql,
+            new Object[]{primaryKeyBinder.convert(id)}, new ColumnBinder[]{primaryKeyBinder});
+    }
+
+    /**
+     * 按主键删除
+     */
+    public SqlStatement deleteById(Object id) {
+        return new SqlStatement(requirePrimaryKey(deleteByIdSql),
+            new Object[]{primaryKeyBinder.convert(id)}, new ColumnBinder[]{primaryKeyBinder});
+    }
+
+    /**
+     * 条件查询
+     *
+     * 键为 field 时按等值比较（值为 null 时生成 IS NULL，值为集合时生成 IN），
+     * 键为 field[op] 时按 Filter 定义的运算符比较。
+     *
+     * @param conditions 条件键 -> 值
+     * @param limit 最大返回行数
+     */
+    public SqlStatement select(Map<String, ?> conditions, int limit) {
+        return select(conditions, null, limit);
+    }
+
+    /**
+     * 条件查询指定列
+     *
+     * @param projection 列集合，null 表示全部列
+     */
+    public SqlStatement select(Map<String, ?> conditions, BitSet projection, int limit) {
+        return select(conditions, projection).withSuffix(dialect.limit(limit));
+    }
+
+    /**
+     * 条件查询（不限制行数，供流式读取使用）
+     *
+     * @param conditions 条件键 -> 值
+     */
+    public SqlStatement select(Map<String, ?> conditions) {
+        return select(conditions, (BitSet) null);
+    }
+
+    /**
+     * 条件查询指定列（不限制行数）
+     *
+     * @param projection 列集合，null 表示全部列
+     */
+    public SqlStatement select(Map<String, ?> conditions, BitSet projection) {
+        String select = selectClause(projection);
+        if (conditions == null || conditions.isEmpty()) {
+            return new SqlStatement(select, new Object[0]);
+        }
+
+        Term[] terms = compile(conditions);
+        WhereTemplate where = whereTemplate(terms);
+        Params params = conditionArgs(terms, 0);
+        return new SqlStatement(select + where.sql, params.args, params.binders);
+    }
+
+    /**
+     * 条件计数
+     *
+     * @param conditions 条件键 -> 值
+     */
+    public SqlStatement count(Map<String, ?> conditions) {
+        if (conditions == null || conditions.isEmpty()) {
+            return new SqlStatement(countAllSql, new Object[0]);
+        }
+        Term[] terms = compile(conditions);
+        WhereTemplate where = whereTemplate(terms);
+        Params params = conditionArgs(terms, 0);
+        return new SqlStatement(countAllSql + where.sql, params.args, params.binders);
+    }
+
+    /**
+     * 分组聚合查询
+     *
+     * 生成 SELECT 分组列, 聚合表达式 FROM 表 WHERE ... GROUP BY 分组列 ORDER BY 分组列，
+     * 聚合在数据库中完成，只返回分组结果。聚合函数按列类型校验（见 Aggregate）。
+     *
+     * @param groupBy 分组字段，为空时对全部行聚合
+     * @param aggregates 聚合表达式，如 count(*)、sum(amount)
+     * @param conditions 条件键 -> 值
+     * @param limit 最大返回分组数
+     */
+    public SqlStatement aggregate(Collection<String> groupBy, Collection<String> aggregates,
+                                  Map<String, ?> conditions, int limit) {
+        if (aggregates == null || aggregates.isEmpty()) {
+            throw new IllegalArgumentException("聚合表达式不能为空");
+        }
+        List<ColumnMeta> columns = tableMeta.getColumns();
+        StringBuilder key = new StringBuilder("g:");
+        List<Integer> groups = new ArrayList<>();
+        if (groupBy != null) {
+            for (String field : groupBy) {
+                int index = indexOf(field);
+                if (!Aggregate.isOrderable(columns.get(index))) {
+                    throw new IllegalArgumentException("不支持按该字段分组: " + field);
+                }
+                if (!groups.contains(index)) {
+                    groups.add(index);
+                    key.append(index).append(',');
+                }
+            }
+        }
+        key.append("|a:");
+        List<Aggregate> functions = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (String expression : aggregates) {
+            Aggregate aggregate = Aggregate.parse(expression);
+            int index = -1;
+            if (aggregate.getField() != null) {
+                index = indexOf(aggregate.getField());
+                aggregate.validate(columns.get(index));
+            }
+            functions.add(aggregate);
+            targets.add(index);
+            key.append(aggregate.getFunction().ordinal()).append('.').append(index).append(',');
+        }
+
+        Term[] terms = conditions == null || conditions.isEmpty() ? new Term[0] : compile(conditions);
+        WhereTemplate where = whereTemplate(terms);
+        key.append('|').append(where.key);
+        String sql = aggregateTemplates.computeIfAbsent(key.toString(),
+            k -> buildAggregateSql(groups, functions, targets, where.sql));
+        Params params = conditionArgs(terms, 0);
+        return new SqlStatement(sql + dialect.limit(limit), params.args, params.binders);
+    }
+
+    /**
+     * 游标（keyset）分页查询
+     *
+     * 按排序键升序读取，after 为上一页最后一行的排序键值，为 null 时读取首页。
+     * 条件形如 (k1 > ?) OR (k1 = ? AND k2 > ?)，可直接利用排序键索引定位，
+     * 任意页的代价与首页相同。
+     *
+     * @param conditions 条件键 -> 值
+     * @param after 上一页最后一行的排序键值
+     * @param limit 最大返回行数
+     */
+    public SqlStatement seek(Map<String, ?> conditions, Object[] after, int limit) {
+        return seek(conditions, after, limit, null);
+    }
+
+    /**
+     * 游标分页查询指定列，排序键列总是包含在结果中（用于生成下一页游标）
+     *
+     * @param projection 列集合，null 表示全部列
+     */
+    public SqlStatement seek(Map<String, ?> conditions, Object[] after, int limit, BitSet projection) {
+        if (seekColumns.length == 0) {
+            throw new IllegalArgumentException("表没有主键或非空唯一索引，无法游标分页: " + tableName);
+        }
+        if (after != null && after.length != seekColumns.length) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+
+        Term[] terms = conditions == null || conditions.isEmpty() ? new Term[0] : compile(conditions);
+        WhereTemplate where = whereTemplate(terms);
+        int cursorArgs = after == null ? 0 : seekColumns.length * (seekColumns.length + 1) / 2;
+        Params params = conditionArgs(terms, cursorArgs);
+
+        if (after != null) {
+            Object[] converted = new Object[after.length];
+            for (int j = 0; j < after.length; j++) {
+                converted[j] = seekBinders[j].convert(after[j]);
+            }
+            for (int i = 0; i < seekColumns.length; i++) {
+                for (int j = 0; j <= i; j++) {
+                    params.add(converted[j], seekBinders[j]);
+                }
+            }
+        }
+        if (projection != null) {
+            projection = (BitSet) projection.clone();
+            for (String seekColumn : seekColumns) {
+                Integer index = findIndex(seekColumn);
+                if (index != null) {
+                    projection.set(index);
+                }
+            }
+        }
+        boolean cursor = after != null;
+        String suffix = seekTemplates.computeIfAbsent(cursor ? where.key + "#" : where.key,
+            k -> buildSeekSql(where.sql, cursor));
+        String sql = selectClause(projection) + suffix;
+        return new SqlStatement(sql + dialect.limit(limit), params.args, params.binders);
+    }
+
+    /**
+     * 主键区间查询，按主键升序读取 [lower, upper) 内满足条件的行，供分区并行导出使用
+     *
+     * @param conditions 条件键 -> 值
+     * @param projection 列集合，null 表示全部列
+     * @param lower 区间下界（含），null 表示不限
+     * @param upper 区间上界（不含），null 表示不限
+     */
+    public SqlStatement range(Map<String, ?> conditions, BitSet projection, Object lower, Object upper) {
+        requirePrimaryKey(selectByIdSql);
+        Term[] terms = conditions == null || conditions.isEmpty() ? new Term[0] : compile(conditions);
+        WhereTemplate where = whereTemplate(terms);
+        Params params = conditionArgs(terms, (lower == null ? 0 : 1) + (upper == null ? 0 : 1));
+        if (lower != null) {
+            params.add(primaryKeyBinder.convert(lower), primaryKeyBinder);
+        }
+        if (upper != null) {
+            params.add(primaryKeyBinder.convert(upper), primaryKeyBinder);
+        }
+        boolean lowerBound = lower != null;
+        boolean upperBound = upper != null;
+        String suffix = rangeTemplates.computeIfAbsent(
+            where.key + "#" + (lowerBound ? 'l' : '-') + (upperBound ? 'u' : '-'),
+            k -> buildRangeSql(where.sql, lowerBound, upperBound));
+        return new SqlStatement(selectClause(projection) + suffix, params.args, params.binders);
+    }
+
+    /**
+     * 解析条件并按索引等级、运算符选择性、列序号排序
+     */
+    private Term[] compile(Map<String, ?> conditions) {
+        Term[] terms = new Term[conditions.size()];
+        int size = 0;
+        for (Map.Entry<String, ?> entry : conditions.entrySet()) {
+            Filter filter = Filter.parse(entry.getKey(), entry.getValue());
+            int index = indexOf(filter.getField());
+            terms[size++] = new Term(index, filter.getOperator(), operands(index, filter));
+        }
+        Arrays.sort(terms, this::compareTerms);
+        return terms;
+    }
+
+    private Object[] operands(int index, Filter filter) {
+        ColumnBinder binder = binders[index];
+        switch (filter.getOperator()) {
+            case IS_NULL:
+            case NOT_NULL:
+                return new Object[0];
+            case PREFIX:
+                return new Object[]{escapeLike(String.valueOf(filter.getValue())) + "%"};
+            case BETWEEN: {
+                List<?> values = listOf(filter.getValue());
+                if (values.size() != 2) {
+                    throw new IllegalArgumentException("BETWEEN 条件需要两个值: " + filter.getField());
+                }
+                return new Object[]{binder.convert(values.get(0)), binder.convert(values.get(1))};
+            }
+            case IN: {
+                List<?> values = listOf(filter.getValue());
+                if (values.isEmpty()) {
+                    throw new IllegalArgumentException("IN 条件不能为空: " + filter.getField());
+                }
+                if (values.size() > MAX_IN_VALUES) {
+                    throw new IllegalArgumentException("IN 条件的值不能超过 " + MAX_IN_VALUES + " 个: "
+                        + filter.getField());
+                }
+                // 补齐到 2 的幂，重复最后一个值不改变语义
+                Object[] operands = new Object[Math.min(bucketOf(values.size()), MAX_IN_VALUES)];
+                for (int i = 0; i < operands.length; i++) {
+                    operands[i] = binder.convert(values.get(Math.min(i, values.size() - 1)));
+                }
+                return operands;
+            }
+            default:
+                return new Object[]{binder.convert(filter.getValue())};
+        }
+    }
+
+    private int compareTerms(Term a, Term b) {
+        int order = Integer.compare(indexRank[a.index], indexRank[b.index]);
+        if (order == 0) {
+            order = Integer.compare(a.operator.rank(), b.operator.rank());
+        }
+        return order != 0 ? order : Integer.compare(a.index, b.index);
+    }
+
+    private WhereTemplate whereTemplate(Term[] terms) {
+        StringBuilder key = new StringBuilder(terms.length * 8);
+        boolean indexed = terms.length == 0;
+        for (Term term : terms) {
+            key.append(term.index).append(':').append(term.operator.ordinal())
+                .append(':').append(term.operands.length).append(';');
+            indexed |= indexRank[term.index] <= 1 && term.operator.indexable();
+        }
+        WhereTemplate where = whereTemplates.computeIfAbsent(key.toString(),
+            k -> new WhereTemplate(k, buildWhereClause(terms)));
+        if (!indexed) {
+            filterGuard.checkUnindexed(tableName, tableMeta.getEstimatedRows(), fieldsOf(terms));
+        }
+        return where;
+    }
+
+    private Params conditionArgs(Term[] terms, int extra) {
+        int count = 0;
+        for (Term term : terms) {
+            count += term.operands.length;
+        }
+        Params params = new Params(count + extra);
+        for (Term term : terms) {
+            for (Object operand : term.operands) {
+                params.add(operand, term.operator == Filter.Operator.PREFIX
+                    ? ColumnBinder.PASS_THROUGH : binders[term.index]);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * 新增
+     *
+     * @param data 请求字段 -> 值
+     */
+    public SqlStatement insert(Map<String, Object> data) {
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("新增数据不能为空");
+        }
+        BitSet shape = new BitSet(columnNames.length);
+        Object[] values = new Object[columnNames.length];
+        collect(data, shape, values);
+
+        String sql = insertTemplates.computeIfAbsent(shape, this::buildInsertSql);
+        Params params = argsOf(shape, values, false, null);
+        return new SqlStatement(sql, params.args, params.binders);
+    }
+
+    /**
+     * 按主键更新
+     *
+     * @param id 主键值
+     * @param data 请求字段 -> 值
+     */
+    public SqlStatement update(Object id, Map<String, Object> data) {
+        requirePrimaryKey(selectByIdSql);
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("更新数据不能为空");
+        }
+        BitSet shape = new BitSet(columnNames.length);
+        Object[] values = new Object[columnNames.length];
+        collect(data, shape, values);
+
+        String sql = updateTemplates.computeIfAbsent(shape, this::buildUpdateSql);
+        Params params = argsOf(shape, values, true, id);
+        return new SqlStatement(sql, params.args, params.binders);
+    }
+
+    /**
+     * 按主键存在则更新、不存在则新增，由方言生成单条语句（见 SqlDialect.upsert）
+     *
+     * @param id 主键值，为 null 时取请求字段中的主键
+     * @param data 请求字段 -> 值
+     * @throws IllegalArgumentException 缺少主键值或方言不支持时
+     */
+    public SqlStatement upsert(Object id, Map<String, Object> data) {
+        requirePrimaryKey(selectByIdSql);
+        if (!upsertSupported) {
+            throw new IllegalArgumentException("数据库不支持 upsert: " + dialect.type());
+        }
+        if (data == null || data.isEmpty()) {
+            throw new IllegalArgumentException("数据不能为空");
+        }
+        BitSet shape = new BitSet(columnNames.length);
+        Object[] values = new Object[columnNames.length];
+        collect(data, shape, values);
+        int keyIndex = indexOf(primaryKey);
+        if (id != null) {
+            shape.set(keyIndex);
+            values[keyIndex] = primaryKeyBinder.convert(id);
+        }
+        if (!shape.get(keyIndex) || values[keyIndex] == null) {
+            throw new IllegalArgumentException("缺少主键值: " + primaryKey);
+        }
+
+        String sql = upsertTemplates.computeIfAbsent(shape, this::buildUpsertSql);
+        Params params = argsOf(shape, values, false, null);
+        return new SqlStatement(sql, params.args, params.binders);
+    }
+
+    /**
+     * 方言是否支持单条语句 upsert（表需有主键）
+     */
+    public boolean supportsUpsert() {
+        return upsertSupported;
+    }
+
+    /**
+     * 偏移分页查询
+     *
+     * @param orderBy 排序字段（驼峰或下划线），为 null 时按主键排序
+     * @param descending 是否降序
+     * @param limit 每页行数
+     * @param offset 跳过的行数
+     */
+    public SqlStatement page(String orderBy, boolean descending, int limit, long offset) {
+        String column = orderBy != null ? sqlColumns[indexOf(orderBy)] : requirePrimaryKey(sqlPrimaryKey);
+        return new SqlStatement(selectAllSql + " ORDER BY " + column + (descending ? " DESC" : " ASC")
+            + dialect.limit(limit, offset), new Object[0]);
+    }
+
+    private void collect(Map<String, Object> data, BitSet shape, Object[] values) {
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            int index = indexOf(entry.getKey());
+            shape.set(index);
+            values[index] = binders[index].convert(entry.getValue());
+        }
+    }
+
+    private Params argsOf(BitSet shape, Object[] values, boolean withId, Object id) {
+        Params params = new Params(shape.cardinality() + (withId ? 1 : 0));
+        for (int index = shape.nextSetBit(0); index >= 0; index = shape.nextSetBit(index + 1)) {
+            params.add(values[index], binders[index]);
+        }
+        if (withId) {
+            params.add(primaryKeyBinder.convert(id), primaryKeyBinder);
+        }
+        return params;
+    }
+
+    private String buildInsertSql(BitSet shape) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (int index = shape.nextSetBit(0); index >= 0; index = shape.nextSetBit(index + 1)) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+                placeholders.append(", ");
+            }
+            columns.append(sqlColumns[index]);
+            placeholders.append('?');
+        }
+        return "INSERT INTO " + sqlTable + " (" + columns + ") VALUES (" + placeholders + ")";
+    }
+
+    private String buildUpsertSql(BitSet shape) {
+        List<String> columns = new ArrayList<>(shape.cardinality());
+        for (int index = shape.nextSetBit(0); index >= 0; index = shape.nextSetBit(index + 1)) {
+            columns.add(columnNames[index]);
+        }
+        return dialect.upsert(tableName, columns, Collections.singletonList(primaryKey));
+    }
+
+    private String buildUpdateSql(BitSet shape) {
+        StringBuilder setClause = new StringBuilder();
+        for (int index = shape.nextSetBit(0); index >= 0; index = shape.nextSetBit(index + 1)) {
+            if (setClause.length() > 0) {
+                setClause.append(", ");
+            }
+            setClause.append(sqlColumns[index]).append(" = ?");
+        }
+        return "UPDATE " + sqlTable + " SET " + setClause + " WHERE " + sqlPrimaryKey + " = ?";
+    }
+
+    private String selectClause(BitSet projection) {
+        return projection == null ? selectAllSql
+            : projectionTemplates.computeIfAbsent(projection, this::buildSelectClause);
+    }
+
+    private String buildSelectClause(BitSet projection) {
+        StringBuilder columns = new StringBuilder();
+        for (int index = projection.nextSetBit(0); index >= 0; index = projection.nextSetBit(index + 1)) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(sqlColumns[index]);
+        }
+        return "SELECT " + columns + " FROM " + sqlTable;
+    }
+
+    private String buildWhereClause(Term[] terms) {
+        if (terms.length == 0) {
+            return "";
+        }
+        StringBuilder where = new StringBuilder(" WHERE ");
+        for (int i = 0; i < terms.length; i++) {
+            if (i > 0) {
+                where.append(" AND ");
+            }
+            where.append(sqlColumns[terms[i].index]).append(terms[i].operator.sql(terms[i].operands.length));
+        }
+        return where.toString();
+    }
+
+    private String buildAggregateSql(List<Integer> groups, List<Aggregate> functions,
+                                     List<Integer> targets, String where) {
+        StringBuilder group = new StringBuilder();
+        for (int index : groups) {
+            if (group.length() > 0) {
+                group.append(", ");
+            }
+            group.append(sqlColumns[index]);
+        }
+        StringBuilder select = new StringBuilder("SELECT ").append(group);
+        List<String> aliases = new ArrayList<>();
+        for (int i = 0; i < functions.size(); i++) {
+            String function = functions.get(i).getFunction().name();
+            int index = targets.get(i);
+            String alias = dialect.quoteIfNeeded(
+                function.toLowerCase(Locale.ROOT) + "_" + (index < 0 ? "all" : columnNames[index]));
+            if (aliases.contains(alias)) {
+                continue;
+            }
+            aliases.add(alias);
+            if (select.length() > "SELECT ".length()) {
+                select.append(", ");
+            }
+            select.append(function).append('(').append(index < 0 ? "*" : sqlColumns[index])
+                .append(") AS ").append(alias);
+        }
+        select.append(" FROM ").append(sqlTable).append(where);
+        if (group.length() > 0) {
+            select.append(" GROUP BY ").append(group).append(" ORDER BY ").append(group);
+        }
+        return select.toString();
+    }
+
+    private String buildRangeSql(String where, boolean lower, boolean upper) {
+        StringBuilder sql = new StringBuilder(where);
+        String joiner = where.isEmpty() ? " WHERE " : " AND ";
+        if (lower) {
+            sql.append(joiner).append(sqlPrimaryKey).append(" >= ?");
+            joiner = " AND ";
+        }
+        if (upper) {
+            sql.append(joiner).append(sqlPrimaryKey).append(" < ?");
+        }
+        sql.append(" ORDER BY ").append(sqlPrimaryKey);
+        return sql.toString();
+    }
+
+    private String buildSeekSql(String where, boolean cursor) {
+        StringBuilder sql = new StringBuilder(where);
+        if (cursor) {
+            sql.append(where.isEmpty() ? " WHERE (" : " AND (");
+            for (int i = 0; i < seekColumns.length; i++) {
+                if (i > 0) {
+                    sql.append(" OR ");
+                }
+                sql.append('(');
+                for (int j = 0; j < i; j++) {
+                    sql.append(sqlSeekColumns[j]).append(" = ? AND ");
+                }
+                sql.append(sqlSeekColumns[i]).append(" > ?)");
+            }
+            sql.append(')');
+        }
+        sql.append(" ORDER BY ").append(String.join(", ", sqlSeekColumns));
+        return sql.toString();
+    }
+
+    /**
+     * 计算各列的索引等级，列出现在多个索引中时取最优等级
+     */
+    private int[] resolveIndexRank(TableMeta tableMeta) {
+        int[] rank = new int[columnNames.length];
+        Arrays.fill(rank, 3);
+        if (primaryKey != null) {
+            Integer index = findIndex(primaryKey);
+            if (index != null) {
+                rank[index] = 0;
+            }
+        }
+        if (tableMeta.getIndexes() != null) {
+            for (IndexMeta indexMeta : tableMeta.getIndexes()) {
+                List<String> columns = indexMeta.getColumnNames();
+                for (int i = 0; i < columns.size(); i++) {
+                    Integer index = columns.get(i) == null ? null : findIndex(columns.get(i));
+                    if (index != null) {
+                        int r = i > 0 ? 2 : indexMeta.isUnique() ? 0 : 1;
+                        rank[index] = Math.min(rank[index], r);
+                    }
+                }
+            }
+        }
+        return rank;
+    }
+
+    private String fieldsOf(Term[] terms) {
+        StringBuilder fields = new StringBuilder();
+        for (Term term : terms) {
+            if (fields.length() > 0) {
+                fields.append(", ");
+            }
+            fields.append(columnNames[term.index]);
+        }
+        return fields.toString();
+    }
+
+    private static List<?> listOf(Object value) {
+        if (value instanceof Collection) {
+            return new ArrayList<>((Collection<?>) value);
+        }
+        if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value);
+        }
+        String text = String.valueOf(value);
+        return text.isEmpty() ? Collections.emptyList() : Arrays.asList(text.split(","));
+    }
+
+    private static int bucketOf(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * 转义 LIKE 通配符，配合 ESCAPE '!' 使用
+     */
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '!' || c == '%' || c == '_') {
+                escaped.append('!');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * 选择游标分页排序键：优先主键，其次列全部非空的唯一索引
+     */
+    private static String[] resolveSeekColumns(TableMeta tableMeta) {
+        List<String> primaryKeys = tableMeta.getPrimaryKeys();
+        if (primaryKeys != null && !primaryKeys.isEmpty()) {
+            return primaryKeys.toArray(new String[0]);
+        }
+        if (tableMeta.getIndexes() != null) {
+            for (IndexMeta index : tableMeta.getIndexes()) {
+                if (!index.isUnique() || index.getColumns() == null || index.getColumns().isEmpty()) {
+                    continue;
+                }
+                String[] columns = new String[index.getColumns().size()];
+                boolean usable = true;
+                for (int i = 0; i < columns.length && usable; i++) {
+                    columns[i] = index.getColumns().get(i).getColumnName();
+                    ColumnMeta column = tableMeta.getColumn(columns[i]);
+                    // 可空列的 NULL 值无法参与比较，会在翻页时丢行
+                    usable = column != null && Boolean.FALSE.equals(column.getIsNullable());
+                }
+                if (usable) {
+                    return columns;
+                }
+            }
+        }
+        return new String[0];
+    }
+
+    private ColumnBinder binderOf(String column) {
+        if (column != null) {
+            for (int i = 0; i < columnNames.length; i++) {
+                if (columnNames[i].equalsIgnoreCase(column)) {
+                    return binders[i];
+                }
+            }
+        }
+        return ColumnBinder.PASS_THROUGH;
+    }
+
+    private int indexOf(String property) {
+        Integer index = findIndex(property);
+        if (index == null) {
+            throw new IllegalArgumentException("未知字段: " + property);
+        }
+        return index;
+    }
+
+    private Integer findIndex(String property) {
+        Integer index = propertyIndex.get(property);
+        if (index == null) {
+            index = propertyIndex.get(NamingConverter.toSnakeCase(property));
+        }
+        if (index == null) {
+            index = propertyIndex.get(property.toLowerCase(Locale.ROOT));
+        }
+        return index;
+    }
+
+    private String requirePrimaryKey(String sql) {
+        if (sql == null) {
+            throw new IllegalArgumentException("表没有主键: " + tableName);
+        }
+        return sql;
+    }
+
+    /**
+     * 编译后的单个谓词
+     */
+    private static final class Term {
+        private final int index;
+        private final Filter.Operator operator;
+        private final Object[] operands;
+
+        private Term(int index, Filter.Operator operator, Object[] operands) {
+            this.index = index;
+            this.operator = operator;
+            this.operands = operands;
+        }
+    }
+
+    /**
+     * WHERE 子句模板
+     */
+    private static final class WhereTemplate {
+        private final String key;
+        private final String sql;
+
+        private WhereTemplate(String key, String sql) {
+            this.key = key;
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * 参数与对应绑定器
+     */
+    private static final class Params {
+        private final Object[] args;
+        private final ColumnBinder[] binders;
+        private int size;
+
+        private Params(int capacity) {
+            this.args = new Object[capacity];
+            this.binders = new ColumnBinder[capacity];
+        }
+
+        private void add(Object value, ColumnBinder binder) {
+            args[size] = value;
+            binders[size++] = binder;
+        }
+    }
+}
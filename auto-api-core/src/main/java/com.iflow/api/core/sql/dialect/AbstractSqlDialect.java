@@ -0,0 +1,208 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * SQL 方言基类
+ *
+ * 提供 ANSI 双引号引用、LIMIT/OFFSET 分页与常见保留字判断，子类只覆盖与之不同的部分。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public abstract class AbstractSqlDialect implements SqlDialect {
+
+    /**
+     * 各数据库共同的保留字（作为列名时需要引用）
+     */
+    private static final Set<String> COMMON_RESERVED = new HashSet<>(Arrays.asList(
+        "ALL", "ALTER", "AND", "ANY", "AS", "ASC", "BETWEEN", "BY", "CASE", "CHECK", "COLUMN", "CONSTRAINT",
+        "CREATE", "CROSS", "CURRENT_DATE", "CURRENT_TIME", "CURRENT_TIMESTAMP", "CURRENT_USER", "DEFAULT",
+        "DELETE", "DESC", "DISTINCT", "DROP", "ELSE", "END", "EXCEPT", "EXISTS", "FALSE", "FETCH", "FOR",
+        "FOREIGN", "FROM", "FULL", "GRANT", "GROUP", "HAVING", "IN", "INNER", "INSERT", "INTERSECT", "INTO",
+        "IS", "JOIN", "LEFT", "LIKE", "NOT", "NULL", "OFFSET", "ON", "OR", "ORDER", "OUTER", "PRIMARY",
+        "REFERENCES", "RIGHT", "ROW", "ROWS", "SELECT", "SET", "SOME", "TABLE", "THEN", "TO", "TRUE",
+        "UNION", "UNIQUE", "UPDATE", "USER", "USING", "VALUES", "WHEN", "WHERE", "WITH"));
+
+    private final String type;
+    private final char openQuote;
+    private final char closeQuote;
+    private final Set<String> reserved;
+
+    protected AbstractSqlDialect(String type, char openQuote, char closeQuote, String... reserved) {
+        this.type = type;
+        this.openQuote = openQuote;
+        this.closeQuote = closeQuote;
+        this.reserved = new HashSet<>(COMMON_RESERVED);
+        this.reserved.addAll(Arrays.asList(reserved));
+    }
+
+    @Override
+    public String type() {
+        return type;
+    }
+
+    @Override
+    public String quote(String identifier) {
+        String escaped = identifier.replace(String.valueOf(closeQuote), String.valueOf(closeQuote) + closeQuote);
+        return openQuote + escaped + closeQuote;
+    }
+
+    @Override
+    public String quoteIfNeeded(String identifier) {
+        return identifier == null || !requiresQuoting(identifier) ? identifier : quote(identifier);
+    }
+
+    /**
+     * 是否需要引用：非 [A-Za-z_][A-Za-z0-9_$]* 形式，或为保留字
+     */
+    protected boolean requiresQuoting(String identifier) {
+        if (identifier.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            boolean letter = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+            if (!letter && (i == 0 || !(c >= '0' && c <= '9' || c == '$'))) {
+                return true;
+            }
+        }
+        return reserved.contains(identifier.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public String limit(int limit) {
+        return " LIMIT " + limit;
+    }
+
+    @Override
+    public String limit(int limit, long offset) {
+        return " LIMIT " + limit + " OFFSET " + offset;
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keys) {
+        return null;
+    }
+
+    @Override
+    public String[] generatedKeyColumns(String keyColumn) {
+        return null;
+    }
+
+    @Override
+    public String batchRewriteParameter() {
+        return null;
+    }
+
+    @Override
+    public String nativeBulkLoad() {
+        return null;
+    }
+
+    @Override
+    public int streamFetchSize(String url, int configured) {
+        return configured;
+    }
+
+    @Override
+    public boolean cursorRequiresTransaction() {
+        return false;
+    }
+
+    @Override
+    public String metadataCatalog(DatasourceConfig config) {
+        return null;
+    }
+
+    @Override
+    public String metadataSchema(DatasourceConfig config) {
+        return null;
+    }
+
+    @Override
+    public SqlStatement estimatedRows(TableMeta tableMeta) {
+        return null;
+    }
+
+    @Override
+    public SqlStatement catalogPrimaryKeys(String catalog, String schema) {
+        return null;
+    }
+
+    @Override
+    public SqlStatement catalogIndexes(String catalog, String schema) {
+        return null;
+    }
+
+    @Override
+    public SqlStatement catalogForeignKeys(String catalog, String schema) {
+        return null;
+    }
+
+    @Override
+    public SqlStatement catalogTableVersions(String catalog, String schema) {
+        return null;
+    }
+
+    /**
+     * 构造按 schema 过滤的元数据查询，sql 中的每个 {schema} 在指定 schema 时替换为参数，
+     * 否则替换为连接当前 schema 的表达式 currentSchema
+     */
+    protected static SqlStatement catalogQuery(String sql, String schema, String currentSchema) {
+        if (schema == null) {
+            return new SqlStatement(sql.replace("{schema}", currentSchema), new Object[0]);
+        }
+        List<Object> args = new ArrayList<>();
+        for (int i = sql.indexOf("{schema}"); i >= 0; i = sql.indexOf("{schema}", i + 1)) {
+            args.add(schema);
+        }
+        return new SqlStatement(sql.replace("{schema}", "?"), args.toArray());
+    }
+
+    /**
+     * 逗号分隔的引用后列清单
+     */
+    protected String columnList(Collection<String> columns) {
+        StringBuilder list = new StringBuilder();
+        for (String column : columns) {
+            if (list.length() > 0) {
+                list.append(", ");
+            }
+            list.append(quoteIfNeeded(column));
+        }
+        return list.toString();
+    }
+
+    /**
+     * 与列数相同的 ? 占位符
+     */
+    protected static String placeholders(int count) {
+        StringBuilder list = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            list.append(i > 0 ? ", ?" : "?");
+        }
+        return list.toString();
+    }
+
+    /**
+     * 是否为键列（upsert 时键列以外的列需要更新）
+     */
+    protected static boolean isKey(String column, List<String> keys) {
+        for (String key : keys) {
+            if (key.equalsIgnoreCase(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.iflow.api.core.sql.dialect;
+
+/**
+ * 通用方言
+ *
+ * 未注册方言的数据源使用：ANSI 双引号引用与 LIMIT/OFFSET 分页，不支持 upsert 与原生批量导入。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public class GenericDialect extends AbstractSqlDialect {
+
+    public static final String TYPE = "generic";
+
+    public GenericDialect() {
+        super(TYPE, '"', '"');
+    }
+}
@@ -0,0 +1,55 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+
+import java.util.List;
+
+/**
+ * H2 方言
+ *
+ * 双引号引用与 LIMIT/OFFSET 分页；upsert 使用 MERGE INTO ... KEY (...) VALUES。
+ * H2 的 INFORMATION_SCHEMA 视图参与连接时逐行重新生成，批量主键查询以 IN 子查询代替连接；
+ * 索引与外键沿用逐表 JDBC 元数据（进程内调用，开销很小）。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public class H2Dialect extends AbstractSqlDialect {
+
+    public H2Dialect() {
+        super(DatasourceConfig.DataSourceType.H2, '"', '"',
+            "ARRAY", "CURRENT_CATALOG", "CURRENT_SCHEMA", "DAY", "HOUR", "IF", "ILIKE", "INTERVAL", "KEY",
+            "LIMIT", "MINUS", "MINUTE", "MONTH", "QUALIFY", "REGEXP", "ROWNUM", "SECOND", "SYSDATE",
+            "SYSTIME", "SYSTIMESTAMP", "TODAY", "TOP", "VALUE", "WINDOW", "YEAR", "_ROWID_");
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keys) {
+        return "MERGE INTO " + quoteIfNeeded(table) + " (" + columnList(columns) + ") KEY (" + columnList(keys)
+            + ") VALUES (" + placeholders(columns.size()) + ")";
+    }
+
+    @Override
+    public String metadataSchema(DatasourceConfig config) {
+        // 不限定 schema 时 H2 会同时返回 INFORMATION_SCHEMA 下的系统表
+        return config.getSchemaName() != null && !config.getSchemaName().isEmpty()
+            ? config.getSchemaName() : "PUBLIC";
+    }
+
+    @Override
+    public SqlStatement catalogPrimaryKeys(String catalog, String schema) {
+        return catalogQuery("SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE"
+            + " WHERE TABLE_SCHEMA = {schema} AND CONSTRAINT_NAME IN (SELECT CONSTRAINT_NAME"
+            + " FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE CONSTRAINT_TYPE = 'PRIMARY KEY'"
+            + " AND TABLE_SCHEMA = {schema}) ORDER BY TABLE_NAME, COLUMN_NAME", schema, "CURRENT_SCHEMA");
+    }
+
+    @Override
+    public SqlStatement catalogTableVersions(String catalog, String schema) {
+        // 单视图分组聚合索引列定义（主键、唯一约束与外键通常均建有索引）
+        return catalogQuery("SELECT TABLE_NAME, LISTAGG(INDEX_NAME || ':' || ORDINAL_POSITION || ':' || COLUMN_NAME"
+            + " || ':' || IS_UNIQUE, ',') WITHIN GROUP (ORDER BY INDEX_NAME, ORDINAL_POSITION) AS VERSION"
+            + " FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE TABLE_SCHEMA = {schema} GROUP BY TABLE_NAME",
+            schema, "CURRENT_SCHEMA");
+    }
+}
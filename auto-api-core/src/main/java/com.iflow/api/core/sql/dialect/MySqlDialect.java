@@ -0,0 +1,120 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+
+import java.util.List;
+
+/**
+ * MySQL 方言
+ *
+ * 反引号引用；upsert 使用 INSERT ... ON DUPLICATE KEY UPDATE；自增主键经 RETURN_GENERATED_KEYS 回读；
+ * 批量改写依赖 rewriteBatchedStatements；未开启 useCursorFetch 时以 Integer.MIN_VALUE 逐行流式读取。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public class MySqlDialect extends AbstractSqlDialect {
+
+    public MySqlDialect() {
+        super(DatasourceConfig.DataSourceType.MYSQL, '`', '`',
+            "CHANGE", "CONDITION", "DATABASE", "DIV", "DUAL", "EXPLAIN", "FORCE", "INDEX", "INTERVAL", "KEY",
+            "KEYS", "KILL", "LIMIT", "LINES", "LOAD", "LOCK", "MOD", "OPTION", "RANGE", "READ", "REGEXP",
+            "RELEASE", "RENAME", "REPEAT", "REPLACE", "REQUIRE", "RETURN", "REVOKE", "RLIKE", "SCHEMA",
+            "SEPARATOR", "SHOW", "SIGNAL", "SPATIAL", "USAGE", "WRITE", "XOR");
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keys) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(quoteIfNeeded(table))
+            .append(" (").append(columnList(columns)).append(") VALUES (").append(placeholders(columns.size()))
+            .append(") ON DUPLICATE KEY UPDATE ");
+        boolean first = true;
+        for (String column : columns) {
+            if (!isKey(column, keys)) {
+                String name = quoteIfNeeded(column);
+                sql.append(first ? "" : ", ").append(name).append(" = VALUES(").append(name).append(')');
+                first = false;
+            }
+        }
+        if (first) {
+            // 只有键列时保持原值
+            String key = quoteIfNeeded(keys.get(0));
+            sql.append(key).append(" = ").append(key);
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public String batchRewriteParameter() {
+        return "rewriteBatchedStatements=true";
+    }
+
+    @Override
+    public String nativeBulkLoad() {
+        return "load-data";
+    }
+
+    @Override
+    public int streamFetchSize(String url, int configured) {
+        if (url == null || !url.contains("useCursorFetch=true")) {
+            // 未开启服务端游标时，MySQL 驱动仅在 Integer.MIN_VALUE 下逐行流式读取
+            return Integer.MIN_VALUE;
+        }
+        return configured;
+    }
+
+    @Override
+    public String metadataCatalog(DatasourceConfig config) {
+        return config.getDatabase();
+    }
+
+    @Override
+    public SqlStatement estimatedRows(TableMeta tableMeta) {
+        if (tableMeta.getCatalog() != null) {
+            return new SqlStatement(
+                "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?",
+                new Object[]{tableMeta.getCatalog(), tableMeta.getName()});
+        }
+        return new SqlStatement(
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+            new Object[]{tableMeta.getName()});
+    }
+
+    @Override
+    public SqlStatement catalogPrimaryKeys(String catalog, String schema) {
+        return catalogQuery("SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE"
+            + " WHERE TABLE_SCHEMA = {schema} AND CONSTRAINT_NAME = 'PRIMARY'"
+            + " ORDER BY TABLE_NAME, COLUMN_NAME", catalog, "DATABASE()");
+    }
+
+    @Override
+    public SqlStatement catalogIndexes(String catalog, String schema) {
+        return catalogQuery("SELECT TABLE_NAME, INDEX_NAME, NON_UNIQUE, COLUMN_NAME, CARDINALITY"
+            + " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = {schema}"
+            + " ORDER BY TABLE_NAME, NON_UNIQUE, INDEX_NAME, SEQ_IN_INDEX", catalog, "DATABASE()");
+    }
+
+    @Override
+    public SqlStatement catalogForeignKeys(String catalog, String schema) {
+        return catalogQuery("SELECT k.TABLE_NAME, k.CONSTRAINT_NAME AS FK_NAME, k.COLUMN_NAME AS FKCOLUMN_NAME,"
+            + " k.REFERENCED_TABLE_NAME AS PKTABLE_NAME, k.REFERENCED_COLUMN_NAME AS PKCOLUMN_NAME,"
+            + " r.UPDATE_RULE, r.DELETE_RULE FROM information_schema.KEY_COLUMN_USAGE k"
+            + " JOIN information_schema.REFERENTIAL_CONSTRAINTS r ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA"
+            + " AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME AND r.TABLE_NAME = k.TABLE_NAME"
+            + " WHERE k.TABLE_SCHEMA = {schema} AND k.REFERENCED_TABLE_NAME IS NOT NULL"
+            + " ORDER BY k.TABLE_NAME, k.REFERENCED_TABLE_NAME, k.CONSTRAINT_NAME, k.ORDINAL_POSITION",
+            catalog, "DATABASE()");
+    }
+
+    @Override
+    public SqlStatement catalogTableVersions(String catalog, String schema) {
+        // CREATE_TIME 随重建表的 ALTER 变化，索引定义以 CRC32 求和汇总（不受 GROUP_CONCAT 长度限制）
+        return catalogQuery("SELECT t.TABLE_NAME, CONCAT_WS('|', t.CREATE_TIME, s.INDEX_COLUMNS, s.INDEX_HASH)"
+            + " AS VERSION FROM information_schema.TABLES t LEFT JOIN (SELECT TABLE_NAME, COUNT(*) AS INDEX_COLUMNS,"
+            + " SUM(CRC32(CONCAT_WS(':', INDEX_NAME, SEQ_IN_INDEX, COLUMN_NAME, NON_UNIQUE))) AS INDEX_HASH"
+            + " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = {schema} GROUP BY TABLE_NAME) s"
+            + " ON s.TABLE_NAME = t.TABLE_NAME WHERE t.TABLE_SCHEMA = {schema} AND t.TABLE_TYPE = 'BASE TABLE'",
+            catalog, "DATABASE()");
+    }
+}
@@ -0,0 +1,132 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Oracle 方言
+ *
+ * 分页使用 12c 起支持的 OFFSET ... ROWS FETCH NEXT ... ROWS ONLY；upsert 使用 MERGE；
+ * 自增主键（IDENTITY 列或触发器）按列名回读，RETURN_GENERATED_KEYS 只能取到 ROWID；
+ * 驱动原生支持批量执行，无需改写参数；元数据 schema 为登录用户。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public class OracleDialect extends AbstractSqlDialect {
+
+    private static final String CURRENT_SCHEMA = "SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')";
+
+    public OracleDialect() {
+        super(DatasourceConfig.DataSourceType.ORACLE, '"', '"',
+            "ACCESS", "AUDIT", "CLUSTER", "COMMENT", "COMPRESS", "CONNECT", "DATE", "EXCLUSIVE", "FILE",
+            "IDENTIFIED", "INCREMENT", "INDEX", "INITIAL", "LEVEL", "LOCK", "LONG", "MINUS", "MODE", "MODIFY",
+            "NOWAIT", "NUMBER", "OF", "ONLINE", "OPTION", "PRIOR", "RAW", "RENAME", "RESOURCE", "ROWID",
+            "ROWNUM", "SESSION", "SHARE", "SIZE", "START", "SYNONYM", "SYSDATE", "UID", "VALIDATE", "VIEW");
+    }
+
+    @Override
+    public String limit(int limit) {
+        return " FETCH FIRST " + limit + " ROWS ONLY";
+    }
+
+    @Override
+    public String limit(int limit, long offset) {
+        return " OFFSET " + offset + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keys) {
+        StringBuilder source = new StringBuilder();
+        StringBuilder on = new StringBuilder();
+        StringBuilder set = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (String column : columns) {
+            String name = quoteIfNeeded(column);
+            source.append(source.length() > 0 ? ", " : "").append("? AS ").append(name);
+            values.append(values.length() > 0 ? ", " : "").append("s.").append(name);
+            if (isKey(column, keys)) {
+                on.append(on.length() > 0 ? " AND " : "").append("d.").append(name).append(" = s.").append(name);
+            } else {
+                set.append(set.length() > 0 ? ", " : "").append("d.").append(name).append(" = s.").append(name);
+            }
+        }
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(quoteIfNeeded(table))
+            .append(" d USING (SELECT ").append(source).append(" FROM dual) s ON (").append(on).append(')');
+        if (set.length() > 0) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ").append(set);
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(columnList(columns))
+            .append(") VALUES (").append(values).append(')');
+        return sql.toString();
+    }
+
+    @Override
+    public String[] generatedKeyColumns(String keyColumn) {
+        return new String[]{keyColumn};
+    }
+
+    @Override
+    public String metadataSchema(DatasourceConfig config) {
+        return config.getUsername() == null ? null : config.getUsername().toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public SqlStatement estimatedRows(TableMeta tableMeta) {
+        return new SqlStatement("SELECT NUM_ROWS FROM ALL_TABLES WHERE OWNER = ? AND TABLE_NAME = ?",
+            new Object[]{tableMeta.getSchema(), tableMeta.getName().toUpperCase(Locale.ROOT)});
+    }
+
+    @Override
+    public SqlStatement catalogPrimaryKeys(String catalog, String schema) {
+        return catalogQuery("SELECT cc.TABLE_NAME, cc.COLUMN_NAME FROM ALL_CONSTRAINTS c"
+            + " JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME"
+            + " WHERE c.CONSTRAINT_TYPE = 'P' AND c.OWNER = {schema} ORDER BY cc.TABLE_NAME, cc.COLUMN_NAME",
+            schema, CURRENT_SCHEMA);
+    }
+
+    @Override
+    public SqlStatement catalogIndexes(String catalog, String schema) {
+        // 与驱动的 getIndexInfo 一致，附带 ALL_TABLES.NUM_ROWS 作为表统计行
+        return catalogQuery("SELECT ic.TABLE_NAME, ic.INDEX_NAME,"
+            + " CASE i.UNIQUENESS WHEN 'UNIQUE' THEN 0 ELSE 1 END AS NON_UNIQUE, ic.COLUMN_NAME,"
+            + " i.DISTINCT_KEYS AS CARDINALITY, ic.COLUMN_POSITION FROM ALL_INDEXES i"
+            + " JOIN ALL_IND_COLUMNS ic ON ic.INDEX_OWNER = i.OWNER AND ic.INDEX_NAME = i.INDEX_NAME"
+            + " WHERE i.TABLE_OWNER = {schema}"
+            + " UNION ALL SELECT t.TABLE_NAME, NULL, 0, NULL, t.NUM_ROWS, 0 FROM ALL_TABLES t"
+            + " WHERE t.OWNER = {schema}"
+            + " ORDER BY 1, 3, 2, 6",
+            schema, CURRENT_SCHEMA);
+    }
+
+    @Override
+    public SqlStatement catalogForeignKeys(String catalog, String schema) {
+        // Oracle 外键没有更新规则，按 NO ACTION 处理
+        return catalogQuery("SELECT c.TABLE_NAME, c.CONSTRAINT_NAME AS FK_NAME, cc.COLUMN_NAME AS FKCOLUMN_NAME,"
+            + " rc.TABLE_NAME AS PKTABLE_NAME, rcc.COLUMN_NAME AS PKCOLUMN_NAME, 'NO ACTION' AS UPDATE_RULE,"
+            + " c.DELETE_RULE FROM ALL_CONSTRAINTS c"
+            + " JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME"
+            + " JOIN ALL_CONSTRAINTS rc ON rc.OWNER = c.R_OWNER AND rc.CONSTRAINT_NAME = c.R_CONSTRAINT_NAME"
+            + " JOIN ALL_CONS_COLUMNS rcc ON rcc.OWNER = rc.OWNER AND rcc.CONSTRAINT_NAME = rc.CONSTRAINT_NAME"
+            + " AND rcc.POSITION = cc.POSITION"
+            + " WHERE c.CONSTRAINT_TYPE = 'R' AND c.OWNER = {schema}"
+            + " ORDER BY c.TABLE_NAME, rc.TABLE_NAME, c.CONSTRAINT_NAME, cc.POSITION",
+            schema, CURRENT_SCHEMA);
+    }
+
+    @Override
+    public SqlStatement catalogTableVersions(String catalog, String schema) {
+        // 表与其索引的 LAST_DDL_TIME，以及索引数量
+        return catalogQuery("SELECT o.OBJECT_NAME AS TABLE_NAME, TO_CHAR(o.LAST_DDL_TIME, 'YYYYMMDDHH24MISS')"
+            + " || '|' || x.INDEX_COUNT || '|' || x.INDEX_DDL_TIME AS VERSION FROM ALL_OBJECTS o"
+            + " LEFT JOIN (SELECT i.TABLE_NAME, COUNT(*) AS INDEX_COUNT,"
+            + " TO_CHAR(MAX(io.LAST_DDL_TIME), 'YYYYMMDDHH24MISS') AS INDEX_DDL_TIME FROM ALL_INDEXES i"
+            + " JOIN ALL_OBJECTS io ON io.OWNER = i.OWNER AND io.OBJECT_NAME = i.INDEX_NAME AND io.OBJECT_TYPE = 'INDEX'"
+            + " WHERE i.TABLE_OWNER = {schema} GROUP BY i.TABLE_NAME) x ON x.TABLE_NAME = o.OBJECT_NAME"
+            + " WHERE o.OWNER = {schema} AND o.OBJECT_TYPE = 'TABLE'",
+            schema, CURRENT_SCHEMA);
+    }
+}
@@ -0,0 +1,146 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+
+import java.util.List;
+
+/**
+ * PostgreSQL 方言
+ *
+ * 未引用的标识符折叠为小写，含大写字母的表名、列名需要引用；upsert 使用 INSERT ... ON CONFLICT；
+ * 自增主键按列名经 RETURNING 回读；批量改写依赖 reWriteBatchedInserts；导入使用 COPY；
+ * 游标读取需在事务中进行。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public class PostgreSqlDialect extends AbstractSqlDialect {
+
+    public PostgreSqlDialect() {
+        super(DatasourceConfig.DataSourceType.POSTGRESQL, '"', '"',
+            "ANALYSE", "ANALYZE", "ARRAY", "ASYMMETRIC", "BOTH", "CAST", "COLLATE", "DEFERRABLE", "DO",
+            "INITIALLY", "LATERAL", "LEADING", "LIMIT", "LOCALTIME", "LOCALTIMESTAMP", "ONLY", "PLACING",
+            "RETURNING", "SESSION_USER", "SYMMETRIC", "TRAILING", "VARIADIC", "WINDOW");
+    }
+
+    @Override
+    protected boolean requiresQuoting(String identifier) {
+        if (super.requiresQuoting(identifier)) {
+            return true;
+        }
+        for (int i = 0; i < identifier.length(); i++) {
+            if (Character.isUpperCase(identifier.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> keys) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(quoteIfNeeded(table))
+            .append(" (").append(columnList(columns)).append(") VALUES (").append(placeholders(columns.size()))
+            .append(") ON CONFLICT (").append(columnList(keys)).append(')');
+        StringBuilder set = new StringBuilder();
+        for (String column : columns) {
+            if (!isKey(column, keys)) {
+                String name = quoteIfNeeded(column);
+                set.append(set.length() > 0 ? ", " : "").append(name).append(" = EXCLUDED.").append(name);
+            }
+        }
+        sql.append(set.length() > 0 ? " DO UPDATE SET " + set : " DO NOTHING");
+        return sql.toString();
+    }
+
+    @Override
+    public String[] generatedKeyColumns(String keyColumn) {
+        // RETURN_GENERATED_KEYS 会返回整行（RETURNING *），只取主键列
+        return new String[]{keyColumn};
+    }
+
+    @Override
+    public String batchRewriteParameter() {
+        return "reWriteBatchedInserts=true";
+    }
+
+    @Override
+    public String nativeBulkLoad() {
+        return "copy";
+    }
+
+    @Override
+    public boolean cursorRequiresTransaction() {
+        return true;
+    }
+
+    @Override
+    public String metadataSchema(DatasourceConfig config) {
+        return config.getSchemaName() != null && !config.getSchemaName().isEmpty()
+            ? config.getSchemaName() : "public";
+    }
+
+    @Override
+    public SqlStatement estimatedRows(TableMeta tableMeta) {
+        return new SqlStatement("SELECT c.reltuples FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+            + " WHERE n.nspname = ? AND c.relname = ?",
+            new Object[]{tableMeta.getSchema() != null ? tableMeta.getSchema() : "public", tableMeta.getName()});
+    }
+
+    @Override
+    public SqlStatement catalogPrimaryKeys(String catalog, String schema) {
+        return catalogQuery("SELECT c.relname AS TABLE_NAME, a.attname AS COLUMN_NAME FROM pg_constraint con"
+            + " JOIN pg_class c ON c.oid = con.conrelid JOIN pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum = ANY(con.conkey)"
+            + " WHERE con.contype = 'p' AND n.nspname = {schema} ORDER BY c.relname, a.attname",
+            schema, "current_schema()");
+    }
+
+    @Override
+    public SqlStatement catalogIndexes(String catalog, String schema) {
+        // 表达式索引的列（attnum = 0）不对应表列，与 JDBC 驱动一致地跳过
+        return catalogQuery("SELECT t.relname AS TABLE_NAME, i.relname AS INDEX_NAME,"
+            + " NOT ix.indisunique AS NON_UNIQUE, a.attname AS COLUMN_NAME, i.reltuples AS CARDINALITY"
+            + " FROM pg_index ix JOIN pg_class t ON t.oid = ix.indrelid JOIN pg_class i ON i.oid = ix.indexrelid"
+            + " JOIN pg_namespace n ON n.oid = t.relnamespace"
+            + " CROSS JOIN LATERAL unnest(ix.indkey::int2[]) WITH ORDINALITY AS k(attnum, ord)"
+            + " JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum"
+            + " WHERE n.nspname = {schema} ORDER BY t.relname, NOT ix.indisunique, i.relname, k.ord",
+            schema, "current_schema()");
+    }
+
+    @Override
+    public SqlStatement catalogForeignKeys(String catalog, String schema) {
+        return catalogQuery("SELECT c.relname AS TABLE_NAME, con.conname AS FK_NAME, a.attname AS FKCOLUMN_NAME,"
+            + " rc.relname AS PKTABLE_NAME, ra.attname AS PKCOLUMN_NAME, " + ruleText("con.confupdtype")
+            + " AS UPDATE_RULE, " + ruleText("con.confdeltype") + " AS DELETE_RULE FROM pg_constraint con"
+            + " JOIN pg_class c ON c.oid = con.conrelid JOIN pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_class rc ON rc.oid = con.confrelid"
+            + " CROSS JOIN LATERAL unnest(con.conkey, con.confkey) WITH ORDINALITY AS k(attnum, refnum, ord)"
+            + " JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum = k.attnum"
+            + " JOIN pg_attribute ra ON ra.attrelid = rc.oid AND ra.attnum = k.refnum"
+            + " WHERE con.contype = 'f' AND n.nspname = {schema} ORDER BY c.relname, rc.relname, con.conname, k.ord",
+            schema, "current_schema()");
+    }
+
+    @Override
+    public SqlStatement catalogTableVersions(String catalog, String schema) {
+        // PostgreSQL 不记录 DDL 时间，取索引与约束定义文本的摘要
+        return catalogQuery("SELECT c.relname AS TABLE_NAME, md5(concat_ws('|',"
+            + " (SELECT string_agg(pg_get_indexdef(ix.indexrelid), ';' ORDER BY pg_get_indexdef(ix.indexrelid))"
+            + " FROM pg_index ix WHERE ix.indrelid = c.oid),"
+            + " (SELECT string_agg(con.conname || ' ' || pg_get_constraintdef(con.oid), ';' ORDER BY con.conname)"
+            + " FROM pg_constraint con WHERE con.conrelid = c.oid))) AS VERSION"
+            + " FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+            + " WHERE n.nspname = {schema} AND c.relkind IN ('r', 'p')",
+            schema, "current_schema()");
+    }
+
+    /**
+     * pg_constraint 中单字符的外键规则转为文本
+     */
+    private static String ruleText(String column) {
+        return "CASE " + column + " WHEN 'c' THEN 'CASCADE' WHEN 'n' THEN 'SET NULL' WHEN 'd' THEN 'SET DEFAULT'"
+            + " WHEN 'r' THEN 'RESTRICT' ELSE 'NO ACTION' END";
+    }
+}
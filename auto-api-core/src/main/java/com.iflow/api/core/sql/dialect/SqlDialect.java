@@ -0,0 +1,133 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+
+import java.util.List;
+
+/**
+ * SQL 方言
+ *
+ * 集中各数据库的语法与驱动差异：标识符引用、分页、upsert、自增主键回读、批量改写、
+ * 游标读取与元数据查询，调用方按 DatasourceConfig.type 经 SqlDialects 选择实现，
+ * 每种数据库使用其原生写法。内置 MySQL、PostgreSQL、Oracle、H2，其他数据库可通过
+ * META-INF/services/com.iflow.api.core.sql.dialect.SqlDialect 注册。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+public interface SqlDialect {
+
+    /**
+     * 方言对应的数据源类型（与 DatasourceConfig.type 一致，小写）
+     */
+    String type();
+
+    /**
+     * 引用标识符（表名、列名），标识符中的引号按方言转义
+     */
+    String quote(String identifier);
+
+    /**
+     * 标识符含特殊字符、为保留字或大小写会被数据库折叠时引用，否则原样返回
+     */
+    String quoteIfNeeded(String identifier);
+
+    /**
+     * 限制返回行数的 SQL 后缀
+     */
+    String limit(int limit);
+
+    /**
+     * 分页 SQL 后缀，语句需已包含 ORDER BY
+     */
+    String limit(int limit, long offset);
+
+    /**
+     * 按键列存在则更新、不存在则插入的语句，参数顺序与 columns 一致
+     *
+     * @param table 表名
+     * @param columns 写入的列（包含键列）
+     * @param keys 判定记录是否存在的键列
+     * @return SQL，不支持时返回 null
+     */
+    String upsert(String table, List<String> columns, List<String> keys);
+
+    /**
+     * 插入后回读自增主键时传给 Connection.prepareStatement 的列名，
+     * 返回 null 时使用 Statement.RETURN_GENERATED_KEYS
+     *
+     * @param keyColumn 主键列名
+     */
+    String[] generatedKeyColumns(String keyColumn);
+
+    /**
+     * 驱动将 JDBC 批量改写为多值语句的连接参数（如 rewriteBatchedStatements=true），无需时返回 null
+     */
+    String batchRewriteParameter();
+
+    /**
+     * 原生批量导入方式（BulkIngestor.METHOD_COPY / METHOD_LOAD_DATA），不支持时返回 null
+     */
+    String nativeBulkLoad();
+
+    /**
+     * 流式读取的 fetchSize
+     *
+     * @param url 连接串
+     * @param configured 配置的拉取行数
+     */
+    int streamFetchSize(String url, int configured);
+
+    /**
+     * 游标读取是否需要关闭自动提交（PostgreSQL 仅在事务中按 fetchSize 分批拉取）
+     */
+    boolean cursorRequiresTransaction();
+
+    /**
+     * 读取 JDBC 元数据时使用的 catalog，不限定时返回 null
+     */
+    String metadataCatalog(DatasourceConfig config);
+
+    /**
+     * 读取 JDBC 元数据时使用的 schema，不限定时返回 null
+     */
+    String metadataSchema(DatasourceConfig config);
+
+    /**
+     * 从数据库统计信息读取估算行数的查询（单行单列），不支持时返回 null
+     */
+    SqlStatement estimatedRows(TableMeta tableMeta);
+
+    /**
+     * 一次读取 schema 下全部表主键的查询，结果列为 TABLE_NAME、COLUMN_NAME，
+     * 按表名与列名排列（与 DatabaseMetaData.getPrimaryKeys 一致），
+     * 不支持时返回 null（逐表读取 JDBC 元数据）
+     *
+     * @param catalog metadataCatalog 的结果
+     * @param schema metadataSchema 的结果
+     */
+    SqlStatement catalogPrimaryKeys(String catalog, String schema);
+
+    /**
+     * 一次读取 schema 下全部表索引的查询，结果列为 TABLE_NAME、INDEX_NAME、NON_UNIQUE、COLUMN_NAME、
+     * CARDINALITY，按表名、NON_UNIQUE、索引名与列序排列，不支持时返回 null。
+     * 驱动的 getIndexInfo 返回表统计行（tableIndexStatistic）时，查询应同样返回 INDEX_NAME 为 null、
+     * CARDINALITY 为表行数的行，使批量读取与逐表读取的估算行数一致
+     */
+    SqlStatement catalogIndexes(String catalog, String schema);
+
+    /**
+     * 一次读取 schema 下全部表外键的查询，结果列为 TABLE_NAME、FK_NAME、FKCOLUMN_NAME、PKTABLE_NAME、
+     * PKCOLUMN_NAME、UPDATE_RULE、DELETE_RULE（规则为 CASCADE、SET NULL 等文本），
+     * 按表名、被引用表名、外键名与列序排列，不支持时返回 null
+     */
+    SqlStatement catalogForeignKeys(String catalog, String schema);
+
+    /**
+     * 一次读取 schema 下全部表结构版本的查询，结果列为 TABLE_NAME、VERSION（文本），
+     * VERSION 由索引定义、约束定义或 DDL 时间等目录信息组成，表结构变化时随之变化，
+     * 用于计算表指纹；不支持时返回 null（指纹仅包含表与字段定义）
+     */
+    SqlStatement catalogTableVersions(String catalog, String schema);
+}
@@ -0,0 +1,64 @@
+package com.iflow.api.core.sql.dialect;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL 方言注册表
+ *
+ * 按数据源类型（DatasourceConfig.type，不区分大小写）选择方言：先注册内置方言，
+ * 再经 ServiceLoader 加载 META-INF/services 中声明的方言（同类型时覆盖内置实现），
+ * 未注册的类型使用 GenericDialect。
+ *
+ * 引用：REQ-F2-001（通用的 CRUD API）
+ */
+@Slf4j
+public final class SqlDialects {
+
+    private static final SqlDialect GENERIC = new GenericDialect();
+
+    private static final Map<String, SqlDialect> DIALECTS = new ConcurrentHashMap<>();
+
+    static {
+        register(new MySqlDialect());
+        register(new PostgreSqlDialect());
+        register(new OracleDialect());
+        register(new H2Dialect());
+        try {
+            for (SqlDialect dialect : ServiceLoader.load(SqlDialect.class)) {
+                register(dialect);
+                log.info("加载 SQL 方言: type={}, class={}", dialect.type(), dialect.getClass().getName());
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("加载 SQL 方言失败: {}", e.getMessage());
+        }
+    }
+
+    private SqlDialects() {
+    }
+
+    /**
+     * 注册方言，同类型已存在时覆盖
+     */
+    public static void register(SqlDialect dialect) {
+        DIALECTS.put(dialect.type().toLowerCase(Locale.ROOT), dialect);
+    }
+
+    /**
+     * 按数据源类型获取方言
+     *
+     * @param type 数据源类型，为空或未注册时返回通用方言
+     */
+    public static SqlDialect of(String type) {
+        if (type == null) {
+            return GENERIC;
+        }
+        SqlDialect dialect = DIALECTS.get(type.toLowerCase(Locale.ROOT));
+        return dialect != null ? dialect : GENERIC;
+    }
+}
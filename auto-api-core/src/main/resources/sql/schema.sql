@@ -78,4 +78,16 @@ CREATE TABLE IF NOT EXISTS `api_generation_status` (
     KEY `idx_datasource_id` (`datasource_id`),
     KEY `idx_table_name` (`table_name`),
     KEY `idx_status` (`status`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='API生成状态表';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='API生成状态表';
+-- 表元数据快照表
+CREATE TABLE IF NOT EXISTS `api_metadata_snapshot` (
+    `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `datasource_id` bigint NOT NULL COMMENT '数据源配置ID',
+    `table_name` varchar(100) NOT NULL COMMENT '表名',
+    `fingerprint` varchar(64) NOT NULL COMMENT '表结构指纹(MD5)',
+    `snapshot` mediumtext NOT NULL COMMENT '表元数据快照(JSON)',
+    `created_at` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `updated_at` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_datasource_table` (`datasource_id`, `table_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='表元数据快照表';
@@ -0,0 +1,129 @@
+package com.iflow.api.core.cache;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.ForeignKeyMeta;
+import com.iflow.api.core.dto.metadata.IndexMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 表元数据缓存测试
+ */
+class TableMetaCacheTest {
+
+    @Test
+    void testHitAfterFirstLoad() {
+        TableMetaCache cache = new TableMetaCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        TableMeta first = cache.get(1L, "user", () -> load("user", loads));
+        TableMeta second = cache.get(1L, "user", () -> load("user", loads));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testInvalidateTable() {
+        TableMetaCache cache = new TableMetaCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "user", () -> load("user", loads));
+        cache.get(1L, "order", () -> load("order", loads));
+        cache.invalidate(1L, "user");
+
+        assertNull(cache.getIfPresent(1L, "user"));
+        assertNotNull(cache.getIfPresent(1L, "order"));
+        cache.get(1L, "user", () -> load("user", loads));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testInvalidateDatasource() {
+        TableMetaCache cache = new TableMetaCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "user", () -> load("user", loads));
+        cache.get(2L, "user", () -> load("user", loads));
+        cache.invalidateDatasource(1L);
+
+        assertNull(cache.getIfPresent(1L, "user"));
+        assertNotNull(cache.getIfPresent(2L, "user"));
+    }
+
+    @Test
+    void testLoadRacingWithInvalidationIsNotCached() {
+        TableMetaCache cache = new TableMetaCache();
+
+        // 加载过程中发生失效，旧结果不应写回缓存
+        TableMeta loaded = cache.get(1L, "user", () -> {
+            cache.invalidate(1L, "user");
+            return new TableMeta().setTableName("user");
+        });
+
+        assertNotNull(loaded);
+        assertNull(cache.getIfPresent(1L, "user"));
+    }
+
+    @Test
+    void testCachedTableIsFrozen() {
+        TableMetaCache cache = new TableMetaCache();
+        TableMeta table = new TableMeta().setTableName(new String("user"));
+        table.getColumns().add(new ColumnMeta().setName(new String("id")).setJavaType("Long").setLength(64)
+            .setIsNullable(false).setIsPrimaryKey(true));
+        table.getColumns().add(new ColumnMeta().setName(new String("user_name")).setJavaType("String")
+            .setIsNullable(true).setEnumValues(new String[] {"a", "b"}));
+        table.getPrimaryKeys().add(new String("id"));
+        IndexMeta index = new IndexMeta().setIndexName("idx_user_name");
+        index.setColumns(Collections.singletonList(new IndexMeta.IndexColumn()));
+        table.getIndexes().add(index);
+        ForeignKeyMeta fk = new ForeignKeyMeta().setFkColumnName("dept_id").setPkTableName(new String("dept"));
+        table.getForeignKeys().add(fk);
+        TableMeta copy = new TableMeta().setTableName("user").setColumns(table.getColumns())
+            .setPrimaryKeys(table.getPrimaryKeys()).setIndexes(table.getIndexes())
+            .setForeignKeys(table.getForeignKeys());
+
+        TableMeta cached = cache.get(1L, "user", () -> table);
+
+        assertSame(table, cached);
+        assertTrue(cached.frozen());
+        assertEquals(copy, cached);
+        // 属性读取与冻结前一致，字符串已驻留
+        ColumnMeta id = cached.getColumns().get(0);
+        assertEquals(Integer.valueOf(64), id.getLength());
+        assertNull(id.getScale());
+        assertEquals(Boolean.FALSE, id.getIsNullable());
+        assertNull(id.getIsAutoIncrement());
+        assertSame("id", id.getName());
+        assertSame("id", cached.getPrimaryKeys().get(0));
+        assertSame("user", cached.getTableName());
+
+        assertThrows(UnsupportedOperationException.class, () -> cached.getColumns().add(new ColumnMeta()));
+        assertThrows(UnsupportedOperationException.class, () -> cached.getPrimaryKeys().clear());
+        assertThrows(UnsupportedOperationException.class,
+            () -> cached.getIndexes().get(0).getColumns().remove(0));
+        assertThrows(IllegalStateException.class, () -> id.setIsNullable(true));
+        assertThrows(IllegalStateException.class, () -> cached.setEstimatedRows(10L));
+        assertThrows(IllegalStateException.class, () -> cached.setColumns(Collections.emptyList()));
+        assertThrows(IllegalStateException.class, () -> cached.setName("other"));
+        assertThrows(IllegalStateException.class, () -> index.setIndexName("other"));
+        assertThrows(IllegalStateException.class,
+            () -> cached.getIndexes().get(0).getColumns().get(0).setColumnName("other"));
+        assertThrows(IllegalStateException.class, () -> fk.setPkTableName("other"));
+        assertSame("dept", cached.getForeignKeys().get(0).getPkTableName());
+        cached.getColumns().get(1).getEnumValues()[0] = "x";
+        assertEquals("a", cached.getColumns().get(1).getEnumValues()[0]);
+    }
+
+    private TableMeta load(String tableName, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new TableMeta().setTableName(tableName);
+    }
+}
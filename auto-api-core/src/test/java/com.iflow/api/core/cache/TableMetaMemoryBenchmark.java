@@ -0,0 +1,96 @@
+package com.iflow.api.core.cache;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.IndexMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 表元数据内存占用基准
+ *
+ * 按驱动返回的形式（每行新建字符串）构造 10000 张表、每表 50 个字段与 2 个索引，
+ * 分别测量读取后的原始形式与 TableMeta.freeze 之后的堆占用（Full GC 后的已用堆差值）。
+ * 建议以 -Xmx2g 手动运行 main 方法，不参与单元测试。
+ */
+public class TableMetaMemoryBenchmark {
+
+    private static final int TABLES = 10000;
+    private static final int COLUMNS = 50;
+
+    private static final String[] COMMON_COLUMNS = {"id", "tenant_id", "created_at", "created_by", "updated_at",
+        "updated_by", "deleted", "version", "status", "remark", "name", "code", "sort_order", "parent_id"};
+    private static final String[][] TYPES = {
+        {"BIGINT", "Long", "-5", "19"}, {"VARCHAR", "String", "12", "255"}, {"INT", "Integer", "4", "10"},
+        {"DATETIME", "LocalDateTime", "93", "19"}, {"DECIMAL", "BigDecimal", "3", "18"}, {"TINYINT", "Byte", "-6", "3"}};
+
+    public static void main(String[] args) {
+        long baseline = usedHeap();
+        List<TableMeta> tables = build();
+        long loaded = usedHeap() - baseline;
+
+        for (TableMeta table : tables) {
+            table.freeze();
+        }
+        long frozen = usedHeap() - baseline;
+
+        System.out.printf("tables=%d, columns=%d%n", tables.size(), TABLES * COLUMNS);
+        System.out.printf("%-8s %10.1f MB %8.1f B/column%n", "loaded", loaded / 1048576.0,
+            (double) loaded / (TABLES * COLUMNS));
+        System.out.printf("%-8s %10.1f MB %8.1f B/column%n", "frozen", frozen / 1048576.0,
+            (double) frozen / (TABLES * COLUMNS));
+    }
+
+    private static List<TableMeta> build() {
+        List<TableMeta> tables = new ArrayList<>(TABLES);
+        for (int t = 0; t < TABLES; t++) {
+            TableMeta table = new TableMeta().setDatasourceId(1L).setDatasourceType(fresh("mysql"))
+                .setDatabaseName(fresh("bench")).setTableName(fresh("bench_table" + t))
+                .setTableType(fresh("TABLE"));
+            for (int c = 0; c < COLUMNS; c++) {
+                String[] type = TYPES[(t + c) % TYPES.length];
+                String name = c < COMMON_COLUMNS.length ? COMMON_COLUMNS[c] : "attr_" + (c % 30) + "_value";
+                table.getColumns().add(new ColumnMeta().setName(fresh(name)).setTypeName(fresh(type[0]))
+                    .setJavaType(type[1]).setJdbcType(Integer.valueOf(type[2])).setOrdinalPosition(c + 1)
+                    .setLength(Integer.valueOf(type[3])).setScale(0).setDefaultValue(c % 5 == 0 ? fresh("0") : null)
+                    .setIsNullable(c != 0).setIsPrimaryKey(c == 0).setIsAutoIncrement(c == 0)
+                    .setComment(c % 2 == 0 ? fresh("字段" + c) : null));
+            }
+            table.getPrimaryKeys().add(fresh("id"));
+            table.getIndexes().add(index(fresh("PRIMARY"), false, "id"));
+            table.getIndexes().add(index(fresh("idx_status_code"), true, "status", "code"));
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static IndexMeta index(String name, boolean nonUnique, String... columns) {
+        IndexMeta index = new IndexMeta().setIndexName(name).setNonUnique(nonUnique);
+        for (int i = 0; i < columns.length; i++) {
+            IndexMeta.IndexColumn column = new IndexMeta.IndexColumn();
+            column.setColumnName(fresh(columns[i]));
+            column.setOrdinalPosition(i + 1);
+            column.setCardinality(1000L);
+            index.getColumns().add(column);
+        }
+        return index;
+    }
+
+    /**
+     * 驱动为结果集的每一行返回新的字符串实例
+     */
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,94 @@
+package com.iflow.api.core.config;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iflow.api.core.sql.RowsResult;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.SysUserFixture;
+import com.iflow.api.core.sql.TableHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 结果集直写响应转换器测试
+ */
+class ResultSetMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new WebMvcConfig().objectMapper();
+    private final ResultSetMessageConverter converter = new ResultSetMessageConverter(objectMapper);
+
+    private SysUserFixture fixture;
+    private JdbcTemplate jdbcTemplate;
+    private TableHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        fixture = SysUserFixture.create("converter",
+            "user_name VARCHAR(50)", "balance DECIMAL(10,2)", "created_at TIMESTAMP");
+        jdbcTemplate = fixture.getJdbcTemplate();
+        jdbcTemplate.update("INSERT INTO sys_user VALUES (1, 'tom', 12.50, TIMESTAMP '2024-01-02 03:04:05')");
+        jdbcTemplate.update("INSERT INTO sys_user VALUES (2, 'a\"b', NULL, NULL)");
+        handler = new TableHandler(fixture.getTable());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.drop();
+    }
+
+    @Test
+    void testListMatchesJacksonOutput() throws Exception {
+        RowsResult result = RowsResult.list(handler, jdbcTemplate,
+            handler.getStatements().select(Collections.emptyMap(), 10));
+
+        String direct = write(result);
+        String reflective = objectMapper.writeValueAsString(result);
+
+        assertEquals(JSON.parseObject(reflective), JSON.parseObject(direct));
+        JSONObject json = JSON.parseObject(direct);
+        assertEquals(200, json.getIntValue("code"));
+        assertEquals(2, json.getJSONArray("data").size());
+        assertEquals("a\"b", json.getJSONArray("data").getJSONObject(1).getString("userName"));
+        assertTrue(json.getJSONArray("data").getJSONObject(1).containsKey("balance"));
+        assertNull(json.getJSONArray("data").getJSONObject(1).get("balance"));
+    }
+
+    @Test
+    void testSingleRowAndNotFound() throws Exception {
+        JSONObject found = JSON.parseObject(write(RowsResult.single(handler, jdbcTemplate,
+            handler.getStatements().selectById(1L), "记录不存在")));
+        assertEquals("tom", found.getJSONObject("data").getString("userName"));
+        assertEquals(0, new java.math.BigDecimal("12.50").compareTo(found.getJSONObject("data").getBigDecimal("balance")));
+
+        JSONObject missing = JSON.parseObject(write(RowsResult.single(handler, jdbcTemplate,
+            handler.getStatements().selectById(9L), "记录不存在")));
+        assertEquals("记录不存在", missing.getString("message"));
+        assertFalse(missing.getBooleanValue("success"));
+        assertFalse(missing.containsKey("data"));
+    }
+
+    @Test
+    void testQueryFailureWritesErrorResult() throws Exception {
+        JSONObject json = JSON.parseObject(write(RowsResult.list(handler, jdbcTemplate,
+            new SqlStatement("SELECT * FROM missing_table", new Object[0]))));
+
+        assertFalse(json.getBooleanValue("success"));
+        assertTrue(json.getString("message").startsWith("查询失败"));
+    }
+
+    private String write(RowsResult result) throws Exception {
+        assertTrue(converter.canWrite(RowsResult.class, MediaType.APPLICATION_JSON));
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(result, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsString(java.nio.charset.StandardCharsets.UTF_8);
+    }
+}
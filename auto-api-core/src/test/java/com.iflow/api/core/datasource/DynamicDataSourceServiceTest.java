@@ -0,0 +1,264 @@
+package com.iflow.api.core.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.repository.DatasourceConfigRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 数据源生命周期测试
+ */
+class DynamicDataSourceServiceTest {
+
+    /**
+     * 数据源 1 为 H2 内存库，数据源 2 连接时阻塞直到释放后失败（恢复后连接 H2）
+     */
+    private static final Long HEALTHY = 1L;
+    private static final Long BLOCKING = 2L;
+
+    private DatasourceConfigRepository repository;
+    private DynamicDataSourceService service;
+
+    @BeforeEach
+    void setUp() {
+        BlockingDriver.reset();
+        repository = mock(DatasourceConfigRepository.class);
+        DatasourceConfig healthy = new DatasourceConfig();
+        healthy.setId(HEALTHY);
+        healthy.setType(DatasourceConfig.DataSourceType.H2);
+        healthy.setDatabase("mem:lifecycle;DB_CLOSE_DELAY=-1");
+        when(repository.findByIdWithoutDeleted(HEALTHY)).thenReturn(Optional.of(healthy));
+        DatasourceConfig blocking = new DatasourceConfig() {
+            @Override
+            public String getJdbcUrl() {
+                return "jdbc:blocking:test";
+            }
+
+            @Override
+            public String getDriverClassName() {
+                return BlockingDriver.class.getName();
+            }
+        };
+        blocking.setId(BLOCKING);
+        when(repository.findByIdWithoutDeleted(BLOCKING)).thenReturn(Optional.of(blocking));
+
+        service = new DynamicDataSourceService();
+        ReflectionTestUtils.setField(service, "datasourceConfigRepository", repository);
+        ReflectionTestUtils.setField(service, "tableMetaCache", new TableMetaCache());
+        ReflectionTestUtils.setField(service, "warmUpTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(service, "retryIntervalMs", 60000L);
+        ReflectionTestUtils.setField(service, "drainTimeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BlockingDriver.release();
+        service.closeAllDataSources();
+    }
+
+    @Test
+    void testConcurrentCreationHappensOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<DruidDataSource>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(pool.submit(() -> service.getOrCreateDataSource(HEALTHY)));
+            }
+            DruidDataSource first = futures.get(0).get();
+            for (Future<DruidDataSource> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(repository, times(1)).findByIdWithoutDeleted(HEALTHY);
+        assertEquals(ManagedDataSource.State.READY, service.getState(HEALTHY));
+        assertEquals(1, service.getJdbcTemplate(HEALTHY).queryForObject("SELECT 1", Integer.class));
+    }
+
+    @Test
+    void testUnreachableDataSourceDoesNotBlockOthers() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> stuck = pool.submit(() -> service.getOrCreateDataSource(BLOCKING));
+            assertTrue(BlockingDriver.connecting.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            assertNotNull(service.getOrCreateDataSource(HEALTHY));
+            service.refreshDataSource(HEALTHY);
+            service.closeDataSource(HEALTHY);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+            // 预热中的调用方等待不超过 warmUpTimeoutMs
+            Exception e = assertThrows(Exception.class, () -> stuck.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof DataSourceUnavailableException);
+            assertEquals(ManagedDataSource.State.CREATING, service.getState(BLOCKING));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDegradedDataSourceFailsFastUntilRetry() {
+        BlockingDriver.release();
+        assertThrows(DataSourceUnavailableException.class, () -> service.getOrCreateDataSource(BLOCKING));
+        assertEquals(ManagedDataSource.State.DEGRADED, service.getState(BLOCKING));
+
+        // 重试间隔内直接失败，不等待连接池
+        BlockingDriver.recovered = true;
+        long start = System.nanoTime();
+        assertThrows(DataSourceUnavailableException.class, () -> service.getOrCreateDataSource(BLOCKING));
+        assertThrows(DataSourceUnavailableException.class, () -> service.getJdbcTemplate(BLOCKING));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(ManagedDataSource.State.DEGRADED, service.getState(BLOCKING));
+
+        // 间隔过后由下一个请求重新预热，数据库恢复后转为 READY
+        ReflectionTestUtils.setField(service, "retryIntervalMs", 0L);
+        assertNotNull(service.getOrCreateDataSource(BLOCKING));
+        assertEquals(ManagedDataSource.State.READY, service.getState(BLOCKING));
+        assertEquals(1, service.getJdbcTemplate(BLOCKING).queryForObject("SELECT 1", Integer.class));
+    }
+
+    @Test
+    void testRefreshDrainsOldPool() throws Exception {
+        DruidDataSource old = service.getOrCreateDataSource(HEALTHY);
+        Connection borrowed = old.getConnection();
+
+        service.refreshDataSource(HEALTHY);
+        DruidDataSource fresh = service.getOrCreateDataSource(HEALTHY);
+
+        assertNotSame(old, fresh);
+        assertFalse(old.isClosed());
+        assertEquals(1, borrowed.createStatement().executeQuery("SELECT 1").getMetaData().getColumnCount());
+
+        borrowed.close();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!old.isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(old.isClosed());
+        assertFalse(fresh.isClosed());
+    }
+
+    @Test
+    void testCloseRemovesDataSource() {
+        service.getOrCreateDataSource(HEALTHY);
+        assertTrue(service.isDataSourceCached(HEALTHY));
+
+        service.closeDataSource(HEALTHY);
+
+        assertFalse(service.isDataSourceCached(HEALTHY));
+        assertNull(service.getState(HEALTHY));
+        assertEquals(0, service.getCachedDataSourceCount());
+    }
+
+    @Test
+    void testRetryPublishesWarmUpWithState() {
+        ManagedDataSource managed = new ManagedDataSource(HEALTHY, null, null);
+        CompletableFuture<Void> initial = managed.getWarmUp();
+
+        assertTrue(managed.degrade(new SQLException("connection refused")));
+        assertEquals(ManagedDataSource.State.DEGRADED, managed.getState());
+        assertTrue(managed.getDegradedAt() > 0);
+        assertEquals("connection refused", managed.getFailure());
+
+        // 转为 CREATING 的同时发布新的预热，只有一个调用方获得
+        CompletableFuture<Void> retry = managed.retry();
+        assertNotNull(retry);
+        assertNotSame(initial, retry);
+        assertSame(retry, managed.getWarmUp());
+        assertEquals(ManagedDataSource.State.CREATING, managed.getState());
+        assertNull(managed.retry());
+
+        assertTrue(managed.ready());
+        assertEquals(ManagedDataSource.State.READY, managed.getState());
+    }
+
+    /**
+     * 连接时阻塞直到 release，随后抛出 SQLException；recovered 后连接 H2 内存库
+     */
+    public static class BlockingDriver implements Driver {
+
+        static volatile CountDownLatch connecting;
+        static volatile CountDownLatch released;
+        static volatile boolean recovered;
+
+        static void reset() {
+            connecting = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+            recovered = false;
+        }
+
+        static void release() {
+            released.countDown();
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (recovered) {
+                return new org.h2.Driver().connect("jdbc:h2:mem:recovered", info);
+            }
+            connecting.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new SQLException("connection refused: " + url);
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:blocking:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.iflow.api.core.service;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.repository.ApiGenerationStatusRepository;
+import com.iflow.api.core.repository.TableSelectionRepository;
+import com.iflow.api.core.sql.StatementTemplateCache;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * 路由匹配与注册基准
+ *
+ * 对比 ApiRouteIndex 哈希查找与逐条模式匹配（每表一条映射时的匹配方式）
+ * 在 10 ~ 10000 张表下的单次匹配耗时，以及逐表 register 与批量 registerAll
+ * 注册全部表的总耗时。手动运行 main 方法，不参与单元测试。
+ */
+public class ApiRouteIndexBenchmark {
+
+    private static final int[] TABLE_COUNTS = {10, 100, 1000, 10000};
+    private static final int LOOKUPS = 200_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %16s %16s %16s %16s%n", "tables", "index ns/op", "linear ns/op",
+            "register ms", "registerAll ms");
+        for (int tables : TABLE_COUNTS) {
+            List<TableMeta> metas = tables(tables);
+            // 预热
+            registerOneByOne(newIndex(), tables(tables));
+            newIndex().registerAll(1L, tables(tables), null);
+
+            ApiRouteIndex index = newIndex();
+            long start = System.nanoTime();
+            registerOneByOne(index, metas);
+            double registerMs = (System.nanoTime() - start) / 1e6;
+
+            List<TableMeta> batch = tables(tables);
+            start = System.nanoTime();
+            newIndex().registerAll(1L, batch, null);
+            double registerAllMs = (System.nanoTime() - start) / 1e6;
+
+            List<String> patterns = new ArrayList<>(tables);
+            String[] paths = new String[tables];
+            for (int i = 0; i < tables; i++) {
+                paths[i] = "bench-table" + i;
+                patterns.add("/api/" + paths[i]);
+            }
+
+            // 预热
+            measureIndex(index, paths);
+            measureLinear(patterns, paths, Math.max(100, LOOKUPS / tables));
+
+            double indexNs = measureIndex(index, paths);
+            double linearNs = measureLinear(patterns, paths, Math.max(100, LOOKUPS / tables));
+            System.out.printf("%8d %16.1f %16.1f %16.1f %16.1f%n", tables, indexNs, linearNs,
+                registerMs, registerAllMs);
+        }
+    }
+
+    private static ApiRouteIndex newIndex() {
+        TableSelectionRepository selections = mock(TableSelectionRepository.class);
+        ApiGenerationStatusRepository statuses = mock(ApiGenerationStatusRepository.class);
+        when(selections.findAllSelected()).thenReturn(Collections.emptyList());
+        when(statuses.selectList(null)).thenReturn(Collections.emptyList());
+
+        ApiRouteIndex index = new ApiRouteIndex();
+        ReflectionTestUtils.setField(index, "tableSelectionRepository", selections);
+        ReflectionTestUtils.setField(index, "apiGenerationStatusRepository", statuses);
+        ReflectionTestUtils.setField(index, "statementTemplateCache", new StatementTemplateCache());
+        return index;
+    }
+
+    private static List<TableMeta> tables(int tables) {
+        List<TableMeta> metas = new ArrayList<>(tables);
+        for (int i = 0; i < tables; i++) {
+            TableMeta table = new TableMeta();
+            table.setTableName("bench_table" + i);
+            table.setColumns(Collections.singletonList(new ColumnMeta().setName("id")));
+            table.setPrimaryKeys(Collections.singletonList("id"));
+            metas.add(table);
+        }
+        return metas;
+    }
+
+    private static void registerOneByOne(ApiRouteIndex index, List<TableMeta> metas) {
+        for (int i = 0; i < metas.size(); i++) {
+            index.register((long) i, 1L, metas.get(i));
+        }
+    }
+
+    private static double measureIndex(ApiRouteIndex index, String[] paths) {
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (index.lookup(paths[i % paths.length]) != null) {
+                hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (hits != LOOKUPS) {
+            throw new IllegalStateException("路由缺失");
+        }
+        return (double) elapsed / LOOKUPS;
+    }
+
+    private static double measureLinear(List<String> patterns, String[] paths, int lookups) {
+        AntPathMatcher matcher = new AntPathMatcher();
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            // 均匀取样，避免只命中列表前部
+            String path = "/api/" + paths[(int) ((i * 7919L) % paths.length)];
+            for (String pattern : patterns) {
+                if (matcher.match(pattern, path)) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (hits != lookups) {
+            throw new IllegalStateException("路由缺失");
+        }
+        return (double) elapsed / lookups;
+    }
+}
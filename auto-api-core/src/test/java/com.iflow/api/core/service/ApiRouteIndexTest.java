@@ -0,0 +1,158 @@
+package com.iflow.api.core.service;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.ApiGenerationStatus;
+import com.iflow.api.core.entity.TableSelection;
+import com.iflow.api.core.repository.ApiGenerationStatusRepository;
+import com.iflow.api.core.repository.TableSelectionRepository;
+import com.iflow.api.core.sql.StatementTemplateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * API 路由索引测试
+ */
+class ApiRouteIndexTest {
+
+    private TableSelectionRepository tableSelectionRepository;
+    private ApiGenerationStatusRepository apiGenerationStatusRepository;
+    private ApiRouteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        tableSelectionRepository = mock(TableSelectionRepository.class);
+        apiGenerationStatusRepository = mock(ApiGenerationStatusRepository.class);
+        index = new ApiRouteIndex();
+        ReflectionTestUtils.setField(index, "tableSelectionRepository", tableSelectionRepository);
+        ReflectionTestUtils.setField(index, "apiGenerationStatusRepository", apiGenerationStatusRepository);
+        ReflectionTestUtils.setField(index, "statementTemplateCache", new StatementTemplateCache());
+    }
+
+    private TableSelection selection(Long id, Long datasourceId, String tableName) {
+        TableSelection selection = new TableSelection();
+        selection.setId(id);
+        selection.setDatasourceId(datasourceId);
+        selection.setTableName(tableName);
+        selection.setSelected(true);
+        return selection;
+    }
+
+    @Test
+    void testBuildsOnceAndRoutesByTable() {
+        ApiGenerationStatus removed = new ApiGenerationStatus();
+        removed.setDatasourceId(2L);
+        removed.setTableName("sys_log");
+        removed.setStatus(ApiGenerationStatus.Status.REMOVED);
+        when(tableSelectionRepository.findAllSelected()).thenReturn(Arrays.asList(
+            selection(10L, 2L, "sys_user"), selection(11L, 2L, "sys_log")));
+        when(apiGenerationStatusRepository.selectList(null)).thenReturn(Collections.singletonList(removed));
+
+        assertEquals(2L, index.lookupTable("sys_user").getDatasourceId());
+        assertNull(index.lookupTable("sys_log"));
+        assertNull(index.lookup("unknown"));
+
+        verify(tableSelectionRepository, times(1)).findAllSelected();
+    }
+
+    @Test
+    void testIncrementalRegisterAndUnregister() {
+        when(tableSelectionRepository.findAllSelected()).thenReturn(Collections.emptyList());
+        when(apiGenerationStatusRepository.selectList(null)).thenReturn(Collections.emptyList());
+
+        TableMeta table = new TableMeta();
+        table.setTableName("sys_order");
+        table.setColumns(Collections.singletonList(new ColumnMeta().setName("id")));
+        table.setPrimaryKeys(Collections.singletonList("id"));
+
+        index.register(20L, 3L, table);
+        ApiRouteIndex.Route route = index.lookup("sys-order");
+        assertNotNull(route);
+        assertEquals(3L, route.getDatasourceId());
+        assertNotNull(route.getStatements());
+
+        assertTrue(index.unregister(20L));
+        assertNull(index.lookupTable("sys_order"));
+        assertFalse(index.unregister(20L));
+    }
+
+    @Test
+    void testRegisterAllPublishesBatch() {
+        when(tableSelectionRepository.findAllSelected()).thenReturn(Collections.emptyList());
+        when(apiGenerationStatusRepository.selectList(null)).thenReturn(Collections.emptyList());
+
+        TableSelection orderSelection = selection(30L, 4L, "sys_order");
+        orderSelection.setExcludeColumns("[\"secret\"]");
+        index.registerAll(4L, Arrays.asList(table("sys_order"), table("sys_item")),
+            Collections.singletonMap("sys_order", orderSelection));
+
+        assertEquals(2, index.size());
+        ApiRouteIndex.Route order = index.lookupSelection(30L);
+        assertEquals("sys-order", order.getApiPath());
+        assertEquals(Collections.singletonList("secret"), order.getExcludeColumns());
+        ApiRouteIndex.Route item = index.lookup("sys-item");
+        assertEquals(4L, item.getDatasourceId());
+        assertNull(item.getTableSelectionId());
+        assertTrue(item.getTableMeta().frozen());
+    }
+
+    @Test
+    void testReplaceSwapsRouteWithoutGap() throws Exception {
+        when(tableSelectionRepository.findAllSelected()).thenReturn(Collections.emptyList());
+        when(apiGenerationStatusRepository.selectList(null)).thenReturn(Collections.emptyList());
+
+        TableSelection orderSelection = selection(40L, 5L, "sys_order");
+        orderSelection.setIncludeColumns("id");
+        index.register(orderSelection, 5L, table("sys_order"));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                if (index.lookup("sys-order") == null) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        TableMeta latest = null;
+        for (int i = 0; i < 200; i++) {
+            latest = table("sys_order");
+            index.replace(40L, 5L, latest);
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, misses.get());
+        ApiRouteIndex.Route route = index.lookupSelection(40L);
+        assertSame(latest, route.getTableMeta());
+        // 未传入表选择记录时沿用旧路由的字段配置
+        assertEquals(Collections.singletonList("id"), route.getIncludeColumns());
+        assertEquals(1, index.size());
+    }
+
+    private TableMeta table(String tableName) {
+        TableMeta table = new TableMeta();
+        table.setTableName(tableName);
+        table.setColumns(Collections.singletonList(new ColumnMeta().setName("id")));
+        table.setPrimaryKeys(Collections.singletonList("id"));
+        return table;
+    }
+
+    @Test
+    void testParsesColumnConfiguration() {
+        assertEquals(Arrays.asList("id", "name"), ApiRouteIndex.parseColumns("[\"id\",\"name\"]"));
+        assertEquals(Arrays.asList("id", "name"), ApiRouteIndex.parseColumns(" id, name ,"));
+        assertTrue(ApiRouteIndex.parseColumns(null).isEmpty());
+        assertTrue(ApiRouteIndex.parseColumns("[broken").isEmpty());
+    }
+}
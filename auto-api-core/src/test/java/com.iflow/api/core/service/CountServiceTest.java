@@ -0,0 +1,84 @@
+package com.iflow.api.core.service;
+
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.sql.SysUserFixture;
+import com.iflow.api.core.sql.TableStatements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 行数统计服务测试
+ */
+class CountServiceTest {
+
+    private SysUserFixture fixture;
+    private JdbcTemplate jdbcTemplate;
+    private TableMeta table;
+    private TableStatements statements;
+    private CountService countService;
+
+    @BeforeEach
+    void setUp() {
+        fixture = SysUserFixture.create("count", "status INT");
+        fixture.insert(1L, 1).insert(2L, 1).insert(3L, 2);
+        jdbcTemplate = fixture.getJdbcTemplate();
+
+        table = fixture.getTable().setDatasourceId(1L);
+        statements = new TableStatements(table);
+        countService = new CountService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.drop();
+    }
+
+    @Test
+    void testExactCountWithConditions() {
+        CountService.Total total = countService.count(jdbcTemplate, statements,
+            Collections.singletonMap("status", 1), CountService.Mode.EXACT);
+
+        assertEquals(2, total.getValue());
+        assertTrue(total.isExact());
+    }
+
+    @Test
+    void testCachedCountInvalidatedByWrite() {
+        CountService.Total total = countService.count(jdbcTemplate, statements, null, CountService.Mode.CACHED);
+        assertEquals(3, total.getValue());
+        assertTrue(total.isExact());
+
+        jdbcTemplate.update("INSERT INTO sys_user VALUES (4, 2)");
+        total = countService.count(jdbcTemplate, statements, null, CountService.Mode.CACHED);
+        assertEquals(3, total.getValue());
+        assertFalse(total.isExact());
+
+        countService.invalidate(1L, "sys_user");
+        assertEquals(4, countService.count(jdbcTemplate, statements, null, CountService.Mode.CACHED).getValue());
+        assertEquals(2L, countService.getStats().get("queryCount"));
+    }
+
+    @Test
+    void testEstimatedFallsBackToExact() {
+        CountService.Total total = countService.count(jdbcTemplate, statements, null, CountService.Mode.ESTIMATED);
+        assertEquals(3, total.getValue());
+        assertTrue(total.isExact());
+
+        table.setEstimatedRows(1000L);
+        total = countService.count(jdbcTemplate, statements, null, CountService.Mode.ESTIMATED);
+        assertEquals(1000, total.getValue());
+        assertFalse(total.isExact());
+    }
+
+    @Test
+    void testNoneSkipsCount() {
+        assertNull(countService.count(jdbcTemplate, statements, null, CountService.Mode.NONE));
+        assertThrows(IllegalArgumentException.class, () -> CountService.Mode.of("fast"));
+    }
+}
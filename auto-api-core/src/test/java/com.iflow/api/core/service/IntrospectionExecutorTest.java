@@ -0,0 +1,63 @@
+package com.iflow.api.core.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 元数据读取线程池测试
+ */
+class IntrospectionExecutorTest {
+
+    private final IntrospectionExecutor executor = new IntrospectionExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testResultsKeepTaskOrderAndRunConcurrently() {
+        ReflectionTestUtils.setField(executor, "threads", 3);
+        CountDownLatch started = new CountDownLatch(3);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            tasks.add(() -> {
+                started.countDown();
+                // 三个任务须同时在运行才能全部通过
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                return value;
+            });
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2), executor.invokeAll(tasks));
+    }
+
+    @Test
+    void testFailurePropagates() {
+        List<Callable<Integer>> tasks = Arrays.asList(
+            () -> 1,
+            () -> {
+                throw new IllegalArgumentException("表不存在: T");
+            });
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> executor.invokeAll(tasks));
+        assertEquals("表不存在: T", e.getMessage());
+
+        List<Callable<Integer>> checked = Arrays.asList(() -> {
+            throw new SQLException("boom");
+        }, () -> 2);
+        RuntimeException wrapped = assertThrows(RuntimeException.class, () -> executor.invokeAll(checked));
+        assertTrue(wrapped.getCause() instanceof SQLException);
+    }
+}
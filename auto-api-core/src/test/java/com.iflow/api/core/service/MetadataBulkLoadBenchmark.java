@@ -0,0 +1,114 @@
+package com.iflow.api.core.service;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.entity.DatasourceConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * 元数据批量读取基准
+ *
+ * 在 H2 内存库中生成 100 ~ 2000 张表（每表 8 个字段、主键、二级索引与指向上一张表的外键），
+ * 对比按 schema 批量读取、单连接逐表读取与多连接并发逐表读取（getTableDetails）全部表详情的耗时。
+ * 手动运行 main 方法，不参与单元测试。
+ */
+public class MetadataBulkLoadBenchmark {
+
+    private static final int[] TABLE_COUNTS = {100, 500, 2000};
+    private static final int CONNECTIONS = 4;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%8s %12s %16s %16s%n", "tables", "bulk ms", "per-table ms",
+            "parallel(" + CONNECTIONS + ") ms");
+        for (int tables : TABLE_COUNTS) {
+            DruidDataSource dataSource = new DruidDataSource();
+            dataSource.setUrl("jdbc:h2:mem:bench" + tables + ";DB_CLOSE_DELAY=-1");
+            dataSource.setMaxActive(CONNECTIONS);
+            IntrospectionExecutor executor = new IntrospectionExecutor();
+            ReflectionTestUtils.setField(executor, "threads", CONNECTIONS);
+            try {
+                createSchema(dataSource, tables);
+                List<String> names = new ArrayList<>(tables);
+                for (int i = 0; i < tables; i++) {
+                    names.add("BENCH_TABLE" + i);
+                }
+
+                // 预热
+                buildService(dataSource, executor).loadAllTableDetails(1L);
+                loadPerTable(buildService(dataSource, executor), names);
+                buildService(dataSource, executor).getTableDetails(1L, names);
+
+                long start = System.nanoTime();
+                int bulkCount = buildService(dataSource, executor).loadAllTableDetails(1L).size();
+                long bulkNs = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                loadPerTable(buildService(dataSource, executor), names);
+                long perTableNs = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                buildService(dataSource, executor).getTableDetails(1L, names);
+                long parallelNs = System.nanoTime() - start;
+
+                if (bulkCount != tables) {
+                    throw new IllegalStateException("表数量不一致: " + bulkCount);
+                }
+                System.out.printf("%8d %12.1f %16.1f %16.1f%n", tables, bulkNs / 1e6, perTableNs / 1e6,
+                    parallelNs / 1e6);
+            } finally {
+                executor.shutdown();
+                dataSource.close();
+            }
+        }
+    }
+
+    private static void createSchema(DruidDataSource dataSource, int tables) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            for (int i = 0; i < tables; i++) {
+                st.execute("CREATE TABLE bench_table" + i + " (id BIGINT PRIMARY KEY, parent_id BIGINT,"
+                    + " code VARCHAR(32) NOT NULL, name VARCHAR(100), amount DECIMAL(12, 2), status INT,"
+                    + " created_at TIMESTAMP, remark VARCHAR(500))");
+                st.execute("CREATE INDEX idx_bench_code" + i + " ON bench_table" + i + " (code, status)");
+                if (i > 0) {
+                    st.execute("ALTER TABLE bench_table" + i + " ADD CONSTRAINT fk_bench" + i
+                        + " FOREIGN KEY (parent_id) REFERENCES bench_table" + (i - 1) + " (id)");
+                }
+            }
+        }
+    }
+
+    /**
+     * 每次使用空缓存，避免后一轮命中前一轮的结果
+     */
+    private static MetadataService buildService(DruidDataSource dataSource, IntrospectionExecutor executor) {
+        DatasourceConfig config = new DatasourceConfig();
+        config.setType(DatasourceConfig.DataSourceType.H2);
+        DynamicDataSourceService dataSources = mock(DynamicDataSourceService.class);
+        when(dataSources.getById(1L)).thenReturn(Optional.of(config));
+        when(dataSources.getIntrospectionDataSource(1L)).thenReturn(dataSource);
+
+        MetadataService service = new MetadataService();
+        ReflectionTestUtils.setField(service, "dynamicDataSourceService", dataSources);
+        ReflectionTestUtils.setField(service, "tableMetaCache", new TableMetaCache());
+        ReflectionTestUtils.setField(service, "introspectionExecutor", executor);
+        // 强制逐表读取
+        ReflectionTestUtils.setField(service, "bulkThreshold", Integer.MAX_VALUE);
+        return service;
+    }
+
+    private static void loadPerTable(MetadataService service, List<String> names) {
+        for (String name : names) {
+            service.loadTableDetail(1L, name);
+        }
+    }
+}
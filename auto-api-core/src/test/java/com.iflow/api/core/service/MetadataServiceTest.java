@@ -0,0 +1,222 @@
+package com.iflow.api.core.service;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SqlStatement;
+import com.iflow.api.core.sql.SysUserFixture;
+import com.iflow.api.core.sql.dialect.AbstractSqlDialect;
+import com.iflow.api.core.sql.dialect.SqlDialects;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 元数据批量读取测试
+ */
+class MetadataServiceTest {
+
+    private DruidDataSource dataSource;
+    private DynamicDataSourceService dataSources;
+    private TableMetaCache cache;
+    private IntrospectionExecutor executor;
+    private MetadataService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:h2:mem:metadata;DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(4);
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE sys_dept (id BIGINT AUTO_INCREMENT PRIMARY KEY, dept_name VARCHAR(50) NOT NULL,"
+                + " code VARCHAR(20) UNIQUE)");
+            SysUserFixture.create(dataSource, "dept_id BIGINT", "user_name VARCHAR(50)");
+            st.execute("ALTER TABLE sys_user ADD CONSTRAINT fk_user_dept FOREIGN KEY (dept_id) REFERENCES sys_dept(id) ON DELETE CASCADE");
+            st.execute("CREATE INDEX idx_user_name ON sys_user(user_name, dept_id)");
+            st.execute("CREATE TABLE sys_user_role (user_id BIGINT, role_id BIGINT, PRIMARY KEY (user_id, role_id),"
+                + " CONSTRAINT fk_role_user FOREIGN KEY (user_id) REFERENCES sys_user(id) ON DELETE SET NULL)");
+            st.execute("CREATE TABLE sys_log (message VARCHAR(200))");
+            st.execute("CREATE VIEW v_user AS SELECT id, user_name FROM sys_user");
+            st.execute("INSERT INTO sys_dept (dept_name, code) VALUES ('a', 'A'), ('b', 'B')");
+        }
+
+        DatasourceConfig config = new DatasourceConfig();
+        config.setType(DatasourceConfig.DataSourceType.H2);
+        dataSources = mock(DynamicDataSourceService.class);
+        when(dataSources.getById(1L)).thenReturn(Optional.of(config));
+        when(dataSources.getIntrospectionDataSource(1L)).thenReturn(dataSource);
+
+        cache = new TableMetaCache();
+        executor = new IntrospectionExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 4);
+        service = new MetadataService();
+        ReflectionTestUtils.setField(service, "dynamicDataSourceService", dataSources);
+        ReflectionTestUtils.setField(service, "tableMetaCache", cache);
+        ReflectionTestUtils.setField(service, "introspectionExecutor", executor);
+        ReflectionTestUtils.setField(service, "bulkThreshold", 3);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdown();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        dataSource.close();
+    }
+
+    @Test
+    void testBulkLoadMatchesPerTableLoad() {
+        List<TableMeta> tables = service.loadAllTableDetails(1L);
+
+        assertEquals(4, tables.size());
+        for (TableMeta bulk : tables) {
+            assertEquals(service.loadTableDetail(1L, bulk.getName()), bulk, bulk.getName());
+        }
+
+        TableMeta user = tables.stream().filter(t -> "SYS_USER".equals(t.getName())).findFirst().get();
+        assertEquals(3, user.getColumns().size());
+        assertEquals(Arrays.asList("ID"), user.getPrimaryKeys());
+        assertEquals(1, user.getForeignKeys().size());
+        assertEquals("SYS_DEPT", user.getForeignKeys().get(0).getPkTableName());
+        assertEquals("CASCADE", user.getForeignKeys().get(0).getOnDeleteRule());
+        assertTrue(user.getIndexes().stream().anyMatch(i -> "IDX_USER_NAME".equals(i.getIndexName())
+            && i.getColumns().size() == 2));
+    }
+
+    @Test
+    void testCatalogQueriesMatchPerTableLoad() {
+        SqlDialects.register(new InformationSchemaDialect());
+        DatasourceConfig config = new DatasourceConfig();
+        config.setType(InformationSchemaDialect.TYPE);
+        when(dataSources.getById(1L)).thenReturn(Optional.of(config));
+
+        List<TableMeta> tables = service.loadAllTableDetails(1L);
+
+        assertEquals(4, tables.size());
+        for (TableMeta bulk : tables) {
+            assertEquals(service.loadTableDetail(1L, bulk.getName()), bulk, bulk.getName());
+        }
+    }
+
+    @Test
+    void testBulkLoadPopulatesCache() {
+        service.loadAllTableDetails(1L);
+
+        assertNotNull(cache.getIfPresent(1L, "SYS_USER_ROLE"));
+        assertEquals(Arrays.asList("ROLE_ID", "USER_ID"), cache.getIfPresent(1L, "SYS_USER_ROLE").getPrimaryKeys());
+    }
+
+    @Test
+    void testInvalidationDuringBulkLoadIsNotCached() {
+        long startVersion = cache.currentVersion();
+        cache.invalidateDatasource(1L);
+
+        cache.put(1L, "SYS_LOG", new TableMeta(), startVersion);
+        assertNull(cache.getIfPresent(1L, "SYS_LOG"));
+    }
+
+    @Test
+    void testTableDetailsBelowThresholdLoadPerTable() {
+        List<TableMeta> tables = service.getTableDetails(1L, Arrays.asList("SYS_USER", "SYS_DEPT"));
+
+        assertEquals("SYS_USER", tables.get(0).getName());
+        assertEquals("SYS_DEPT", tables.get(1).getName());
+        assertNull(cache.getIfPresent(1L, "SYS_LOG"));
+    }
+
+    @Test
+    void testTableDetailsBelowSchemaRatioLoadPerTable() {
+        ReflectionTestUtils.setField(service, "bulkThreshold", 2);
+        ReflectionTestUtils.setField(service, "bulkRatio", 0.75);
+
+        // 4 张表中只取 2 张，未达到比例，不读取其余表
+        List<TableMeta> tables = service.getTableDetails(1L, Arrays.asList("SYS_USER", "SYS_DEPT"));
+
+        assertEquals(2, tables.size());
+        assertNotNull(cache.getIfPresent(1L, "SYS_USER"));
+        assertNull(cache.getIfPresent(1L, "SYS_LOG"));
+        assertNull(cache.getIfPresent(1L, "SYS_USER_ROLE"));
+    }
+
+    @Test
+    void testTableDetailsMissingTableFails() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getTableDetails(1L, Arrays.asList("SYS_USER", "NOT_EXISTS")));
+    }
+
+    @Test
+    void testTableDetailsAboveThresholdLoadInBulk() {
+        service.getTableDetail(1L, "SYS_LOG");
+
+        List<TableMeta> tables = service.getTableDetails(1L,
+            Arrays.asList("SYS_USER_ROLE", "SYS_LOG", "SYS_USER", "SYS_DEPT"));
+
+        assertEquals(4, tables.size());
+        assertEquals("SYS_USER_ROLE", tables.get(0).getName());
+        assertEquals("SYS_DEPT", tables.get(3).getName());
+        assertSame(tables.get(2), cache.getIfPresent(1L, "SYS_USER"));
+    }
+
+    /**
+     * 以标准 INFORMATION_SCHEMA 连接查询提供主键、索引与外键的方言，覆盖批量查询结果的组装
+     */
+    static class InformationSchemaDialect extends AbstractSqlDialect {
+
+        static final String TYPE = "h2-information-schema";
+
+        InformationSchemaDialect() {
+            super(TYPE, '"', '"');
+        }
+
+        @Override
+        public String metadataSchema(DatasourceConfig config) {
+            return "PUBLIC";
+        }
+
+        @Override
+        public SqlStatement catalogPrimaryKeys(String catalog, String schema) {
+            return catalogQuery("SELECT k.TABLE_NAME, k.COLUMN_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS t"
+                + " JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = t.CONSTRAINT_SCHEMA"
+                + " AND k.CONSTRAINT_NAME = t.CONSTRAINT_NAME"
+                + " WHERE t.CONSTRAINT_TYPE = 'PRIMARY KEY' AND t.TABLE_SCHEMA = {schema}"
+                + " ORDER BY k.TABLE_NAME, k.COLUMN_NAME", schema, "CURRENT_SCHEMA");
+        }
+
+        @Override
+        public SqlStatement catalogIndexes(String catalog, String schema) {
+            return catalogQuery("SELECT c.TABLE_NAME, c.INDEX_NAME, NOT c.IS_UNIQUE AS NON_UNIQUE, c.COLUMN_NAME,"
+                + " t.ROW_COUNT_ESTIMATE AS CARDINALITY FROM INFORMATION_SCHEMA.INDEX_COLUMNS c"
+                + " JOIN INFORMATION_SCHEMA.TABLES t ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME"
+                + " WHERE c.TABLE_SCHEMA = {schema}"
+                + " ORDER BY c.TABLE_NAME, NON_UNIQUE, c.INDEX_NAME, c.ORDINAL_POSITION", schema, "CURRENT_SCHEMA");
+        }
+
+        @Override
+        public SqlStatement catalogForeignKeys(String catalog, String schema) {
+            return catalogQuery("SELECT k.TABLE_NAME, k.CONSTRAINT_NAME AS FK_NAME, k.COLUMN_NAME AS FKCOLUMN_NAME,"
+                + " p.TABLE_NAME AS PKTABLE_NAME, p.COLUMN_NAME AS PKCOLUMN_NAME, r.UPDATE_RULE, r.DELETE_RULE"
+                + " FROM INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS r"
+                + " JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = r.CONSTRAINT_SCHEMA"
+                + " AND k.CONSTRAINT_NAME = r.CONSTRAINT_NAME"
+                + " JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE p ON p.CONSTRAINT_SCHEMA = r.UNIQUE_CONSTRAINT_SCHEMA"
+                + " AND p.CONSTRAINT_NAME = r.UNIQUE_CONSTRAINT_NAME"
+                + " AND p.ORDINAL_POSITION = k.POSITION_IN_UNIQUE_CONSTRAINT"
+                + " WHERE k.TABLE_SCHEMA = {schema}"
+                + " ORDER BY k.TABLE_NAME, p.TABLE_NAME, k.CONSTRAINT_NAME, k.ORDINAL_POSITION",
+                schema, "CURRENT_SCHEMA");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.iflow.api.core.service;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.entity.MetadataSnapshot;
+import com.iflow.api.core.repository.MetadataSnapshotRepository;
+import com.iflow.api.core.sql.SysUserFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 表元数据快照与增量扫描测试
+ */
+class MetadataSnapshotServiceTest {
+
+    private DruidDataSource dataSource;
+    private DynamicDataSourceService dataSources;
+    private IntrospectionExecutor executor;
+
+    /**
+     * 内存中的快照表 (id -> 快照)，跨“重启”共享
+     */
+    private final Map<Long, MetadataSnapshot> store = new LinkedHashMap<>();
+    private MetadataSnapshotRepository repository;
+
+    private MetadataService metadataService;
+    private MetadataSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:h2:mem:snapshot;DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(4);
+        execute("CREATE TABLE sys_dept (id BIGINT AUTO_INCREMENT PRIMARY KEY, dept_name VARCHAR(50) NOT NULL,"
+                + " code VARCHAR(20) UNIQUE)");
+        SysUserFixture.create(dataSource, "dept_id BIGINT", "user_name VARCHAR(50)");
+        execute("ALTER TABLE sys_user ADD CONSTRAINT fk_user_dept FOREIGN KEY (dept_id) REFERENCES sys_dept(id) ON DELETE CASCADE",
+            "CREATE INDEX idx_user_name ON sys_user(user_name, dept_id)",
+            "CREATE TABLE sys_user_role (user_id BIGINT, role_id BIGINT, PRIMARY KEY (user_id, role_id))",
+            "CREATE TABLE sys_log (message VARCHAR(200))");
+
+        DatasourceConfig config = new DatasourceConfig();
+        config.setType(DatasourceConfig.DataSourceType.H2);
+        dataSources = mock(DynamicDataSourceService.class);
+        when(dataSources.getById(1L)).thenReturn(Optional.of(config));
+        when(dataSources.getIntrospectionDataSource(1L)).thenReturn(dataSource);
+
+        executor = new IntrospectionExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 4);
+        repository = inMemoryRepository();
+        restart();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdown();
+        execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void testFirstRescanPersistsSnapshots() {
+        List<TableMeta> tables = snapshotService.rescan(1L);
+
+        assertEquals(Arrays.asList("SYS_DEPT", "SYS_LOG", "SYS_USER", "SYS_USER_ROLE"), names(tables));
+        assertEquals(4, store.size());
+        Map<String, String> fingerprints = metadataService.loadTableFingerprints(1L);
+        for (MetadataSnapshot snapshot : store.values()) {
+            assertEquals(fingerprints.get(snapshot.getTableName()), snapshot.getFingerprint());
+        }
+    }
+
+    @Test
+    void testRescanAfterRestartUsesSnapshots() {
+        List<TableMeta> first = snapshotService.rescan(1L);
+
+        restart();
+        List<TableMeta> second = snapshotService.rescan(1L);
+
+        // 快照还原的结构与数据库读取的一致，且不再逐表或批量读取详情
+        assertEquals(first, second);
+        verify(metadataService, never()).loadTableDetail(anyLong(), anyString());
+        verify(metadataService, never()).loadAllTableDetails(anyLong());
+        verify(repository, never()).insert(any(MetadataSnapshot.class));
+        verify(repository, never()).updateById(any(MetadataSnapshot.class));
+    }
+
+    @Test
+    void testRescanReloadsOnlyChangedTables() throws Exception {
+        snapshotService.rescan(1L);
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT",
+            "CREATE INDEX idx_dept_name ON sys_dept(dept_name)",
+            "DROP TABLE sys_user_role",
+            "CREATE TABLE sys_config (config_key VARCHAR(50) PRIMARY KEY, config_value VARCHAR(500))");
+
+        restart();
+        List<TableMeta> tables = snapshotService.rescan(1L);
+
+        assertEquals(Arrays.asList("SYS_CONFIG", "SYS_DEPT", "SYS_LOG", "SYS_USER"), names(tables));
+        verify(metadataService).loadTableDetail(1L, "SYS_LOG");
+        verify(metadataService).loadTableDetail(1L, "SYS_DEPT");
+        verify(metadataService).loadTableDetail(1L, "SYS_CONFIG");
+        verify(metadataService, never()).loadTableDetail(1L, "SYS_USER");
+
+        assertEquals(2, tables.get(2).getColumns().size());
+        assertTrue(tables.get(1).getIndexes().stream().anyMatch(i -> "IDX_DEPT_NAME".equals(i.getIndexName())));
+        assertEquals(new HashSet<>(Arrays.asList("SYS_CONFIG", "SYS_DEPT", "SYS_LOG", "SYS_USER")),
+            store.values().stream().map(MetadataSnapshot::getTableName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testRescanReplacesStaleCachedTable() throws Exception {
+        snapshotService.rescan(1L);
+        TableMeta cached = metadataService.getTableDetail(1L, "SYS_LOG");
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT");
+
+        snapshotService.rescan(1L);
+
+        assertEquals(1, cached.getColumns().size());
+        assertEquals(2, metadataService.getTableDetail(1L, "SYS_LOG").getColumns().size());
+    }
+
+    @Test
+    void testBulkReloadWhenManyTablesChanged() {
+        ReflectionTestUtils.setField(metadataService, "bulkThreshold", 2);
+
+        List<TableMeta> tables = snapshotService.rescan(1L);
+
+        assertEquals(4, tables.size());
+        verify(metadataService).loadAllTableDetails(1L);
+        verify(metadataService, never()).loadTableDetail(anyLong(), anyString());
+    }
+
+    @Test
+    void testDisabledSnapshotLoadsAllTables() {
+        ReflectionTestUtils.setField(snapshotService, "enabled", false);
+
+        assertEquals(4, snapshotService.rescan(1L).size());
+        verify(metadataService).loadAllTableDetails(1L);
+        assertTrue(store.isEmpty());
+    }
+
+    /**
+     * 模拟进程重启：新的缓存与服务实例，快照表保留
+     */
+    private void restart() {
+        TableMetaCache cache = new TableMetaCache();
+        MetadataService service = new MetadataService();
+        ReflectionTestUtils.setField(service, "dynamicDataSourceService", dataSources);
+        ReflectionTestUtils.setField(service, "tableMetaCache", cache);
+        ReflectionTestUtils.setField(service, "introspectionExecutor", executor);
+        ReflectionTestUtils.setField(service, "bulkThreshold", 20);
+        metadataService = spy(service);
+
+        clearInvocations(repository);
+        snapshotService = new MetadataSnapshotService();
+        ReflectionTestUtils.setField(snapshotService, "metadataService", metadataService);
+        ReflectionTestUtils.setField(snapshotService, "tableMetaCache", cache);
+        ReflectionTestUtils.setField(snapshotService, "metadataSnapshotRepository", repository);
+    }
+
+    private MetadataSnapshotRepository inMemoryRepository() {
+        AtomicLong ids = new AtomicLong();
+        MetadataSnapshotRepository mock = mock(MetadataSnapshotRepository.class);
+        when(mock.findByDatasourceId(anyLong())).thenAnswer(inv -> store.values().stream()
+            .filter(s -> s.getDatasourceId().equals(inv.getArgument(0)))
+            .map(s -> new MetadataSnapshot().setId(s.getId()).setDatasourceId(s.getDatasourceId())
+                .setTableName(s.getTableName()).setFingerprint(s.getFingerprint()).setSnapshot(s.getSnapshot()))
+            .collect(Collectors.toList()));
+        when(mock.insert(any(MetadataSnapshot.class))).thenAnswer(inv -> {
+            MetadataSnapshot snapshot = inv.getArgument(0);
+            snapshot.setId(ids.incrementAndGet());
+            store.put(snapshot.getId(), snapshot);
+            return 1;
+        });
+        when(mock.updateById(any(MetadataSnapshot.class))).thenAnswer(inv -> {
+            MetadataSnapshot snapshot = inv.getArgument(0);
+            store.put(snapshot.getId(), snapshot);
+            return 1;
+        });
+        when(mock.deleteBatchIds(anyCollection())).thenAnswer(inv -> {
+            Collection<?> removed = inv.getArgument(0);
+            store.keySet().removeAll(removed);
+            return removed.size();
+        });
+        return mock;
+    }
+
+    private void execute(String... sqls) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            for (String sql : sqls) {
+                st.execute(sql);
+            }
+        }
+    }
+
+    private static List<String> names(List<TableMeta> tables) {
+        return tables.stream().map(TableMeta::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,210 @@
+package com.iflow.api.core.service;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.iflow.api.core.cache.TableMetaCache;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.entity.DatasourceConfig;
+import com.iflow.api.core.sql.SysUserFixture;
+import com.iflow.api.core.util.NamingConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 表结构漂移检测测试
+ */
+class SchemaDriftWatcherTest {
+
+    private DruidDataSource dataSource;
+    private IntrospectionExecutor executor;
+    private TableMetaCache cache;
+    private MetadataService metadataService;
+    private ApiRouteIndex routeIndex;
+    private DynamicRouteRegistry registry;
+    private SchemaDriftWatcher watcher;
+    private final List<ApiRouteIndex.Route> routes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:h2:mem:drift;DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(4);
+        SysUserFixture.create(dataSource, "dept_id BIGINT", "user_name VARCHAR(50)");
+        execute("CREATE TABLE sys_dept (id BIGINT AUTO_INCREMENT PRIMARY KEY, dept_name VARCHAR(50) NOT NULL)",
+            "CREATE TABLE sys_log (message VARCHAR(200))",
+            "CREATE TABLE sys_unrouted (id BIGINT PRIMARY KEY)");
+
+        DatasourceConfig config = new DatasourceConfig();
+        config.setType(DatasourceConfig.DataSourceType.H2);
+        DynamicDataSourceService dataSources = mock(DynamicDataSourceService.class);
+        when(dataSources.getById(1L)).thenReturn(Optional.of(config));
+        when(dataSources.getIntrospectionDataSource(1L)).thenReturn(dataSource);
+
+        cache = new TableMetaCache();
+        executor = new IntrospectionExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 4);
+        metadataService = new MetadataService();
+        ReflectionTestUtils.setField(metadataService, "dynamicDataSourceService", dataSources);
+        ReflectionTestUtils.setField(metadataService, "tableMetaCache", cache);
+        ReflectionTestUtils.setField(metadataService, "introspectionExecutor", executor);
+
+        routeIndex = mock(ApiRouteIndex.class);
+        when(routeIndex.getRoutes()).thenReturn(routes);
+        registry = mock(DynamicRouteRegistry.class);
+        addRoute(1L, "SYS_DEPT");
+        addRoute(2L, "SYS_USER");
+        addRoute(3L, "SYS_LOG");
+
+        watcher = new SchemaDriftWatcher();
+        ReflectionTestUtils.setField(watcher, "dynamicDataSourceService", dataSources);
+        ReflectionTestUtils.setField(watcher, "metadataService", metadataService);
+        ReflectionTestUtils.setField(watcher, "tableMetaCache", cache);
+        ReflectionTestUtils.setField(watcher, "apiRouteIndex", routeIndex);
+        ReflectionTestUtils.setField(watcher, "dynamicRouteRegistry", registry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        watcher.stop();
+        executor.shutdown();
+        execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void testFirstCheckComparesRegisteredStructure() throws Exception {
+        // 路由注册后、首次检查前发生的变化
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT",
+            "ALTER TABLE sys_unrouted ADD COLUMN name VARCHAR(20)");
+
+        assertEquals(Collections.singletonList("SYS_LOG"), watcher.check(1L));
+        verify(registry).reregisterApi(eq(3L), any(TableMeta.class), eq(1L));
+        verifyNoMoreInteractions(registry);
+
+        assertTrue(watcher.check(1L).isEmpty());
+    }
+
+    @Test
+    void testFirstCheckWithoutChangesOnlyRecordsFingerprints() {
+        assertTrue(watcher.check(1L).isEmpty());
+        verifyNoInteractions(registry);
+    }
+
+    @Test
+    void testFirstCheckSkipsRoutesWithoutRegisteredMeta() throws Exception {
+        routes.clear();
+        routes.add(new ApiRouteIndex.Route(null, 1L, "SYS_LOG", NamingConverter.toApiPath("SYS_LOG"), null, null));
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT");
+
+        assertTrue(watcher.check(1L).isEmpty());
+        verifyNoInteractions(registry);
+    }
+
+    @Test
+    void testReregistersOnlyChangedTables() throws Exception {
+        watcher.check(1L);
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT",
+            "ALTER TABLE sys_unrouted ADD COLUMN name VARCHAR(20)",
+            "INSERT INTO sys_dept (dept_name) VALUES ('a'), ('b')");
+
+        assertEquals(Collections.singletonList("SYS_LOG"), watcher.check(1L));
+
+        ArgumentCaptor<TableMeta> captor = ArgumentCaptor.forClass(TableMeta.class);
+        verify(registry).reregisterApi(eq(3L), captor.capture(), eq(1L));
+        assertEquals(2, captor.getValue().getColumns().size());
+        verifyNoMoreInteractions(registry);
+
+        // 已处理的变化不会重复注册
+        assertTrue(watcher.check(1L).isEmpty());
+    }
+
+    @Test
+    void testIndexChangeIsDetected() throws Exception {
+        watcher.check(1L);
+        execute("CREATE INDEX idx_user_name ON sys_user(user_name)");
+
+        assertEquals(Collections.singletonList("SYS_USER"), watcher.check(1L));
+        verify(registry).reregisterApi(eq(2L), any(TableMeta.class), eq(1L));
+    }
+
+    @Test
+    void testReregistrationsPerCheckAreLimited() throws Exception {
+        ReflectionTestUtils.setField(watcher, "maxReregistrations", 1);
+        watcher.check(1L);
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT",
+            "ALTER TABLE sys_user ADD COLUMN email VARCHAR(100)");
+
+        List<String> first = watcher.check(1L);
+        List<String> second = watcher.check(1L);
+
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(Arrays.asList("SYS_LOG", "SYS_USER"),
+            Stream.concat(first.stream(), second.stream()).sorted().collect(Collectors.toList()));
+        assertTrue(watcher.check(1L).isEmpty());
+        verify(registry, times(2)).reregisterApi(anyLong(), any(TableMeta.class), eq(1L));
+    }
+
+    @Test
+    void testFingerprintChangeWithoutStructuralChangeIsIgnored() throws Exception {
+        watcher.check(1L);
+        execute("COMMENT ON TABLE sys_dept IS 'departments'");
+
+        assertTrue(watcher.check(1L).isEmpty());
+        verifyNoInteractions(registry);
+    }
+
+    @Test
+    void testRouteWithoutSelectionIsRegisteredAgain() throws Exception {
+        routes.clear();
+        routes.add(new ApiRouteIndex.Route(null, 1L, "SYS_LOG", NamingConverter.toApiPath("SYS_LOG"), null, null));
+        watcher.check(1L);
+        execute("ALTER TABLE sys_log ADD COLUMN log_level INT");
+
+        assertEquals(Collections.singletonList("SYS_LOG"), watcher.check(1L));
+        verify(registry).registerRestApi(any(TableMeta.class), eq(1L));
+        verify(registry, never()).reregisterApi(any(), any(), any());
+    }
+
+    @Test
+    void testStatisticsDoNotCountAsStructure() {
+        TableMeta registered = metadataService.loadTableDetail(1L, "SYS_DEPT");
+        TableMeta fresh = metadataService.loadTableDetail(1L, "SYS_DEPT");
+        fresh.setEstimatedRows(1000L);
+        fresh.getIndexes().get(0).getColumns().get(0).setCardinality(1000L);
+
+        assertTrue(SchemaDriftWatcher.sameStructure(registered, fresh));
+        fresh.getColumns().get(1).setNullable(true);
+        assertFalse(SchemaDriftWatcher.sameStructure(registered, fresh));
+    }
+
+    private void addRoute(Long selectionId, String tableName) {
+        routes.add(new ApiRouteIndex.Route(selectionId, 1L, tableName, NamingConverter.toApiPath(tableName),
+            metadataService.loadTableDetail(1L, tableName), null));
+    }
+
+    private void execute(String... sqls) throws Exception {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            for (String sql : sqls) {
+                st.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.view.BatchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量写入执行器测试
+ */
+class BatchExecutorTest {
+
+    private SysUserFixture fixture;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TableStatements statements;
+    private BatchExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        fixture = SysUserFixture.create("batch", "user_name VARCHAR(50) NOT NULL", "status INT");
+        jdbcTemplate = fixture.getJdbcTemplate();
+        transactionTemplate = fixture.newTransactionTemplate();
+        statements = new TableStatements(fixture.getTable());
+
+        executor = new BatchExecutor();
+        ReflectionTestUtils.setField(executor, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.drop();
+    }
+
+    @Test
+    void testCreateInChunksWithMixedShapes() {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("userName", "u" + i);
+            if (i % 2 == 0) {
+                row.put("status", 1);
+            }
+            data.add(row);
+        }
+
+        BatchResult result = executor.execute(jdbcTemplate, transactionTemplate, statements, BatchExecutor.CREATE, data);
+
+        assertTrue(result.getCommitted());
+        assertEquals(5, result.getSucceeded());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user WHERE status = 1", Integer.class));
+    }
+
+    @Test
+    void testFailureRollsBackWholeBatch() {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i == 3 ? 1L : i);
+            row.put("userName", "u" + i);
+            data.add(row);
+        }
+
+        BatchResult result = executor.execute(jdbcTemplate, transactionTemplate, statements, BatchExecutor.CREATE, data);
+
+        assertFalse(result.getCommitted());
+        assertEquals(0, result.getSucceeded());
+        assertEquals(BatchResult.Status.FAILED, result.getItems().get(2).getStatus());
+        assertEquals(BatchResult.Status.ROLLED_BACK, result.getItems().get(0).getStatus());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user", Integer.class));
+    }
+
+    @Test
+    void testUpdateReportsMissingRows() {
+        jdbcTemplate.update("INSERT INTO sys_user (id, user_name) VALUES (1, 'a')");
+        Map<String, Object> existing = new HashMap<>();
+        existing.put("id", 1L);
+        existing.put("status", 2);
+        Map<String, Object> missing = new HashMap<>();
+        missing.put("id", 9L);
+        missing.put("status", 2);
+
+        BatchResult result = executor.execute(jdbcTemplate, transactionTemplate, statements,
+            BatchExecutor.UPDATE, Arrays.asList(existing, missing));
+
+        assertTrue(result.getCommitted());
+        assertEquals(BatchResult.Status.SUCCESS, result.getItems().get(0).getStatus());
+        assertEquals(BatchResult.Status.NOT_FOUND, result.getItems().get(1).getStatus());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT status FROM sys_user WHERE id = 1", Integer.class));
+    }
+
+    @Test
+    void testInvalidItemPreventsExecution() {
+        Map<String, Object> good = new HashMap<>();
+        good.put("id", 1L);
+        good.put("userName", "a");
+        Map<String, Object> bad = Collections.singletonMap("unknown", "x");
+
+        BatchResult result = executor.execute(jdbcTemplate, transactionTemplate, statements,
+            BatchExecutor.CREATE, Arrays.asList(good, bad));
+
+        assertFalse(result.getCommitted());
+        assertEquals(BatchResult.Status.INVALID, result.getItems().get(1).getStatus());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user", Integer.class));
+    }
+}
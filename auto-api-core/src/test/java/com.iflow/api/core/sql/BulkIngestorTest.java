@@ -0,0 +1,98 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.view.IngestResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量导入执行器测试
+ */
+class BulkIngestorTest {
+
+    private SysUserFixture fixture;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TableStatements statements;
+    private BulkIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        fixture = SysUserFixture.create("ingest", "user_name VARCHAR(50)", "status INT");
+        jdbcTemplate = fixture.getJdbcTemplate();
+        transactionTemplate = fixture.newTransactionTemplate();
+        statements = new TableStatements(fixture.getTable());
+
+        ingestor = new BulkIngestor();
+        ReflectionTestUtils.setField(ingestor, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.drop();
+    }
+
+    private IngestResult ingest(String databaseType, BulkIngestor.Format format, String body) {
+        return ingestor.ingest(jdbcTemplate, transactionTemplate, statements, databaseType, format,
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testCsvWithQuotesAndNulls() {
+        IngestResult result = ingest("h2", BulkIngestor.Format.CSV,
+            "status,userName,id\r\n1,\"tom, \"\"jr\"\"\",1\n,\"multi\nline\",2\n3,,3\n");
+
+        assertTrue(result.getCompleted());
+        assertEquals(3L, result.getRows());
+        assertEquals(2, result.getChunks());
+        assertEquals(BulkIngestor.METHOD_BATCH, result.getMethod());
+
+        Map<String, Object> first = jdbcTemplate.queryForMap("SELECT * FROM sys_user WHERE id = 1");
+        assertEquals("tom, \"jr\"", first.get("USER_NAME"));
+        Map<String, Object> second = jdbcTemplate.queryForMap("SELECT * FROM sys_user WHERE id = 2");
+        assertEquals("multi\nline", second.get("USER_NAME"));
+        assertNull(second.get("STATUS"));
+        assertNull(jdbcTemplate.queryForMap("SELECT * FROM sys_user WHERE id = 3").get("USER_NAME"));
+    }
+
+    @Test
+    void testNdjsonStopsAtInvalidRow() {
+        IngestResult result = ingest("h2", BulkIngestor.Format.NDJSON,
+            "{\"id\": 1, \"user_name\": \"tom\", \"status\": 1}\n"
+                + "{\"id\": 2, \"user_name\": \"amy\"}\n"
+                + "{\"id\": 3, \"status\": 1}\n"
+                + "{\"id\": \"x\", \"status\": 1}\n");
+
+        assertFalse(result.getCompleted());
+        assertEquals(4L, result.getFailedRow());
+        assertEquals(2L, result.getRows());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user", Integer.class));
+    }
+
+    @Test
+    void testNativeLoaderFallsBackToBatch() {
+        IngestResult result = ingest("postgresql", BulkIngestor.Format.CSV, "id,user_name\n1,tom\n2,amy\n3,bob\n");
+
+        assertTrue(result.getCompleted());
+        assertEquals(BulkIngestor.METHOD_BATCH, result.getMethod());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user", Integer.class));
+    }
+
+    @Test
+    void testUnknownColumnRejected() {
+        IngestResult result = ingest("h2", BulkIngestor.Format.CSV, "id,nickname\n1,tom\n");
+
+        assertFalse(result.getCompleted());
+        assertTrue(result.getMessage().contains("nickname"));
+        assertEquals(0L, result.getRows());
+    }
+}
@@ -0,0 +1,81 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 列参数绑定器测试
+ */
+class ColumnBinderTest {
+
+    private ColumnBinder binder(int jdbcType) {
+        return ColumnBinder.of(new ColumnMeta().setName("c").setJdbcType(jdbcType));
+    }
+
+    @Test
+    void testConvertsByJdbcType() {
+        assertEquals(42L, binder(Types.BIGINT).convert("42"));
+        assertEquals(7, binder(Types.INTEGER).convert(7L));
+        assertEquals(new BigDecimal("12.50"), binder(Types.DECIMAL).convert("12.50"));
+        assertEquals(Boolean.TRUE, binder(Types.BOOLEAN).convert("1"));
+        assertEquals(Timestamp.valueOf("2024-03-01 10:20:30"),
+            binder(Types.TIMESTAMP).convert("2024-03-01 10:20:30"));
+        assertEquals(Timestamp.valueOf("2024-03-01 10:20:30"),
+            binder(Types.TIMESTAMP).convert("2024-03-01T10:20:30"));
+        assertEquals("5", binder(Types.VARCHAR).convert(5));
+    }
+
+    @Test
+    void testFallsBackToJavaType() {
+        ColumnBinder binder = ColumnBinder.of(new ColumnMeta().setName("c").setJavaType("Long"));
+        assertEquals(3L, binder.convert(3));
+        assertSame(ColumnBinder.PASS_THROUGH, ColumnBinder.of(new ColumnMeta().setName("c")));
+        assertEquals("x", ColumnBinder.PASS_THROUGH.convert("x"));
+    }
+
+    @Test
+    void testRejectsInvalidValues() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> binder(Types.BIGINT).convert("abc"));
+        assertTrue(e.getMessage().contains("c"));
+        assertThrows(IllegalArgumentException.class, () -> binder(Types.INTEGER).convert(1.5));
+        assertThrows(IllegalArgumentException.class, () -> binder(Types.BOOLEAN).convert("yes"));
+        assertThrows(IllegalArgumentException.class, () -> binder(Types.TIMESTAMP).convert("yesterday"));
+        assertNull(binder(Types.BIGINT).convert(null));
+    }
+
+    @Test
+    void testBindsTypedValues() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:binder;DB_CLOSE_DELAY=-1")) {
+            conn.createStatement().execute(
+                "CREATE TABLE t (id BIGINT, amount DECIMAL(10,2), created_at TIMESTAMP, flag BOOLEAN)");
+            ColumnBinder[] binders = {binder(Types.BIGINT), binder(Types.DECIMAL),
+                binder(Types.TIMESTAMP), binder(Types.BOOLEAN)};
+            Object[] args = {binders[0].convert("1"), binders[1].convert("9.99"),
+                binders[2].convert("2024-01-02 03:04:05"), binders[3].convert(null)};
+            SqlStatement insert = new SqlStatement("INSERT INTO t VALUES (?, ?, ?, ?)", args, binders);
+            try (PreparedStatement ps = conn.prepareStatement(insert.getSql())) {
+                insert.setValues(ps);
+                ps.executeUpdate();
+            }
+
+            try (ResultSet rs = conn.createStatement().executeQuery("SELECT * FROM t")) {
+                assertTrue(rs.next());
+                assertEquals(1L, rs.getLong(1));
+                assertEquals(new BigDecimal("9.99"), rs.getBigDecimal(2));
+                assertEquals(Timestamp.valueOf("2024-01-02 03:04:05"), rs.getTimestamp(3));
+                assertNull(rs.getObject(4));
+            }
+        }
+    }
+}
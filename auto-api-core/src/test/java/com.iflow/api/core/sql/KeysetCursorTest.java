@@ -0,0 +1,39 @@
+package com.iflow.api.core.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 游标分页游标测试
+ */
+class KeysetCursorTest {
+
+    @Test
+    void testRoundTripKeepsTypes() {
+        String[] columns = {"created_at", "amount", "id"};
+        Timestamp createdAt = Timestamp.valueOf("2024-03-01 10:20:30.5");
+        Object[] values = {createdAt, new BigDecimal("12.50"), 42};
+
+        String cursor = KeysetCursor.encode(columns, values);
+        Object[] decoded = KeysetCursor.decode(cursor, columns);
+
+        assertEquals(createdAt, decoded[0]);
+        assertEquals(new BigDecimal("12.50"), decoded[1]);
+        assertEquals(42L, decoded[2]);
+        assertFalse(cursor.contains("="));
+    }
+
+    @Test
+    void testRejectsCursorForOtherKey() {
+        String cursor = KeysetCursor.encode(new String[]{"id"}, new Object[]{1L});
+
+        assertThrows(IllegalArgumentException.class,
+            () -> KeysetCursor.decode(cursor, new String[]{"code"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> KeysetCursor.decode("not-a-cursor", new String[]{"id"}));
+    }
+}
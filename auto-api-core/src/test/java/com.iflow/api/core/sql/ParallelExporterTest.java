@@ -0,0 +1,142 @@
+package com.iflow.api.core.sql;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iflow.api.core.datasource.DynamicDataSourceService;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import com.iflow.api.core.dto.view.ExportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 分区并行导出测试
+ */
+class ParallelExporterTest {
+
+    @TempDir
+    Path exportDir;
+
+    private DruidDataSource dataSource;
+    private SysUserFixture fixture;
+    private JdbcTemplate jdbcTemplate;
+    private TableMeta table;
+    private ParallelExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:h2:mem:export;DB_CLOSE_DELAY=-1");
+        dataSource.setMaxActive(8);
+        fixture = SysUserFixture.create(dataSource, "user_name VARCHAR(50)", "status INT");
+        for (int i = 1; i <= 100; i++) {
+            fixture.insert(i, "u" + i, i % 2);
+        }
+        jdbcTemplate = fixture.getJdbcTemplate();
+        table = fixture.getTable().setEstimatedRows(100L);
+
+        DynamicDataSourceService dataSources = mock(DynamicDataSourceService.class);
+        when(dataSources.getOrCreateDataSource(1L)).thenReturn(dataSource);
+        when(dataSources.getJdbcTemplate(1L)).thenReturn(jdbcTemplate);
+
+        RowStreamWriter writer = new RowStreamWriter();
+        ReflectionTestUtils.setField(writer, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(writer, "dynamicDataSourceService", dataSources);
+
+        exporter = new ParallelExporter();
+        ReflectionTestUtils.setField(exporter, "dynamicDataSourceService", dataSources);
+        ReflectionTestUtils.setField(exporter, "rowStreamWriter", writer);
+        ReflectionTestUtils.setField(exporter, "threads", 3);
+        ReflectionTestUtils.setField(exporter, "minPartitionRows", 10L);
+        ReflectionTestUtils.setField(exporter, "directory", exportDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+        fixture.drop();
+        dataSource.close();
+    }
+
+    @Test
+    void testPlanSplitsPrimaryKeyRange() {
+        List<Object[]> ranges = exporter.plan(1L, new TableHandler(table), null);
+
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new Object[]{null, 34L}, ranges.get(0));
+        assertArrayEquals(new Object[]{34L, 67L}, ranges.get(1));
+        assertArrayEquals(new Object[]{67L, null}, ranges.get(2));
+    }
+
+    @Test
+    void testPlanLimitedByStatisticsAndPool() {
+        table.setEstimatedRows(15L);
+        assertEquals(1, exporter.plan(1L, new TableHandler(table), null).size());
+
+        table.setEstimatedRows(null);
+        dataSource.setMaxActive(4);
+        assertEquals(2, exporter.plan(1L, new TableHandler(table), null).size());
+    }
+
+    @Test
+    void testMergedCsvKeepsKeyOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = exporter.export(1L, new TableHandler(table), Collections.singletonMap("status", 1),
+            null, RowStreamWriter.Format.CSV, out);
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, result.getPartitions());
+        assertEquals(50L, result.getRows());
+        assertNull(result.getFiles());
+        assertEquals(51, lines.length);
+        assertEquals("id,userName,status", lines[0]);
+        for (int i = 1; i <= 50; i++) {
+            assertEquals((2 * i - 1) + ",u" + (2 * i - 1) + ",1", lines[i]);
+        }
+        try (Stream<Path> files = Files.list(exportDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testPartFilesAsNdjson() throws Exception {
+        ExportResult result = exporter.exportFiles(1L, new TableHandler(table), null,
+            null, RowStreamWriter.Format.NDJSON);
+
+        assertEquals(100L, result.getRows());
+        assertEquals(3, result.getFiles().size());
+        long expectedId = 1;
+        for (String file : result.getFiles()) {
+            for (String line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+                JSONObject row = JSON.parseObject(line);
+                assertEquals(expectedId, row.getLongValue("id"));
+                expectedId++;
+            }
+        }
+        assertEquals(101, expectedId);
+    }
+
+    @Test
+    void testJsonFormatRejected() {
+        assertThrows(IllegalArgumentException.class, () -> exporter.export(1L, new TableHandler(table), null,
+            null, RowStreamWriter.Format.JSON, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.util.NamingConverter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 行解码基准
+ *
+ * 对比 ColumnMapRowMapper + 逐行驼峰转换与 RowShape/CompactRow 在宽表上的
+ * 单行分配字节数与耗时。手动运行 main 方法，不参与单元测试。
+ */
+public class RowShapeBenchmark {
+
+    private static final int COLUMNS = 40;
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:shape_bench;DB_CLOSE_DELAY=-1"));
+        StringBuilder ddl = new StringBuilder("CREATE TABLE wide_table (id BIGINT PRIMARY KEY");
+        StringBuilder insert = new StringBuilder("INSERT INTO wide_table SELECT X");
+        for (int i = 1; i < COLUMNS; i++) {
+            ddl.append(", col_value_").append(i).append(i % 2 == 0 ? " INT" : " VARCHAR(20)");
+            insert.append(i % 2 == 0 ? ", X * " + i : ", 'v' || X");
+        }
+        jdbcTemplate.execute(ddl.append(')').toString());
+        jdbcTemplate.update(insert.append(" FROM SYSTEM_RANGE(1, ").append(ROWS).append(')').toString());
+
+        String sql = "SELECT * FROM wide_table";
+        for (int round = 0; round < ROUNDS; round++) {
+            measure("mapper+camel", () -> jdbcTemplate.query(sql, new ColumnMapRowMapper()).stream()
+                .map(RowShapeBenchmark::convertToCamelCase).collect(Collectors.toList()));
+            measure("row-shape", () -> jdbcTemplate.query(sql, RowShape.extractor()));
+        }
+    }
+
+    private static void measure(String name, java.util.function.Supplier<List<Map<String, Object>>> query) {
+        com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bytes = bean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        List<Map<String, Object>> rows = query.get();
+        long elapsed = System.nanoTime() - start;
+        bytes = bean.getThreadAllocatedBytes(threadId) - bytes;
+        System.out.printf("%-14s rows=%d  %8d bytes/row  %8.2f us/row%n",
+            name, rows.size(), bytes / rows.size(), elapsed / 1000.0 / rows.size());
+    }
+
+    private static Map<String, Object> convertToCamelCase(Map<String, Object> map) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            result.put(NamingConverter.toCamelCase(entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+}
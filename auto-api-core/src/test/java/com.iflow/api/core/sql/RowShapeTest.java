@@ -0,0 +1,86 @@
+package com.iflow.api.core.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 结果集形态与紧凑行测试
+ */
+class RowShapeTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:shape;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE sys_order (id BIGINT PRIMARY KEY, order_no VARCHAR(20),"
+            + " amount DECIMAL(10,2), qty INT, paid BOOLEAN, remark CLOB)");
+        jdbcTemplate.update("INSERT INTO sys_order VALUES (1, 'A1', 9.90, 2, TRUE, 'note')");
+        jdbcTemplate.update("INSERT INTO sys_order VALUES (2, 'A2', NULL, NULL, NULL, NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE sys_order");
+    }
+
+    @Test
+    void testReadsTypedValuesWithCamelCaseKeys() {
+        List<Map<String, Object>> rows =
+            jdbcTemplate.query("SELECT * FROM sys_order ORDER BY id", RowShape.extractor());
+
+        Map<String, Object> first = rows.get(0);
+        assertEquals(Arrays.asList("id", "orderNo", "amount", "qty", "paid", "remark"),
+            Arrays.asList(first.keySet().toArray()));
+        assertEquals(1L, first.get("id"));
+        assertEquals(new BigDecimal("9.90"), first.get("amount"));
+        assertEquals(2, first.get("qty"));
+        assertEquals(Boolean.TRUE, first.get("paid"));
+        assertEquals("note", first.get("remark"));
+
+        Map<String, Object> second = rows.get(1);
+        assertTrue(second.containsKey("qty"));
+        assertNull(second.get("qty"));
+        assertNull(second.get("paid"));
+        assertEquals(6, second.size());
+    }
+
+    @Test
+    void testCompactRowBehavesLikeMap() {
+        Map<String, Object> row =
+            jdbcTemplate.query("SELECT id, order_no FROM sys_order WHERE id = 1", RowShape.extractor()).get(0);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1L);
+        expected.put("orderNo", "A1");
+        assertEquals(expected, row);
+        assertEquals(expected.hashCode(), row.hashCode());
+
+        row.put("orderNo", "B1");
+        row.put("customer", "tom");
+        assertEquals("B1", row.get("orderNo"));
+        assertEquals(Arrays.asList("id", "orderNo", "customer"), Arrays.asList(row.keySet().toArray()));
+        assertThrows(UnsupportedOperationException.class, () -> row.remove("id"));
+    }
+
+    @Test
+    void testDuplicateLabelsKeepLastColumn() {
+        Map<String, Object> row = jdbcTemplate.query(
+            "SELECT id, order_no, 'X' AS order_no FROM sys_order WHERE id = 1", RowShape.extractor()).get(0);
+
+        assertEquals(2, row.size());
+        assertEquals("X", row.get("orderNo"));
+        assertEquals(Arrays.asList("id", "orderNo"), Arrays.asList(row.keySet().toArray()));
+    }
+}
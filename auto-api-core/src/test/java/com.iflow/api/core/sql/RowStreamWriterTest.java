@@ -0,0 +1,99 @@
+package com.iflow.api.core.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 结果集流式输出测试
+ */
+class RowStreamWriterTest {
+
+    private SysUserFixture fixture;
+    private Connection connection;
+    private RowStreamWriter writer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = SysUserFixture.create("stream", "user_name VARCHAR(50)");
+        for (long i = 1; i <= 3; i++) {
+            fixture.insert(i, "u" + i);
+        }
+        connection = fixture.getDataSource().getConnection();
+        writer = new RowStreamWriter();
+        ReflectionTestUtils.setField(writer, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(writer, "flushRows", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+        fixture.drop();
+    }
+
+    @Test
+    void testWriteNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count;
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM sys_user ORDER BY id")) {
+            count = writer.writeRows(rs, RowStreamWriter.Format.NDJSON, out);
+        }
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(3, lines.length);
+        Map<?, ?> first = objectMapper.readValue(lines[0], Map.class);
+        assertEquals(1, first.get("id"));
+        assertEquals("u1", first.get("userName"));
+    }
+
+    @Test
+    void testWriteJsonArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM sys_user ORDER BY id")) {
+            writer.writeRows(rs, RowStreamWriter.Format.JSON, out);
+        }
+
+        List<?> rows = objectMapper.readValue(out.toByteArray(), List.class);
+        assertEquals(3, rows.size());
+        assertEquals("u3", ((Map<?, ?>) rows.get(2)).get("userName"));
+    }
+
+    @Test
+    void testWriteCsv() throws Exception {
+        try (Statement st = connection.createStatement()) {
+            st.execute("UPDATE sys_user SET user_name = 'a, \"b\"' WHERE id = 2");
+            st.execute("UPDATE sys_user SET user_name = NULL WHERE id = 3");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count;
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT * FROM sys_user ORDER BY id")) {
+            count = writer.writeRows(rs, RowStreamWriter.Format.CSV, out);
+        }
+
+        assertEquals(3, count);
+        assertEquals("id,userName\n1,u1\n2,\"a, \"\"b\"\"\"\n3,\n",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> RowStreamWriter.Format.of("xml"));
+    }
+}
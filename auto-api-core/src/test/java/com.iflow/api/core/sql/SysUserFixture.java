@@ -0,0 +1,112 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 测试夹具：H2 内存库中的 sys_user 表与对应的表元数据
+ *
+ * id 为 BIGINT 主键，其余列由调用方以 DDL 片段给出（如 "user_name VARCHAR(50) NOT NULL"），
+ * 表元数据的字段名与 JDBC 类型按列定义生成。各测试类使用不同的库名，测试结束后调用 drop。
+ */
+public final class SysUserFixture {
+
+    public static final String TABLE = "sys_user";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TableMeta table;
+
+    private SysUserFixture(DataSource dataSource, String[] columns) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        StringBuilder ddl = new StringBuilder("CREATE TABLE ").append(TABLE).append(" (id BIGINT PRIMARY KEY");
+        List<ColumnMeta> metas = new ArrayList<>(columns.length + 1);
+        metas.add(column("id BIGINT"));
+        for (String column : columns) {
+            ddl.append(", ").append(column);
+            metas.add(column(column));
+        }
+        jdbcTemplate.execute(ddl.append(')').toString());
+
+        this.table = new TableMeta()
+            .setTableName(TABLE)
+            .setDatasourceType("h2")
+            .setColumns(metas)
+            .setPrimaryKeys(Collections.singletonList("id"));
+    }
+
+    /**
+     * 在名为 database 的 H2 内存库中创建 sys_user 表
+     *
+     * @param columns id 以外的列定义
+     */
+    public static SysUserFixture create(String database, String... columns) {
+        return create(new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1"), columns);
+    }
+
+    /**
+     * 在给定数据源中创建 sys_user 表
+     *
+     * @param columns id 以外的列定义
+     */
+    public static SysUserFixture create(DataSource dataSource, String... columns) {
+        return new SysUserFixture(dataSource, columns);
+    }
+
+    /**
+     * 按列顺序插入一行
+     */
+    public SysUserFixture insert(Object... values) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE).append(" VALUES (");
+        for (int i = 0; i < values.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        jdbcTemplate.update(sql.append(')').toString(), values);
+        return this;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public TransactionTemplate newTransactionTemplate() {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * 与表定义对应的表元数据（未冻结，调用方可补充属性）
+     */
+    public TableMeta getTable() {
+        return table;
+    }
+
+    public void drop() {
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+    }
+
+    private static ColumnMeta column(String definition) {
+        String[] parts = definition.trim().split("\\s+");
+        String type = parts[1].replaceAll("\\(.*", "").toUpperCase(Locale.ROOT);
+        return new ColumnMeta()
+            .setName(parts[0])
+            .setTypeName(type)
+            .setJdbcType(JDBCType.valueOf("INT".equals(type) ? "INTEGER" : type).getVendorTypeNumber());
+    }
+}
@@ -0,0 +1,138 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 单表请求处理器测试
+ */
+class TableHandlerTest {
+
+    private SysUserFixture fixture;
+    private JdbcTemplate jdbcTemplate;
+    private TableHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        fixture = SysUserFixture.create("handler", "user_name VARCHAR(50)", "status INT");
+        jdbcTemplate = fixture.getJdbcTemplate();
+        handler = new TableHandler(fixture.getTable());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.drop();
+    }
+
+    @Test
+    void testCrudUsesCamelCaseKeys() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", 1L);
+        data.put("userName", "tom");
+        assertEquals(1, handler.insert(jdbcTemplate, data));
+
+        Map<String, Object> row = handler.get(jdbcTemplate, 1L);
+        assertEquals("tom", row.get("userName"));
+        assertEquals(Arrays.asList("id", "userName", "status"), Arrays.asList(row.keySet().toArray()));
+
+        assertEquals(1, handler.update(jdbcTemplate, 1L, Collections.singletonMap("status", 2)));
+        List<Map<String, Object>> rows = handler.list(jdbcTemplate, Collections.singletonMap("status", 2), 10);
+        assertEquals(1, rows.size());
+
+        assertEquals(1, handler.delete(jdbcTemplate, 1L));
+        assertNull(handler.get(jdbcTemplate, 1L));
+    }
+
+    @Test
+    void testProjectionFallsBackToLabels() {
+        jdbcTemplate.update("INSERT INTO sys_user VALUES (1, 'tom', 1)");
+
+        List<Map<String, Object>> rows = handler.query(jdbcTemplate,
+            new SqlStatement("SELECT user_name FROM sys_user", new Object[0]));
+
+        assertEquals(Collections.singleton("userName"), rows.get(0).keySet());
+    }
+
+    @Test
+    void testListWithFilterExpressions() {
+        jdbcTemplate.update("INSERT INTO sys_user VALUES (1, 'tom', 1), (2, 'tony', 2), (3, 'amy', 3), (4, 'to%', 4)");
+
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("userName[prefix]", "to");
+        conditions.put("status[in]", "1,2,4");
+        conditions.put("id[between]", Arrays.asList(1, 3));
+        List<Map<String, Object>> rows = handler.list(jdbcTemplate, conditions, 10);
+        assertEquals(2, rows.size());
+
+        rows = handler.list(jdbcTemplate, Collections.singletonMap("userName[prefix]", "to%"), 10);
+        assertEquals(1, rows.size());
+        assertEquals(4L, ((Number) rows.get(0).get("id")).longValue());
+    }
+
+    @Test
+    void testAggregatePushedDown() {
+        jdbcTemplate.update("INSERT INTO sys_user VALUES (1, 'tom', 1), (2, 'tony', 1), (3, 'amy', 2)");
+
+        List<Map<String, Object>> groups = handler.aggregate(jdbcTemplate,
+            Collections.singletonList("status"), Arrays.asList("count(*)", "max(id)"),
+            Collections.singletonMap("id[le]", 3), 10);
+
+        assertEquals(2, groups.size());
+        assertEquals(1, ((Number) groups.get(0).get("status")).intValue());
+        assertEquals(2L, ((Number) groups.get(0).get("countAll")).longValue());
+        assertEquals(2L, ((Number) groups.get(0).get("maxId")).longValue());
+    }
+
+    @Test
+    void testDialectQuotingUpsertAndGeneratedKey() {
+        jdbcTemplate.execute("CREATE TABLE SYS_ORDER (ID BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " \"ORDER\" INT, TITLE VARCHAR(50))");
+        try {
+            TableMeta table = new TableMeta();
+            table.setTableName("SYS_ORDER");
+            table.setDatasourceType("h2");
+            table.setColumns(Arrays.asList(
+                new ColumnMeta().setName("ID"),
+                new ColumnMeta().setName("ORDER"),
+                new ColumnMeta().setName("TITLE")
+            ));
+            table.setPrimaryKeys(Collections.singletonList("ID"));
+            TableHandler orders = new TableHandler(table);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("order", 1);
+            data.put("title", "a");
+            Object id = orders.insertReturningKey(jdbcTemplate, data);
+            assertEquals(1L, ((Number) id).longValue());
+
+            assertEquals(1, orders.upsert(jdbcTemplate, 1L, Collections.singletonMap("title", "b")));
+            Map<String, Object> inserted = new HashMap<>();
+            inserted.put("order", 2);
+            inserted.put("title", "c");
+            assertEquals(1, orders.upsert(jdbcTemplate, 5L, inserted));
+
+            assertEquals("b", orders.get(jdbcTemplate, 1L).get("title"));
+            List<Map<String, Object>> rows = orders.list(jdbcTemplate, Collections.singletonMap("order", 2), 10);
+            assertEquals(1, rows.size());
+            assertEquals(5L, ((Number) rows.get(0).get("id")).longValue());
+
+            List<Map<String, Object>> page = orders.query(jdbcTemplate,
+                orders.getStatements().page("order", true, 1, 0));
+            assertEquals("c", page.get(0).get("title"));
+        } finally {
+            jdbcTemplate.execute("DROP TABLE SYS_ORDER");
+        }
+    }
+}
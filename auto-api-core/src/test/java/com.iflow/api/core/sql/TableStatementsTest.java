@@ -0,0 +1,288 @@
+package com.iflow.api.core.sql;
+
+import com.iflow.api.core.dto.metadata.ColumnMeta;
+import com.iflow.api.core.dto.metadata.IndexMeta;
+import com.iflow.api.core.dto.metadata.TableMeta;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 单表 SQL 语句模板测试
+ */
+class TableStatementsTest {
+
+    private TableMeta userTable() {
+        TableMeta table = new TableMeta();
+        table.setTableName("sys_user");
+        table.setColumns(Arrays.asList(
+            new ColumnMeta().setName("id"),
+            new ColumnMeta().setName("user_name"),
+            new ColumnMeta().setName("status")
+        ));
+        table.setPrimaryKeys(Collections.singletonList("id"));
+        return table;
+    }
+
+    @Test
+    void testInsertUsesCanonicalColumnOrder() {
+        TableStatements statements = new TableStatements(userTable());
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("status", 1);
+        data.put("userName", "tom");
+        SqlStatement statement = statements.insert(data);
+
+        assertEquals("INSERT INTO sys_user (user_name, status) VALUES (?, ?)", statement.getSql());
+        assertArrayEquals(new Object[]{"tom", 1}, statement.getArgs());
+    }
+
+    @Test
+    void testSameShapeReusesSqlText() {
+        TableStatements statements = new TableStatements(userTable());
+
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("user_name", "a");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("userName", "b");
+
+        assertSame(statements.update(1L, first).getSql(), statements.update(2L, second).getSql());
+        assertEquals("UPDATE sys_user SET user_name = ? WHERE id = ?", statements.update(1L, first).getSql());
+    }
+
+    @Test
+    void testSelectBindsConditions() {
+        TableStatements statements = new TableStatements(userTable());
+
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        conditions.put("status", 1);
+        conditions.put("userName", null);
+        SqlStatement statement = statements.select(conditions, 100);
+
+        assertEquals("SELECT * FROM sys_user WHERE user_name IS NULL AND status = ? LIMIT 100", statement.getSql());
+        assertArrayEquals(new Object[]{1}, statement.getArgs());
+    }
+
+    @Test
+    void testTypedColumnsConvertBeforeExecution() {
+        TableMeta table = userTable();
+        table.getColumns().get(0).setJdbcType(Types.BIGINT);
+        table.getColumns().get(2).setJdbcType(Types.INTEGER);
+        TableStatements statements = new TableStatements(table);
+
+        SqlStatement byId = statements.selectById("15");
+        assertArrayEquals(new Object[]{15L}, byId.getArgs());
+        assertNotNull(byId.getBinders()[0]);
+
+        Map<String, Object> data = Collections.singletonMap("status", "2");
+        assertArrayEquals(new Object[]{2, 15L}, statements.update("15", data).getArgs());
+
+        assertThrows(IllegalArgumentException.class, () -> statements.deleteById("abc"));
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.insert(Collections.singletonMap("status", "active")));
+    }
+
+    @Test
+    void testProjectionIntersectsConfigurationAndRequest() {
+        TableStatements statements = new TableStatements(userTable());
+
+        assertNull(statements.projection(null, null, null));
+        BitSet visible = statements.projection(null, Collections.singletonList("status"), null);
+        assertEquals("SELECT id, user_name FROM sys_user WHERE id = ?",
+            statements.selectById(1L, visible).getSql());
+
+        BitSet requested = statements.projection(Arrays.asList("id", "user_name", "dropped_column"),
+            null, Arrays.asList("userName", "status"));
+        assertEquals("SELECT user_name FROM sys_user LIMIT 10",
+            statements.select(null, requested, 10).getSql());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.projection(null, null, Collections.singletonList("secret")));
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.projection(Collections.singletonList("status"), null,
+                Collections.singletonList("userName")));
+    }
+
+    @Test
+    void testSeekProjectionKeepsSeekColumns() {
+        TableStatements statements = new TableStatements(userTable());
+        BitSet projection = statements.projection(null, null, Collections.singletonList("userName"));
+
+        assertEquals("SELECT id, user_name FROM sys_user WHERE ((id > ?)) ORDER BY id LIMIT 21",
+            statements.seek(null, new Object[]{1L}, 21, projection).getSql());
+    }
+
+    @Test
+    void testUnknownFieldRejected() {
+        TableStatements statements = new TableStatements(userTable());
+
+        Map<String, Object> data = Collections.singletonMap("password; DROP TABLE x", "1");
+        assertThrows(IllegalArgumentException.class, () -> statements.insert(data));
+    }
+
+    @Test
+    void testTableWithoutPrimaryKey() {
+        TableMeta table = userTable();
+        table.setPrimaryKeys(Collections.emptyList());
+        TableStatements statements = new TableStatements(table);
+
+        assertThrows(IllegalArgumentException.class, () -> statements.selectById(1L));
+    }
+
+    @Test
+    void testSeekFirstAndNextPage() {
+        TableStatements statements = new TableStatements(userTable());
+
+        SqlStatement first = statements.seek(Collections.singletonMap("status", 1), null, 21);
+        assertEquals("SELECT * FROM sys_user WHERE status = ? ORDER BY id LIMIT 21", first.getSql());
+
+        SqlStatement next = statements.seek(Collections.singletonMap("status", 1), new Object[]{20L}, 21);
+        assertEquals("SELECT * FROM sys_user WHERE status = ? AND ((id > ?)) ORDER BY id LIMIT 21", next.getSql());
+        assertArrayEquals(new Object[]{1, 20L}, next.getArgs());
+    }
+
+    @Test
+    void testSeekOnCompositeUniqueIndex() {
+        TableMeta table = userTable();
+        table.setPrimaryKeys(Collections.emptyList());
+        table.getColumns().forEach(c -> c.setIsNullable(false));
+        IndexMeta.IndexColumn tenant = new IndexMeta.IndexColumn();
+        tenant.setColumnName("status");
+        IndexMeta.IndexColumn name = new IndexMeta.IndexColumn();
+        name.setColumnName("user_name");
+        IndexMeta index = new IndexMeta().setNonUnique(false);
+        index.setColumns(Arrays.asList(tenant, name));
+        table.setIndexes(Collections.singletonList(index));
+
+        TableStatements statements = new TableStatements(table);
+        SqlStatement next = statements.seek(null, new Object[]{1, "tom"}, 11);
+
+        assertEquals("SELECT * FROM sys_user WHERE ((status > ?) OR (status = ? AND user_name > ?))"
+            + " ORDER BY status, user_name LIMIT 11", next.getSql());
+        assertArrayEquals(new Object[]{1, 1, "tom"}, next.getArgs());
+    }
+
+    @Test
+    void testSeekWithoutUniqueKey() {
+        TableMeta table = userTable();
+        table.setPrimaryKeys(Collections.emptyList());
+        TableStatements statements = new TableStatements(table);
+
+        assertThrows(IllegalArgumentException.class, () -> statements.seek(null, null, 10));
+    }
+
+    @Test
+    void testFilterOperatorsCompileToPlaceholders() {
+        TableStatements statements = new TableStatements(userTable());
+
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        conditions.put("status[between]", "1,3");
+        conditions.put("userName[prefix]", "to_m");
+        conditions.put("id[ne]", "5");
+        SqlStatement statement = statements.select(conditions, 10);
+
+        // 主键列在前，其余无索引列按运算符选择性排序
+        assertEquals("SELECT * FROM sys_user WHERE id <> ? AND user_name LIKE ? ESCAPE '!'"
+            + " AND status BETWEEN ? AND ? LIMIT 10", statement.getSql());
+        assertArrayEquals(new Object[]{"5", "to!_m%", "1", "3"}, statement.getArgs());
+    }
+
+    @Test
+    void testFiltersOrderedByIndex() {
+        TableMeta table = userTable();
+        IndexMeta.IndexColumn status = new IndexMeta.IndexColumn();
+        status.setColumnName("status");
+        IndexMeta index = new IndexMeta().setNonUnique(true);
+        index.setColumns(Collections.singletonList(status));
+        table.setIndexes(Collections.singletonList(index));
+        TableStatements statements = new TableStatements(table);
+
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        conditions.put("user_name", "tom");
+        conditions.put("status[ge]", 1);
+        conditions.put("id[in]", Arrays.asList(1, 2));
+
+        assertEquals("SELECT * FROM sys_user WHERE id IN (?, ?) AND status >= ? AND user_name = ? LIMIT 10",
+            statements.select(conditions, 10).getSql());
+    }
+
+    @Test
+    void testInListPaddedToBucket() {
+        TableStatements statements = new TableStatements(userTable());
+
+        SqlStatement three = statements.select(Collections.singletonMap("id[in]", "1,2,3"), 10);
+        SqlStatement four = statements.select(Collections.singletonMap("id", Arrays.asList(4, 5, 6, 7)), 10);
+
+        assertEquals("SELECT * FROM sys_user WHERE id IN (?, ?, ?, ?) LIMIT 10", three.getSql());
+        assertArrayEquals(new Object[]{"1", "2", "3", "3"}, three.getArgs());
+        assertEquals(three.getSql(), four.getSql());
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.select(Collections.singletonMap("id[in]", ""), 10));
+    }
+
+    @Test
+    void testInvalidFilterRejected() {
+        TableStatements statements = new TableStatements(userTable());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.select(Collections.singletonMap("status[approx]", 1), 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.select(Collections.singletonMap("status[between]", "1"), 10));
+    }
+
+    @Test
+    void testUnindexedFilterRejectedOnLargeTable() {
+        TableMeta table = userTable();
+        table.setEstimatedRows(5_000_000L);
+        TableStatements statements = new TableStatements(table, new FilterGuard(1_000_000, FilterGuard.REJECT));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.select(Collections.singletonMap("user_name[like]", "%tom%"), 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.select(Collections.singletonMap("id[ne]", 1), 10));
+        assertNotNull(statements.select(Collections.singletonMap("id[gt]", 1), 10));
+        assertNotNull(statements.select(Collections.emptyMap(), 10));
+    }
+
+    @Test
+    void testAggregateCompilesToGroupBy() {
+        TableMeta table = userTable();
+        table.getColumns().get(0).setJdbcType(Types.BIGINT);
+        table.getColumns().get(1).setJdbcType(Types.VARCHAR);
+        table.getColumns().get(2).setJdbcType(Types.INTEGER);
+        TableStatements statements = new TableStatements(table);
+
+        SqlStatement statement = statements.aggregate(Collections.singletonList("status"),
+            Arrays.asList("count", "sum(id)", "min(userName)"), Collections.singletonMap("id[gt]", 0), 50);
+
+        assertEquals("SELECT status, COUNT(*) AS count_all, SUM(id) AS sum_id, MIN(user_name) AS min_user_name"
+            + " FROM sys_user WHERE id > ? GROUP BY status ORDER BY status LIMIT 50", statement.getSql());
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.aggregate(null, Collections.singletonList("avg(user_name)"), null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.aggregate(null, Collections.singletonList("median(id)"), null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> statements.aggregate(null, Collections.emptyList(), null, 10));
+    }
+
+    @Test
+    void testRangeBoundsOnPrimaryKey() {
+        TableStatements statements = new TableStatements(userTable());
+
+        assertEquals("SELECT * FROM sys_user WHERE id < ? ORDER BY id",
+            statements.range(null, null, null, 100L).getSql());
+        SqlStatement middle = statements.range(Collections.singletonMap("status", 1), null, 100L, 200L);
+        assertEquals("SELECT * FROM sys_user WHERE status = ? AND id >= ? AND id < ? ORDER BY id",
+            middle.getSql());
+        assertArrayEquals(new Object[]{1, 100L, 200L}, middle.getArgs());
+        assertEquals("SELECT * FROM sys_user WHERE id >= ? ORDER BY id",
+            statements.range(null, null, 200L, null).getSql());
+    }
+}
@@ -0,0 +1,91 @@
+package com.iflow.api.core.sql.dialect;
+
+import com.iflow.api.core.entity.DatasourceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQL 方言测试
+ */
+class SqlDialectTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("id", "user_name", "order");
+    private static final List<String> KEYS = Collections.singletonList("id");
+
+    @Test
+    void testRegistrySelectsByType() {
+        assertTrue(SqlDialects.of("MySQL") instanceof MySqlDialect);
+        assertTrue(SqlDialects.of("postgresql") instanceof PostgreSqlDialect);
+        assertTrue(SqlDialects.of("oracle") instanceof OracleDialect);
+        assertTrue(SqlDialects.of("h2") instanceof H2Dialect);
+        assertTrue(SqlDialects.of("sqlserver") instanceof GenericDialect);
+        assertTrue(SqlDialects.of(null) instanceof GenericDialect);
+    }
+
+    @Test
+    void testQuoteOnlyWhenNeeded() {
+        SqlDialect mysql = SqlDialects.of("mysql");
+        assertEquals("user_name", mysql.quoteIfNeeded("user_name"));
+        assertEquals("`order`", mysql.quoteIfNeeded("order"));
+        assertEquals("`user name`", mysql.quoteIfNeeded("user name"));
+        assertEquals("`a``b`", mysql.quote("a`b"));
+
+        SqlDialect postgres = SqlDialects.of("postgresql");
+        assertEquals("\"UserName\"", postgres.quoteIfNeeded("UserName"));
+        assertEquals("user_name", postgres.quoteIfNeeded("user_name"));
+
+        assertEquals("\"LEVEL\"", SqlDialects.of("oracle").quoteIfNeeded("LEVEL"));
+        assertEquals("USER_NAME", SqlDialects.of("oracle").quoteIfNeeded("USER_NAME"));
+    }
+
+    @Test
+    void testPaging() {
+        assertEquals(" LIMIT 10 OFFSET 20", SqlDialects.of("mysql").limit(10, 20));
+        assertEquals(" LIMIT 10", SqlDialects.of("h2").limit(10));
+        assertEquals(" FETCH FIRST 10 ROWS ONLY", SqlDialects.of("oracle").limit(10));
+        assertEquals(" OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY", SqlDialects.of("oracle").limit(10, 20));
+    }
+
+    @Test
+    void testUpsert() {
+        assertEquals("INSERT INTO sys_user (id, user_name, `order`) VALUES (?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE user_name = VALUES(user_name), `order` = VALUES(`order`)",
+            SqlDialects.of("mysql").upsert("sys_user", COLUMNS, KEYS));
+        assertEquals("INSERT INTO sys_user (id, user_name, \"order\") VALUES (?, ?, ?) ON CONFLICT (id)"
+                + " DO UPDATE SET user_name = EXCLUDED.user_name, \"order\" = EXCLUDED.\"order\"",
+            SqlDialects.of("postgresql").upsert("sys_user", COLUMNS, KEYS));
+        assertEquals("INSERT INTO sys_user (id) VALUES (?) ON CONFLICT (id) DO NOTHING",
+            SqlDialects.of("postgresql").upsert("sys_user", KEYS, KEYS));
+        assertEquals("MERGE INTO sys_user d USING (SELECT ? AS id, ? AS user_name, ? AS \"order\" FROM dual) s"
+                + " ON (d.id = s.id) WHEN MATCHED THEN UPDATE SET d.user_name = s.user_name, d.\"order\" = s.\"order\""
+                + " WHEN NOT MATCHED THEN INSERT (id, user_name, \"order\") VALUES (s.id, s.user_name, s.\"order\")",
+            SqlDialects.of("oracle").upsert("sys_user", COLUMNS, KEYS));
+        assertEquals("MERGE INTO sys_user (id, user_name, \"order\") KEY (id) VALUES (?, ?, ?)",
+            SqlDialects.of("h2").upsert("sys_user", COLUMNS, KEYS));
+        assertNull(SqlDialects.of(null).upsert("sys_user", COLUMNS, KEYS));
+    }
+
+    @Test
+    void testDriverSettings() {
+        assertNull(SqlDialects.of("mysql").generatedKeyColumns("id"));
+        assertArrayEquals(new String[]{"id"}, SqlDialects.of("postgresql").generatedKeyColumns("id"));
+        assertEquals(Integer.MIN_VALUE, SqlDialects.of("mysql").streamFetchSize("jdbc:mysql://h/db", 1000));
+        assertEquals(1000, SqlDialects.of("mysql").streamFetchSize("jdbc:mysql://h/db?useCursorFetch=true", 1000));
+        assertTrue(SqlDialects.of("postgresql").cursorRequiresTransaction());
+
+        DatasourceConfig config = new DatasourceConfig();
+        config.setType(DatasourceConfig.DataSourceType.MYSQL);
+        config.setHost("localhost");
+        config.setPort(3306);
+        config.setDatabase("demo");
+        assertTrue(config.getJdbcUrl().endsWith("&rewriteBatchedStatements=true"));
+        config.setConnectionParams("rewriteBatchedStatements=false");
+        assertFalse(config.getJdbcUrl().contains("rewriteBatchedStatements=true"));
+        assertEquals("demo", SqlDialects.of(config.getType()).metadataCatalog(config));
+    }
+}